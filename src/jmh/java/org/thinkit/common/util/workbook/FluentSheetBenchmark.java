@@ -0,0 +1,206 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.workbook;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * ワークブックを {@link FluentWorkbook} で展開した状態における {@link FluentSheet} の操作の性能を計測するベンチマークです。
+ * <p>
+ * 同じ操作を {@link FluentSheetSnapshot} に対して行うベンチマークも併せて定義し、 DOMを直接参照する場合との差を比較できるようにしています。
+ * ワークブックは {@link SyntheticWorkbook} で生成した内容を試行の開始時に一度だけ読み込みます。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FluentSheetBenchmark {
+
+    /**
+     * ランダムアクセスに使用する座標の数
+     */
+    private static final int COORDINATES = 1 << 16;
+
+    /**
+     * 明細形式のシートの行数
+     */
+    @Param({ "10000", "100000", "1000000" })
+    public int rowCount;
+
+    /**
+     * 明細形式のシート
+     */
+    private FluentSheet data;
+
+    /**
+     * マトリクス形式のシート
+     */
+    private FluentSheet matrix;
+
+    /**
+     * 明細形式のシートのスナップショット
+     */
+    private FluentSheetSnapshot dataSnapshot;
+
+    /**
+     * マトリクス形式のシートのスナップショット
+     */
+    private FluentSheetSnapshot matrixSnapshot;
+
+    /**
+     * ランダムアクセスする列インデックス
+     */
+    private final int[] columns = new int[COORDINATES];
+
+    /**
+     * ランダムアクセスする行インデックス
+     */
+    private final int[] rows = new int[COORDINATES];
+
+    /**
+     * 次に参照する座標の位置
+     */
+    private int cursor;
+
+    /**
+     * 罫線の探索を開始する行インデックス
+     */
+    private int borderSearchRow;
+
+    /**
+     * 合成ワークブックを読み込み、 ベンチマークで参照する状態を準備します。
+     *
+     * @throws IOException 合成ワークブックの生成に失敗した場合
+     */
+    @Setup
+    public void setUp() throws IOException {
+
+        final FluentWorkbook workbook = FluentWorkbook.builder()
+                .fromFile(SyntheticWorkbook.file(this.rowCount).getPath()).build();
+
+        this.data = workbook.sheet(SyntheticWorkbook.DATA_SHEET);
+        this.matrix = workbook.sheet(SyntheticWorkbook.MATRIX_SHEET);
+        this.dataSnapshot = this.data.snapshot();
+        this.matrixSnapshot = this.matrix.snapshot();
+        this.borderSearchRow = this.rowCount / 2 + 1;
+
+        final SplittableRandom random = new SplittableRandom(this.rowCount);
+
+        for (int i = 0; i < COORDINATES; i++) {
+            this.columns[i] = random.nextInt(SyntheticWorkbook.DATA_COLUMNS);
+            this.rows[i] = random.nextInt(this.rowCount);
+        }
+    }
+
+    /**
+     * 次に参照する座標の位置を返却します。
+     *
+     * @return 座標の位置
+     */
+    private int next() {
+        return this.cursor = (this.cursor + 1) & (COORDINATES - 1);
+    }
+
+    @Benchmark
+    public String get() {
+        final int i = this.next();
+        return this.data.get(this.columns[i], this.rows[i]);
+    }
+
+    @Benchmark
+    public String snapshotGet() {
+        final int i = this.next();
+        return this.dataSnapshot.get(this.columns[i], this.rows[i]);
+    }
+
+    @Benchmark
+    public void put() {
+        final int i = this.next();
+        this.data.put(2, this.rows[i], (double) i);
+    }
+
+    @Benchmark
+    public Matrix findCellIndex() {
+        return this.data.findCellIndex(SyntheticWorkbook.END_MARKER);
+    }
+
+    @Benchmark
+    public Matrix snapshotFindCellIndex() {
+        return this.dataSnapshot.findCellIndex(SyntheticWorkbook.END_MARKER);
+    }
+
+    @Benchmark
+    public Matrix findBorderTopIndex() {
+        return this.data.findBorderTopIndex(0, this.borderSearchRow);
+    }
+
+    @Benchmark
+    public Matrix findBorderBottomIndex() {
+        return this.data.findBorderBottomIndex(0, this.borderSearchRow);
+    }
+
+    @Benchmark
+    public Matrix findBorderRightIndex() {
+        return this.data.findBorderRightIndex(0, this.borderSearchRow);
+    }
+
+    @Benchmark
+    public Matrix findBorderLeftIndex() {
+        return this.data.findBorderLeftIndex(0, this.borderSearchRow);
+    }
+
+    @Benchmark
+    public Matrix snapshotFindBorderTopIndex() {
+        return this.dataSnapshot.findBorderTopIndex(0, this.borderSearchRow);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Map<String, String>> getMatrixList() {
+        return this.matrix.getMatrixList(SyntheticWorkbook.MATRIX_START_COLUMN, SyntheticWorkbook.MATRIX_START_ROW);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Map<String, String>> snapshotGetMatrixList() {
+        return this.matrixSnapshot.getMatrixList(SyntheticWorkbook.MATRIX_START_COLUMN,
+                SyntheticWorkbook.MATRIX_START_ROW);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<List<String>> toStringList() {
+        return this.data.toStringList();
+    }
+}
@@ -0,0 +1,365 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.workbook;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.SplittableRandom;
+
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+/**
+ * ベンチマークで使用する合成ワークブックを生成するクラスです。
+ * <p>
+ * 生成されるワークブックは固定のシード値から決定的に生成されるため、 同じ行数を指定した場合は常に同じ内容となります。
+ * 生成したファイルは一時ディレクトリにキャッシュされ、 同じ行数のワークブックは再生成されません。
+ * <p>
+ * ワークブックは以下の2つのシートで構成されます。
+ * <ul>
+ * <li>{@link #DATA_SHEET} : 先頭行から隙間なく行を持つシート。 整数、文字列、小数、真偽値、日付、数式の列と、
+ * 一定間隔で配置された罫線で囲まれた領域及び結合セルを含みます。 最終行の先頭列には {@link #END_MARKER} が設定されます。</li>
+ * <li>{@link #MATRIX_SHEET} : {@code B2} を起点とし、右罫線で区切られたヘッダーと明細行を持つマトリクス形式のシート。</li>
+ * </ul>
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class SyntheticWorkbook {
+
+    /**
+     * 明細形式のシート名
+     */
+    static final String DATA_SHEET = "data";
+
+    /**
+     * マトリクス形式のシート名
+     */
+    static final String MATRIX_SHEET = "matrix";
+
+    /**
+     * 明細形式のシートの列数
+     */
+    static final int DATA_COLUMNS = 8;
+
+    /**
+     * マトリクス形式のシートの列数
+     */
+    static final int MATRIX_COLUMNS = 6;
+
+    /**
+     * マトリクス形式のシートの開始列インデックス
+     */
+    static final int MATRIX_START_COLUMN = 1;
+
+    /**
+     * マトリクス形式のシートの開始行インデックス
+     */
+    static final int MATRIX_START_ROW = 1;
+
+    /**
+     * 明細形式のシートの最終行に設定される値
+     */
+    static final String END_MARKER = "END_OF_DATA";
+
+    /**
+     * 罫線で囲まれた領域を配置する間隔となる領域の数
+     */
+    static final int BORDERED_BLOCKS = 10;
+
+    /**
+     * 結合セルを配置する行の間隔
+     */
+    private static final int MERGE_INTERVAL = 50;
+
+    /**
+     * 数式を配置する行の間隔
+     */
+    private static final int FORMULA_INTERVAL = 100;
+
+    /**
+     * 乱数のシード値
+     */
+    private static final long SEED = 0x5eed_cafeL;
+
+    /**
+     * 文字列の列に使用する語彙
+     */
+    private static final String[] VOCABULARY = createVocabulary(256);
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private SyntheticWorkbook() {
+    }
+
+    /**
+     * 引数として指定された行数の合成ワークブックのファイルを返却します。 キャッシュが存在しない場合はファイルを生成します。
+     *
+     * @param rowCount 明細形式のシートの行数
+     * @return 合成ワークブックのファイル
+     *
+     * @throws IOException ファイルの生成に失敗した場合
+     */
+    static File file(final int rowCount) throws IOException {
+
+        final File directory = new File(System.getProperty("java.io.tmpdir"), "thinkit-workbook-jmh");
+        final File file = new File(directory, String.format("synthetic-%d-%x.xlsx", rowCount, SEED));
+
+        if (file.isFile()) {
+            return file;
+        }
+
+        Files.createDirectories(directory.toPath());
+
+        final File partial = File.createTempFile("synthetic", ".partial", directory);
+
+        try (OutputStream os = new FileOutputStream(partial)) {
+            write(rowCount, os);
+        }
+
+        Files.move(partial.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+        return file;
+    }
+
+    /**
+     * 引数として指定された行数の合成ワークブックを出力ストリームへ書き込みます。 出力ストリームは閉じられません。
+     *
+     * @param rowCount 明細形式のシートの行数
+     * @param os       出力ストリーム
+     *
+     * @throws IOException 書き込みに失敗した場合
+     */
+    static void write(final int rowCount, final OutputStream os) throws IOException {
+
+        final SXSSFWorkbook workbook = new SXSSFWorkbook(1000);
+
+        try {
+            final SplittableRandom random = new SplittableRandom(SEED);
+            final Styles styles = new Styles(workbook);
+
+            fillData(workbook.createSheet(DATA_SHEET), rowCount, random, styles);
+            fillMatrix(workbook.createSheet(MATRIX_SHEET), rowCount, random, styles);
+
+            workbook.write(os);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    /**
+     * 明細形式のシートへ行を出力します。
+     *
+     * @param sheet    シート
+     * @param rowCount 行数
+     * @param random   乱数生成器
+     * @param styles   セルスタイル
+     */
+    private static void fillData(final SXSSFSheet sheet, final int rowCount, final SplittableRandom random,
+            final Styles styles) {
+
+        final int blockInterval = Math.max(rowCount / BORDERED_BLOCKS, 8);
+
+        for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
+            final Row row = sheet.createRow(rowIndex);
+            final int blockRow = rowIndex % blockInterval;
+            final boolean bordered = blockRow >= blockInterval / 2 && blockRow < blockInterval / 2 + 3;
+
+            row.createCell(0).setCellValue(rowIndex);
+            row.createCell(1).setCellValue(VOCABULARY[random.nextInt(VOCABULARY.length)]);
+            row.createCell(2).setCellValue(random.nextDouble() * 1_000_000d);
+            row.createCell(3).setCellValue(random.nextBoolean());
+
+            final Cell date = row.createCell(4);
+            date.setCellValue(43_831d + random.nextInt(3_650) + random.nextInt(86_400) / 86_400d);
+            date.setCellStyle(styles.date);
+
+            if (rowIndex % FORMULA_INTERVAL == 0) {
+                row.createCell(5).setCellFormula(String.format("A%1$d*2+C%1$d", rowIndex + 1));
+            } else {
+                row.createCell(5).setCellValue(random.nextInt(10_000));
+            }
+
+            row.createCell(6).setCellValue(VOCABULARY[random.nextInt(16)]);
+            row.createCell(7);
+
+            if (bordered) {
+                final int position = blockRow - blockInterval / 2;
+
+                for (int columnIndex = 1; columnIndex <= 3; columnIndex++) {
+                    row.getCell(columnIndex).setCellStyle(styles.box(position, columnIndex - 1));
+                }
+            }
+
+            if (rowIndex % MERGE_INTERVAL == 0) {
+                sheet.addMergedRegionUnsafe(new CellRangeAddress(rowIndex, rowIndex, 6, 7));
+            }
+        }
+
+        if (rowCount > 0) {
+            sheet.getRow(rowCount - 1).getCell(0).setCellValue(END_MARKER);
+        }
+    }
+
+    /**
+     * マトリクス形式のシートへヘッダーと明細行を出力します。
+     *
+     * @param sheet    シート
+     * @param rowCount 明細行の行数
+     * @param random   乱数生成器
+     * @param styles   セルスタイル
+     */
+    private static void fillMatrix(final SXSSFSheet sheet, final int rowCount, final SplittableRandom random,
+            final Styles styles) {
+
+        final Row header = sheet.createRow(MATRIX_START_ROW);
+
+        for (int i = 0; i < MATRIX_COLUMNS; i++) {
+            final Cell cell = header.createCell(MATRIX_START_COLUMN + i);
+            cell.setCellValue("column" + i);
+            cell.setCellStyle(styles.rightBordered);
+        }
+
+        for (int i = 0; i < rowCount; i++) {
+            final Row row = sheet.createRow(MATRIX_START_ROW + 1 + i);
+
+            for (int j = 0; j < MATRIX_COLUMNS; j++) {
+                final Cell cell = row.createCell(MATRIX_START_COLUMN + j);
+                cell.setCellStyle(styles.rightBordered);
+
+                if (random.nextInt(8) == 0) {
+                    continue;
+                }
+
+                if ((j & 1) == 0) {
+                    cell.setCellValue(VOCABULARY[random.nextInt(VOCABULARY.length)]);
+                } else {
+                    cell.setCellValue(random.nextInt(100_000));
+                }
+            }
+        }
+    }
+
+    /**
+     * 引数として指定された数の語彙を生成し返却します。
+     *
+     * @param size 語彙の数
+     * @return 語彙
+     */
+    private static String[] createVocabulary(final int size) {
+
+        final SplittableRandom random = new SplittableRandom(SEED ^ size);
+        final String[] vocabulary = new String[size];
+
+        for (int i = 0; i < size; i++) {
+            final StringBuilder word = new StringBuilder("w");
+
+            for (int j = 0, length = 4 + random.nextInt(12); j < length; j++) {
+                word.append((char) ('a' + random.nextInt(26)));
+            }
+
+            vocabulary[i] = word.toString();
+        }
+
+        return vocabulary;
+    }
+
+    /**
+     * 合成ワークブックで使用するセルスタイルを保持するクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    private static final class Styles {
+
+        /**
+         * 日付のセルスタイル
+         */
+        private final CellStyle date;
+
+        /**
+         * 右罫線のセルスタイル
+         */
+        private final CellStyle rightBordered;
+
+        /**
+         * 3行3列の罫線で囲まれた領域の位置ごとのセルスタイル
+         */
+        private final CellStyle[] boxes = new CellStyle[9];
+
+        /**
+         * コンストラクタ
+         *
+         * @param workbook ワークブック
+         */
+        private Styles(final Workbook workbook) {
+
+            this.date = workbook.createCellStyle();
+            this.date.setDataFormat(workbook.createDataFormat().getFormat("yyyy/m/d h:mm"));
+
+            this.rightBordered = workbook.createCellStyle();
+            this.rightBordered.setBorderRight(BorderStyle.THIN);
+
+            for (int row = 0; row < 3; row++) {
+                for (int column = 0; column < 3; column++) {
+                    final CellStyle style = workbook.createCellStyle();
+
+                    if (row == 0) {
+                        style.setBorderTop(BorderStyle.THIN);
+                    }
+
+                    if (row == 2) {
+                        style.setBorderBottom(BorderStyle.THIN);
+                    }
+
+                    if (column == 0) {
+                        style.setBorderLeft(BorderStyle.THIN);
+                    }
+
+                    if (column == 2) {
+                        style.setBorderRight(BorderStyle.THIN);
+                    }
+
+                    this.boxes[row * 3 + column] = style;
+                }
+            }
+        }
+
+        /**
+         * 罫線で囲まれた領域内の位置に対応するセルスタイルを返却します。
+         *
+         * @param row    領域内の行位置
+         * @param column 領域内の列位置
+         * @return セルスタイル
+         */
+        private CellStyle box(final int row, final int column) {
+            return this.boxes[row * 3 + column];
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.workbook;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.output.NullOutputStream;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * ワークブック全体の読み込み及び書き込みの性能を、 DOM、 ストリーミング、 SXSSFの各方式で比較するベンチマークです。
+ * <ul>
+ * <li>DOM : {@link FluentWorkbook} で {@link XSSFWorkbook} を展開または構築し、 {@link FluentWorkbook#close()}
+ * で出力する方式</li>
+ * <li>ストリーミング : {@link RowReader} で行を逐次読み込む方式</li>
+ * <li>SXSSF : {@link SheetWriter} で {@link SXSSFWorkbook} へ行を逐次出力する方式</li>
+ * </ul>
+ * 書き込みの結果は破棄され、 ディスクへの出力は計測に含まれません。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class WorkbookModeBenchmark {
+
+    /**
+     * 書き込みで使用する列定義
+     */
+    private static final SheetSchema SCHEMA = SheetSchema.builder().column("id", SheetSchema.ColumnType.NUMERIC)
+            .column("name", SheetSchema.ColumnType.STRING).column("amount", SheetSchema.ColumnType.NUMERIC)
+            .column("active", SheetSchema.ColumnType.BOOLEAN).column("updated", SheetSchema.ColumnType.DATE)
+            .build();
+
+    /**
+     * 書き込みで使用する日付
+     */
+    private static final Date UPDATED = new Date(1_577_836_800_000L);
+
+    /**
+     * 行数
+     */
+    @Param({ "10000", "100000", "1000000" })
+    public int rowCount;
+
+    /**
+     * 合成ワークブックのファイル
+     */
+    private File file;
+
+    /**
+     * 合成ワークブックを準備します。
+     *
+     * @throws IOException 合成ワークブックの生成に失敗した場合
+     */
+    @Setup
+    public void setUp() throws IOException {
+        this.file = SyntheticWorkbook.file(this.rowCount);
+    }
+
+    @Benchmark
+    public void readDom(final Blackhole blackhole) {
+        final FluentWorkbook workbook = FluentWorkbook.builder().fromFile(this.file.getPath()).build();
+        blackhole.consume(workbook.sheet(SyntheticWorkbook.DATA_SHEET).toStringList());
+    }
+
+    @Benchmark
+    public void readStreaming(final Blackhole blackhole) {
+        try (RowReader reader = RowReader.open(this.file)) {
+            while (reader.hasNext()) {
+                blackhole.consume(reader.next().getValues());
+            }
+        }
+    }
+
+    @Benchmark
+    public void writeDom() throws IOException {
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            putAndClose(workbook, this.rowCount);
+        }
+    }
+
+    @Benchmark
+    public void writeSheetWriter() {
+        try (SheetWriter writer = SheetWriter.builder().schema(SCHEMA).sheetName(SyntheticWorkbook.DATA_SHEET)
+                .output(NullOutputStream.NULL_OUTPUT_STREAM).build()) {
+            for (int i = 0; i < this.rowCount; i++) {
+                writer.writeRow(i, "name" + (i & 255), i * 1.5d, (i & 1) == 0, UPDATED);
+            }
+        }
+    }
+
+    @Benchmark
+    public void closeDom(final PopulatedDom populated) {
+        populated.workbook.close();
+    }
+
+    /**
+     * 引数として指定されたワークブックへ {@link FluentSheet#put(int, int, Object)} で行を書き込み、
+     * {@link FluentWorkbook#close()} で出力します。
+     *
+     * @param workbook ワークブック
+     * @param rowCount 行数
+     */
+    private static void putAndClose(final XSSFWorkbook workbook, final int rowCount) {
+
+        final FluentWorkbook fluentWorkbook = FluentWorkbook.builder().fromBook(workbook)
+                .output(NullOutputStream.NULL_OUTPUT_STREAM).build();
+
+        put(fluentWorkbook.sheet(SyntheticWorkbook.DATA_SHEET), rowCount);
+        fluentWorkbook.close();
+    }
+
+    /**
+     * 引数として指定されたシートへ {@link FluentSheet#put(int, int, Object)} で行を書き込みます。
+     *
+     * @param sheet    シート
+     * @param rowCount 行数
+     */
+    private static void put(final FluentSheet sheet, final int rowCount) {
+        for (int i = 0; i < rowCount; i++) {
+            sheet.put(0, i, (double) i);
+            sheet.put(1, i, "name" + (i & 255));
+            sheet.put(2, i, i * 1.5d);
+            sheet.put(3, i, (i & 1) == 0);
+            sheet.put(4, i, UPDATED);
+        }
+    }
+
+    /**
+     * {@link FluentWorkbook#close()} のみを計測するために、 呼び出しごとに行を書き込んだ {@link XSSFWorkbook} を準備する状態クラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @State(Scope.Thread)
+    public static class PopulatedDom {
+
+        /**
+         * 書き込み済みのワークブック
+         */
+        private FluentWorkbook workbook;
+
+        /**
+         * 元となるワークブック
+         */
+        private XSSFWorkbook source;
+
+        /**
+         * 行を書き込んだワークブックを準備します。
+         *
+         * @param benchmark ベンチマークの状態
+         */
+        @Setup(Level.Invocation)
+        public void setUp(final WorkbookModeBenchmark benchmark) {
+            this.source = new XSSFWorkbook();
+            this.workbook = FluentWorkbook.builder().fromBook(this.source).output(NullOutputStream.NULL_OUTPUT_STREAM)
+                    .build();
+            put(this.workbook.sheet(SyntheticWorkbook.DATA_SHEET), benchmark.rowCount);
+        }
+
+        /**
+         * ワークブックを破棄します。
+         *
+         * @throws IOException ワークブックの破棄に失敗した場合
+         */
+        @TearDown(Level.Invocation)
+        public void tearDown() throws IOException {
+            this.source.close();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.content;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * コンテンツの条件ノードに定義された1件の条件を表すクラスです。
+ * <p>
+ * 条件はキー名、 演算子、 値の組み合わせで構成されます。 各文字列は {@link String#intern()} で共有されたインスタンスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ * @see ConditionNode
+ */
+@ToString
+@EqualsAndHashCode
+public final class Condition {
+
+    /**
+     * キー名
+     */
+    @Getter
+    private final String keyName;
+
+    /**
+     * 演算子
+     */
+    @Getter
+    private final String operand;
+
+    /**
+     * 値
+     */
+    @Getter
+    private final String value;
+
+    /**
+     * コンストラクタ
+     *
+     * @param keyName キー名
+     * @param operand 演算子
+     * @param value   値
+     */
+    private Condition(final String keyName, final String operand, final String value) {
+        this.keyName = keyName;
+        this.operand = operand;
+        this.value = value;
+    }
+
+    /**
+     * {@link Condition} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @param keyName キー名
+     * @param operand 演算子
+     * @param value   値
+     * @return {@link Condition} クラスの新しいインスタンス
+     */
+    static Condition of(final String keyName, final String operand, final String value) {
+        return new Condition(keyName, operand, value);
+    }
+}
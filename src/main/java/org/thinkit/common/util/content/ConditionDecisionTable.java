@@ -0,0 +1,383 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.content;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * コンテンツの条件ノードをコンパイルした判定表を表す変更不可能なクラスです。
+ * <p>
+ * 条件ノードを定義順に番号付けし、 キー名ごとに値から条件ノードのビット集合への転置索引を構築します。 属性の評価では条件が定義されたキー名ごとに1度だけ属性を参照し、
+ * 該当するビット集合の論理積を取るため、 評価の計算量は条件ノードの数ではなく条件に使用されたキー名の数に比例します。
+ * <p>
+ * 演算子は {@code "="} と {@code "!="} に対応しています。 値が {@code null} の条件は属性が存在しないことに一致します。
+ * 条件ノードは全ての条件を満たした場合に一致し、 除外フラグが設定された条件ノードは常に一致しません。 対応する条件ノードが定義されていない条件IDを持つ選択ノード、
+ * 及び条件IDが空文字列の選択ノードは常に選択されます。 インスタンスはスレッドセーフです。
+ *
+ * <pre>
+ * 使用例:
+ * <code>ConditionDecisionTable table = ConditionDecisionTable.compile(ContentLoader.load(file));
+ * List&lt;SelectionNode&gt; selectionNodes = table.select(attributes);</code>
+ * </pre>
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ * @see ContentDefinition
+ */
+@ToString(of = "content")
+@EqualsAndHashCode(of = "content")
+public final class ConditionDecisionTable {
+
+    /**
+     * 等価を表す演算子
+     */
+    private static final String EQUAL = "=";
+
+    /**
+     * 非等価を表す演算子
+     */
+    private static final String NOT_EQUAL = "!=";
+
+    /**
+     * コンパイル元のコンテンツ定義
+     */
+    private final ContentDefinition content;
+
+    /**
+     * 定義順の条件ノード
+     */
+    private final ConditionNode[] conditionNodes;
+
+    /**
+     * 評価対象となる条件ノードのビット集合
+     */
+    private final long[] enabled;
+
+    /**
+     * 条件に使用されたキー名ごとの転置索引
+     */
+    private final KeyPostings[] postings;
+
+    /**
+     * 条件ノードの番号ごとの対応する選択ノードのビット集合
+     */
+    private final long[][] selections;
+
+    /**
+     * 常に選択される選択ノードのビット集合
+     */
+    private final long[] unconditional;
+
+    /**
+     * 定義順の選択ノード
+     */
+    private final SelectionNode[] selectionNodes;
+
+    /**
+     * 1つのキー名に対する条件の転置索引を表すクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    private static final class KeyPostings {
+
+        /**
+         * キー名
+         */
+        private final String keyName;
+
+        /**
+         * 当該キー名に等価の条件を持つ条件ノードのビット集合
+         */
+        private final long[] constrained;
+
+        /**
+         * 値をキーとした当該値との等価の条件を持つ条件ノードのビット集合
+         */
+        private final Map<String, long[]> equal = new HashMap<>();
+
+        /**
+         * 値をキーとした当該値との非等価の条件を持つ条件ノードのビット集合
+         */
+        private final Map<String, long[]> notEqual = new HashMap<>();
+
+        /**
+         * コンストラクタ
+         *
+         * @param keyName キー名
+         * @param words   ビット集合の語数
+         */
+        private KeyPostings(final String keyName, final int words) {
+            this.keyName = keyName;
+            this.constrained = new long[words];
+        }
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param content コンパイル元のコンテンツ定義
+     *
+     * @throws ContentLoadingException 対応していない演算子が条件に定義されている場合
+     */
+    private ConditionDecisionTable(final ContentDefinition content) {
+
+        this.content = content;
+        this.conditionNodes = content.getConditionNodes().toArray(new ConditionNode[0]);
+
+        final int words = words(this.conditionNodes.length);
+        this.enabled = new long[words];
+
+        final Map<String, KeyPostings> postings = new LinkedHashMap<>();
+        final Map<String, String> required = new HashMap<>();
+
+        for (int i = 0; i < this.conditionNodes.length; i++) {
+
+            final ConditionNode conditionNode = this.conditionNodes[i];
+            boolean satisfiable = !conditionNode.isExclude();
+            required.clear();
+
+            for (Condition condition : conditionNode.getConditions()) {
+
+                final KeyPostings keyPostings = postings.computeIfAbsent(condition.getKeyName(),
+                        key -> new KeyPostings(key, words));
+
+                if (EQUAL.equals(condition.getOperand())) {
+                    if (required.containsKey(condition.getKeyName())
+                            && !Objects.equals(required.get(condition.getKeyName()), condition.getValue())) {
+                        satisfiable = false;
+                    }
+
+                    required.put(condition.getKeyName(), condition.getValue());
+                    set(keyPostings.constrained, i);
+                    set(keyPostings.equal.computeIfAbsent(condition.getValue(), key -> new long[words]), i);
+                } else if (NOT_EQUAL.equals(condition.getOperand())) {
+                    set(keyPostings.notEqual.computeIfAbsent(condition.getValue(), key -> new long[words]), i);
+                } else {
+                    throw new ContentLoadingException(String.format(
+                            "The operand '%s' of the condition id '%s' is not supported.", condition.getOperand(),
+                            conditionNode.getConditionId()));
+                }
+            }
+
+            if (satisfiable) {
+                set(this.enabled, i);
+            }
+        }
+
+        this.postings = postings.values().toArray(new KeyPostings[0]);
+
+        this.selectionNodes = content.getSelectionNodes().toArray(new SelectionNode[0]);
+        this.selections = new long[this.conditionNodes.length][];
+        this.unconditional = new long[words(this.selectionNodes.length)];
+
+        final Map<String, Integer> conditionIndex = new HashMap<>(this.conditionNodes.length * 2);
+
+        for (int i = 0; i < this.conditionNodes.length; i++) {
+            conditionIndex.put(this.conditionNodes[i].getConditionId(), i);
+        }
+
+        for (int i = 0; i < this.selectionNodes.length; i++) {
+
+            final Integer index = conditionIndex.get(this.selectionNodes[i].getConditionId());
+
+            if (index == null) {
+                set(this.unconditional, i);
+            } else {
+                if (this.selections[index] == null) {
+                    this.selections[index] = new long[this.unconditional.length];
+                }
+
+                set(this.selections[index], i);
+            }
+        }
+    }
+
+    /**
+     * 引数として指定されたコンテンツ定義の条件ノードをコンパイルした判定表を返却します。<br>
+     * 引数として{@code null}が渡された場合は実行時に必ず失敗します。<br>
+     *
+     * @param content コンテンツ定義
+     * @return 判定表
+     *
+     * @exception NullPointerException 引数として{@code null}が渡された場合
+     * @throws ContentLoadingException 対応していない演算子が条件に定義されている場合
+     */
+    public static ConditionDecisionTable compile(@NonNull final ContentDefinition content) {
+        return new ConditionDecisionTable(content);
+    }
+
+    /**
+     * コンパイル元のコンテンツ定義を返却します。
+     *
+     * @return コンパイル元のコンテンツ定義
+     */
+    public ContentDefinition getContent() {
+        return this.content;
+    }
+
+    /**
+     * 引数として指定された属性に一致する条件ノードの条件IDを定義順に返却します。<br>
+     * 引数として{@code null}が渡された場合は実行時に必ず失敗します。<br>
+     *
+     * @param attributes キー名と値の属性
+     * @return 一致した条件ノードの条件IDのリスト
+     *
+     * @exception NullPointerException 引数として{@code null}が渡された場合
+     */
+    public List<String> getConditionIds(@NonNull final Map<String, String> attributes) {
+
+        final long[] matched = this.evaluate(attributes);
+        final List<String> conditionIds = new ArrayList<>(Long.bitCount(matched[0]));
+
+        for (int i = nextSetBit(matched, 0); i >= 0; i = nextSetBit(matched, i + 1)) {
+            conditionIds.add(this.conditionNodes[i].getConditionId());
+        }
+
+        return conditionIds;
+    }
+
+    /**
+     * 引数として指定された属性により選択される選択ノードを定義順に返却します。<br>
+     * 一致した条件ノードの条件IDを持つ選択ノードと、 常に選択される選択ノードが返却されます。 引数として{@code null}が渡された場合は実行時に必ず失敗します。<br>
+     *
+     * @param attributes キー名と値の属性
+     * @return 選択された選択ノードのリスト
+     *
+     * @exception NullPointerException 引数として{@code null}が渡された場合
+     */
+    public List<SelectionNode> select(@NonNull final Map<String, String> attributes) {
+
+        if (this.selectionNodes.length == 0) {
+            return Collections.emptyList();
+        }
+
+        final long[] matched = this.evaluate(attributes);
+        final long[] selected = this.unconditional.clone();
+
+        for (int i = nextSetBit(matched, 0); i >= 0; i = nextSetBit(matched, i + 1)) {
+            final long[] selection = this.selections[i];
+
+            if (selection != null) {
+                for (int word = 0; word < selected.length; word++) {
+                    selected[word] |= selection[word];
+                }
+            }
+        }
+
+        final List<SelectionNode> result = new ArrayList<>();
+
+        for (int i = nextSetBit(selected, 0); i >= 0; i = nextSetBit(selected, i + 1)) {
+            result.add(this.selectionNodes[i]);
+        }
+
+        return result;
+    }
+
+    /**
+     * 引数として指定された属性に一致する条件ノードのビット集合を返却します。
+     *
+     * @param attributes キー名と値の属性
+     * @return 一致した条件ノードのビット集合。 空の場合も1語以上の配列です
+     */
+    private long[] evaluate(final Map<String, String> attributes) {
+
+        final long[] candidates = Arrays.copyOf(this.enabled, Math.max(1, this.enabled.length));
+
+        for (KeyPostings keyPostings : this.postings) {
+
+            final String value = attributes.get(keyPostings.keyName);
+            final long[] equal = keyPostings.equal.get(value);
+            final long[] notEqual = keyPostings.notEqual.get(value);
+
+            for (int word = 0; word < this.enabled.length; word++) {
+                long allowed = ~keyPostings.constrained[word];
+
+                if (equal != null) {
+                    allowed |= equal[word];
+                }
+
+                if (notEqual != null) {
+                    allowed &= ~notEqual[word];
+                }
+
+                candidates[word] &= allowed;
+            }
+        }
+
+        return candidates;
+    }
+
+    /**
+     * 引数として指定された要素数のビット集合に必要な語数を返却します。
+     *
+     * @param size 要素数
+     * @return 語数
+     */
+    private static int words(final int size) {
+        return (size + Long.SIZE - 1) >>> 6;
+    }
+
+    /**
+     * ビット集合の指定された位置のビットを設定します。
+     *
+     * @param bits  ビット集合
+     * @param index ビットの位置
+     */
+    private static void set(final long[] bits, final int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    /**
+     * ビット集合の指定された位置以降で最初に設定されているビットの位置を返却します。
+     *
+     * @param bits  ビット集合
+     * @param index 検索を開始する位置
+     * @return 設定されているビットの位置。 存在しない場合は {@code -1}
+     */
+    private static int nextSetBit(final long[] bits, final int index) {
+
+        int word = index >>> 6;
+
+        if (word >= bits.length) {
+            return -1;
+        }
+
+        long current = bits[word] & (-1L << index);
+
+        while (current == 0) {
+            if (++word == bits.length) {
+                return -1;
+            }
+
+            current = bits[word];
+        }
+
+        return (word << 6) + Long.numberOfTrailingZeros(current);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.content;
+
+import java.util.List;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * コンテンツの {@code conditionNodes} に定義された1件の条件ノードを表すクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ * @see ContentDefinition#getConditionNode(String)
+ */
+@ToString
+@EqualsAndHashCode
+public final class ConditionNode {
+
+    /**
+     * 条件ID
+     */
+    @Getter
+    private final String conditionId;
+
+    /**
+     * 除外フラグ
+     */
+    @Getter
+    private final boolean exclude;
+
+    /**
+     * 条件のリスト。 変更不可能なリストです。
+     */
+    @Getter
+    private final List<Condition> conditions;
+
+    /**
+     * コンストラクタ
+     *
+     * @param conditionId 条件ID
+     * @param exclude     除外フラグ
+     * @param conditions  変更不可能な条件のリスト
+     */
+    private ConditionNode(final String conditionId, final boolean exclude, final List<Condition> conditions) {
+        this.conditionId = conditionId;
+        this.exclude = exclude;
+        this.conditions = conditions;
+    }
+
+    /**
+     * {@link ConditionNode} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @param conditionId 条件ID
+     * @param exclude     除外フラグ
+     * @param conditions  変更不可能な条件のリスト
+     * @return {@link ConditionNode} クラスの新しいインスタンス
+     */
+    static ConditionNode of(final String conditionId, final boolean exclude, final List<Condition> conditions) {
+        return new ConditionNode(conditionId, exclude, conditions);
+    }
+}
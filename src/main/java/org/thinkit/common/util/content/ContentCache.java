@@ -0,0 +1,543 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.content;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.flogger.FluentLogger;
+
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * コンテンツファイルのパスをキーとして解析済みのコンテンツ定義を保持し、 ファイルの変更を検知して再読み込みするキャッシュクラスです。
+ * <p>
+ * 初回の参照時にコンテンツファイルを読み込み、 以降はバックグラウンドのスレッドがファイルの変更を監視します。 変更の検知には {@link WatchService} を使用し、
+ * {@link WatchService} が使用できないファイルシステムでは一定間隔でファイルの更新日時と大きさを確認します。 変更されたファイルのみを再解析し、
+ * 解析が完了したコンテンツ定義と判定表を1つのスナップショットとして差し替えるため、 参照側が待機することや読み込み途中の状態を参照することはありません。
+ * 再解析に失敗した場合は直前のスナップショットを保持したまま、 次の確認時に再度読み込みを試みます。
+ * <p>
+ * 使用後は {@link #close()} を呼び出して監視を終了してください。
+ *
+ * <pre>
+ * 使用例:
+ * <code>try (ContentCache cache = ContentCache.builder().pollInterval(Duration.ofSeconds(10)).build()) {
+ *     List&lt;SelectionNode&gt; nodes = cache.getDecisionTable(path).select(attributes);
+ * }</code>
+ * </pre>
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ * @see ContentLoader
+ * @see ConditionDecisionTable
+ */
+@ToString(of = { "pollInterval" })
+public final class ContentCache implements Closeable {
+
+    /**
+     * ログ出力オブジェクト
+     */
+    private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+    /**
+     * パスをキーとしたキャッシュのエントリ
+     */
+    private final ConcurrentMap<Path, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * 監視対象のディレクトリ。 監視に失敗したディレクトリの値は {@code null} です。
+     */
+    private final Map<Path, WatchKey> directories = new HashMap<>();
+
+    /**
+     * ファイルの変更を監視するサービス。 使用できない場合は {@code null} です。
+     */
+    private WatchService watchService;
+
+    /**
+     * ファイルの更新日時を確認する間隔
+     */
+    private Duration pollInterval;
+
+    /**
+     * 監視処理を行うスレッド
+     */
+    private Thread watcher;
+
+    /**
+     * キャッシュが閉じられたか
+     */
+    private volatile boolean closed;
+
+    /**
+     * 1つのコンテンツファイルの読み込み結果を表すクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    private static final class Snapshot {
+
+        /**
+         * コンテンツ定義
+         */
+        private final ContentDefinition content;
+
+        /**
+         * 判定表
+         */
+        private final ConditionDecisionTable decisionTable;
+
+        /**
+         * 読み込み時のファイルの更新日時
+         */
+        private final FileTime lastModified;
+
+        /**
+         * 読み込み時のファイルの大きさ
+         */
+        private final long size;
+
+        /**
+         * コンストラクタ
+         *
+         * @param content      コンテンツ定義
+         * @param lastModified 読み込み時のファイルの更新日時
+         * @param size         読み込み時のファイルの大きさ
+         */
+        private Snapshot(final ContentDefinition content, final FileTime lastModified, final long size) {
+            this.content = content;
+            this.decisionTable = ConditionDecisionTable.compile(content);
+            this.lastModified = lastModified;
+            this.size = size;
+        }
+    }
+
+    /**
+     * キャッシュのエントリを表すクラスです。 スナップショットは監視処理を行うスレッドのみが差し替えます。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    private static final class Entry {
+
+        /**
+         * コンテンツファイルのパス
+         */
+        private final Path path;
+
+        /**
+         * 現在のスナップショット
+         */
+        private volatile Snapshot snapshot;
+
+        /**
+         * 更新日時の確認により変更を検知するか
+         */
+        private volatile boolean polled;
+
+        /**
+         * 直前の再読み込みに失敗したか
+         */
+        private boolean failed;
+
+        /**
+         * コンストラクタ
+         *
+         * @param path     コンテンツファイルのパス
+         * @param snapshot 初回のスナップショット
+         */
+        private Entry(final Path path, final Snapshot snapshot) {
+            this.path = path;
+            this.snapshot = snapshot;
+        }
+    }
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private ContentCache() {
+    }
+
+    /**
+     * {@link ContentCache} クラスを生成するビルダーを返却します。
+     *
+     * @return ビルダー
+     */
+    public static ContentCache.Builder builder() {
+        return new ContentCache.Builder();
+    }
+
+    /**
+     * 引数として指定されたパスのコンテンツ定義を返却します。 初回の参照時はコンテンツファイルを読み込み、 監視を開始します。<br>
+     * 引数として{@code null}が渡された場合は実行時に必ず失敗します。<br>
+     *
+     * @param path コンテンツファイルのパス
+     * @return 現在のコンテンツ定義
+     *
+     * @exception NullPointerException 引数として{@code null}が渡された場合
+     * @throws ContentLoadingException 初回の読み込みに失敗した場合
+     * @throws IllegalStateException   キャッシュが閉じられている場合
+     */
+    public ContentDefinition get(@NonNull final Path path) {
+        return this.entry(path).snapshot.content;
+    }
+
+    /**
+     * 引数として指定されたパスのコンテンツ定義をコンパイルした判定表を返却します。 初回の参照時はコンテンツファイルを読み込み、 監視を開始します。<br>
+     * 引数として{@code null}が渡された場合は実行時に必ず失敗します。<br>
+     *
+     * @param path コンテンツファイルのパス
+     * @return 現在のコンテンツ定義の判定表
+     *
+     * @exception NullPointerException 引数として{@code null}が渡された場合
+     * @throws ContentLoadingException 初回の読み込みに失敗した場合
+     * @throws IllegalStateException   キャッシュが閉じられている場合
+     */
+    public ConditionDecisionTable getDecisionTable(@NonNull final Path path) {
+        return this.entry(path).snapshot.decisionTable;
+    }
+
+    /**
+     * 監視を終了します。 監視処理を行うスレッドの終了を待機します。 終了後の参照は失敗します。
+     */
+    @Override
+    public void close() {
+
+        this.closed = true;
+
+        if (this.watchService != null) {
+            try {
+                this.watchService.close();
+            } catch (IOException e) {
+                throw new ContentLoadingException(e);
+            }
+        }
+
+        this.watcher.interrupt();
+
+        try {
+            this.watcher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 引数として指定されたパスのエントリを返却します。 エントリが存在しない場合は読み込んで登録します。
+     * 読み込みはマップの外で行い、 同じパスを同時に読み込んだ場合は先に登録されたエントリを返却します。
+     *
+     * @param path コンテンツファイルのパス
+     * @return エントリ
+     */
+    private Entry entry(final Path path) {
+
+        if (this.closed) {
+            throw new IllegalStateException("The content cache is already closed.");
+        }
+
+        final Path key = path.toAbsolutePath().normalize();
+        final Entry entry = this.entries.get(key);
+
+        if (entry != null) {
+            return entry;
+        }
+
+        final Entry loaded = new Entry(key, load(key));
+        final Entry registered = this.entries.putIfAbsent(key, loaded);
+
+        if (registered != null) {
+            return registered;
+        }
+
+        this.register(loaded);
+
+        return loaded;
+    }
+
+    /**
+     * 引数として指定されたエントリのファイルの親ディレクトリの監視を開始します。 監視できない場合は更新日時の確認により変更を検知します。
+     *
+     * @param entry 登録されたエントリ
+     */
+    private void register(final Entry entry) {
+
+        final Path directory = entry.path.getParent();
+
+        synchronized (this.directories) {
+            if (!this.directories.containsKey(directory)) {
+                this.directories.put(directory, this.watch(directory));
+            }
+
+            entry.polled = this.directories.get(directory) == null;
+        }
+    }
+
+    /**
+     * 引数として指定されたディレクトリを監視対象として登録します。
+     *
+     * @param directory ディレクトリ
+     * @return 登録結果のキー。 監視できない場合は {@code null}
+     */
+    private WatchKey watch(final Path directory) {
+
+        if (this.watchService == null) {
+            return null;
+        }
+
+        try {
+            return directory.register(this.watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * ファイルの変更を監視し、 変更されたコンテンツファイルを再読み込みします。 キャッシュが閉じられるまで実行されます。
+     */
+    private void run() {
+
+        final long interval = this.pollInterval.toNanos();
+        long nextPoll = System.nanoTime() + interval;
+
+        while (!this.closed) {
+
+            final Set<Path> changed = new LinkedHashSet<>();
+
+            try {
+                this.await(nextPoll - System.nanoTime(), changed);
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+
+            for (Path path : changed) {
+                final Entry entry = this.entries.get(path);
+
+                if (entry != null) {
+                    reload(entry, true);
+                }
+            }
+
+            if (System.nanoTime() - nextPoll >= 0) {
+                nextPoll = System.nanoTime() + interval;
+
+                for (Entry entry : this.entries.values()) {
+                    if (entry.polled || entry.failed) {
+                        reload(entry, entry.failed);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 指定された時間までファイルの変更を待機し、 変更されたファイルのパスを追加します。 監視サービスが存在しない場合は指定された時間だけ待機します。
+     *
+     * @param timeout 待機する時間(ナノ秒)
+     * @param changed 変更されたファイルのパスを追加する集合
+     * @throws InterruptedException 待機中に割り込まれた場合
+     */
+    private void await(final long timeout, final Set<Path> changed) throws InterruptedException {
+
+        if (this.watchService == null) {
+            TimeUnit.NANOSECONDS.sleep(Math.max(0L, timeout));
+            return;
+        }
+
+        WatchKey key = this.watchService.poll(Math.max(0L, timeout), TimeUnit.NANOSECONDS);
+
+        while (key != null) {
+
+            final Path directory = (Path) key.watchable();
+
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    for (Path path : this.entries.keySet()) {
+                        if (directory.equals(path.getParent())) {
+                            changed.add(path);
+                        }
+                    }
+                } else {
+                    changed.add(directory.resolve((Path) event.context()));
+                }
+            }
+
+            key.reset();
+            key = this.watchService.poll();
+        }
+    }
+
+    /**
+     * 引数として指定されたエントリのファイルを再読み込みし、 スナップショットを差し替えます。 再読み込みに失敗した場合は直前のスナップショットを保持します。
+     * 失敗は警告として出力しますが、 失敗が続く間は再度出力せず、 ファイルが存在しない場合は1分に1度のみ出力します。
+     *
+     * @param entry エントリ
+     * @param force 更新日時と大きさが変わっていない場合も再読み込みする場合は {@code true}
+     */
+    private static void reload(final Entry entry, final boolean force) {
+
+        final Snapshot current = entry.snapshot;
+
+        try {
+            final BasicFileAttributes attributes = Files.readAttributes(entry.path, BasicFileAttributes.class);
+
+            if (!force && attributes.lastModifiedTime().equals(current.lastModified)
+                    && attributes.size() == current.size) {
+                return;
+            }
+
+            entry.snapshot = load(entry.path);
+            entry.failed = false;
+        } catch (IOException | RuntimeException e) {
+            final boolean failed = Files.exists(entry.path);
+
+            if (!failed) {
+                logger.atWarning().atMostEvery(1, TimeUnit.MINUTES).withCause(e)
+                        .log("The content (%s) does not exist and the previous one is kept.", entry.path);
+            } else if (!entry.failed) {
+                logger.atWarning().withCause(e)
+                        .log("The content (%s) could not be reloaded and the previous one is kept.", entry.path);
+            }
+
+            entry.failed = failed;
+        }
+    }
+
+    /**
+     * 引数として指定されたパスのコンテンツファイルを読み込みます。 ファイルの更新日時と大きさは解析前に取得します。
+     *
+     * @param path コンテンツファイルのパス
+     * @return スナップショット
+     *
+     * @throws ContentLoadingException 読み込みに失敗した場合
+     */
+    private static Snapshot load(final Path path) {
+
+        final BasicFileAttributes attributes;
+
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            throw new ContentLoadingException(e);
+        }
+
+        return new Snapshot(ContentLoader.load(path.toFile()), attributes.lastModifiedTime(), attributes.size());
+    }
+
+    /**
+     * {@link ContentCache} のインスタンスを生成する処理を定義したビルダークラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @ToString
+    public static class Builder {
+
+        /**
+         * ファイルの更新日時を確認する間隔
+         */
+        private Duration pollInterval = Duration.ofSeconds(5);
+
+        /**
+         * {@link WatchService} を使用するか
+         */
+        private boolean watch = true;
+
+        /**
+         * デフォルトコンストラクタ
+         */
+        private Builder() {
+        }
+
+        /**
+         * ファイルの更新日時を確認する間隔を設定します。 {@link WatchService} で監視できないファイルと、
+         * 直前の再読み込みに失敗したファイルはこの間隔で確認されます。 デフォルトは5秒です。
+         *
+         * @param pollInterval ファイルの更新日時を確認する間隔
+         * @return Builderオブジェクト
+         * @exception IllegalArgumentException 間隔がnullまたは正数ではない場合
+         */
+        public Builder pollInterval(Duration pollInterval) {
+
+            if (pollInterval == null || pollInterval.isZero() || pollInterval.isNegative()) {
+                throw new IllegalArgumentException(
+                        String.format("wrong parameter (%s) was given. Poll interval must be positive.", pollInterval));
+            }
+
+            this.pollInterval = pollInterval;
+
+            return this;
+        }
+
+        /**
+         * {@link WatchService} を使用して変更を検知するかを設定します。 使用しない場合は全てのファイルを一定間隔で確認します。 デフォルトでは使用します。
+         *
+         * @param watch {@link WatchService} を使用する場合は {@code true}
+         * @return Builderオブジェクト
+         */
+        public Builder watch(boolean watch) {
+            this.watch = watch;
+            return this;
+        }
+
+        /**
+         * {@link ContentCache} のインスタンスを生成し、 監視処理を行うスレッドを開始して返却します。
+         *
+         * @return {@link ContentCache} クラスの新しいインスタンス
+         */
+        public ContentCache build() {
+
+            final ContentCache cache = new ContentCache();
+            cache.pollInterval = this.pollInterval;
+
+            if (this.watch) {
+                try {
+                    cache.watchService = FileSystems.getDefault().newWatchService();
+                } catch (IOException | UnsupportedOperationException e) {
+                    cache.watchService = null;
+                }
+            }
+
+            cache.watcher = new Thread(cache::run, "content-cache-watcher");
+            cache.watcher.setDaemon(true);
+            cache.watcher.start();
+
+            return cache;
+        }
+    }
+}
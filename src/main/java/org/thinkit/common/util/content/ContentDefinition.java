@@ -0,0 +1,179 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.content;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 解析済みのコンテンツ定義を表す変更不可能なクラスです。
+ * <p>
+ * {@code metadata} 、 {@code selectionNodes} 、 {@code conditionNodes}
+ * を型付けされた構造として保持し、 選択ノードと条件ノードは {@code conditionId} で索引付けされています。
+ * 参照時にjsonの解析やマップの型変換は行われないため、 リクエストごとの参照に適しています。 インスタンスは {@link ContentLoader} から取得してください。
+ *
+ * <pre>
+ * 条件IDに対応する選択ノードを取得する場合:
+ * <code>List&lt;SelectionNode&gt; nodes = ContentLoader.load(file).getSelectionNodes("0");</code>
+ * </pre>
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ * @see ContentLoader
+ */
+@ToString(of = { "metadata", "selectionNodes", "conditionNodes" })
+@EqualsAndHashCode(of = { "metadata", "selectionNodes", "conditionNodes" })
+public final class ContentDefinition {
+
+    /**
+     * メタ情報。 変更不可能なマップです。
+     */
+    private final Map<String, String> metadata;
+
+    /**
+     * 定義順の選択ノードのリスト。 変更不可能なリストです。
+     */
+    private final List<SelectionNode> selectionNodes;
+
+    /**
+     * 定義順の条件ノードのリスト。 変更不可能なリストです。
+     */
+    private final List<ConditionNode> conditionNodes;
+
+    /**
+     * 条件IDをキーとした選択ノードの索引
+     */
+    private final Map<String, List<SelectionNode>> selectionIndex;
+
+    /**
+     * 条件IDをキーとした条件ノードの索引
+     */
+    private final Map<String, ConditionNode> conditionIndex;
+
+    /**
+     * コンストラクタ
+     *
+     * @param metadata       変更不可能なメタ情報
+     * @param selectionNodes 変更不可能な選択ノードのリスト
+     * @param conditionNodes 変更不可能な条件ノードのリスト
+     * @param selectionIndex 条件IDをキーとした選択ノードの索引
+     * @param conditionIndex 条件IDをキーとした条件ノードの索引
+     */
+    private ContentDefinition(final Map<String, String> metadata, final List<SelectionNode> selectionNodes,
+            final List<ConditionNode> conditionNodes, final Map<String, List<SelectionNode>> selectionIndex,
+            final Map<String, ConditionNode> conditionIndex) {
+        this.metadata = metadata;
+        this.selectionNodes = selectionNodes;
+        this.conditionNodes = conditionNodes;
+        this.selectionIndex = selectionIndex;
+        this.conditionIndex = conditionIndex;
+    }
+
+    /**
+     * {@link ContentDefinition} クラスの新しいインスタンスを生成し返却します。<br>
+     * 引数のコレクションは複製されずにそのまま保持され、 条件IDの索引はこのメソッド内で生成されます。
+     *
+     * @param metadata       変更不可能なメタ情報
+     * @param selectionNodes 変更不可能な選択ノードのリスト
+     * @param conditionNodes 変更不可能な条件ノードのリスト
+     * @return {@link ContentDefinition} クラスの新しいインスタンス
+     *
+     * @throws ContentLoadingException 同じ条件IDを持つ条件ノードが複数定義されている場合
+     */
+    static ContentDefinition of(final Map<String, String> metadata, final List<SelectionNode> selectionNodes,
+            final List<ConditionNode> conditionNodes) {
+
+        final Map<String, List<SelectionNode>> selectionIndex = new HashMap<>();
+
+        for (SelectionNode selectionNode : selectionNodes) {
+            selectionIndex.computeIfAbsent(selectionNode.getConditionId(), key -> new ArrayList<>(1))
+                    .add(selectionNode);
+        }
+
+        selectionIndex.replaceAll((key, nodes) -> Collections.unmodifiableList(nodes));
+
+        final Map<String, ConditionNode> conditionIndex = new HashMap<>(conditionNodes.size() * 2);
+
+        for (ConditionNode conditionNode : conditionNodes) {
+            if (conditionIndex.putIfAbsent(conditionNode.getConditionId(), conditionNode) != null) {
+                throw new ContentLoadingException(String.format("The condition id '%s' is defined more than once.",
+                        conditionNode.getConditionId()));
+            }
+        }
+
+        return new ContentDefinition(metadata, selectionNodes, conditionNodes, selectionIndex, conditionIndex);
+    }
+
+    /**
+     * メタ情報を返却します。
+     *
+     * @return 変更不可能なメタ情報
+     */
+    public Map<String, String> getMetadata() {
+        return this.metadata;
+    }
+
+    /**
+     * 定義順の全ての選択ノードを返却します。
+     *
+     * @return 変更不可能な選択ノードのリスト
+     */
+    public List<SelectionNode> getSelectionNodes() {
+        return this.selectionNodes;
+    }
+
+    /**
+     * 引数として指定された条件IDを持つ選択ノードを定義順に返却します。<br>
+     * 引数として{@code null}が渡された場合は実行時に必ず失敗します。<br>
+     *
+     * @param conditionId 条件ID
+     * @return 変更不可能な選択ノードのリスト。 該当する選択ノードが存在しない場合は空リスト
+     *
+     * @exception NullPointerException 引数として{@code null}が渡された場合
+     */
+    public List<SelectionNode> getSelectionNodes(@NonNull final String conditionId) {
+        return this.selectionIndex.getOrDefault(conditionId, Collections.emptyList());
+    }
+
+    /**
+     * 定義順の全ての条件ノードを返却します。
+     *
+     * @return 変更不可能な条件ノードのリスト
+     */
+    public List<ConditionNode> getConditionNodes() {
+        return this.conditionNodes;
+    }
+
+    /**
+     * 引数として指定された条件IDを持つ条件ノードを返却します。<br>
+     * 引数として{@code null}が渡された場合は実行時に必ず失敗します。<br>
+     *
+     * @param conditionId 条件ID
+     * @return 条件ノード。 該当する条件ノードが存在しない場合は {@code null}
+     *
+     * @exception NullPointerException 引数として{@code null}が渡された場合
+     */
+    public ConditionNode getConditionNode(@NonNull final String conditionId) {
+        return this.conditionIndex.get(conditionId);
+    }
+}
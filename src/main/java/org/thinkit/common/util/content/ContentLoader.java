@@ -0,0 +1,422 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.content;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import lombok.NonNull;
+
+/**
+ * コンテンツファイルを解析し {@link ContentDefinition} へ変換する処理を定義したクラスです。
+ * <p>
+ * コンテンツファイルは {@code metadata} 、 {@code selectionNodes} 、 {@code conditionNodes}
+ * で構成されたjsonです。 ファイルはストリーミングで1度だけ解析され、 中間のマップを生成せずに変更不可能な型付けされた構造へ変換されます。
+ * キー名と値は全て {@link String#intern()} で共有されるため、 同じ文字列を多数含むコンテンツでも使用するメモリは抑えられます。
+ * 定義されていない項目は無視されます。
+ *
+ * <pre>
+ * 使用例:
+ * <code>ContentDefinition content = ContentLoader.load(new File("content/content.json"));</code>
+ * </pre>
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ * @see ContentDefinition
+ */
+public final class ContentLoader {
+
+    /**
+     * メタ情報の項目名
+     */
+    private static final String METADATA = "metadata";
+
+    /**
+     * 選択ノードの配列の項目名
+     */
+    private static final String SELECTION_NODES = "selectionNodes";
+
+    /**
+     * 条件ノードの配列の項目名
+     */
+    private static final String CONDITION_NODES = "conditionNodes";
+
+    /**
+     * 各ノードを内包する項目名
+     */
+    private static final String NODE = "node";
+
+    /**
+     * 条件IDの項目名
+     */
+    private static final String CONDITION_ID = "conditionId";
+
+    /**
+     * 除外フラグの項目名
+     */
+    private static final String EXCLUDE = "exclude";
+
+    /**
+     * 条件の配列の項目名
+     */
+    private static final String CONDITIONS = "conditions";
+
+    /**
+     * 条件のキー名の項目名
+     */
+    private static final String KEY_NAME = "keyName";
+
+    /**
+     * 条件の演算子の項目名
+     */
+    private static final String OPERAND = "operand";
+
+    /**
+     * 条件の値の項目名
+     */
+    private static final String VALUE = "value";
+
+    /**
+     * jsonパーサのファクトリ
+     */
+    private static final JsonFactory factory = new JsonFactory().disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private ContentLoader() {
+    }
+
+    /**
+     * 引数として指定されたコンテンツファイルを解析し {@link ContentDefinition} を返却します。<br>
+     * 引数として{@code null}が渡された場合は実行時に必ず失敗します。<br>
+     *
+     * @param file コンテンツファイル
+     * @return 解析されたコンテンツ定義
+     *
+     * @exception NullPointerException 引数として{@code null}が渡された場合
+     * @throws ContentLoadingException ファイルの読み込みに失敗した場合、またはコンテンツの構造が不正な場合
+     */
+    public static ContentDefinition load(@NonNull final File file) {
+        try (JsonParser parser = factory.createParser(file)) {
+            return parse(parser);
+        } catch (IOException e) {
+            throw new ContentLoadingException(e);
+        }
+    }
+
+    /**
+     * 引数として指定された入力ストリームから読み込んだコンテンツを解析し {@link ContentDefinition} を返却します。 入力ストリームは閉じられません。<br>
+     * 引数として{@code null}が渡された場合は実行時に必ず失敗します。<br>
+     *
+     * @param inputStream コンテンツを読み込む入力ストリーム
+     * @return 解析されたコンテンツ定義
+     *
+     * @exception NullPointerException 引数として{@code null}が渡された場合
+     * @throws ContentLoadingException 入力ストリームの読み込みに失敗した場合、またはコンテンツの構造が不正な場合
+     */
+    public static ContentDefinition load(@NonNull final InputStream inputStream) {
+        try (JsonParser parser = factory.createParser(inputStream)) {
+            return parse(parser);
+        } catch (IOException e) {
+            throw new ContentLoadingException(e);
+        }
+    }
+
+    /**
+     * 引数として指定されたパーサからコンテンツを解析します。
+     *
+     * @param parser jsonパーサ
+     * @return 解析されたコンテンツ定義
+     * @throws IOException jsonの解析に失敗した場合
+     */
+    private static ContentDefinition parse(final JsonParser parser) throws IOException {
+
+        expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+
+        Map<String, String> metadata = Collections.emptyMap();
+        List<SelectionNode> selectionNodes = Collections.emptyList();
+        List<ConditionNode> conditionNodes = Collections.emptyList();
+
+        final Map<List<String>, String[]> keySets = new HashMap<>();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+
+            final String name = parser.getCurrentName();
+            final JsonToken token = parser.nextToken();
+
+            if (METADATA.equals(name)) {
+                expect(parser, token, JsonToken.START_OBJECT);
+                metadata = Collections.unmodifiableMap(parseMetadata(parser));
+            } else if (SELECTION_NODES.equals(name)) {
+                expect(parser, token, JsonToken.START_ARRAY);
+                selectionNodes = Collections.unmodifiableList(parseSelectionNodes(parser, keySets));
+            } else if (CONDITION_NODES.equals(name)) {
+                expect(parser, token, JsonToken.START_ARRAY);
+                conditionNodes = Collections.unmodifiableList(parseConditionNodes(parser));
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        return ContentDefinition.of(metadata, selectionNodes, conditionNodes);
+    }
+
+    /**
+     * メタ情報を解析します。 パーサはメタ情報のオブジェクトの開始位置にある必要があります。
+     *
+     * @param parser jsonパーサ
+     * @return 定義順のメタ情報
+     * @throws IOException jsonの解析に失敗した場合
+     */
+    private static Map<String, String> parseMetadata(final JsonParser parser) throws IOException {
+
+        final Map<String, String> metadata = new LinkedHashMap<>();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String name = parser.getCurrentName().intern();
+            metadata.put(name, scalar(parser, parser.nextToken()));
+        }
+
+        return metadata;
+    }
+
+    /**
+     * 選択ノードの配列を解析します。 パーサは配列の開始位置にある必要があります。
+     *
+     * @param parser  jsonパーサ
+     * @param keySets キー構成をキーとした共有するキー名の配列
+     * @return 定義順の選択ノードのリスト
+     * @throws IOException jsonの解析に失敗した場合
+     */
+    private static List<SelectionNode> parseSelectionNodes(final JsonParser parser,
+            final Map<List<String>, String[]> keySets) throws IOException {
+
+        final List<SelectionNode> selectionNodes = new ArrayList<>();
+        final List<String> keys = new ArrayList<>();
+        final List<String> values = new ArrayList<>();
+
+        while (nextNode(parser)) {
+
+            String conditionId = "";
+            keys.clear();
+            values.clear();
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+
+                final String name = parser.getCurrentName().intern();
+                final String value = scalar(parser, parser.nextToken());
+
+                if (CONDITION_ID.equals(name)) {
+                    conditionId = value == null ? "" : value;
+                } else {
+                    keys.add(name);
+                    values.add(value);
+                }
+            }
+
+            skipNodeEnd(parser);
+
+            final String[] keySet = keySets.computeIfAbsent(new ArrayList<>(keys), key -> key.toArray(new String[0]));
+            selectionNodes.add(SelectionNode.of(conditionId, keySet, values.toArray(new String[0])));
+        }
+
+        return selectionNodes;
+    }
+
+    /**
+     * 条件ノードの配列を解析します。 パーサは配列の開始位置にある必要があります。
+     *
+     * @param parser jsonパーサ
+     * @return 定義順の条件ノードのリスト
+     * @throws IOException jsonの解析に失敗した場合
+     */
+    private static List<ConditionNode> parseConditionNodes(final JsonParser parser) throws IOException {
+
+        final List<ConditionNode> conditionNodes = new ArrayList<>();
+
+        while (nextNode(parser)) {
+
+            String conditionId = "";
+            boolean exclude = false;
+            List<Condition> conditions = Collections.emptyList();
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+
+                final String name = parser.getCurrentName();
+                final JsonToken token = parser.nextToken();
+
+                if (CONDITION_ID.equals(name)) {
+                    final String value = scalar(parser, token);
+                    conditionId = value == null ? "" : value;
+                } else if (EXCLUDE.equals(name)) {
+                    exclude = token == JsonToken.VALUE_TRUE
+                            || (token == JsonToken.VALUE_STRING && Boolean.parseBoolean(parser.getText()));
+                } else if (CONDITIONS.equals(name)) {
+                    expect(parser, token, JsonToken.START_ARRAY);
+                    conditions = parseConditions(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            skipNodeEnd(parser);
+            conditionNodes.add(ConditionNode.of(conditionId, exclude, conditions));
+        }
+
+        return conditionNodes;
+    }
+
+    /**
+     * 条件の配列を解析します。 パーサは配列の開始位置にある必要があります。
+     *
+     * @param parser jsonパーサ
+     * @return 変更不可能な定義順の条件のリスト
+     * @throws IOException jsonの解析に失敗した場合
+     */
+    private static List<Condition> parseConditions(final JsonParser parser) throws IOException {
+
+        final List<Condition> conditions = new ArrayList<>();
+
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+
+            expect(parser, token, JsonToken.START_OBJECT);
+
+            String keyName = null;
+            String operand = null;
+            String value = null;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+
+                final String name = parser.getCurrentName();
+
+                if (KEY_NAME.equals(name)) {
+                    keyName = scalar(parser, parser.nextToken());
+                } else if (OPERAND.equals(name)) {
+                    operand = scalar(parser, parser.nextToken());
+                } else if (VALUE.equals(name)) {
+                    value = scalar(parser, parser.nextToken());
+                } else {
+                    parser.nextToken();
+                    parser.skipChildren();
+                }
+            }
+
+            if (keyName == null || operand == null) {
+                throw new ContentLoadingException(String.format("The condition at %s requires keyName and operand.",
+                        parser.getCurrentLocation()));
+            }
+
+            conditions.add(Condition.of(keyName, operand, value));
+        }
+
+        return Collections.unmodifiableList(conditions);
+    }
+
+    /**
+     * 配列内の次のノードの {@code node} オブジェクトの開始位置までパーサを進めます。
+     *
+     * @param parser ノードの配列内に位置するjsonパーサ
+     * @return 次のノードが存在する場合は {@code true} 、配列の終端に達した場合は {@code false}
+     * @throws IOException jsonの解析に失敗した場合
+     */
+    private static boolean nextNode(final JsonParser parser) throws IOException {
+
+        final JsonToken token = parser.nextToken();
+
+        if (token == JsonToken.END_ARRAY) {
+            return false;
+        }
+
+        expect(parser, token, JsonToken.START_OBJECT);
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            if (NODE.equals(parser.getCurrentName())) {
+                expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+                return true;
+            }
+
+            parser.nextToken();
+            parser.skipChildren();
+        }
+
+        throw new ContentLoadingException(
+                String.format("The node entry at %s has no '%s' object.", parser.getCurrentLocation(), NODE));
+    }
+
+    /**
+     * {@code node} オブジェクトを内包するオブジェクトの残りの項目を読み飛ばします。
+     *
+     * @param parser {@code node} オブジェクトの終端に位置するjsonパーサ
+     * @throws IOException jsonの解析に失敗した場合
+     */
+    private static void skipNodeEnd(final JsonParser parser) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            parser.nextToken();
+            parser.skipChildren();
+        }
+    }
+
+    /**
+     * 現在のスカラー値を共有された文字列として返却します。
+     *
+     * @param parser jsonパーサ
+     * @param token  現在のトークン
+     * @return 共有された文字列。 値が {@code null} の場合は {@code null}
+     * @throws IOException jsonの解析に失敗した場合
+     */
+    private static String scalar(final JsonParser parser, final JsonToken token) throws IOException {
+
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+
+        if (token == null || !token.isScalarValue()) {
+            throw new ContentLoadingException(String.format("A scalar value was expected at %s but %s was found.",
+                    parser.getCurrentLocation(), token));
+        }
+
+        return parser.getText().intern();
+    }
+
+    /**
+     * 現在のトークンが期待するトークンであることを検証します。
+     *
+     * @param parser   jsonパーサ
+     * @param token    現在のトークン
+     * @param expected 期待するトークン
+     *
+     * @throws ContentLoadingException 現在のトークンが期待するトークンではない場合
+     */
+    private static void expect(final JsonParser parser, final JsonToken token, final JsonToken expected) {
+        if (token != expected) {
+            throw new ContentLoadingException(String.format("%s was expected at %s but %s was found.", expected,
+                    parser.getCurrentLocation(), token));
+        }
+    }
+}
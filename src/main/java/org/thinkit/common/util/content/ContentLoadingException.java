@@ -0,0 +1,88 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.content;
+
+/**
+ * Thrown to indicate that an illegal operation has been detected while loading
+ * a content definition, such as an unreadable file or an unexpected structure.
+ *
+ * <pre>
+ * Example:
+ * <code>throw new ContentLoadingException();</code>
+ * </pre>
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class ContentLoadingException extends RuntimeException {
+
+    /**
+     * serialVersionUID
+     */
+    private static final long serialVersionUID = 0L;
+
+    /**
+     * Constructs an <code>ContentLoadingException</code> with no detail message.
+     */
+    public ContentLoadingException() {
+        super();
+    }
+
+    /**
+     * Constructs an <code>ContentLoadingException</code> with the specified detail
+     * message.
+     *
+     * @param s the detail message.
+     */
+    public ContentLoadingException(String s) {
+        super(s);
+    }
+
+    /**
+     * Constructs a new exception with the specified detail message and cause.
+     * <p>
+     * Note that the detail message associated with <code>cause</code> is <i>not</i>
+     * automatically incorporated in this exception's detail message.
+     *
+     * @param message the detail message (which is saved for later retrieval by the
+     *                {@link Throwable#getMessage()} method).
+     * @param cause   the cause (which is saved for later retrieval by the
+     *                {@link Throwable#getCause()} method). (A <tt>null</tt> value
+     *                is permitted, and indicates that the cause is nonexistent or
+     *                unknown.)
+     * @since 1.0
+     */
+    public ContentLoadingException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    /**
+     * Constructs a new exception with the specified cause and a detail message of
+     * <tt>(cause==null ? null : cause.toString())</tt> (which typically contains
+     * the class and detail message of <tt>cause</tt>). This constructor is useful
+     * for exceptions that are little more than wrappers for other throwables (for
+     * example, {@link java.security.PrivilegedActionException}).
+     *
+     * @param cause the cause (which is saved for later retrieval by the
+     *              {@link Throwable#getCause()} method). (A <tt>null</tt> value is
+     *              permitted, and indicates that the cause is nonexistent or
+     *              unknown.)
+     * @since 1.0
+     */
+    public ContentLoadingException(Throwable cause) {
+        super(cause);
+    }
+}
\ No newline at end of file
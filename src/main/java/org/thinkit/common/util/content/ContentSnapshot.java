@@ -0,0 +1,528 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.content;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+import com.google.common.flogger.FluentLogger;
+
+import lombok.NonNull;
+
+/**
+ * 解析済みのコンテンツ定義をメモリマップ可能なバイナリ形式のスナップショットとして保存し、 読み込む処理を定義したクラスです。
+ * <p>
+ * スナップショットはヘッダ、 文字列表、 固定長のレコード表で構成されます。 全ての文字列は文字列表に1度だけ格納され、
+ * メタ情報、 選択ノード、 条件ノード、 条件の各レコードは文字列表の番号を参照する固定長の整数の並びです。 読み込み時はファイルをメモリマップし、
+ * jsonの字句解析を行わずにレコード表から {@link ContentDefinition} を組み立てます。
+ * <p>
+ * ヘッダには形式のバージョン、 変換元のコンテンツファイルの大きさ及び更新日時、 チェックサム自身を除くファイル全体のCRC32が記録されます。 {@link #load(Path, Path)}
+ * はスナップショットが存在しない場合、 バージョンが異なる場合、 変換元のファイルが変更されている場合、 または内容が破損している場合にjsonを解析し、
+ * スナップショットを作成し直します。 ビルド時に作成する場合は {@link #compile(Path, Path)} を使用してください。
+ *
+ * <pre>
+ * 使用例:
+ * <code>ContentDefinition content = ContentSnapshot.load(Paths.get("content.json"),
+ *         Paths.get("content.snapshot"));</code>
+ * </pre>
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ * @see ContentLoader
+ */
+public final class ContentSnapshot {
+
+    /**
+     * ログ出力オブジェクト
+     */
+    private static final FluentLogger logger = FluentLogger.forEnclosingClass();
+
+    /**
+     * スナップショットを識別する値
+     */
+    private static final int MAGIC = 0x544B4353;
+
+    /**
+     * 形式のバージョン
+     */
+    private static final int VERSION = 2;
+
+    /**
+     * ヘッダの大きさ(バイト)
+     */
+    private static final int HEADER_SIZE = 72;
+
+    /**
+     * ヘッダ内のチェックサムの位置(バイト)
+     */
+    private static final int CHECKSUM_POSITION = 32;
+
+    /**
+     * {@code null} を表す文字列表の番号
+     */
+    private static final int NULL = -1;
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private ContentSnapshot() {
+    }
+
+    /**
+     * 引数として指定されたコンテンツファイルを解析し、 スナップショットを作成します。 スナップショットは一時ファイルへ書き込んだ後に置き換えられます。<br>
+     * 引数として{@code null}が渡された場合は実行時に必ず失敗します。<br>
+     *
+     * @param source   変換元のコンテンツファイルのパス
+     * @param snapshot 作成するスナップショットのパス
+     * @return 解析されたコンテンツ定義
+     *
+     * @exception NullPointerException 引数として{@code null}が渡された場合
+     * @throws ContentLoadingException コンテンツファイルの解析またはスナップショットの書き込みに失敗した場合
+     */
+    public static ContentDefinition compile(@NonNull final Path source, @NonNull final Path snapshot) {
+        try {
+            final BasicFileAttributes attributes = Files.readAttributes(source, BasicFileAttributes.class);
+            final ContentDefinition content = ContentLoader.load(source.toFile());
+
+            write(content, attributes, snapshot);
+
+            return content;
+        } catch (IOException e) {
+            throw new ContentLoadingException(e);
+        }
+    }
+
+    /**
+     * 引数として指定されたスナップショットからコンテンツ定義を読み込みます。<br>
+     * スナップショットが存在しない場合、 または変換元のコンテンツファイルに対して古い場合はコンテンツファイルを解析し、 スナップショットを作成し直します。
+     * スナップショットの作成に失敗した場合も解析したコンテンツ定義を返却します。<br>
+     * 引数として{@code null}が渡された場合は実行時に必ず失敗します。<br>
+     *
+     * @param source   変換元のコンテンツファイルのパス
+     * @param snapshot スナップショットのパス
+     * @return コンテンツ定義
+     *
+     * @exception NullPointerException 引数として{@code null}が渡された場合
+     * @throws ContentLoadingException コンテンツファイルの読み込みまたは解析に失敗した場合
+     */
+    public static ContentDefinition load(@NonNull final Path source, @NonNull final Path snapshot) {
+
+        final BasicFileAttributes attributes;
+
+        try {
+            attributes = Files.readAttributes(source, BasicFileAttributes.class);
+        } catch (IOException e) {
+            throw new ContentLoadingException(e);
+        }
+
+        if (Files.isRegularFile(snapshot)) {
+            try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+                final ContentDefinition content = read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()),
+                        attributes);
+
+                if (content != null) {
+                    return content;
+                }
+            } catch (IOException | RuntimeException e) {
+                logger.atWarning().withCause(e).log("The snapshot (%s) is corrupted and will be rebuilt from (%s).",
+                        snapshot, source);
+            }
+        }
+
+        final ContentDefinition content = ContentLoader.load(source.toFile());
+
+        try {
+            write(content, attributes, snapshot);
+        } catch (IOException e) {
+            logger.atWarning().withCause(e).log("The snapshot (%s) could not be written.", snapshot);
+        }
+
+        return content;
+    }
+
+    /**
+     * 引数として指定されたバッファからコンテンツ定義を組み立てます。
+     *
+     * @param buffer     スナップショットをマップしたバッファ
+     * @param attributes 変換元のコンテンツファイルの属性
+     * @return コンテンツ定義。 スナップショットの形式が異なる場合、または古い場合は {@code null}
+     *
+     * @throws BufferUnderflowException スナップショットが破損している場合
+     * @throws IndexOutOfBoundsException スナップショットが破損している場合、 またはレコード数がスナップショットの大きさを超える場合
+     */
+    private static ContentDefinition read(final MappedByteBuffer buffer, final BasicFileAttributes attributes) {
+
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != VERSION
+                || buffer.getLong() != attributes.size()
+                || buffer.getLong() != attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS)
+                || buffer.getLong() != buffer.capacity() || buffer.getLong() != checksum(buffer)) {
+            return null;
+        }
+
+        final int stringCount = buffer.getInt();
+        final int stringBytes = buffer.getInt();
+        final int metadataCount = buffer.getInt();
+        final int keySetCount = buffer.getInt();
+        final int keyCount = buffer.getInt();
+        final int selectionCount = buffer.getInt();
+        final int conditionNodeCount = buffer.getInt();
+        final int conditionCount = buffer.getInt();
+
+        if (stringCount < 0 || stringBytes < 0 || metadataCount < 0 || keySetCount < 0 || keyCount < 0
+                || selectionCount < 0 || conditionNodeCount < 0 || conditionCount < 0
+                || HEADER_SIZE + (long) stringBytes + ((long) stringCount + keySetCount + keyCount) * Integer.BYTES
+                        + ((long) metadataCount + selectionCount) * 2 * Integer.BYTES
+                        + ((long) conditionNodeCount + conditionCount) * 3 * Integer.BYTES > buffer.capacity()) {
+            throw new IndexOutOfBoundsException("The record counts exceed the snapshot size.");
+        }
+
+        buffer.position(HEADER_SIZE);
+
+        final int[] ends = new int[stringCount];
+        buffer.asIntBuffer().get(ends);
+        buffer.position(buffer.position() + stringCount * Integer.BYTES);
+
+        final byte[] bytes = new byte[stringBytes];
+        buffer.get(bytes);
+
+        final String[] strings = new String[stringCount];
+
+        for (int i = 0, start = 0; i < stringCount; start = ends[i++]) {
+            strings[i] = new String(bytes, start, ends[i] - start, StandardCharsets.UTF_8).intern();
+        }
+
+        final Map<String, String> metadata = new LinkedHashMap<>(metadataCount * 2);
+
+        for (int i = 0; i < metadataCount; i++) {
+            metadata.put(string(strings, buffer.getInt()), string(strings, buffer.getInt()));
+        }
+
+        final String[][] keySets = new String[keySetCount][];
+        final int[] keys = new int[keyCount];
+        final int[] keySetEnds = new int[keySetCount];
+        buffer.asIntBuffer().get(keySetEnds);
+        buffer.position(buffer.position() + keySetCount * Integer.BYTES);
+        buffer.asIntBuffer().get(keys);
+        buffer.position(buffer.position() + keyCount * Integer.BYTES);
+
+        for (int i = 0, start = 0; i < keySetCount; start = keySetEnds[i++]) {
+            keySets[i] = new String[keySetEnds[i] - start];
+
+            for (int j = 0; j < keySets[i].length; j++) {
+                keySets[i][j] = string(strings, keys[start + j]);
+            }
+        }
+
+        final List<SelectionNode> selectionNodes = new ArrayList<>(selectionCount);
+
+        for (int i = 0; i < selectionCount; i++) {
+            final String conditionId = string(strings, buffer.getInt());
+            final String[] keySet = keySets[buffer.getInt()];
+            final String[] values = new String[keySet.length];
+
+            for (int j = 0; j < values.length; j++) {
+                values[j] = string(strings, buffer.getInt());
+            }
+
+            selectionNodes.add(SelectionNode.of(conditionId, keySet, values));
+        }
+
+        final List<ConditionNode> conditionNodes = new ArrayList<>(conditionNodeCount);
+        int remaining = conditionCount;
+
+        for (int i = 0; i < conditionNodeCount; i++) {
+            final String conditionId = string(strings, buffer.getInt());
+            final boolean exclude = buffer.getInt() != 0;
+            final int size = buffer.getInt();
+
+            if (size < 0 || size > remaining) {
+                throw new IndexOutOfBoundsException("The condition count is out of range.");
+            }
+
+            remaining -= size;
+
+            final List<Condition> conditions = new ArrayList<>(size);
+
+            for (int j = 0; j < size; j++) {
+                conditions.add(Condition.of(string(strings, buffer.getInt()), string(strings, buffer.getInt()),
+                        string(strings, buffer.getInt())));
+            }
+
+            conditionNodes.add(ConditionNode.of(conditionId, exclude, Collections.unmodifiableList(conditions)));
+        }
+
+        return ContentDefinition.of(Collections.unmodifiableMap(metadata),
+                Collections.unmodifiableList(selectionNodes), Collections.unmodifiableList(conditionNodes));
+    }
+
+    /**
+     * 引数として指定されたコンテンツ定義をスナップショットとして書き込みます。
+     *
+     * @param content    コンテンツ定義
+     * @param attributes 変換元のコンテンツファイルの属性
+     * @param snapshot   スナップショットのパス
+     * @throws IOException 書き込みに失敗した場合
+     */
+    private static void write(final ContentDefinition content, final BasicFileAttributes attributes,
+            final Path snapshot) throws IOException {
+
+        final StringTable strings = new StringTable();
+        final Map<String[], Integer> keySetIndex = new IdentityHashMap<>();
+        final List<String[]> keySets = new ArrayList<>();
+        int keyCount = 0;
+
+        for (Map.Entry<String, String> entry : content.getMetadata().entrySet()) {
+            strings.add(entry.getKey());
+            strings.add(entry.getValue());
+        }
+
+        for (SelectionNode selectionNode : content.getSelectionNodes()) {
+            strings.add(selectionNode.getConditionId());
+
+            if (!keySetIndex.containsKey(selectionNode.keys())) {
+                keySetIndex.put(selectionNode.keys(), keySets.size());
+                keySets.add(selectionNode.keys());
+                keyCount += selectionNode.keys().length;
+
+                for (String key : selectionNode.keys()) {
+                    strings.add(key);
+                }
+            }
+
+            for (String value : selectionNode.values()) {
+                strings.add(value);
+            }
+        }
+
+        int conditionCount = 0;
+
+        for (ConditionNode conditionNode : content.getConditionNodes()) {
+            strings.add(conditionNode.getConditionId());
+            conditionCount += conditionNode.getConditions().size();
+
+            for (Condition condition : conditionNode.getConditions()) {
+                strings.add(condition.getKeyName());
+                strings.add(condition.getOperand());
+                strings.add(condition.getValue());
+            }
+        }
+
+        final long length = HEADER_SIZE + (long) strings.values.size() * Integer.BYTES + strings.bytes
+                + (long) content.getMetadata().size() * 2 * Integer.BYTES
+                + (long) (keySets.size() + keyCount) * Integer.BYTES
+                + content.getSelectionNodes().stream().mapToLong(node -> 2 + node.values().length).sum()
+                        * Integer.BYTES
+                + (content.getConditionNodes().size() * 3L + conditionCount * 3L) * Integer.BYTES;
+
+        final Path directory = snapshot.toAbsolutePath().getParent();
+        final Path temporary = Files.createTempFile(directory, snapshot.getFileName().toString(), ".tmp");
+
+        try {
+            final CRC32 crc = new CRC32();
+
+            try (DataOutputStream output = new DataOutputStream(
+                    new CheckedOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)), crc))) {
+
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                output.writeLong(attributes.size());
+                output.writeLong(attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS));
+                output.writeLong(length);
+                output.writeLong(0L);
+                output.writeInt(strings.values.size());
+                output.writeInt(strings.bytes);
+                output.writeInt(content.getMetadata().size());
+                output.writeInt(keySets.size());
+                output.writeInt(keyCount);
+                output.writeInt(content.getSelectionNodes().size());
+                output.writeInt(content.getConditionNodes().size());
+                output.writeInt(conditionCount);
+                output.write(new byte[HEADER_SIZE - output.size()]);
+
+                int end = 0;
+
+                for (byte[] value : strings.encoded) {
+                    end += value.length;
+                    output.writeInt(end);
+                }
+
+                for (byte[] value : strings.encoded) {
+                    output.write(value);
+                }
+
+                for (Map.Entry<String, String> entry : content.getMetadata().entrySet()) {
+                    output.writeInt(strings.indexOf(entry.getKey()));
+                    output.writeInt(strings.indexOf(entry.getValue()));
+                }
+
+                end = 0;
+
+                for (String[] keySet : keySets) {
+                    end += keySet.length;
+                    output.writeInt(end);
+                }
+
+                for (String[] keySet : keySets) {
+                    for (String key : keySet) {
+                        output.writeInt(strings.indexOf(key));
+                    }
+                }
+
+                for (SelectionNode selectionNode : content.getSelectionNodes()) {
+                    output.writeInt(strings.indexOf(selectionNode.getConditionId()));
+                    output.writeInt(keySetIndex.get(selectionNode.keys()));
+
+                    for (String value : selectionNode.values()) {
+                        output.writeInt(strings.indexOf(value));
+                    }
+                }
+
+                for (ConditionNode conditionNode : content.getConditionNodes()) {
+                    output.writeInt(strings.indexOf(conditionNode.getConditionId()));
+                    output.writeInt(conditionNode.isExclude() ? 1 : 0);
+                    output.writeInt(conditionNode.getConditions().size());
+
+                    for (Condition condition : conditionNode.getConditions()) {
+                        output.writeInt(strings.indexOf(condition.getKeyName()));
+                        output.writeInt(strings.indexOf(condition.getOperand()));
+                        output.writeInt(strings.indexOf(condition.getValue()));
+                    }
+                }
+            }
+
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                final ByteBuffer checksum = ByteBuffer.allocate(Long.BYTES);
+                checksum.putLong(0, crc.getValue());
+                channel.write(checksum, CHECKSUM_POSITION);
+            }
+
+            try {
+                Files.move(temporary, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, snapshot, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * 引数として指定されたバッファ全体のCRC32を返却します。 ヘッダのレコード数も検証されるよう、 チェックサム自身の位置を0として計算します。
+     * バッファの位置は変更されません。
+     *
+     * @param buffer スナップショットをマップしたバッファ
+     * @return チェックサム自身を除くバッファ全体のCRC32
+     */
+    private static long checksum(final ByteBuffer buffer) {
+
+        final ByteBuffer header = buffer.duplicate();
+        header.position(0).limit(CHECKSUM_POSITION);
+
+        final ByteBuffer rest = buffer.duplicate();
+        rest.position(CHECKSUM_POSITION + Long.BYTES);
+
+        final CRC32 crc = new CRC32();
+        crc.update(header);
+        crc.update(new byte[Long.BYTES]);
+        crc.update(rest);
+
+        return crc.getValue();
+    }
+
+    /**
+     * 引数として指定された文字列表の番号に対応する文字列を返却します。
+     *
+     * @param strings 文字列表
+     * @param index   文字列表の番号
+     * @return 文字列。 番号が {@link #NULL} の場合は {@code null}
+     *
+     * @throws IndexOutOfBoundsException 番号が文字列表の範囲外の場合
+     */
+    private static String string(final String[] strings, final int index) {
+        return index == NULL ? null : strings[index];
+    }
+
+    /**
+     * スナップショットの書き込み時に文字列へ番号を割り当てる文字列表を表すクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    private static final class StringTable {
+
+        /**
+         * 文字列をキーとした番号
+         */
+        private final Map<String, Integer> values = new HashMap<>();
+
+        /**
+         * 番号順のUTF-8でエンコードされた文字列
+         */
+        private final List<byte[]> encoded = new ArrayList<>();
+
+        /**
+         * エンコードされた文字列の合計の大きさ(バイト)
+         */
+        private int bytes;
+
+        /**
+         * 引数として指定された文字列を文字列表へ追加します。 {@code null} は追加されません。
+         *
+         * @param value 文字列
+         */
+        private void add(final String value) {
+            if (value != null && !this.values.containsKey(value)) {
+                final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                this.values.put(value, this.encoded.size());
+                this.encoded.add(bytes);
+                this.bytes += bytes.length;
+            }
+        }
+
+        /**
+         * 引数として指定された文字列の番号を返却します。
+         *
+         * @param value 文字列
+         * @return 文字列の番号。 {@code null} の場合は {@link #NULL}
+         */
+        private int indexOf(final String value) {
+            return value == null ? NULL : this.values.get(value);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.content;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * コンテンツの {@code selectionNodes} に定義された1件の選択ノードを表すクラスです。
+ * <p>
+ * 選択ノードの {@code conditionId} 以外の項目はキー名と値の配列として定義順に保持されます。 キー名と値は {@link String#intern()}
+ * で共有されたインスタンスであり、 同じキー構成を持つ選択ノードはキー名の配列自体を共有します。
+ *
+ * <pre>
+ * 値を取得する場合:
+ * <code>String result = selectionNode.get("result");</code>
+ * </pre>
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ * @see ContentDefinition#getSelectionNodes(String)
+ */
+@ToString
+@EqualsAndHashCode
+public final class SelectionNode {
+
+    /**
+     * 条件ID
+     */
+    @Getter
+    private final String conditionId;
+
+    /**
+     * キー名の配列
+     */
+    private final String[] keys;
+
+    /**
+     * キー名の配列と同じ順序で格納された値の配列
+     */
+    private final String[] values;
+
+    /**
+     * コンストラクタ
+     *
+     * @param conditionId 条件ID
+     * @param keys        キー名の配列
+     * @param values      値の配列
+     */
+    private SelectionNode(final String conditionId, final String[] keys, final String[] values) {
+        this.conditionId = conditionId;
+        this.keys = keys;
+        this.values = values;
+    }
+
+    /**
+     * {@link SelectionNode} クラスの新しいインスタンスを生成し返却します。 配列は複製されずにそのまま保持されます。
+     *
+     * @param conditionId 条件ID
+     * @param keys        キー名の配列
+     * @param values      キー名の配列と同じ順序で格納された値の配列
+     * @return {@link SelectionNode} クラスの新しいインスタンス
+     */
+    static SelectionNode of(final String conditionId, final String[] keys, final String[] values) {
+        return new SelectionNode(conditionId, keys, values);
+    }
+
+    /**
+     * 引数として指定されたキー名に対応する値を返却します。<br>
+     * 引数として{@code null}が渡された場合は実行時に必ず失敗します。<br>
+     *
+     * @param key キー名
+     * @return キー名に対応する値。 キー名が定義されていない場合は {@code null}
+     *
+     * @exception NullPointerException 引数として{@code null}が渡された場合
+     */
+    public String get(@NonNull final String key) {
+
+        final int index = this.indexOf(key);
+
+        return index < 0 ? null : this.values[index];
+    }
+
+    /**
+     * 引数として指定されたキー名が定義されているか判定します。<br>
+     * 引数として{@code null}が渡された場合は実行時に必ず失敗します。<br>
+     *
+     * @param key キー名
+     * @return キー名が定義されている場合は {@code true} 、それ以外は {@code false}
+     *
+     * @exception NullPointerException 引数として{@code null}が渡された場合
+     */
+    public boolean containsKey(@NonNull final String key) {
+        return this.indexOf(key) >= 0;
+    }
+
+    /**
+     * 定義順のキー名のリストを返却します。 {@code conditionId} は含まれません。
+     *
+     * @return 変更不可能なキー名のリスト
+     */
+    public List<String> getKeys() {
+        return Collections.unmodifiableList(Arrays.asList(this.keys));
+    }
+
+    /**
+     * キー名と値を定義順に格納したマップを返却します。 {@code conditionId} は含まれません。<br>
+     * 返却されるマップは呼び出しごとに生成されるため、 頻繁に呼び出される処理では {@link #get(String)} を使用してください。
+     *
+     * @return キー名と値を格納した {@link LinkedHashMap}
+     */
+    public Map<String, String> toMap() {
+
+        final Map<String, String> map = new LinkedHashMap<>(this.keys.length * 2);
+
+        for (int i = 0; i < this.keys.length; i++) {
+            map.put(this.keys[i], this.values[i]);
+        }
+
+        return map;
+    }
+
+    /**
+     * キー名の配列を複製せずに返却します。 同じキー構成を持つ選択ノードは同じ配列を返却します。
+     *
+     * @return キー名の配列
+     */
+    String[] keys() {
+        return this.keys;
+    }
+
+    /**
+     * キー名の配列と同じ順序で格納された値の配列を複製せずに返却します。
+     *
+     * @return 値の配列
+     */
+    String[] values() {
+        return this.values;
+    }
+
+    /**
+     * 引数として指定されたキー名の配列上のインデックスを返却します。 キー名は共有されたインスタンスのため、参照の比較を先に行います。
+     *
+     * @param key キー名
+     * @return キー名のインデックス。 キー名が定義されていない場合は {@code -1}
+     */
+    private int indexOf(final String key) {
+
+        for (int i = 0; i < this.keys.length; i++) {
+            if (this.keys[i] == key) {
+                return i;
+            }
+        }
+
+        for (int i = 0; i < this.keys.length; i++) {
+            if (this.keys[i].equals(key)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+}
@@ -0,0 +1,534 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.json;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import lombok.NonNull;
+
+/**
+ * SmileまたはCBORのバイナリ形式のjsonの変換処理を定義したクラスです。
+ * <p>
+ * サービス間の内部通信やディスク上のキャッシュ等、 外部へ公開しないデータの変換に使用してください。 バイナリ形式はテキスト形式のjsonより小さく、
+ * 解析も高速です。 公開するインターフェースでは引き続き {@link JsonConverter} のテキスト形式のjsonを使用してください。
+ * <p>
+ * 変換に使用する {@link ObjectReader} 及び {@link ObjectWriter} は {@link JsonConverter} が型ごとにキャッシュしたものを
+ * 形式ごとのファクトリに切り替えて使用するため、 型情報の解決とデシリアライザの探索はテキスト形式と共有されます。 引数として渡されたストリームは変換後も閉じられません。
+ *
+ * <pre>
+ * オブジェクトをSmile形式へ変換する場合:
+ * <code>byte[] smile = BinaryJsonConverter.toBytes(object, BinaryJsonConverter.Format.SMILE);</code>
+ * </pre>
+ *
+ * <pre>
+ * Smile形式のバイト列を特定のオブジェクトへ変換する場合:
+ * <code>Sample sample = BinaryJsonConverter.toObject(smile, Sample.class, BinaryJsonConverter.Format.SMILE);</code>
+ * </pre>
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+public final class BinaryJsonConverter {
+
+    /**
+     * バイナリ形式のjsonの種類を表す列挙型です。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    public enum Format {
+
+        /**
+         * Smile形式
+         */
+        SMILE(new SmileFactory()),
+
+        /**
+         * CBOR形式
+         */
+        CBOR(new CBORFactory());
+
+        /**
+         * 形式に対応するファクトリ
+         */
+        private final JsonFactory factory;
+
+        /**
+         * テキスト形式の {@link ObjectReader} をキーとした当該形式の {@link ObjectReader} のキャッシュ
+         */
+        private final ConcurrentMap<ObjectReader, ObjectReader> readers = new ConcurrentHashMap<>();
+
+        /**
+         * テキスト形式の {@link ObjectWriter} をキーとした当該形式の {@link ObjectWriter} のキャッシュ
+         */
+        private final ConcurrentMap<ObjectWriter, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+        /**
+         * コンストラクタ
+         *
+         * @param factory 形式に対応するファクトリ
+         */
+        Format(final JsonFactory factory) {
+            this.factory = factory.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        /**
+         * 引数として指定されたテキスト形式の {@link ObjectReader} を当該形式へ切り替えた {@link ObjectReader} を返却します。
+         *
+         * @param reader テキスト形式の {@link ObjectReader}
+         * @return 当該形式の {@link ObjectReader}
+         */
+        private ObjectReader reader(final ObjectReader reader) {
+            return this.readers.computeIfAbsent(reader, key -> key.with(this.factory));
+        }
+
+        /**
+         * 引数として指定されたテキスト形式の {@link ObjectWriter} を当該形式へ切り替えた {@link ObjectWriter} を返却します。
+         *
+         * @param writer テキスト形式の {@link ObjectWriter}
+         * @return 当該形式の {@link ObjectWriter}
+         */
+        private ObjectWriter writer(final ObjectWriter writer) {
+            return this.writers.computeIfAbsent(writer, key -> key.with(this.factory));
+        }
+    }
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private BinaryJsonConverter() {
+    }
+
+    /**
+     * 引数として渡されたオブジェクト情報を指定された形式のバイト列へ変換します。<br>
+     * 引数として{@code null}が渡された場合は実行時に必ず例外が発生します。<br>
+     *
+     * @param object バイト列へ変換するオブジェクト
+     * @param format 変換先の形式
+     * @return 指定された形式のバイト列
+     *
+     * @exception NullPointerException 引数として{@code null}が発生した場合
+     * @throws JsonConvertingException jsonコンテンツの生成処理が異常終了した場合
+     */
+    public static byte[] toBytes(@NonNull final Object object, @NonNull final Format format) {
+        try {
+            return format.writer(JsonConverter.writer(object.getClass())).writeValueAsBytes(object);
+        } catch (IOException e) {
+            throw new JsonConvertingException(e);
+        }
+    }
+
+    /**
+     * 引数として渡されたオブジェクト情報を指定された形式で出力ストリームへ書き込みます。 出力ストリームは閉じられません。<br>
+     * 引数として{@code null}が渡された場合は実行時に必ず例外が発生します。<br>
+     *
+     * @param object       変換するオブジェクト
+     * @param outputStream 書き込み先の出力ストリーム
+     * @param format       変換先の形式
+     *
+     * @exception NullPointerException 引数として{@code null}が発生した場合
+     * @throws JsonConvertingException jsonコンテンツの生成または書き込み処理が異常終了した場合
+     */
+    public static void write(@NonNull final Object object, @NonNull final OutputStream outputStream,
+            @NonNull final Format format) {
+        try {
+            format.writer(JsonConverter.writer(object.getClass())).writeValue(outputStream, object);
+        } catch (IOException e) {
+            throw new JsonConvertingException(e);
+        }
+    }
+
+    /**
+     * 引数として指定された形式のバイト列を特定のオブジェクトへ変換します。<br>
+     * 引数として{@code null}が渡された場合は実行時に必ず失敗します。<br>
+     *
+     * @param <T>    型ワイルドカード
+     * @param bytes  指定された形式のバイト列
+     * @param clazz  変換先の型情報
+     * @param format バイト列の形式
+     * @return 変換されたオブジェクト
+     *
+     * @exception NullPointerException 引数として{@code null}が発生した場合
+     * @throws JsonConvertingException jsonコンテンツの解析処理が異常終了した場合
+     */
+    public static <T> T toObject(@NonNull final byte[] bytes, @NonNull final Class<T> clazz,
+            @NonNull final Format format) {
+        return read(format.reader(JsonConverter.reader(clazz)), bytes);
+    }
+
+    /**
+     * 引数として指定された形式のバイト列を特定のジェネリクスを持つオブジェクトへ変換します。<br>
+     * 引数として{@code null}が渡された場合は実行時に必ず失敗します。<br>
+     *
+     * @param <T>          型ワイルドカード
+     * @param bytes        指定された形式のバイト列
+     * @param valueTypeRef 変換先の型情報
+     * @param format       バイト列の形式
+     * @return 変換されたオブジェクト
+     *
+     * @exception NullPointerException 引数として{@code null}が発生した場合
+     * @throws JsonConvertingException jsonコンテンツの解析処理が異常終了した場合
+     */
+    public static <T> T toObject(@NonNull final byte[] bytes, @NonNull final TypeReference<T> valueTypeRef,
+            @NonNull final Format format) {
+        return read(format.reader(JsonConverter.reader(valueTypeRef)), bytes);
+    }
+
+    /**
+     * 引数として指定された入力ストリームから読み込んだ指定された形式のデータを特定のオブジェクトへ変換します。 入力ストリームは閉じられません。<br>
+     * 引数として{@code null}が渡された場合は実行時に必ず失敗します。<br>
+     *
+     * @param <T>         型ワイルドカード
+     * @param inputStream 指定された形式のデータを読み込む入力ストリーム
+     * @param clazz       変換先の型情報
+     * @param format      データの形式
+     * @return 変換されたオブジェクト
+     *
+     * @exception NullPointerException 引数として{@code null}が発生した場合
+     * @throws JsonConvertingException jsonコンテンツの読み込みまたは解析処理が異常終了した場合
+     */
+    public static <T> T toObject(@NonNull final InputStream inputStream, @NonNull final Class<T> clazz,
+            @NonNull final Format format) {
+        return read(format.reader(JsonConverter.reader(clazz)), inputStream);
+    }
+
+    /**
+     * 引数として指定された入力ストリームから読み込んだ指定された形式のデータを特定のジェネリクスを持つオブジェクトへ変換します。
+     * 入力ストリームは閉じられません。<br>
+     * 引数として{@code null}が渡された場合は実行時に必ず失敗します。<br>
+     *
+     * @param <T>          型ワイルドカード
+     * @param inputStream  指定された形式のデータを読み込む入力ストリーム
+     * @param valueTypeRef 変換先の型情報
+     * @param format       データの形式
+     * @return 変換されたオブジェクト
+     *
+     * @exception NullPointerException 引数として{@code null}が発生した場合
+     * @throws JsonConvertingException jsonコンテンツの読み込みまたは解析処理が異常終了した場合
+     */
+    public static <T> T toObject(@NonNull final InputStream inputStream, @NonNull final TypeReference<T> valueTypeRef,
+            @NonNull final Format format) {
+        return read(format.reader(JsonConverter.reader(valueTypeRef)), inputStream);
+    }
+
+    /**
+     * 引数として指定されたバッファの現在位置から上限までの指定された形式のバイト列を特定のオブジェクトへ変換します。<br>
+     * バッファの位置は変更されません。 引数として{@code null}が渡された場合は実行時に必ず失敗します。<br>
+     *
+     * @param <T>    型ワイルドカード
+     * @param buffer 指定された形式のバイト列を保持するバッファ
+     * @param clazz  変換先の型情報
+     * @param format バイト列の形式
+     * @return 変換されたオブジェクト
+     *
+     * @exception NullPointerException 引数として{@code null}が発生した場合
+     * @throws JsonConvertingException jsonコンテンツの解析処理が異常終了した場合
+     */
+    public static <T> T toObject(@NonNull final ByteBuffer buffer, @NonNull final Class<T> clazz,
+            @NonNull final Format format) {
+        return read(format.reader(JsonConverter.reader(clazz)), buffer);
+    }
+
+    /**
+     * 引数として指定されたバッファの現在位置から上限までの指定された形式のバイト列を特定のジェネリクスを持つオブジェクトへ変換します。<br>
+     * バッファの位置は変更されません。 引数として{@code null}が渡された場合は実行時に必ず失敗します。<br>
+     *
+     * @param <T>          型ワイルドカード
+     * @param buffer       指定された形式のバイト列を保持するバッファ
+     * @param valueTypeRef 変換先の型情報
+     * @param format       バイト列の形式
+     * @return 変換されたオブジェクト
+     *
+     * @exception NullPointerException 引数として{@code null}が発生した場合
+     * @throws JsonConvertingException jsonコンテンツの解析処理が異常終了した場合
+     */
+    public static <T> T toObject(@NonNull final ByteBuffer buffer, @NonNull final TypeReference<T> valueTypeRef,
+            @NonNull final Format format) {
+        return read(format.reader(JsonConverter.reader(valueTypeRef)), buffer);
+    }
+
+    /**
+     * 引数として指定された形式のバイト列を{@link HashMap}へ変換して返却します。<br>
+     * 引数として{@code null}が渡された場合は実行時に必ず失敗します。<br>
+     *
+     * @param bytes  指定された形式のバイト列
+     * @param format バイト列の形式
+     * @return バイト列を変換した{@link HashMap}オブジェクト
+     *
+     * @exception NullPointerException 引数として{@code null}が指定された場合
+     * @throws JsonConvertingException jsonコンテンツの解析処理が異常終了した場合
+     */
+    public static Map<String, Object> toHashMap(@NonNull final byte[] bytes, @NonNull final Format format) {
+        return read(format.reader(JsonConverter.hashMapReader), bytes);
+    }
+
+    /**
+     * 引数として指定された形式のバイト列を{@link LinkedHashMap}へ変換して返却します。 バイト列で定義された順序は保持されます。<br>
+     * 引数として{@code null}が渡された場合は実行時に必ず失敗します。<br>
+     *
+     * @param bytes  指定された形式のバイト列
+     * @param format バイト列の形式
+     * @return バイト列を変換した{@link LinkedHashMap}オブジェクト
+     *
+     * @exception NullPointerException 引数として{@code null}が指定された場合
+     * @throws JsonConvertingException jsonコンテンツの解析処理が異常終了した場合
+     */
+    public static Map<String, Object> toLinkedHashMap(@NonNull final byte[] bytes, @NonNull final Format format) {
+        return read(format.reader(JsonConverter.linkedHashMapReader), bytes);
+    }
+
+    /**
+     * 引数として指定された形式のバイト列を空白を除去した形式のテキストのjson文字列へ変換します。<br>
+     * 引数として{@code null}が渡された場合は実行時に必ず失敗します。<br>
+     *
+     * @param bytes  指定された形式のバイト列
+     * @param format バイト列の形式
+     * @return json文字列。 バイト列に値が含まれない場合は空文字列
+     *
+     * @exception NullPointerException 引数として{@code null}が指定された場合
+     * @throws JsonConvertingException jsonコンテンツの解析または生成処理が異常終了した場合
+     */
+    public static String toJsonString(@NonNull final byte[] bytes, @NonNull final Format format) {
+
+        final StringWriter writer = new StringWriter();
+
+        try (JsonParser parser = format.factory.createParser(bytes);
+                JsonGenerator generator = JsonConverter.mapper.getFactory().createGenerator(writer)) {
+            if (parser.nextToken() != null) {
+                generator.copyCurrentStructure(parser);
+            }
+        } catch (IOException e) {
+            throw new JsonConvertingException(e);
+        }
+
+        return writer.toString();
+    }
+
+    /**
+     * 引数として指定されたファイルに定義されたテキストのjsonを指定された形式へ変換して出力ストリームへ書き込みます。<br>
+     * ファイルはトークン単位で逐次変換されるため、ファイルの大きさに関わらず使用するメモリは一定です。 出力ストリームは閉じられません。<br>
+     * 引数として{@code null}が渡された場合は実行時に必ず失敗します。<br>
+     *
+     * @param file         テキストのjsonが定義されたファイルオブジェクト
+     * @param outputStream 書き込み先の出力ストリーム
+     * @param format       変換先の形式
+     *
+     * @exception NullPointerException 引数として{@code null}が指定された場合
+     * @throws JsonConvertingException jsonコンテンツの解析または書き込み処理が異常終了した場合
+     */
+    public static void write(@NonNull final File file, @NonNull final OutputStream outputStream,
+            @NonNull final Format format) {
+        try (JsonParser parser = JsonConverter.mapper.getFactory().createParser(file);
+                JsonGenerator generator = format.factory.createGenerator(outputStream)) {
+            while (parser.nextToken() != null) {
+                generator.copyCurrentStructure(parser);
+            }
+        } catch (IOException e) {
+            throw new JsonConvertingException(e);
+        }
+    }
+
+    /**
+     * 引数として指定された入力ストリームから読み込んだ指定された形式の値の並びを特定のオブジェクトへ変換する {@link Stream} を返却します。<br>
+     * 値は1件ずつ読み込まれ、 {@link Stream} を閉じても入力ストリームは閉じられません。<br>
+     * 引数として{@code null}が渡された場合は実行時に必ず失敗します。<br>
+     *
+     * @param <T>         型ワイルドカード
+     * @param inputStream 指定された形式の値の並びを読み込む入力ストリーム
+     * @param clazz       変換先の型情報
+     * @param format      値の形式
+     * @return 各値を変換したオブジェクトの {@link Stream}
+     *
+     * @exception NullPointerException 引数として{@code null}が発生した場合
+     * @throws JsonConvertingException jsonコンテンツの読み込みまたは解析処理が異常終了した場合
+     *
+     * @see JsonConverter#toObjectStream(InputStream, Class)
+     */
+    public static <T> Stream<T> toObjectStream(@NonNull final InputStream inputStream, @NonNull final Class<T> clazz,
+            @NonNull final Format format) {
+        return StreamSupport.stream(JsonLinesSpliterator.of(format.reader(JsonConverter.reader(clazz)), inputStream),
+                false);
+    }
+
+    /**
+     * 引数として指定された {@link Stream} の各要素を指定された形式の値の並びとして出力ストリームへ書き込みます。<br>
+     * 出力はバッファリングされ、 {@link Stream} は順序どおりに消費されます。 出力ストリームは閉じられません。<br>
+     * 引数として{@code null}が渡された場合は実行時に必ず失敗します。<br>
+     *
+     * @param values       書き込むオブジェクトの {@link Stream}
+     * @param outputStream 書き込み先の出力ストリーム
+     * @param format       変換先の形式
+     * @return 書き込んだ値の数
+     *
+     * @exception NullPointerException 引数として{@code null}が発生した場合
+     * @throws JsonConvertingException jsonコンテンツの生成または書き込み処理が異常終了した場合
+     *
+     * @see JsonConverter#writeJsonLines(Stream, OutputStream)
+     */
+    public static long writeValues(@NonNull final Stream<?> values, @NonNull final OutputStream outputStream,
+            @NonNull final Format format) {
+
+        long count = 0L;
+
+        try (JsonGenerator generator = format.factory.createGenerator(outputStream)) {
+            for (Iterator<?> iterator = values.iterator(); iterator.hasNext(); count++) {
+                final Object value = iterator.next();
+
+                if (value == null) {
+                    generator.writeNull();
+                } else {
+                    format.writer(JsonConverter.writer(value.getClass())).writeValue(generator, value);
+                }
+            }
+        } catch (IOException e) {
+            throw new JsonConvertingException(e);
+        }
+
+        return count;
+    }
+
+    /**
+     * 引数として指定された形式のバイト列からクエリのJSON Pointerに一致する値を抽出します。<br>
+     * バイト列はトークン単位で走査され、 全ての値を取得した時点で走査を終了します。<br>
+     * 引数として{@code null}が渡された場合は実行時に必ず失敗します。<br>
+     *
+     * @param bytes  指定された形式のバイト列
+     * @param query  抽出する値のJSON Pointerをコンパイルしたクエリ
+     * @param format バイト列の形式
+     * @return JSON Pointerをキーとした値のマップ。 値が存在しないJSON Pointerは含まれません
+     *
+     * @exception NullPointerException 引数として{@code null}が発生した場合
+     * @throws JsonConvertingException jsonコンテンツの解析処理が異常終了した場合
+     *
+     * @see JsonPointerQuery
+     */
+    public static Map<String, JsonNode> extract(@NonNull final byte[] bytes, @NonNull final JsonPointerQuery query,
+            @NonNull final Format format) {
+        try (JsonParser parser = format.factory.createParser(bytes)) {
+            return query.extract(parser, JsonConverter.mapper);
+        } catch (IOException e) {
+            throw new JsonConvertingException(e);
+        }
+    }
+
+    /**
+     * 引数として指定された入力ストリームの指定された形式のデータからクエリのJSON Pointerに一致する値を抽出します。<br>
+     * データはトークン単位で走査され、 全ての値を取得した時点で残りの入力を読み込まずに走査を終了します。 入力ストリームは閉じられません。<br>
+     * 引数として{@code null}が渡された場合は実行時に必ず失敗します。<br>
+     *
+     * @param inputStream 指定された形式のデータを読み込む入力ストリーム
+     * @param query       抽出する値のJSON Pointerをコンパイルしたクエリ
+     * @param format      データの形式
+     * @return JSON Pointerをキーとした値のマップ。 値が存在しないJSON Pointerは含まれません
+     *
+     * @exception NullPointerException 引数として{@code null}が発生した場合
+     * @throws JsonConvertingException jsonコンテンツの読み込みまたは解析処理が異常終了した場合
+     *
+     * @see JsonPointerQuery
+     */
+    public static Map<String, JsonNode> extract(@NonNull final InputStream inputStream,
+            @NonNull final JsonPointerQuery query, @NonNull final Format format) {
+        try (JsonParser parser = format.factory.createParser(inputStream)) {
+            return query.extract(parser, JsonConverter.mapper);
+        } catch (IOException e) {
+            throw new JsonConvertingException(e);
+        }
+    }
+
+    /**
+     * 引数として指定された {@link ObjectReader} を使用してバイト列をオブジェクトへ変換します。
+     *
+     * @param <T>    型ワイルドカード
+     * @param reader 変換に使用する {@link ObjectReader}
+     * @param bytes  バイト列
+     * @return 変換されたオブジェクト
+     *
+     * @throws JsonConvertingException jsonコンテンツの解析処理が異常終了した場合
+     */
+    private static <T> T read(final ObjectReader reader, final byte[] bytes) {
+        try {
+            return reader.readValue(bytes);
+        } catch (IOException e) {
+            throw new JsonConvertingException(e);
+        }
+    }
+
+    /**
+     * 引数として指定された {@link ObjectReader} を使用して入力ストリームのデータをオブジェクトへ変換します。
+     *
+     * @param <T>         型ワイルドカード
+     * @param reader      変換に使用する {@link ObjectReader}
+     * @param inputStream データを読み込む入力ストリーム
+     * @return 変換されたオブジェクト
+     *
+     * @throws JsonConvertingException jsonコンテンツの読み込みまたは解析処理が異常終了した場合
+     */
+    private static <T> T read(final ObjectReader reader, final InputStream inputStream) {
+        try {
+            return reader.readValue(inputStream);
+        } catch (IOException e) {
+            throw new JsonConvertingException(e);
+        }
+    }
+
+    /**
+     * 引数として指定された {@link ObjectReader} を使用してバッファのバイト列をオブジェクトへ変換します。
+     *
+     * @param <T>    型ワイルドカード
+     * @param reader 変換に使用する {@link ObjectReader}
+     * @param buffer バイト列を保持するバッファ
+     * @return 変換されたオブジェクト
+     *
+     * @throws JsonConvertingException jsonコンテンツの解析処理が異常終了した場合
+     */
+    private static <T> T read(final ObjectReader reader, final ByteBuffer buffer) {
+        try {
+            if (buffer.hasArray()) {
+                return reader.readValue(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            }
+
+            return reader.readValue(new ByteBufferBackedInputStream(buffer.duplicate()));
+        } catch (IOException e) {
+            throw new JsonConvertingException(e);
+        }
+    }
+}
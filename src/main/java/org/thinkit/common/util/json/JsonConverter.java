@@ -16,15 +16,36 @@ package org.thinkit.common.util.json;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 
 import lombok.NonNull;
 
@@ -50,6 +71,24 @@ import lombok.NonNull;
  * <code>Map<String, String> map = JsonConverter.toObject(jsonString, new TypeReference&lt;Map&lt;String, String&gt;&gt;() {});</code>
  * </pre>
  *
+ * <p>
+ * 変換に使用する {@link ObjectReader} 及び {@link ObjectWriter} は型ごとに生成した後にキャッシュされるため、
+ * 同じ型の2回目以降の変換では型情報の解決とデシリアライザの探索が省略されます。
+ *
+ * <p>
+ * ネットワークやファイルから取得したバイト列を変換する場合は、 {@code byte[]} 、 {@link InputStream} 及び {@link ByteBuffer}
+ * を引数とするメソッドを使用してください。 UTF-8のバイト列を直接解析するため、 {@link String} への中間的な変換が発生しません。
+ * 引数として渡されたストリームは変換後も閉じられません。
+ *
+ * <p>
+ * 1行に1つのjsonを記述したNDJSON (JSON Lines) 形式のファイルは {@link #toObjectStream(File, Class)} で1行ずつ変換できます。
+ * 巨大なファイルは {@link #toObjectStream(File, Class, boolean)} で改行位置を境界として分割し、 複数のスレッドで並列に変換できます。
+ *
+ * <pre>
+ * NDJSON形式のファイルを変換する場合:
+ * <code>try (Stream&lt;Event&gt; events = JsonConverter.toObjectStream(file, Event.class)) { events.forEach(...); }</code>
+ * </pre>
+ *
  * @author Kato Shinya
  * @since 1.0
  * @version 1.0
@@ -61,8 +100,42 @@ public final class JsonConverter {
      * {@link ObjectMapper}はインスタンス生成時のコストが重いため静的フィールドにインスタンスを保持します。<br>
      * {@link ObjectMapper}はスレッドセーフです。
      */
-    private static final ObjectMapper mapper = JsonMapper.builder()
-            .enable(MapperFeature.BLOCK_UNSAFE_POLYMORPHIC_BASE_TYPES).build();
+    static final ObjectMapper mapper = JsonMapper.builder()
+            .enable(MapperFeature.BLOCK_UNSAFE_POLYMORPHIC_BASE_TYPES).disable(JsonParser.Feature.AUTO_CLOSE_SOURCE)
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET).disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+            .build();
+
+    /**
+     * {@link Class} をキーとした {@link ObjectReader} のキャッシュ。<br>
+     * {@link ObjectReader} は不変かつスレッドセーフなため、全てのスレッドで共有します。
+     */
+    private static final ConcurrentMap<Class<?>, ObjectReader> classReaders = new ConcurrentHashMap<>();
+
+    /**
+     * {@link JavaType} をキーとした {@link ObjectReader} のキャッシュ。<br>
+     * {@link TypeReference} はインスタンスごとに等価性が異なるため、解決後の {@link JavaType} をキーとします。
+     */
+    private static final ConcurrentMap<JavaType, ObjectReader> typeReaders = new ConcurrentHashMap<>();
+
+    /**
+     * {@link Class} をキーとした {@link ObjectWriter} のキャッシュ。<br>
+     * {@link ObjectWriter} は不変かつスレッドセーフなため、全てのスレッドで共有します。
+     */
+    private static final ConcurrentMap<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    /**
+     * json文字列を {@link HashMap} へ変換する {@link ObjectReader}
+     */
+    static final ObjectReader hashMapReader = mapper
+            .readerFor(new TypeReference<HashMap<String, Object>>() {
+            });
+
+    /**
+     * json文字列を {@link LinkedHashMap} へ変換する {@link ObjectReader}
+     */
+    static final ObjectReader linkedHashMapReader = mapper
+            .readerFor(new TypeReference<LinkedHashMap<String, Object>>() {
+            });
 
     /**
      * デフォルトコンストラクタ
@@ -82,27 +155,50 @@ public final class JsonConverter {
      */
     public static String toJsonString(@NonNull final Object object) {
         try {
-            return mapper.writeValueAsString(object);
+            return writer(object.getClass()).writeValueAsString(object);
         } catch (JsonProcessingException e) {
             throw new JsonConvertingException(e);
         }
     }
 
     /**
-     * 引数として渡されたオブジェクト情報をjson文字列へ変換します。<br>
+     * 引数として渡されたファイルに定義されたjsonを空白を除去した形式のjson文字列へ変換します。<br>
+     * ファイルはトークン単位で逐次読み込まれ、 jsonのツリーを構築せずに出力されます。<br>
      * 引数として{@code null}が渡された場合は実行時に必ず例外が発生します。<br>
      *
      * @param file jsonが定義されたファイルオブジェクト
-     * @return json文字列
+     * @return json文字列。 ファイルにjsonの値が定義されていない場合は空文字列
      *
      * @exception NullPointerException 引数として{@code null}が発生した場合
      * @throws JsonConvertingException jsonコンテンツの解析または生成処理が異常終了した場合
      */
     public static String toJsonString(@NonNull final File file) {
-        try {
-            return mapper.readTree(file).toString();
-        } catch (JsonProcessingException e) {
+
+        final StringWriter writer = new StringWriter();
+
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(writer)) {
+            copy(file, generator);
+        } catch (IOException e) {
             throw new JsonConvertingException(e);
+        }
+
+        return writer.toString();
+    }
+
+    /**
+     * 引数として渡されたファイルに定義されたjsonを空白を除去した形式のUTF-8のjsonとして出力ストリームへ書き込みます。<br>
+     * ファイルはトークン単位で逐次読み込まれて出力されるため、ファイルの大きさに関わらず使用するメモリは一定です。 出力ストリームは閉じられません。<br>
+     * 引数として{@code null}が渡された場合は実行時に必ず例外が発生します。<br>
+     *
+     * @param file         jsonが定義されたファイルオブジェクト
+     * @param outputStream jsonを書き込む出力ストリーム
+     *
+     * @exception NullPointerException 引数として{@code null}が発生した場合
+     * @throws JsonConvertingException jsonコンテンツの解析または書き込み処理が異常終了した場合
+     */
+    public static void writeJson(@NonNull final File file, @NonNull final OutputStream outputStream) {
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8)) {
+            copy(file, generator);
         } catch (IOException e) {
             throw new JsonConvertingException(e);
         }
@@ -130,8 +226,7 @@ public final class JsonConverter {
      * @throws JsonConvertingException jsonコンテンツの解析または生成処理が異常終了した場合
      */
     public static Map<String, Object> toHashMap(@NonNull final String jsonString) {
-        return toObject(jsonString, new TypeReference<HashMap<String, Object>>() {
-        });
+        return read(hashMapReader, jsonString);
     }
 
     /**
@@ -156,8 +251,7 @@ public final class JsonConverter {
      * @throws JsonConvertingException jsonコンテンツの解析または生成処理が異常終了した場合
      */
     public static Map<String, Object> toLinkedHashMap(@NonNull final String jsonString) {
-        return toObject(jsonString, new TypeReference<LinkedHashMap<String, Object>>() {
-        });
+        return read(linkedHashMapReader, jsonString);
     }
 
     /**
@@ -173,11 +267,7 @@ public final class JsonConverter {
      * @throws JsonConvertingException jsonコンテンツの解析または生成処理が異常終了した場合
      */
     public static <T> T toObject(@NonNull final String jsonString, @NonNull final Class<T> clazz) {
-        try {
-            return mapper.readValue(jsonString, clazz);
-        } catch (JsonProcessingException e) {
-            throw new JsonConvertingException(e);
-        }
+        return read(reader(clazz), jsonString);
     }
 
     /**
@@ -199,10 +289,525 @@ public final class JsonConverter {
      * @throws JsonConvertingException jsonコンテンツの解析または生成処理が異常終了した場合
      */
     public static <T> T toObject(@NonNull final String jsonString, @NonNull final TypeReference<T> valueTypeRef) {
+        return read(reader(valueTypeRef), jsonString);
+    }
+
+    /**
+     * 引数として指定されたUTF-8のjsonバイト列を特定のオブジェクトへ変換します。<br>
+     * 引数として{@code null}が渡された場合は実行時に必ず失敗します。<br>
+     *
+     * @param <T>   型ワイルドカード
+     * @param json  jsonバイト列
+     * @param clazz 変換先の型情報
+     * @return 変換されたjson情報を含むオブジェクト
+     *
+     * @exception NullPointerException 引数として{@code null}が発生した場合
+     * @throws JsonConvertingException jsonコンテンツの解析処理が異常終了した場合
+     */
+    public static <T> T toObject(@NonNull final byte[] json, @NonNull final Class<T> clazz) {
+        return read(reader(clazz), json);
+    }
+
+    /**
+     * 引数として指定されたUTF-8のjsonバイト列を特定のジェネリクスを持つオブジェクトへ変換します。<br>
+     * 引数として{@code null}が渡された場合は実行時に必ず失敗します。<br>
+     *
+     * @param <T>          型ワイルドカード
+     * @param json         jsonバイト列
+     * @param valueTypeRef 変換先の型情報
+     * @return 変換されたjson情報を含むオブジェクト
+     *
+     * @exception NullPointerException 引数として{@code null}が発生した場合
+     * @throws JsonConvertingException jsonコンテンツの解析処理が異常終了した場合
+     */
+    public static <T> T toObject(@NonNull final byte[] json, @NonNull final TypeReference<T> valueTypeRef) {
+        return read(reader(valueTypeRef), json);
+    }
+
+    /**
+     * 引数として指定された入力ストリームから読み込んだjsonを特定のオブジェクトへ変換します。 入力ストリームは閉じられません。<br>
+     * 引数として{@code null}が渡された場合は実行時に必ず失敗します。<br>
+     *
+     * @param <T>         型ワイルドカード
+     * @param inputStream jsonを読み込む入力ストリーム
+     * @param clazz       変換先の型情報
+     * @return 変換されたjson情報を含むオブジェクト
+     *
+     * @exception NullPointerException 引数として{@code null}が発生した場合
+     * @throws JsonConvertingException jsonコンテンツの読み込みまたは解析処理が異常終了した場合
+     */
+    public static <T> T toObject(@NonNull final InputStream inputStream, @NonNull final Class<T> clazz) {
+        return read(reader(clazz), inputStream);
+    }
+
+    /**
+     * 引数として指定された入力ストリームから読み込んだjsonを特定のジェネリクスを持つオブジェクトへ変換します。 入力ストリームは閉じられません。<br>
+     * 引数として{@code null}が渡された場合は実行時に必ず失敗します。<br>
+     *
+     * @param <T>          型ワイルドカード
+     * @param inputStream  jsonを読み込む入力ストリーム
+     * @param valueTypeRef 変換先の型情報
+     * @return 変換されたjson情報を含むオブジェクト
+     *
+     * @exception NullPointerException 引数として{@code null}が発生した場合
+     * @throws JsonConvertingException jsonコンテンツの読み込みまたは解析処理が異常終了した場合
+     */
+    public static <T> T toObject(@NonNull final InputStream inputStream,
+            @NonNull final TypeReference<T> valueTypeRef) {
+        return read(reader(valueTypeRef), inputStream);
+    }
+
+    /**
+     * 引数として指定されたバッファの現在位置から上限までのUTF-8のjsonバイト列を特定のオブジェクトへ変換します。<br>
+     * バッファの位置は変更されません。 引数として{@code null}が渡された場合は実行時に必ず失敗します。<br>
+     *
+     * @param <T>    型ワイルドカード
+     * @param buffer jsonバイト列を保持するバッファ
+     * @param clazz  変換先の型情報
+     * @return 変換されたjson情報を含むオブジェクト
+     *
+     * @exception NullPointerException 引数として{@code null}が発生した場合
+     * @throws JsonConvertingException jsonコンテンツの解析処理が異常終了した場合
+     */
+    public static <T> T toObject(@NonNull final ByteBuffer buffer, @NonNull final Class<T> clazz) {
+        return read(reader(clazz), buffer);
+    }
+
+    /**
+     * 引数として指定されたバッファの現在位置から上限までのUTF-8のjsonバイト列を特定のジェネリクスを持つオブジェクトへ変換します。<br>
+     * バッファの位置は変更されません。 引数として{@code null}が渡された場合は実行時に必ず失敗します。<br>
+     *
+     * @param <T>          型ワイルドカード
+     * @param buffer       jsonバイト列を保持するバッファ
+     * @param valueTypeRef 変換先の型情報
+     * @return 変換されたjson情報を含むオブジェクト
+     *
+     * @exception NullPointerException 引数として{@code null}が発生した場合
+     * @throws JsonConvertingException jsonコンテンツの解析処理が異常終了した場合
+     */
+    public static <T> T toObject(@NonNull final ByteBuffer buffer, @NonNull final TypeReference<T> valueTypeRef) {
+        return read(reader(valueTypeRef), buffer);
+    }
+
+    /**
+     * 引数として渡されたオブジェクト情報をUTF-8のjsonバイト列へ変換します。<br>
+     * 引数として{@code null}が渡された場合は実行時に必ず例外が発生します。<br>
+     *
+     * @param object jsonバイト列へ変換するオブジェクト
+     * @return jsonバイト列
+     *
+     * @exception NullPointerException 引数として{@code null}が発生した場合
+     * @throws JsonConvertingException jsonコンテンツの生成処理が異常終了した場合
+     */
+    public static byte[] toJsonBytes(@NonNull final Object object) {
+        try {
+            return writer(object.getClass()).writeValueAsBytes(object);
+        } catch (JsonProcessingException e) {
+            throw new JsonConvertingException(e);
+        }
+    }
+
+    /**
+     * 引数として渡されたオブジェクト情報をUTF-8のjsonとして出力ストリームへ書き込みます。 出力ストリームは閉じられません。<br>
+     * 引数として{@code null}が渡された場合は実行時に必ず例外が発生します。<br>
+     *
+     * @param object       jsonへ変換するオブジェクト
+     * @param outputStream jsonを書き込む出力ストリーム
+     *
+     * @exception NullPointerException 引数として{@code null}が発生した場合
+     * @throws JsonConvertingException jsonコンテンツの生成または書き込み処理が異常終了した場合
+     */
+    public static void writeJson(@NonNull final Object object, @NonNull final OutputStream outputStream) {
+        try {
+            writer(object.getClass()).writeValue(outputStream, object);
+        } catch (IOException e) {
+            throw new JsonConvertingException(e);
+        }
+    }
+
+    /**
+     * 引数として指定されたNDJSON形式のファイルの各行を特定のオブジェクトへ変換する {@link Stream} を返却します。<br>
+     * ファイルは1行ずつ読み込まれるため、 ファイル全体がメモリへ展開されることはありません。
+     * 返却された {@link Stream} はファイルを開いたままとなるため、使用後に必ず閉じてください。<br>
+     * 引数として{@code null}が渡された場合は実行時に必ず失敗します。<br>
+     *
+     * @param <T>   型ワイルドカード
+     * @param file  NDJSON形式のファイルオブジェクト
+     * @param clazz 変換先の型情報
+     * @return 各行を変換したオブジェクトの {@link Stream}
+     *
+     * @exception NullPointerException 引数として{@code null}が発生した場合
+     * @throws JsonConvertingException ファイルの読み込みまたは解析処理が異常終了した場合
+     */
+    public static <T> Stream<T> toObjectStream(@NonNull final File file, @NonNull final Class<T> clazz) {
+        return toObjectStream(file, clazz, false);
+    }
+
+    /**
+     * 引数として指定されたNDJSON形式のファイルの各行を特定のオブジェクトへ変換する {@link Stream} を返却します。<br>
+     * 並列モードが指定された場合はファイルを改行位置で複数の範囲へ分割し、 範囲ごとに並列に変換する並列ストリームを返却します。
+     * 並列ストリームでもファイル中の行の順序は {@link Stream#forEachOrdered(java.util.function.Consumer)} 等の順序を保持する操作で維持されます。
+     * 返却された {@link Stream} はファイルを開いたままとなるため、使用後に必ず閉じてください。<br>
+     * 引数として{@code null}が渡された場合は実行時に必ず失敗します。<br>
+     *
+     * @param <T>      型ワイルドカード
+     * @param file     NDJSON形式のファイルオブジェクト
+     * @param clazz    変換先の型情報
+     * @param parallel 並列に変換する場合は {@code true}
+     * @return 各行を変換したオブジェクトの {@link Stream}
+     *
+     * @exception NullPointerException 引数として{@code null}が発生した場合
+     * @throws JsonConvertingException ファイルの読み込みまたは解析処理が異常終了した場合
+     */
+    public static <T> Stream<T> toObjectStream(@NonNull final File file, @NonNull final Class<T> clazz,
+            final boolean parallel) {
+
+        final FileChannel channel;
+
+        try {
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        } catch (IOException e) {
+            throw new JsonConvertingException(e);
+        }
+
+        try {
+            final JsonLinesSpliterator<T> spliterator = JsonLinesSpliterator.of(reader(clazz), channel);
+
+            return StreamSupport.stream(spliterator, parallel).onClose(() -> {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    throw new JsonConvertingException(e);
+                }
+            });
+        } catch (IOException e) {
+            try {
+                channel.close();
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+
+            throw new JsonConvertingException(e);
+        }
+    }
+
+    /**
+     * 引数として指定された入力ストリームから読み込んだNDJSON形式のjsonの各行を特定のオブジェクトへ変換する {@link Stream} を返却します。<br>
+     * 入力ストリームは1行ずつ読み込まれ、 {@link Stream} を閉じても入力ストリームは閉じられません。<br>
+     * 引数として{@code null}が渡された場合は実行時に必ず失敗します。<br>
+     *
+     * @param <T>         型ワイルドカード
+     * @param inputStream NDJSON形式のjsonを読み込む入力ストリーム
+     * @param clazz       変換先の型情報
+     * @return 各行を変換したオブジェクトの {@link Stream}
+     *
+     * @exception NullPointerException 引数として{@code null}が発生した場合
+     * @throws JsonConvertingException jsonコンテンツの読み込みまたは解析処理が異常終了した場合
+     */
+    public static <T> Stream<T> toObjectStream(@NonNull final InputStream inputStream,
+            @NonNull final Class<T> clazz) {
+        return StreamSupport.stream(JsonLinesSpliterator.of(reader(clazz), inputStream), false);
+    }
+
+    /**
+     * 引数として指定されたNDJSON形式のファイルの各行を特定のオブジェクトへ変換する {@link MappingIterator} を返却します。<br>
+     * 返却された {@link MappingIterator} はファイルを開いたままとなるため、使用後に必ず閉じてください。<br>
+     * 引数として{@code null}が渡された場合は実行時に必ず失敗します。<br>
+     *
+     * @param <T>   型ワイルドカード
+     * @param file  NDJSON形式のファイルオブジェクト
+     * @param clazz 変換先の型情報
+     * @return 各行を変換する {@link MappingIterator}
+     *
+     * @exception NullPointerException 引数として{@code null}が発生した場合
+     * @throws JsonConvertingException ファイルの読み込みまたは解析処理が異常終了した場合
+     */
+    public static <T> MappingIterator<T> toObjectIterator(@NonNull final File file, @NonNull final Class<T> clazz) {
+        try {
+            return reader(clazz).readValues(file);
+        } catch (IOException e) {
+            throw new JsonConvertingException(e);
+        }
+    }
+
+    /**
+     * 引数として指定された入力ストリームから読み込んだNDJSON形式のjsonの各行を特定のオブジェクトへ変換する {@link MappingIterator} を返却します。<br>
+     * {@link MappingIterator} を閉じても入力ストリームは閉じられません。<br>
+     * 引数として{@code null}が渡された場合は実行時に必ず失敗します。<br>
+     *
+     * @param <T>         型ワイルドカード
+     * @param inputStream NDJSON形式のjsonを読み込む入力ストリーム
+     * @param clazz       変換先の型情報
+     * @return 各行を変換する {@link MappingIterator}
+     *
+     * @exception NullPointerException 引数として{@code null}が発生した場合
+     * @throws JsonConvertingException jsonコンテンツの読み込みまたは解析処理が異常終了した場合
+     */
+    public static <T> MappingIterator<T> toObjectIterator(@NonNull final InputStream inputStream,
+            @NonNull final Class<T> clazz) {
+        try {
+            return reader(clazz).readValues(inputStream);
+        } catch (IOException e) {
+            throw new JsonConvertingException(e);
+        }
+    }
+
+    /**
+     * 引数として指定された {@link Stream} の各要素を1行のjsonとしてNDJSON形式で出力ストリームへ書き込みます。<br>
+     * 出力はバッファリングされ、要素ごとにフラッシュされることはありません。 各行は改行文字 {@code \n} で終端されます。
+     * {@link Stream} は順序どおりに消費され、 出力ストリームは閉じられません。<br>
+     * 引数として{@code null}が渡された場合は実行時に必ず失敗します。<br>
+     *
+     * @param values       書き込むオブジェクトの {@link Stream}
+     * @param outputStream NDJSON形式のjsonを書き込む出力ストリーム
+     * @return 書き込んだ行数
+     *
+     * @exception NullPointerException 引数として{@code null}が発生した場合
+     * @throws JsonConvertingException jsonコンテンツの生成または書き込み処理が異常終了した場合
+     */
+    public static long writeJsonLines(@NonNull final Stream<?> values, @NonNull final OutputStream outputStream) {
+
+        long lines = 0L;
+
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8)) {
+            generator.setRootValueSeparator(null);
+
+            for (Iterator<?> iterator = values.iterator(); iterator.hasNext(); lines++) {
+                final Object value = iterator.next();
+
+                if (value == null) {
+                    generator.writeNull();
+                } else {
+                    writer(value.getClass()).writeValue(generator, value);
+                }
+
+                generator.writeRaw('\n');
+            }
+        } catch (IOException e) {
+            throw new JsonConvertingException(e);
+        }
+
+        return lines;
+    }
+
+    /**
+     * 引数として指定されたjson文字列からクエリのJSON Pointerに一致する値を抽出します。<br>
+     * jsonはトークン単位で走査され、 全ての値を取得した時点で走査を終了します。<br>
+     * 引数として{@code null}が渡された場合は実行時に必ず失敗します。<br>
+     *
+     * @param jsonString json文字列
+     * @param query      抽出する値のJSON Pointerをコンパイルしたクエリ
+     * @return JSON Pointerをキーとした値のマップ。 値が存在しないJSON Pointerは含まれません
+     *
+     * @exception NullPointerException 引数として{@code null}が発生した場合
+     * @throws JsonConvertingException jsonコンテンツの解析処理が異常終了した場合
+     *
+     * @see JsonPointerQuery
+     */
+    public static Map<String, JsonNode> extract(@NonNull final String jsonString,
+            @NonNull final JsonPointerQuery query) {
+        try (JsonParser parser = mapper.getFactory().createParser(jsonString)) {
+            return query.extract(parser, mapper);
+        } catch (IOException e) {
+            throw new JsonConvertingException(e);
+        }
+    }
+
+    /**
+     * 引数として指定されたUTF-8のjsonバイト列からクエリのJSON Pointerに一致する値を抽出します。<br>
+     * jsonはトークン単位で走査され、 全ての値を取得した時点で走査を終了します。<br>
+     * 引数として{@code null}が渡された場合は実行時に必ず失敗します。<br>
+     *
+     * @param json  jsonバイト列
+     * @param query 抽出する値のJSON Pointerをコンパイルしたクエリ
+     * @return JSON Pointerをキーとした値のマップ。 値が存在しないJSON Pointerは含まれません
+     *
+     * @exception NullPointerException 引数として{@code null}が発生した場合
+     * @throws JsonConvertingException jsonコンテンツの解析処理が異常終了した場合
+     *
+     * @see JsonPointerQuery
+     */
+    public static Map<String, JsonNode> extract(@NonNull final byte[] json, @NonNull final JsonPointerQuery query) {
+        try (JsonParser parser = mapper.getFactory().createParser(json)) {
+            return query.extract(parser, mapper);
+        } catch (IOException e) {
+            throw new JsonConvertingException(e);
+        }
+    }
+
+    /**
+     * 引数として指定された入力ストリームのjsonからクエリのJSON Pointerに一致する値を抽出します。<br>
+     * jsonはトークン単位で走査され、 全ての値を取得した時点で残りの入力を読み込まずに走査を終了します。 入力ストリームは閉じられません。<br>
+     * 引数として{@code null}が渡された場合は実行時に必ず失敗します。<br>
+     *
+     * @param inputStream jsonを読み込む入力ストリーム
+     * @param query       抽出する値のJSON Pointerをコンパイルしたクエリ
+     * @return JSON Pointerをキーとした値のマップ。 値が存在しないJSON Pointerは含まれません
+     *
+     * @exception NullPointerException 引数として{@code null}が発生した場合
+     * @throws JsonConvertingException jsonコンテンツの読み込みまたは解析処理が異常終了した場合
+     *
+     * @see JsonPointerQuery
+     */
+    public static Map<String, JsonNode> extract(@NonNull final InputStream inputStream,
+            @NonNull final JsonPointerQuery query) {
+        try (JsonParser parser = mapper.getFactory().createParser(inputStream)) {
+            return query.extract(parser, mapper);
+        } catch (IOException e) {
+            throw new JsonConvertingException(e);
+        }
+    }
+
+    /**
+     * 引数として指定されたファイルのjsonからクエリのJSON Pointerに一致する値を抽出します。<br>
+     * jsonはトークン単位で走査され、 全ての値を取得した時点で残りのファイルを読み込まずに走査を終了します。<br>
+     * 引数として{@code null}が渡された場合は実行時に必ず失敗します。<br>
+     *
+     * <pre>
+     * 使用例:
+     * <code>JsonNode version = JsonConverter.extract(file, JsonPointerQuery.compile("/metadata/version")).get("/metadata/version");</code>
+     * </pre>
+     *
+     * @param file  jsonが定義されたファイルオブジェクト
+     * @param query 抽出する値のJSON Pointerをコンパイルしたクエリ
+     * @return JSON Pointerをキーとした値のマップ。 値が存在しないJSON Pointerは含まれません
+     *
+     * @exception NullPointerException 引数として{@code null}が発生した場合
+     * @throws JsonConvertingException ファイルの読み込みまたは解析処理が異常終了した場合
+     *
+     * @see JsonPointerQuery
+     */
+    public static Map<String, JsonNode> extract(@NonNull final File file, @NonNull final JsonPointerQuery query) {
+        try (JsonParser parser = mapper.getFactory().createParser(file)) {
+            return query.extract(parser, mapper);
+        } catch (IOException e) {
+            throw new JsonConvertingException(e);
+        }
+    }
+
+    /**
+     * 引数として指定された型に対応する {@link ObjectReader} をキャッシュから取得し返却します。
+     * キャッシュに存在しない場合は新たに生成してキャッシュします。
+     *
+     * @param clazz 変換先の型情報
+     * @return 変換先の型に対応する {@link ObjectReader}
+     */
+    static ObjectReader reader(final Class<?> clazz) {
+        return classReaders.computeIfAbsent(clazz, mapper::readerFor);
+    }
+
+    /**
+     * 引数として指定された型に対応する {@link ObjectReader} をキャッシュから取得し返却します。
+     * キャッシュに存在しない場合は新たに生成してキャッシュします。
+     *
+     * @param valueTypeRef 変換先の型情報
+     * @return 変換先の型に対応する {@link ObjectReader}
+     */
+    static ObjectReader reader(final TypeReference<?> valueTypeRef) {
+        return typeReaders.computeIfAbsent(mapper.getTypeFactory().constructType(valueTypeRef), mapper::readerFor);
+    }
+
+    /**
+     * 引数として指定された型に対応する {@link ObjectWriter} をキャッシュから取得し返却します。
+     * キャッシュに存在しない場合は新たに生成してキャッシュします。
+     *
+     * @param clazz 変換元の型情報
+     * @return 変換元の型に対応する {@link ObjectWriter}
+     */
+    static ObjectWriter writer(final Class<?> clazz) {
+        return writers.computeIfAbsent(clazz, mapper::writerFor);
+    }
+
+    /**
+     * 引数として指定された {@link ObjectReader} を使用してjson文字列をオブジェクトへ変換します。
+     *
+     * @param <T>        型ワイルドカード
+     * @param reader     変換に使用する {@link ObjectReader}
+     * @param jsonString json文字列
+     * @return 変換されたjson文字列情報を含むオブジェクト
+     *
+     * @throws JsonConvertingException jsonコンテンツの解析処理が異常終了した場合
+     */
+    private static <T> T read(final ObjectReader reader, final String jsonString) {
         try {
-            return mapper.readValue(jsonString, valueTypeRef);
+            return reader.readValue(jsonString);
         } catch (JsonProcessingException e) {
             throw new JsonConvertingException(e);
         }
     }
+
+    /**
+     * 引数として指定された {@link ObjectReader} を使用してjsonバイト列をオブジェクトへ変換します。
+     *
+     * @param <T>    型ワイルドカード
+     * @param reader 変換に使用する {@link ObjectReader}
+     * @param json   jsonバイト列
+     * @return 変換されたjson情報を含むオブジェクト
+     *
+     * @throws JsonConvertingException jsonコンテンツの解析処理が異常終了した場合
+     */
+    private static <T> T read(final ObjectReader reader, final byte[] json) {
+        try {
+            return reader.readValue(json);
+        } catch (IOException e) {
+            throw new JsonConvertingException(e);
+        }
+    }
+
+    /**
+     * 引数として指定された {@link ObjectReader} を使用して入力ストリームのjsonをオブジェクトへ変換します。
+     *
+     * @param <T>         型ワイルドカード
+     * @param reader      変換に使用する {@link ObjectReader}
+     * @param inputStream jsonを読み込む入力ストリーム
+     * @return 変換されたjson情報を含むオブジェクト
+     *
+     * @throws JsonConvertingException jsonコンテンツの読み込みまたは解析処理が異常終了した場合
+     */
+    private static <T> T read(final ObjectReader reader, final InputStream inputStream) {
+        try {
+            return reader.readValue(inputStream);
+        } catch (IOException e) {
+            throw new JsonConvertingException(e);
+        }
+    }
+
+    /**
+     * 引数として指定された {@link ObjectReader} を使用してバッファのjsonバイト列をオブジェクトへ変換します。
+     * ヒープ上の配列を持つバッファは配列を直接解析し、 ダイレクトバッファはバッファの複製を入力ストリームとして解析します。
+     *
+     * @param <T>    型ワイルドカード
+     * @param reader 変換に使用する {@link ObjectReader}
+     * @param buffer jsonバイト列を保持するバッファ
+     * @return 変換されたjson情報を含むオブジェクト
+     *
+     * @throws JsonConvertingException jsonコンテンツの解析処理が異常終了した場合
+     */
+    private static <T> T read(final ObjectReader reader, final ByteBuffer buffer) {
+        try {
+            if (buffer.hasArray()) {
+                return reader.readValue(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            }
+
+            return reader.readValue(new ByteBufferBackedInputStream(buffer.duplicate()));
+        } catch (IOException e) {
+            throw new JsonConvertingException(e);
+        }
+    }
+
+    /**
+     * 引数として指定されたファイルに定義された最初のjsonの値をトークン単位で読み込み、 ジェネレーターへ複写します。
+     *
+     * @param file      jsonが定義されたファイルオブジェクト
+     * @param generator 複写先のジェネレーター
+     *
+     * @throws IOException jsonコンテンツの読み込みまたは書き込み処理が異常終了した場合
+     */
+    private static void copy(final File file, final JsonGenerator generator) throws IOException {
+        try (JsonParser parser = mapper.getFactory().createParser(file)) {
+            if (parser.nextToken() != null) {
+                generator.copyCurrentStructure(parser);
+            }
+        }
+    }
 }
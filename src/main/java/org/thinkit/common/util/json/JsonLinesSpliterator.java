@@ -0,0 +1,302 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * NDJSON (JSON Lines) 形式のjsonを1行ずつオブジェクトへ変換する {@link Spliterator} です。
+ * <p>
+ * ファイルを読み込む場合はファイルのバイト範囲を走査対象とし、 範囲の中央以降で最初の改行位置を境界として分割できます。
+ * 分割された範囲はそれぞれ独立した {@link MappingIterator} で変換されるため、 並列ストリームでは複数のスレッドで同時に変換が行われます。
+ * ファイルの読み込みは位置を指定した読み込みで行うため、 {@link FileChannel} の位置は共有されません。
+ * <p>
+ * 入力ストリームを読み込む場合は分割できません。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class JsonLinesSpliterator<T> implements Spliterator<T> {
+
+    /**
+     * 分割を行う最小のバイト数
+     */
+    private static final long MIN_SPLIT_SIZE = 1L << 20;
+
+    /**
+     * 改行位置を探索する際のバッファサイズ
+     */
+    private static final int SCAN_BUFFER_SIZE = 8192;
+
+    /**
+     * 変換に使用する {@link ObjectReader}
+     */
+    private final ObjectReader reader;
+
+    /**
+     * 読み込むファイルのチャネル。 入力ストリームを読み込む場合は {@code null}
+     */
+    private final FileChannel channel;
+
+    /**
+     * 読み込む入力ストリーム。 ファイルを読み込む場合は {@code null}
+     */
+    private final InputStream inputStream;
+
+    /**
+     * 走査対象の開始位置
+     */
+    private long start;
+
+    /**
+     * 走査対象の終了位置 (この位置を含まない)
+     */
+    private final long end;
+
+    /**
+     * 変換中のイテレータ
+     */
+    private MappingIterator<T> iterator;
+
+    /**
+     * コンストラクタ
+     *
+     * @param reader      変換に使用する {@link ObjectReader}
+     * @param channel     読み込むファイルのチャネル
+     * @param inputStream 読み込む入力ストリーム
+     * @param start       走査対象の開始位置
+     * @param end         走査対象の終了位置
+     */
+    private JsonLinesSpliterator(final ObjectReader reader, final FileChannel channel, final InputStream inputStream,
+            final long start, final long end) {
+        this.reader = reader;
+        this.channel = channel;
+        this.inputStream = inputStream;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * 引数として指定されたファイルのチャネル全体を走査対象とする {@link JsonLinesSpliterator} を生成し返却します。
+     * チャネルは呼び出し側で閉じる必要があります。
+     *
+     * @param <T>     型ワイルドカード
+     * @param reader  変換に使用する {@link ObjectReader}
+     * @param channel 読み込むファイルのチャネル
+     * @return {@link JsonLinesSpliterator} の新しいインスタンス
+     *
+     * @throws IOException ファイルのサイズの取得に失敗した場合
+     */
+    static <T> JsonLinesSpliterator<T> of(final ObjectReader reader, final FileChannel channel) throws IOException {
+        return new JsonLinesSpliterator<>(reader, channel, null, 0L, channel.size());
+    }
+
+    /**
+     * 引数として指定された入力ストリームを走査対象とする {@link JsonLinesSpliterator} を生成し返却します。 入力ストリームは閉じられません。
+     *
+     * @param <T>         型ワイルドカード
+     * @param reader      変換に使用する {@link ObjectReader}
+     * @param inputStream 読み込む入力ストリーム
+     * @return {@link JsonLinesSpliterator} の新しいインスタンス
+     */
+    static <T> JsonLinesSpliterator<T> of(final ObjectReader reader, final InputStream inputStream) {
+        return new JsonLinesSpliterator<>(reader, null, inputStream, 0L, Long.MAX_VALUE);
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        try {
+            final MappingIterator<T> iterator = this.iterator();
+
+            if (!iterator.hasNextValue()) {
+                iterator.close();
+                return false;
+            }
+
+            action.accept(iterator.nextValue());
+
+            return true;
+        } catch (IOException e) {
+            throw new JsonConvertingException(e);
+        }
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+
+        if (this.channel == null || this.iterator != null || this.end - this.start < MIN_SPLIT_SIZE) {
+            return null;
+        }
+
+        final long boundary;
+
+        try {
+            boundary = this.nextLineStart(this.start + (this.end - this.start) / 2);
+        } catch (IOException e) {
+            throw new JsonConvertingException(e);
+        }
+
+        if (boundary >= this.end) {
+            return null;
+        }
+
+        final JsonLinesSpliterator<T> prefix = new JsonLinesSpliterator<>(this.reader, this.channel, null,
+                this.start, boundary);
+        this.start = boundary;
+
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return this.channel == null ? Long.MAX_VALUE : this.end - this.start;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED;
+    }
+
+    /**
+     * 変換中のイテレータを返却します。 イテレータが未生成の場合は走査対象から生成します。
+     *
+     * @return 変換中のイテレータ
+     *
+     * @throws IOException イテレータの生成に失敗した場合
+     */
+    private MappingIterator<T> iterator() throws IOException {
+
+        if (this.iterator == null) {
+            this.iterator = this.reader.readValues(this.channel == null ? this.inputStream
+                    : new RangeInputStream(this.channel, this.start, this.end));
+        }
+
+        return this.iterator;
+    }
+
+    /**
+     * 引数として指定された位置以降で最初の改行の次の位置を返却します。 改行が存在しない場合は走査対象の終了位置を返却します。
+     *
+     * @param from 探索を開始する位置
+     * @return 改行の次の位置
+     *
+     * @throws IOException ファイルの読み込みに失敗した場合
+     */
+    private long nextLineStart(final long from) throws IOException {
+
+        final ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long position = from;
+
+        while (position < this.end) {
+            buffer.clear();
+
+            if (this.end - position < buffer.capacity()) {
+                buffer.limit((int) (this.end - position));
+            }
+
+            final int read = this.channel.read(buffer, position);
+
+            if (read < 0) {
+                break;
+            }
+
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+
+            position += read;
+        }
+
+        return this.end;
+    }
+
+    /**
+     * ファイルのチャネルの指定された範囲を読み込む入力ストリームです。 位置を指定した読み込みを行うため、 複数のスレッドで同じチャネルを共有できます。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    private static final class RangeInputStream extends InputStream {
+
+        /**
+         * 読み込むファイルのチャネル
+         */
+        private final FileChannel channel;
+
+        /**
+         * 次に読み込む位置
+         */
+        private long position;
+
+        /**
+         * 読み込みの終了位置 (この位置を含まない)
+         */
+        private final long end;
+
+        /**
+         * コンストラクタ
+         *
+         * @param channel 読み込むファイルのチャネル
+         * @param start   読み込みの開始位置
+         * @param end     読み込みの終了位置
+         */
+        private RangeInputStream(final FileChannel channel, final long start, final long end) {
+            this.channel = channel;
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final byte[] b = new byte[1];
+            return this.read(b, 0, 1) < 0 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+
+            if (len == 0) {
+                return 0;
+            }
+
+            final long remaining = this.end - this.position;
+
+            if (remaining <= 0) {
+                return -1;
+            }
+
+            final int read = this.channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, remaining)),
+                    this.position);
+
+            if (read > 0) {
+                this.position += read;
+            }
+
+            return read;
+        }
+    }
+}
@@ -0,0 +1,324 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.json;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * jsonから値を抽出する1つ以上のJSON Pointer ( {@code /metadata/version} ) をコンパイルしたクエリを表すクラスです。
+ * <p>
+ * クエリはJSON Pointerのセグメントを木構造へ変換して保持し、 {@link JsonConverter#extract(String, JsonPointerQuery)}
+ * 等はjsonをトークン単位で走査しながら木構造と照合します。 照合しないオブジェクトと配列は {@link JsonParser#skipChildren()}
+ * で読み飛ばされ、 指定された全てのパスの値を取得した時点で走査を終了するため、 json全体をオブジェクトへ変換する必要はありません。
+ * 数値のセグメントはオブジェクトのプロパティ名と配列のインデックスの両方に照合します。
+ * <p>
+ * コンパイルしたクエリは不変であり、 複数のスレッドで共有できます。
+ *
+ * <pre>
+ * 使用例:
+ * <code>JsonPointerQuery query = JsonPointerQuery.compile("/metadata/version", "/selectionNodes/0/node");
+ * Map&lt;String, JsonNode&gt; values = JsonConverter.extract(file, query);</code>
+ * </pre>
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+@ToString(of = "pointers")
+@EqualsAndHashCode(of = "pointers")
+public final class JsonPointerQuery {
+
+    /**
+     * コンパイル元のJSON Pointer
+     */
+    private final List<String> pointers;
+
+    /**
+     * セグメントの木構造の根
+     */
+    private final Node root;
+
+    /**
+     * コンストラクタ
+     *
+     * @param pointers コンパイル元のJSON Pointer
+     * @param root     セグメントの木構造の根
+     */
+    private JsonPointerQuery(final List<String> pointers, final Node root) {
+        this.pointers = pointers;
+        this.root = root;
+    }
+
+    /**
+     * 引数として指定されたJSON Pointerをコンパイルしたクエリを返却します。 重複したJSON Pointerは1つにまとめられます。
+     *
+     * @param pointers JSON Pointer
+     * @return コンパイルしたクエリ
+     *
+     * @exception NullPointerException     引数として {@code null} が渡された場合
+     * @exception IllegalArgumentException JSON Pointerが指定されていない場合、またはJSON Pointerの形式が不正な場合
+     */
+    public static JsonPointerQuery compile(@NonNull final String... pointers) {
+
+        if (pointers.length == 0) {
+            throw new IllegalArgumentException("wrong parameter was given. JSON Pointer is required.");
+        }
+
+        final List<String> compiled = new ArrayList<>(pointers.length);
+        final Node root = new Node();
+
+        for (String pointer : pointers) {
+            if (pointer == null) {
+                throw new NullPointerException("pointer is marked non-null but is null");
+            }
+
+            if (compiled.contains(pointer)) {
+                continue;
+            }
+
+            Node node = root;
+
+            for (JsonPointer segment = JsonPointer.compile(pointer); !segment.matches(); segment = segment.tail()) {
+                node = node.child(segment.getMatchingProperty(), segment.getMatchingIndex());
+            }
+
+            node.pointer = pointer;
+            compiled.add(pointer);
+        }
+
+        return new JsonPointerQuery(Collections.unmodifiableList(compiled), root);
+    }
+
+    /**
+     * コンパイル元のJSON Pointerを返却します。
+     *
+     * @return コンパイル元のJSON Pointerの変更不可能なリスト
+     */
+    public List<String> getPointers() {
+        return this.pointers;
+    }
+
+    /**
+     * 引数として指定されたパーサーからjsonを走査し、 クエリに一致した値を返却します。 パーサーは閉じられません。
+     *
+     * @param parser 走査対象のjsonのパーサー
+     * @param mapper 値の木構造を生成するオブジェクトマッパー
+     * @return JSON Pointerをキーとした一致した値のマップ。 値が存在しないJSON Pointerは含まれません
+     *
+     * @throws IOException jsonの読み込みまたは解析処理が異常終了した場合
+     */
+    Map<String, JsonNode> extract(final JsonParser parser, final ObjectMapper mapper) throws IOException {
+
+        final Map<String, JsonNode> found = new HashMap<>();
+
+        if (parser.nextToken() != null) {
+            new Scan(mapper, found, this.pointers.size()).visit(parser, this.root);
+        }
+
+        final Map<String, JsonNode> values = new LinkedHashMap<>(found.size());
+
+        for (String pointer : this.pointers) {
+            final JsonNode value = found.get(pointer);
+
+            if (value != null) {
+                values.put(pointer, value);
+            }
+        }
+
+        return values;
+    }
+
+    /**
+     * 1回の走査の状態を保持するクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    private static final class Scan {
+
+        /**
+         * 値の木構造を生成するオブジェクトマッパー
+         */
+        private final ObjectMapper mapper;
+
+        /**
+         * 一致した値
+         */
+        private final Map<String, JsonNode> found;
+
+        /**
+         * 未だ一致していないJSON Pointerの数
+         */
+        private int remaining;
+
+        /**
+         * コンストラクタ
+         *
+         * @param mapper    値の木構造を生成するオブジェクトマッパー
+         * @param found     一致した値を格納するマップ
+         * @param remaining JSON Pointerの数
+         */
+        private Scan(final ObjectMapper mapper, final Map<String, JsonNode> found, final int remaining) {
+            this.mapper = mapper;
+            this.found = found;
+            this.remaining = remaining;
+        }
+
+        /**
+         * パーサーの現在のトークンから始まる値を引数として指定されたノードと照合します。
+         * 全てのJSON Pointerが一致した場合は値の途中であっても直ちに走査を終了します。
+         *
+         * @param parser 走査対象のjsonのパーサー
+         * @param node   照合するノード
+         *
+         * @throws IOException jsonの読み込みまたは解析処理が異常終了した場合
+         */
+        private void visit(final JsonParser parser, final Node node) throws IOException {
+
+            if (node.pointer != null) {
+                this.collect(this.mapper.readTree(parser), node);
+                return;
+            }
+
+            final JsonToken token = parser.currentToken();
+
+            if (token == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    final Node child = node.properties.get(parser.getCurrentName());
+                    parser.nextToken();
+
+                    if (child == null) {
+                        parser.skipChildren();
+                    } else {
+                        this.visit(parser, child);
+
+                        if (this.remaining == 0) {
+                            return;
+                        }
+                    }
+                }
+            } else if (token == JsonToken.START_ARRAY) {
+                for (int index = 0; parser.nextToken() != JsonToken.END_ARRAY; index++) {
+                    final Node child = node.indexes == null ? null : node.indexes.get(index);
+
+                    if (child == null) {
+                        parser.skipChildren();
+                    } else {
+                        this.visit(parser, child);
+
+                        if (this.remaining == 0) {
+                            return;
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * 引数として指定された値をノードに一致した値として格納し、 ノードの子孫に一致する値も値の木構造から取得して格納します。
+         *
+         * @param value 一致した値
+         * @param node  一致したノード
+         */
+        private void collect(final JsonNode value, final Node node) {
+
+            if (node.pointer != null && this.found.putIfAbsent(node.pointer, value) == null) {
+                this.remaining--;
+            }
+
+            if (value.isObject()) {
+                node.properties.forEach((name, child) -> {
+                    final JsonNode childValue = value.get(name);
+
+                    if (childValue != null) {
+                        this.collect(childValue, child);
+                    }
+                });
+            } else if (value.isArray() && node.indexes != null) {
+                node.indexes.forEach((index, child) -> {
+                    final JsonNode childValue = value.get(index);
+
+                    if (childValue != null) {
+                        this.collect(childValue, child);
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * JSON Pointerのセグメントの木構造のノードを表すクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    private static final class Node {
+
+        /**
+         * プロパティ名をキーとした子ノード
+         */
+        private final Map<String, Node> properties = new HashMap<>();
+
+        /**
+         * 配列のインデックスをキーとした子ノード。 数値のセグメントを持たない場合は {@code null}
+         */
+        private Map<Integer, Node> indexes;
+
+        /**
+         * 当該ノードで終端するJSON Pointer。 終端しない場合は {@code null}
+         */
+        private String pointer;
+
+        /**
+         * 引数として指定されたセグメントに対応する子ノードを返却します。 子ノードが存在しない場合は生成します。
+         *
+         * @param property セグメントのプロパティ名
+         * @param index    セグメントの配列のインデックス。 数値ではないセグメントの場合は {@code -1}
+         * @return 子ノード
+         */
+        private Node child(final String property, final int index) {
+
+            final Node child = this.properties.computeIfAbsent(property, key -> new Node());
+
+            if (index >= 0) {
+                if (this.indexes == null) {
+                    this.indexes = new HashMap<>();
+                }
+
+                this.indexes.put(index, child);
+            }
+
+            return child;
+        }
+    }
+}
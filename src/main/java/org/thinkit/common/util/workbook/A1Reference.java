@@ -0,0 +1,240 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.workbook;
+
+import lombok.NonNull;
+
+/**
+ * A1形式のセル参照を解析する機能を定義したクラスです。
+ * <p>
+ * 解析結果は列インデックスを上位32ビット、 行インデックスを下位32ビットに格納した {@code long} 値として返却されるため、
+ * 正常な参照の解析ではオブジェクトを生成しません。 列と行には絶対参照を表す {@code $} を付与できます。
+ * シート名を含む参照には対応していません。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class A1Reference {
+
+    /**
+     * 列インデックスの最大値( {@code XFD} )
+     */
+    static final int MAX_COLUMN_INDEX = 16383;
+
+    /**
+     * 行インデックスの最大値
+     */
+    static final int MAX_ROW_INDEX = 1048575;
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private A1Reference() {
+    }
+
+    /**
+     * 引数として指定された文字列全体をセル参照として解析します。
+     *
+     * @param reference セル参照
+     * @return 列インデックスと行インデックスを格納した値
+     *
+     * @exception NullPointerException     引数として {@code null} が渡された場合
+     * @exception IllegalArgumentException セル参照の形式が不正な場合
+     */
+    static long parse(@NonNull final CharSequence reference) {
+        return parse(reference, 0, reference.length());
+    }
+
+    /**
+     * 引数として指定された文字列の {@code from} から {@code to} の手前までをセル参照として解析します。
+     *
+     * @param reference セル参照を含む文字列
+     * @param from      解析の開始位置
+     * @param to        解析の終了位置
+     * @return 列インデックスと行インデックスを格納した値
+     *
+     * @exception IllegalArgumentException セル参照の形式が不正な場合
+     */
+    static long parse(final CharSequence reference, final int from, final int to) {
+
+        int position = from;
+
+        if (position < to && reference.charAt(position) == '$') {
+            position++;
+        }
+
+        int column = 0;
+        final int columnStart = position;
+
+        while (position < to) {
+            final char c = reference.charAt(position);
+            final int letter = c >= 'a' && c <= 'z' ? c - 'a' : c >= 'A' && c <= 'Z' ? c - 'A' : -1;
+
+            if (letter < 0) {
+                break;
+            }
+
+            column = column * 26 + letter + 1;
+
+            if (column > MAX_COLUMN_INDEX + 1) {
+                throw invalid(reference, from, to);
+            }
+
+            position++;
+        }
+
+        if (position == columnStart) {
+            throw invalid(reference, from, to);
+        }
+
+        if (position < to && reference.charAt(position) == '$') {
+            position++;
+        }
+
+        int row = 0;
+        final int rowStart = position;
+
+        while (position < to) {
+            final char c = reference.charAt(position);
+
+            if (c < '0' || c > '9') {
+                throw invalid(reference, from, to);
+            }
+
+            row = row * 10 + (c - '0');
+
+            if (row > MAX_ROW_INDEX + 1) {
+                throw invalid(reference, from, to);
+            }
+
+            position++;
+        }
+
+        if (position == rowStart || row == 0) {
+            throw invalid(reference, from, to);
+        }
+
+        return pack(column - 1, row - 1);
+    }
+
+    /**
+     * 引数として指定されたA1形式の範囲または単一のセル参照を解析し、範囲の左上のセルを返却します。
+     *
+     * @param range A1形式の範囲
+     * @return 左上のセルの列インデックスと行インデックスを格納した値
+     *
+     * @exception NullPointerException     引数として {@code null} が渡された場合
+     * @exception IllegalArgumentException 範囲の形式が不正な場合
+     */
+    static long rangeStart(@NonNull final CharSequence range) {
+
+        final int separator = indexOfSeparator(range);
+
+        if (separator < 0) {
+            return parse(range);
+        }
+
+        final long start = parse(range, 0, separator);
+        final long end = parse(range, separator + 1, range.length());
+
+        return pack(Math.min(columnOf(start), columnOf(end)), Math.min(rowOf(start), rowOf(end)));
+    }
+
+    /**
+     * 引数として指定されたA1形式の範囲または単一のセル参照を解析し、範囲の右下のセルを返却します。
+     *
+     * @param range A1形式の範囲
+     * @return 右下のセルの列インデックスと行インデックスを格納した値
+     *
+     * @exception NullPointerException     引数として {@code null} が渡された場合
+     * @exception IllegalArgumentException 範囲の形式が不正な場合
+     */
+    static long rangeEnd(@NonNull final CharSequence range) {
+
+        final int separator = indexOfSeparator(range);
+
+        if (separator < 0) {
+            return parse(range);
+        }
+
+        final long start = parse(range, 0, separator);
+        final long end = parse(range, separator + 1, range.length());
+
+        return pack(Math.max(columnOf(start), columnOf(end)), Math.max(rowOf(start), rowOf(end)));
+    }
+
+    /**
+     * 列インデックスと行インデックスを1つの {@code long} 値へ格納します。
+     *
+     * @param columnIndex 列インデックス
+     * @param rowIndex    行インデックス
+     * @return 列インデックスと行インデックスを格納した値
+     */
+    static long pack(final int columnIndex, final int rowIndex) {
+        return (long) columnIndex << 32 | rowIndex;
+    }
+
+    /**
+     * {@link #parse(CharSequence)} の返却値から列インデックスを取り出します。
+     *
+     * @param packed 列インデックスと行インデックスを格納した値
+     * @return 列インデックス
+     */
+    static int columnOf(final long packed) {
+        return (int) (packed >>> 32);
+    }
+
+    /**
+     * {@link #parse(CharSequence)} の返却値から行インデックスを取り出します。
+     *
+     * @param packed 列インデックスと行インデックスを格納した値
+     * @return 行インデックス
+     */
+    static int rowOf(final long packed) {
+        return (int) packed;
+    }
+
+    /**
+     * 引数として指定された文字列中の範囲の区切り文字 {@code :} の位置を返却します。
+     *
+     * @param reference セル参照を含む文字列
+     * @return 区切り文字の位置。 存在しない場合は {@code -1}
+     */
+    static int indexOfSeparator(final CharSequence reference) {
+
+        for (int i = 0, length = reference.length(); i < length; i++) {
+            if (reference.charAt(i) == ':') {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * 不正なセル参照を表す例外を生成します。
+     *
+     * @param reference セル参照を含む文字列
+     * @param from      セル参照の開始位置
+     * @param to        セル参照の終了位置
+     * @return 例外
+     */
+    private static IllegalArgumentException invalid(final CharSequence reference, final int from, final int to) {
+        return new IllegalArgumentException(String.format(
+                "wrong parameter (%s) was given. Cell reference must be in A1 notation.",
+                reference.subSequence(from, to)));
+    }
+}
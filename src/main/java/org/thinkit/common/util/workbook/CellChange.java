@@ -0,0 +1,120 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.workbook;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * ワークブック間の差分として検出されたセルの変更を表すクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ * @see FluentWorkbook#diff(FluentWorkbook)
+ */
+@ToString
+@EqualsAndHashCode
+public final class CellChange {
+
+    /**
+     * セルの変更種別を表す列挙型です。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    public enum Type {
+
+        /**
+         * 比較先のワークブックにのみ存在するセル
+         */
+        ADDED,
+
+        /**
+         * 比較元のワークブックにのみ存在するセル
+         */
+        REMOVED,
+
+        /**
+         * 値が変更されたセル
+         */
+        CHANGED;
+    }
+
+    /**
+     * 変更種別
+     */
+    @Getter
+    private Type type;
+
+    /**
+     * シート名
+     */
+    @Getter
+    private String sheetName;
+
+    /**
+     * セルの行列インデックス
+     */
+    @Getter
+    private Matrix matrix;
+
+    /**
+     * 比較元のセルの値。 変更種別が {@link Type#ADDED} の場合は {@code null} です。
+     */
+    @Getter
+    private String oldValue;
+
+    /**
+     * 比較先のセルの値。 変更種別が {@link Type#REMOVED} の場合は {@code null} です。
+     */
+    @Getter
+    private String newValue;
+
+    /**
+     * コンストラクタ
+     *
+     * @param type      変更種別
+     * @param sheetName シート名
+     * @param matrix    セルの行列インデックス
+     * @param oldValue  比較元のセルの値
+     * @param newValue  比較先のセルの値
+     */
+    private CellChange(final Type type, final String sheetName, final Matrix matrix, final String oldValue,
+            final String newValue) {
+        this.type = type;
+        this.sheetName = sheetName;
+        this.matrix = matrix;
+        this.oldValue = oldValue;
+        this.newValue = newValue;
+    }
+
+    /**
+     * {@link CellChange} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @param type      変更種別
+     * @param sheetName シート名
+     * @param matrix    セルの行列インデックス
+     * @param oldValue  比較元のセルの値
+     * @param newValue  比較先のセルの値
+     * @return {@link CellChange} クラスの新しいインスタンス
+     */
+    static CellChange of(final Type type, final String sheetName, final Matrix matrix, final String oldValue,
+            final String newValue) {
+        return new CellChange(type, sheetName, matrix, oldValue, newValue);
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.workbook;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * 左上と右下のセルの {@link Matrix} で表されるセルの矩形範囲を管理するクラスです。
+ *
+ * <pre>
+ * 使用例:
+ * <code>CellRange range = CellRange.of("B2:F5000");</code>
+ * </pre>
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+@ToString
+@EqualsAndHashCode
+public final class CellRange {
+
+    /**
+     * 左上のセルの行列インデックス
+     */
+    @Getter
+    private Matrix first;
+
+    /**
+     * 右下のセルの行列インデックス
+     */
+    @Getter
+    private Matrix last;
+
+    /**
+     * コンストラクタ
+     *
+     * @param first 左上のセルの行列インデックス
+     * @param last  右下のセルの行列インデックス
+     */
+    private CellRange(final Matrix first, final Matrix last) {
+        this.first = first;
+        this.last = last;
+    }
+
+    /**
+     * 引数として指定されたA1形式の範囲( {@code B2:F5000} )または単一のセル参照( {@code B2} )を解析し、
+     * {@link CellRange} クラスの新しいインスタンスを生成し返却します。 範囲の始点と終点は左上と右下に正規化されます。
+     *
+     * @param range A1形式の範囲
+     * @return {@link CellRange} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException     引数として {@code null} が渡された場合
+     * @exception IllegalArgumentException 範囲の形式が不正な場合
+     */
+    public static CellRange of(@NonNull final CharSequence range) {
+
+        final long start = A1Reference.rangeStart(range);
+        final long end = A1Reference.rangeEnd(range);
+
+        return new CellRange(Matrix.of(A1Reference.columnOf(start), A1Reference.rowOf(start)),
+                Matrix.of(A1Reference.columnOf(end), A1Reference.rowOf(end)));
+    }
+
+    /**
+     * 引数として指定された2つのセルを対角とする {@link CellRange} クラスの新しいインスタンスを生成し返却します。
+     *
+     * @param start 始点のセルの行列インデックス
+     * @param end   終点のセルの行列インデックス
+     * @return {@link CellRange} クラスの新しいインスタンス
+     *
+     * @exception NullPointerException     引数として {@code null} が渡された場合
+     * @exception IllegalArgumentException 行列インデックスが負数の場合
+     */
+    public static CellRange of(@NonNull final Matrix start, @NonNull final Matrix end) {
+        return of(start.getColumn(), start.getRow(), end.getColumn(), end.getRow());
+    }
+
+    /**
+     * 範囲に含まれる列数を返却します。
+     *
+     * @return 列数
+     */
+    public int getColumnCount() {
+        return this.last.getColumn() - this.first.getColumn() + 1;
+    }
+
+    /**
+     * 範囲に含まれる行数を返却します。
+     *
+     * @return 行数
+     */
+    public int getRowCount() {
+        return this.last.getRow() - this.first.getRow() + 1;
+    }
+
+    /**
+     * 引数として指定されたセルが範囲に含まれるか判定します。
+     *
+     * @param columnIndex 列インデックス
+     * @param rowIndex    行インデックス
+     * @return 範囲に含まれる場合は {@code true} 、それ以外は {@code false}
+     */
+    public boolean contains(final int columnIndex, final int rowIndex) {
+        return this.first.getColumn() <= columnIndex && columnIndex <= this.last.getColumn()
+                && this.first.getRow() <= rowIndex && rowIndex <= this.last.getRow();
+    }
+
+    /**
+     * 引数として指定された2つのセルを対角とする範囲を左上と右下に正規化して生成します。
+     *
+     * @param startColumnIndex 始点の列インデックス
+     * @param startRowIndex    始点の行インデックス
+     * @param endColumnIndex   終点の列インデックス
+     * @param endRowIndex      終点の行インデックス
+     * @return {@link CellRange} クラスの新しいインスタンス
+     *
+     * @exception IllegalArgumentException 行列インデックスが負数の場合
+     */
+    private static CellRange of(final int startColumnIndex, final int startRowIndex, final int endColumnIndex,
+            final int endRowIndex) {
+
+        if (startColumnIndex < 0 || endColumnIndex < 0) {
+            throw new IllegalArgumentException("wrong parameter was given. Column index must be positive.");
+        }
+
+        if (startRowIndex < 0 || endRowIndex < 0) {
+            throw new IllegalArgumentException("wrong parameter was given. Row index must be positive.");
+        }
+
+        return new CellRange(
+                Matrix.of(Math.min(startColumnIndex, endColumnIndex), Math.min(startRowIndex, endRowIndex)),
+                Matrix.of(Math.max(startColumnIndex, endColumnIndex), Math.max(startRowIndex, endRowIndex)));
+    }
+}
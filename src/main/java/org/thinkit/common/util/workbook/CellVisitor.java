@@ -0,0 +1,37 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.workbook;
+
+/**
+ * セルの範囲を走査する際に各セルの値を受け取る処理を定義したインターフェースです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see FluentSheet#getRange(CharSequence, CellVisitor)
+ */
+@FunctionalInterface
+public interface CellVisitor {
+
+    /**
+     * セルの値を受け取ります。
+     *
+     * @param columnIndex 列インデックス
+     * @param rowIndex    行インデックス
+     * @param value       セルの値
+     */
+    void visit(int columnIndex, int rowIndex, String value);
+}
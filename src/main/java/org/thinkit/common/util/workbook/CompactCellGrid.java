@@ -0,0 +1,596 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.workbook;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+
+import lombok.NonNull;
+
+/**
+ * シートのセルを少ないメモリで保持する不変のグリッドです。
+ * <p>
+ * セルは行インデックスの昇順、 行内では列インデックスの昇順に並べられ、 行ごとの先頭セルの位置を行オフセット表で管理します。
+ * セルごとに種別と罫線のフラグを {@code byte} 、 列インデックスを {@code char} 、 値を {@code int} のスロットで保持し、
+ * 数値は {@code double[]} へ、 文字列は重複を除いた辞書のIDとして格納します。
+ * 1セルあたりの使用量は文字列セルで約7バイト、 数値セルで約15バイトです。
+ * <p>
+ * 生成後は変更されないため、 複数のスレッドから同時に参照できます。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class CompactCellGrid {
+
+    /**
+     * 空白セルの種別
+     */
+    static final byte KIND_BLANK = 0;
+
+    /**
+     * 数値セルの種別
+     */
+    static final byte KIND_NUMERIC = 1;
+
+    /**
+     * 文字列セルの種別
+     */
+    static final byte KIND_STRING = 2;
+
+    /**
+     * 真偽値セルの種別
+     */
+    static final byte KIND_BOOLEAN = 3;
+
+    /**
+     * 値を持たないセル(エラーセル等)の種別
+     */
+    static final byte KIND_NONE = 4;
+
+    /**
+     * 上部に罫線が設定されていることを表すフラグ
+     */
+    static final byte BORDER_TOP = 1 << 3;
+
+    /**
+     * 下部に罫線が設定されていることを表すフラグ
+     */
+    static final byte BORDER_BOTTOM = 1 << 4;
+
+    /**
+     * 右部に罫線が設定されていることを表すフラグ
+     */
+    static final byte BORDER_RIGHT = 1 << 5;
+
+    /**
+     * 左部に罫線が設定されていることを表すフラグ
+     */
+    static final byte BORDER_LEFT = 1 << 6;
+
+    /**
+     * 種別を取り出すマスク
+     */
+    private static final int KIND_MASK = 0x07;
+
+    /**
+     * 昇順に並んだ行インデックス
+     */
+    private final int[] rowIndexes;
+
+    /**
+     * 行ごとの先頭セルの位置。 {@code rowOffsets[i]} から {@code rowOffsets[i + 1]} の手前までが {@code rowIndexes[i]}
+     * の行に属するセルです。
+     */
+    private final int[] rowOffsets;
+
+    /**
+     * セルごとの列インデックス
+     */
+    private final char[] columns;
+
+    /**
+     * セルごとの種別と罫線のフラグ
+     */
+    private final byte[] kinds;
+
+    /**
+     * セルごとの値のスロット。 数値セルは {@link #numerics} の位置、 文字列セルは辞書のID、 真偽値セルは {@code 0} または {@code 1}
+     */
+    private final int[] slots;
+
+    /**
+     * 数値セルの値
+     */
+    private final double[] numerics;
+
+    /**
+     * 文字列の辞書
+     */
+    private final String[] dictionary;
+
+    /**
+     * 辞書のIDごとに文字列が最初に出現するセルの位置
+     */
+    private final int[] firstPositions;
+
+    /**
+     * 文字列から辞書のIDを検索するオープンアドレス法のハッシュ表。 要素は辞書のIDに {@code 1} を加えた値で、 空きは {@code 0}
+     */
+    private final int[] dictionaryTable;
+
+    /**
+     * コンストラクタ
+     *
+     * @param rowIndexes     昇順に並んだ行インデックス
+     * @param rowOffsets     行ごとの先頭セルの位置
+     * @param columns        セルごとの列インデックス
+     * @param kinds          セルごとの種別と罫線のフラグ
+     * @param slots          セルごとの値のスロット
+     * @param numerics       数値セルの値
+     * @param dictionary     文字列の辞書
+     * @param firstPositions 辞書のIDごとに文字列が最初に出現するセルの位置
+     */
+    private CompactCellGrid(final int[] rowIndexes, final int[] rowOffsets, final char[] columns, final byte[] kinds,
+            final int[] slots, final double[] numerics, final String[] dictionary, final int[] firstPositions) {
+        this.rowIndexes = rowIndexes;
+        this.rowOffsets = rowOffsets;
+        this.columns = columns;
+        this.kinds = kinds;
+        this.slots = slots;
+        this.numerics = numerics;
+        this.dictionary = dictionary;
+        this.firstPositions = firstPositions;
+        this.dictionaryTable = createDictionaryTable(dictionary);
+    }
+
+    /**
+     * 引数として指定されたシートの内容を格納したグリッドを生成し返却します。
+     * 数式セルはキャッシュされた計算結果の種別と値で格納されます。
+     *
+     * @param sheet シートオブジェクト
+     * @return グリッド
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    static CompactCellGrid of(@NonNull final Sheet sheet) {
+
+        final int rowCount = sheet.getPhysicalNumberOfRows();
+        int cellCount = 0;
+        int numericCount = 0;
+
+        for (Row row : sheet) {
+            for (Cell cell : row) {
+                cellCount++;
+
+                if (typeOf(cell) == CellType.NUMERIC) {
+                    numericCount++;
+                }
+            }
+        }
+
+        final int[] rowIndexes = new int[rowCount];
+        final int[] rowOffsets = new int[rowCount + 1];
+        final char[] columns = new char[cellCount];
+        final byte[] kinds = new byte[cellCount];
+        final int[] slots = new int[cellCount];
+        final double[] numerics = new double[numericCount];
+        final Map<String, Integer> dictionaryIds = new HashMap<>();
+        int[] firstPositions = new int[16];
+
+        int rowPosition = 0;
+        int position = 0;
+        int numericPosition = 0;
+
+        for (Row row : sheet) {
+            rowIndexes[rowPosition] = row.getRowNum();
+            rowOffsets[rowPosition++] = position;
+
+            for (Cell cell : row) {
+                columns[position] = (char) cell.getColumnIndex();
+
+                byte kind;
+
+                switch (typeOf(cell)) {
+                    case NUMERIC:
+                        kind = KIND_NUMERIC;
+                        numerics[numericPosition] = cell.getNumericCellValue();
+                        slots[position] = numericPosition++;
+                        break;
+                    case STRING:
+                        kind = KIND_STRING;
+                        final String value = cell.getRichStringCellValue().getString().trim();
+                        Integer id = dictionaryIds.get(value);
+
+                        if (id == null) {
+                            id = dictionaryIds.size();
+                            dictionaryIds.put(value, id);
+
+                            if (id == firstPositions.length) {
+                                firstPositions = Arrays.copyOf(firstPositions, id * 2);
+                            }
+
+                            firstPositions[id] = position;
+                        }
+
+                        slots[position] = id;
+                        break;
+                    case BOOLEAN:
+                        kind = KIND_BOOLEAN;
+                        slots[position] = cell.getBooleanCellValue() ? 1 : 0;
+                        break;
+                    case BLANK:
+                        kind = KIND_BLANK;
+                        break;
+                    default:
+                        kind = KIND_NONE;
+                        break;
+                }
+
+                kinds[position++] = (byte) (kind | bordersOf(cell));
+            }
+        }
+
+        rowOffsets[rowPosition] = position;
+
+        final String[] dictionary = new String[dictionaryIds.size()];
+        dictionaryIds.forEach((value, id) -> dictionary[id] = value);
+
+        return new CompactCellGrid(rowIndexes, rowOffsets, columns, kinds, slots, numerics, dictionary,
+                Arrays.copyOf(firstPositions, dictionary.length));
+    }
+
+    /**
+     * グリッドに格納された行数を返却します。
+     *
+     * @return 行数
+     */
+    int rowCount() {
+        return this.rowIndexes.length;
+    }
+
+    /**
+     * グリッドに格納されたセル数を返却します。
+     *
+     * @return セル数
+     */
+    int size() {
+        return this.kinds.length;
+    }
+
+    /**
+     * 引数として指定された行の位置に紐づく行インデックスを返却します。
+     *
+     * @param row 行の位置
+     * @return 行インデックス
+     */
+    int rowIndexAt(final int row) {
+        return this.rowIndexes[row];
+    }
+
+    /**
+     * 引数として指定された行インデックスに紐づく行の位置を返却します。
+     * 行が存在しない場合は {@link Arrays#binarySearch(int[], int)} と同様に {@code -(挿入位置) - 1} を返却します。
+     *
+     * @param rowIndex 行インデックス
+     * @return 行の位置
+     */
+    int rowPosition(final int rowIndex) {
+        return Arrays.binarySearch(this.rowIndexes, rowIndex);
+    }
+
+    /**
+     * 引数として指定された行の位置に属する先頭セルの位置を返却します。
+     *
+     * @param row 行の位置
+     * @return 先頭セルの位置
+     */
+    int rowStart(final int row) {
+        return this.rowOffsets[row];
+    }
+
+    /**
+     * 引数として指定された行の位置に属する末尾セルの次の位置を返却します。
+     *
+     * @param row 行の位置
+     * @return 末尾セルの次の位置
+     */
+    int rowEnd(final int row) {
+        return this.rowOffsets[row + 1];
+    }
+
+    /**
+     * 引数として指定された位置のセルが属する行インデックスを返却します。
+     *
+     * @param position セルの位置
+     * @return 行インデックス
+     */
+    int rowIndexOf(final int position) {
+
+        int low = 0;
+        int high = this.rowIndexes.length - 1;
+
+        while (low < high) {
+            final int middle = (low + high + 1) >>> 1;
+
+            if (this.rowOffsets[middle] <= position) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        return this.rowIndexes[low];
+    }
+
+    /**
+     * 引数として指定された行列インデックスに紐づくセルの位置を返却します。
+     *
+     * @param columnIndex 列インデックス
+     * @param rowIndex    行インデックス
+     * @return セルの位置。 セルが存在しない場合は {@code -1}
+     */
+    int position(final int columnIndex, final int rowIndex) {
+
+        final int row = this.rowPosition(rowIndex);
+
+        if (row < 0 || columnIndex > Character.MAX_VALUE) {
+            return -1;
+        }
+
+        final int position = Arrays.binarySearch(this.columns, this.rowOffsets[row], this.rowOffsets[row + 1],
+                (char) columnIndex);
+
+        return position < 0 ? -1 : position;
+    }
+
+    /**
+     * 引数として指定された位置のセルの列インデックスを返却します。
+     *
+     * @param position セルの位置
+     * @return 列インデックス
+     */
+    int columnAt(final int position) {
+        return this.columns[position];
+    }
+
+    /**
+     * 引数として指定された位置のセルの種別を返却します。
+     *
+     * @param position セルの位置
+     * @return セルの種別
+     */
+    byte kindAt(final int position) {
+        return (byte) (this.kinds[position] & KIND_MASK);
+    }
+
+    /**
+     * 引数として指定された位置のセルに罫線が設定されているか判定します。
+     *
+     * @param position セルの位置
+     * @param border   罫線のフラグ
+     * @return 罫線が設定されている場合は {@code true} 、それ以外は {@code false}
+     */
+    boolean hasBorder(final int position, final byte border) {
+        return (this.kinds[position] & border) != 0;
+    }
+
+    /**
+     * 引数として指定された位置のセルの値を {@link FluentCell#getValue(Cell)} と同じ形式の文字列として返却します。
+     *
+     * @param position セルの位置
+     * @return セルの値
+     */
+    String valueAt(final int position) {
+        switch (this.kindAt(position)) {
+            case KIND_NUMERIC:
+                return String.valueOf(this.numerics[this.slots[position]]);
+            case KIND_STRING:
+                return this.dictionary[this.slots[position]];
+            case KIND_BOOLEAN:
+                return this.slots[position] == 1 ? "true" : "false";
+            default:
+                return "";
+        }
+    }
+
+    /**
+     * 引数として指定された値を持つセルのうち、行列インデックスの昇順で最初に出現するセルの位置を返却します。
+     * 文字列セルは辞書の索引から検索され、 数値セル及び真偽値セルは値の配列を走査して検索されます。
+     *
+     * @param value 検索対象の値
+     * @return セルの位置。 存在しない場合は {@code -1}
+     */
+    int find(@NonNull final String value) {
+
+        int first = Integer.MAX_VALUE;
+
+        final int id = this.dictionaryId(value);
+
+        if (id >= 0) {
+            first = this.firstPositions[id];
+        }
+
+        if (value.isEmpty()) {
+            first = Math.min(first, this.scan(-1, first, KIND_BLANK, KIND_NONE));
+        } else if ("true".equals(value) || "false".equals(value)) {
+            first = Math.min(first, this.scan("true".equals(value) ? 1 : 0, first, KIND_BOOLEAN, KIND_BOOLEAN));
+        } else {
+            first = Math.min(first, this.scanNumeric(value, first));
+        }
+
+        return first == Integer.MAX_VALUE ? -1 : first;
+    }
+
+    /**
+     * 引数として指定された種別のセルを先頭から走査し、最初に見つかったセルの位置を返却します。
+     *
+     * @param slot  一致させるスロットの値。 スロットを比較しない場合は {@code -1}
+     * @param limit 走査を終了する位置
+     * @param kind  一致させる種別
+     * @param other 一致させるもう一つの種別
+     * @return セルの位置。 存在しない場合は {@link Integer#MAX_VALUE}
+     */
+    private int scan(final int slot, final int limit, final byte kind, final byte other) {
+
+        for (int position = 0, end = Math.min(limit, this.kinds.length); position < end; position++) {
+            final int cellKind = this.kinds[position] & KIND_MASK;
+
+            if ((cellKind == kind || cellKind == other) && (slot < 0 || this.slots[position] == slot)) {
+                return position;
+            }
+        }
+
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * 文字列表現が引数として指定された値と一致する数値セルを先頭から走査し、最初に見つかったセルの位置を返却します。
+     *
+     * @param value 検索対象の値
+     * @param limit 走査を終了する位置
+     * @return セルの位置。 存在しない場合は {@link Integer#MAX_VALUE}
+     */
+    private int scanNumeric(final String value, final int limit) {
+
+        final double number;
+
+        try {
+            number = Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return Integer.MAX_VALUE;
+        }
+
+        if (!value.equals(String.valueOf(number))) {
+            return Integer.MAX_VALUE;
+        }
+
+        final long bits = Double.doubleToLongBits(number);
+
+        for (int position = 0, end = Math.min(limit, this.kinds.length); position < end; position++) {
+            if ((this.kinds[position] & KIND_MASK) == KIND_NUMERIC
+                    && Double.doubleToLongBits(this.numerics[this.slots[position]]) == bits) {
+                return position;
+            }
+        }
+
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * 引数として指定された文字列の辞書のIDを返却します。
+     *
+     * @param value 文字列
+     * @return 辞書のID。 辞書に存在しない場合は {@code -1}
+     */
+    private int dictionaryId(final String value) {
+
+        final int mask = this.dictionaryTable.length - 1;
+
+        for (int slot = mix(value.hashCode()) & mask;; slot = (slot + 1) & mask) {
+            final int entry = this.dictionaryTable[slot];
+
+            if (entry == 0) {
+                return -1;
+            }
+
+            if (this.dictionary[entry - 1].equals(value)) {
+                return entry - 1;
+            }
+        }
+    }
+
+    /**
+     * 引数として指定された辞書から文字列を検索するハッシュ表を生成します。 ハッシュ表の大きさは辞書の要素数の2倍以上の2の冪です。
+     *
+     * @param dictionary 文字列の辞書
+     * @return ハッシュ表
+     */
+    private static int[] createDictionaryTable(final String[] dictionary) {
+
+        final int capacity = Integer.highestOneBit(Math.max(2, dictionary.length * 2 - 1)) << 1;
+        final int[] table = new int[capacity];
+        final int mask = capacity - 1;
+
+        for (int id = 0; id < dictionary.length; id++) {
+            int slot = mix(dictionary[id].hashCode()) & mask;
+
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+
+            table[slot] = id + 1;
+        }
+
+        return table;
+    }
+
+    /**
+     * ハッシュ値の上位ビットを下位ビットへ拡散させます。
+     *
+     * @param hash ハッシュ値
+     * @return 拡散後のハッシュ値
+     */
+    private static int mix(final int hash) {
+        final int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * 引数として指定されたセルの値の型を返却します。 数式セルの場合はキャッシュされた計算結果の型を返却します。
+     *
+     * @param cell セルオブジェクト
+     * @return 値の型
+     */
+    private static CellType typeOf(final Cell cell) {
+        final CellType cellType = cell.getCellType();
+        return cellType == CellType.FORMULA ? cell.getCachedFormulaResultType() : cellType;
+    }
+
+    /**
+     * 引数として指定されたセルの罫線のフラグを返却します。
+     *
+     * @param cell セルオブジェクト
+     * @return 罫線のフラグ
+     */
+    private static int bordersOf(final Cell cell) {
+
+        int borders = 0;
+
+        if (FluentCell.isBorderedTop(cell)) {
+            borders |= BORDER_TOP;
+        }
+
+        if (FluentCell.isBorderedBottom(cell)) {
+            borders |= BORDER_BOTTOM;
+        }
+
+        if (FluentCell.isBorderedRight(cell)) {
+            borders |= BORDER_RIGHT;
+        }
+
+        if (FluentCell.isBorderedLeft(cell)) {
+            borders |= BORDER_LEFT;
+        }
+
+        return borders;
+    }
+}
@@ -0,0 +1,464 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.workbook;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.ss.usermodel.RichTextString;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
+import org.apache.poi.xssf.usermodel.XSSFRichTextString;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * ストリーミング読み込み時に使用する省メモリな共有文字列テーブルです。
+ * <p>
+ * 共有文字列はUTF-8でエンコードされたバイト列としてヒープ外のバッファへ連続して格納され、 各文字列の開始位置は
+ * {@code int} 型の配列で管理されます。 文字列は参照された時点で初めてデコードされます。
+ * 頻繁に参照される文字列のデコードを省略するため、任意で小規模なLRUキャッシュを使用することができます。
+ * <p>
+ * 読み込み完了後のインスタンスは複数のスレッドから同時に参照することができます。
+ *
+ * <pre>
+ * 使用例:
+ * <code>SharedStrings sharedStrings = CompactSharedStrings.of(opcPackage, 1024);</code>
+ * </pre>
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+@ToString(of = { "count", "uniqueCount", "cacheSize" })
+public final class CompactSharedStrings implements SharedStrings {
+
+    /**
+     * バッファの初期容量
+     */
+    private static final int DEFAULT_CAPACITY = 64 * 1024;
+
+    /**
+     * {@code uniqueCount} 属性から決定する開始位置の配列の初期容量の上限。 属性値は検証されないため、 上限を超える分は解析に応じて拡張します。
+     */
+    private static final int MAX_INITIAL_OFFSETS = 1 << 16;
+
+    /**
+     * UTF-8でエンコードされた共有文字列を格納するヒープ外のバッファ
+     */
+    private ByteBuffer buffer;
+
+    /**
+     * 各共有文字列の開始位置。 {@code i} 番目の文字列は {@code offsets[i]} から {@code offsets[i + 1]} の範囲に格納されます。
+     */
+    private int[] offsets;
+
+    /**
+     * 格納されている共有文字列の数
+     */
+    private int size = 0;
+
+    /**
+     * ワークブック中で共有文字列が参照されている数
+     */
+    private int count = 0;
+
+    /**
+     * 共有文字列の一意な数
+     */
+    private int uniqueCount = 0;
+
+    /**
+     * デコード済み文字列のキャッシュサイズ
+     */
+    private final int cacheSize;
+
+    /**
+     * デコード済み文字列のLRUキャッシュ。 キャッシュサイズが0の場合は {@code null} です。
+     */
+    private final Map<Integer, String> cache;
+
+    /**
+     * コンストラクタ
+     *
+     * @param capacity  バッファの初期容量
+     * @param cacheSize デコード済み文字列のキャッシュサイズ
+     */
+    private CompactSharedStrings(final int capacity, final int cacheSize) {
+        this.buffer = ByteBuffer.allocateDirect(Math.max(capacity, 16));
+        this.offsets = new int[16];
+        this.cacheSize = cacheSize;
+        this.cache = cacheSize > 0 ? new LinkedHashMap<Integer, String>(16, 0.75f, true) {
+
+            /**
+             * serialVersionUID
+             */
+            private static final long serialVersionUID = 0L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, String> eldest) {
+                return this.size() > cacheSize;
+            }
+        } : null;
+    }
+
+    /**
+     * 引数として指定されたパッケージに含まれる共有文字列テーブルを読み込み、 {@link CompactSharedStrings} の新しいインスタンスを生成し返却します。
+     * デコード済み文字列のキャッシュは使用しません。
+     *
+     * @param opcPackage パッケージ
+     * @return {@link CompactSharedStrings} の新しいインスタンス
+     * @throws IOException  パッケージの読み込み処理が異常終了した場合
+     * @throws SAXException 共有文字列テーブルの解析処理が異常終了した場合
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public static CompactSharedStrings of(@NonNull final OPCPackage opcPackage) throws IOException, SAXException {
+        return of(opcPackage, 0);
+    }
+
+    /**
+     * 引数として指定されたパッケージに含まれる共有文字列テーブルを読み込み、 {@link CompactSharedStrings} の新しいインスタンスを生成し返却します。
+     * パッケージに共有文字列テーブルが含まれない場合は空のインスタンスを返却します。
+     *
+     * @param opcPackage パッケージ
+     * @param cacheSize  デコード済み文字列のキャッシュサイズ。 {@code 0} の場合はキャッシュを使用しません。
+     * @return {@link CompactSharedStrings} の新しいインスタンス
+     * @throws IOException  パッケージの読み込み処理が異常終了した場合
+     * @throws SAXException 共有文字列テーブルの解析処理が異常終了した場合
+     *
+     * @exception NullPointerException     引数として {@code null} が渡された場合
+     * @exception IllegalArgumentException キャッシュサイズが負数の場合
+     */
+    public static CompactSharedStrings of(@NonNull final OPCPackage opcPackage, final int cacheSize)
+            throws IOException, SAXException {
+
+        final List<PackagePart> parts = opcPackage.getPartsByContentType(XSSFRelation.SHARED_STRINGS.getContentType());
+
+        if (parts.isEmpty()) {
+            return new CompactSharedStrings(0, validateCacheSize(cacheSize));
+        }
+
+        final PackagePart part = parts.get(0);
+
+        try (final InputStream inputStream = part.getInputStream()) {
+            return read(inputStream, (int) Math.min(Integer.MAX_VALUE, Math.max(0, part.getSize())), cacheSize);
+        }
+    }
+
+    /**
+     * 共有文字列を持たない {@link CompactSharedStrings} の新しいインスタンスを生成し返却します。
+     *
+     * @return {@link CompactSharedStrings} の新しいインスタンス
+     */
+    static CompactSharedStrings empty() {
+        return new CompactSharedStrings(0, 0);
+    }
+
+    /**
+     * 引数として指定された入力ストリームから共有文字列テーブルのXMLを読み込み、 {@link CompactSharedStrings} の新しいインスタンスを生成し返却します。
+     *
+     * @param inputStream 共有文字列テーブルのXMLを表す入力ストリーム
+     * @param cacheSize   デコード済み文字列のキャッシュサイズ。 {@code 0} の場合はキャッシュを使用しません。
+     * @return {@link CompactSharedStrings} の新しいインスタンス
+     * @throws IOException  入力ストリームの読み込み処理が異常終了した場合
+     * @throws SAXException 共有文字列テーブルの解析処理が異常終了した場合
+     *
+     * @exception NullPointerException     引数として {@code null} が渡された場合
+     * @exception IllegalArgumentException キャッシュサイズが負数の場合
+     */
+    public static CompactSharedStrings read(@NonNull final InputStream inputStream, final int cacheSize)
+            throws IOException, SAXException {
+        return read(inputStream, 0, cacheSize);
+    }
+
+    /**
+     * 引数として指定された入力ストリームから共有文字列テーブルのXMLを読み込みます。
+     * バッファは小さな初期容量から必要に応じて拡張され、 読み込み完了後に格納された文字列のバイト数まで切り詰められます。
+     * 共有文字列テーブルのXMLのサイズはエスケープ等により格納される文字列のバイト数以上となるため、 既知の場合は初期容量の上限として使用します。
+     *
+     * @param inputStream 共有文字列テーブルのXMLを表す入力ストリーム
+     * @param partSize    共有文字列テーブルのXMLのサイズ。 不明な場合は {@code 0}
+     * @param cacheSize   デコード済み文字列のキャッシュサイズ
+     * @return {@link CompactSharedStrings} の新しいインスタンス
+     * @throws IOException  入力ストリームの読み込み処理が異常終了した場合
+     * @throws SAXException 共有文字列テーブルの解析処理が異常終了した場合
+     */
+    private static CompactSharedStrings read(final InputStream inputStream, final int partSize, final int cacheSize)
+            throws IOException, SAXException {
+
+        final CompactSharedStrings sharedStrings = new CompactSharedStrings(
+                partSize > 0 ? Math.min(partSize, DEFAULT_CAPACITY) : DEFAULT_CAPACITY, validateCacheSize(cacheSize));
+
+        try {
+            final XMLReader reader = XMLHelper.newXMLReader();
+            reader.setContentHandler(sharedStrings.new Handler());
+            reader.parse(new InputSource(inputStream));
+        } catch (ParserConfigurationException e) {
+            throw new SAXException("The XML parser could not be configured.", e);
+        }
+
+        if (sharedStrings.uniqueCount == 0) {
+            sharedStrings.uniqueCount = sharedStrings.size;
+        }
+
+        sharedStrings.trim();
+
+        return sharedStrings;
+    }
+
+    /**
+     * 引数として指定されたキャッシュサイズを検査して返却します。
+     *
+     * @param cacheSize キャッシュサイズ
+     * @return キャッシュサイズ
+     * @exception IllegalArgumentException キャッシュサイズが負数の場合
+     */
+    private static int validateCacheSize(final int cacheSize) {
+
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException(
+                    String.format("wrong parameter (%s) was given. Cache size must be positive.", cacheSize));
+        }
+
+        return cacheSize;
+    }
+
+    /**
+     * 引数として指定されたインデックスに紐づく共有文字列を返却します。
+     *
+     * @param index 共有文字列のインデックス
+     * @return 共有文字列
+     * @exception IndexOutOfBoundsException インデックスが範囲外の場合
+     */
+    public String getString(final int index) {
+
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException(
+                    String.format("The shared string index (%s) is out of range (size = %s).", index, this.size));
+        }
+
+        final Map<Integer, String> cache = this.cache;
+
+        if (cache == null) {
+            return this.decode(index);
+        }
+
+        synchronized (cache) {
+            final String cached = cache.get(index);
+
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        final String decoded = this.decode(index);
+
+        synchronized (cache) {
+            cache.put(index, decoded);
+        }
+
+        return decoded;
+    }
+
+    /**
+     * 格納されている共有文字列の数を返却します。
+     *
+     * @return 格納されている共有文字列の数
+     */
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public RichTextString getItemAt(final int index) {
+        return new XSSFRichTextString(this.getString(index));
+    }
+
+    @Override
+    public int getCount() {
+        return this.count;
+    }
+
+    @Override
+    public int getUniqueCount() {
+        return this.uniqueCount;
+    }
+
+    /**
+     * 引数として指定されたインデックスに紐づく共有文字列をバッファからデコードします。
+     *
+     * @param index 共有文字列のインデックス
+     * @return デコードされた文字列
+     */
+    private String decode(final int index) {
+
+        final int start = this.offsets[index];
+        final byte[] bytes = new byte[this.offsets[index + 1] - start];
+
+        final ByteBuffer view = this.buffer.duplicate();
+        view.position(start);
+        view.get(bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 引数として指定された文字列をUTF-8でエンコードしバッファの末尾へ追加します。
+     *
+     * @param value 追加する文字列
+     */
+    private void append(final String value) {
+
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+        if (this.buffer.remaining() < bytes.length) {
+            final long required = (long) this.buffer.position() + bytes.length;
+            final long grown = Math.max(required, (long) this.buffer.capacity() * 2);
+
+            if (required > Integer.MAX_VALUE) {
+                throw new ExcelHandlingException("The shared strings table exceeds the maximum buffer size.");
+            }
+
+            final ByteBuffer buffer = ByteBuffer.allocateDirect((int) Math.min(grown, Integer.MAX_VALUE));
+            this.buffer.flip();
+            buffer.put(this.buffer);
+            this.buffer = buffer;
+        }
+
+        this.buffer.put(bytes);
+
+        if (this.size + 2 > this.offsets.length) {
+            this.offsets = Arrays.copyOf(this.offsets, this.offsets.length * 2);
+        }
+
+        this.size++;
+        this.offsets[this.size] = this.buffer.position();
+    }
+
+    /**
+     * バッファ及び開始位置の配列を格納されている共有文字列の大きさまで切り詰めます。
+     */
+    private void trim() {
+
+        if (this.buffer.position() < this.buffer.capacity()) {
+            final ByteBuffer buffer = ByteBuffer.allocateDirect(Math.max(this.buffer.position(), 16));
+            this.buffer.flip();
+            buffer.put(this.buffer);
+            this.buffer = buffer;
+        }
+
+        if (this.size + 1 < this.offsets.length) {
+            this.offsets = Arrays.copyOf(this.offsets, this.size + 1);
+        }
+    }
+
+    /**
+     * 共有文字列テーブルのXMLを解析するハンドラです。 {@code rPh} 要素に含まれるふりがなは共有文字列に含めません。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    private final class Handler extends DefaultHandler {
+
+        /**
+         * 解析中の共有文字列
+         */
+        private final StringBuilder characters = new StringBuilder();
+
+        /**
+         * {@code t} 要素の内部を解析中か否か
+         */
+        private boolean inText = false;
+
+        /**
+         * {@code rPh} 要素の内部を解析中か否か
+         */
+        private boolean inPhonetic = false;
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "sst":
+                    final String count = attributes.getValue("count");
+                    final String uniqueCount = attributes.getValue("uniqueCount");
+
+                    if (count != null) {
+                        CompactSharedStrings.this.count = Integer.parseInt(count);
+                    }
+
+                    if (uniqueCount != null) {
+                        CompactSharedStrings.this.uniqueCount = Integer.parseInt(uniqueCount);
+                        CompactSharedStrings.this.offsets = new int[Math.max(16,
+                                Math.min(CompactSharedStrings.this.uniqueCount, MAX_INITIAL_OFFSETS - 1) + 1)];
+                    }
+                    break;
+                case "si":
+                    this.characters.setLength(0);
+                    break;
+                case "t":
+                    this.inText = true;
+                    break;
+                case "rPh":
+                    this.inPhonetic = true;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            switch (localName) {
+                case "si":
+                    CompactSharedStrings.this.append(this.characters.toString());
+                    break;
+                case "t":
+                    this.inText = false;
+                    break;
+                case "rPh":
+                    this.inPhonetic = false;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (this.inText && !this.inPhonetic) {
+                this.characters.append(ch, start, length);
+            }
+        }
+    }
+}
@@ -171,4 +171,34 @@ final class FluentCell {
     public static boolean isNumeric(@NonNull final Cell cell) {
         return cell.getCellType() == CellType.NUMERIC;
     }
-}
\ No newline at end of file
+
+    /**
+     * セルの値を文字列として取得し返却します。 数値セルの値は {@link String#valueOf(double)} で変換され、
+     * 文字列セルの値は前後の空白を除去して返却されます。 数式セルの場合は計算結果の値を返却します。
+     * 真偽値セルの場合は {@code "true"} または {@code "false"} を返却し、空白セルまたはエラーセルの場合は空文字列を返却します。
+     *
+     * @param cell セルオブジェクト
+     * @return セルの値
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public static String getValue(@NonNull final Cell cell) {
+
+        CellType cellType = cell.getCellType();
+
+        if (cellType == CellType.FORMULA) {
+            cellType = cell.getCachedFormulaResultType();
+        }
+
+        switch (cellType) {
+            case NUMERIC:
+                return String.valueOf(cell.getNumericCellValue());
+            case STRING:
+                return cell.getRichStringCellValue().getString().trim();
+            case BOOLEAN:
+                return String.valueOf(cell.getBooleanCellValue());
+            default:
+                return "";
+        }
+    }
+}
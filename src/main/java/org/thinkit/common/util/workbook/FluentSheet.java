@@ -15,6 +15,7 @@
 package org.thinkit.common.util.workbook;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.HashMap;
@@ -23,9 +24,11 @@ import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
 import org.apache.poi.ss.usermodel.RichTextString;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.CellRangeAddress;
 
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -34,6 +37,9 @@ import lombok.ToString;
 
 /**
  * Sheetオブジェクトに関する汎用的な操作を行う機能を定義したクラスです。
+ * <p>
+ * 結合セル領域は索引としてキャッシュされます。 結合セル領域は {@link #merge(CharSequence)} 及び {@link #unmerge(CharSequence)}
+ * で変更してください。 {@link #getSheet()} で取得したシートの結合セル領域を直接変更した場合は {@link #refreshMergedRegions()} を呼び出してください。
  *
  * @author Kato Shinya
  * @since 1.0
@@ -49,6 +55,21 @@ public final class FluentSheet {
     @Getter
     private Sheet sheet = null;
 
+    /**
+     * 結合セル領域の索引。 初回参照時に生成され、 {@link #merge(CharSequence)} 、 {@link #unmerge(CharSequence)} 及び
+     * {@link #refreshMergedRegions()} で破棄されます。
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private MergedRegionIndex mergedRegionIndex = null;
+
+    /**
+     * 数式の依存関係。 {@link FluentWorkbook} から生成された場合のみ設定されます。
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private FormulaDependencyGraph formulaDependencyGraph = null;
+
     /**
      * デフォルトコンストラクタ
      */
@@ -68,8 +89,23 @@ public final class FluentSheet {
         this.sheet = sheet;
     }
 
+    /**
+     * 引数として渡されたシートオブジェクトと数式の依存関係を基に初期化を行うコンストラクタです。
+     * {@link #put(int, int, Object)} で変更されたセルは数式の依存関係へ通知されます。
+     *
+     * @param sheet                  シートオブジェクト
+     * @param formulaDependencyGraph 数式の依存関係
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    FluentSheet(@NonNull Sheet sheet, @NonNull FormulaDependencyGraph formulaDependencyGraph) {
+        this.sheet = sheet;
+        this.formulaDependencyGraph = formulaDependencyGraph;
+    }
+
     /**
      * 引数として指定された列番号と行番号を基にセルの値を取得し返却します。
+     * 指定されたセルが結合セル領域に属する場合は、結合セル領域の左上セルの値を返却します。
      *
      * @param columnIndex 列番号
      * @param rowIndex    行番号
@@ -86,35 +122,197 @@ public final class FluentSheet {
             throw new IllegalArgumentException("wrong parameter was given. Row index must be positive.");
         }
 
-        final Sheet sheet = this.sheet;
+        final Matrix anchor = this.getMergedRegionIndex().resolve(columnIndex, rowIndex);
+        final Row row = this.sheet.getRow(anchor.getRow());
 
-        for (Row row : sheet) {
-            final int _rowIndex = row.getRowNum();
-            if (rowIndex != _rowIndex) {
-                continue;
+        if (row != null) {
+            final Cell cell = row.getCell(anchor.getColumn());
+
+            if (cell != null) {
+                return FluentCell.getValue(cell);
             }
+        }
 
-            for (Cell cell : row) {
-                final int _columnIndex = cell.getColumnIndex();
-                if (columnIndex != _columnIndex) {
-                    continue;
+        throw new ExcelHandlingException(String
+                .format("indicated cell (column index = %s, row index = %s) does not exist.", columnIndex, rowIndex));
+    }
+
+    /**
+     * 引数として指定されたA1形式のセル参照( {@code B2} )を基にセルの値を取得し返却します。
+     *
+     * @param a1 A1形式のセル参照
+     * @return セルの値
+     *
+     * @exception NullPointerException     引数として {@code null} が渡された場合
+     * @exception IllegalArgumentException セル参照の形式が不正な場合
+     * @exception ExcelHandlingException   指定されたセルが存在しない場合
+     *
+     * @see #get(int, int)
+     */
+    public String get(@NonNull final CharSequence a1) {
+        final long reference = A1Reference.parse(a1);
+        return this.get(A1Reference.columnOf(reference), A1Reference.rowOf(reference));
+    }
+
+    /**
+     * 引数として指定されたA1形式の範囲( {@code B2:F5000} )に含まれるセルの値を行優先の順序でリストとして返却します。
+     * リストの大きさは範囲の行数と列数の積であり、 存在しないセルの値は空文字列となります。
+     * 結合セル領域に属するセルの値は、 行またはセルが存在しない場合も含めて結合セル領域の左上セルの値として取得されます。
+     *
+     * @param range A1形式の範囲
+     * @return 行優先の順序で並んだセルの値
+     *
+     * @exception NullPointerException     引数として {@code null} が渡された場合
+     * @exception IllegalArgumentException 範囲の形式が不正な場合、または範囲が大きすぎてリストに格納できない場合
+     *
+     * @see #getRange(CharSequence, CellVisitor)
+     */
+    public List<String> getRange(@NonNull final CharSequence range) {
+        return this.getRange(CellRange.of(range));
+    }
+
+    /**
+     * 引数として指定された範囲に含まれるセルの値を行優先の順序でリストとして返却します。
+     *
+     * @param range 範囲
+     * @return 行優先の順序で並んだセルの値
+     *
+     * @exception NullPointerException     引数として {@code null} が渡された場合
+     * @exception IllegalArgumentException 範囲が大きすぎてリストに格納できない場合
+     *
+     * @see #getRange(CharSequence)
+     */
+    public List<String> getRange(@NonNull final CellRange range) {
+
+        final int firstColumn = range.getFirst().getColumn();
+        final int firstRow = range.getFirst().getRow();
+        final int columnCount = range.getColumnCount();
+
+        if ((long) columnCount * range.getRowCount() > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException(
+                    String.format("wrong parameter (%s) was given. Range is too large to be listed.", range));
+        }
+
+        final String[] values = new String[columnCount * range.getRowCount()];
+        Arrays.fill(values, "");
+
+        this.getRange(range, (columnIndex, rowIndex, value) -> values[(rowIndex - firstRow) * columnCount
+                + columnIndex - firstColumn] = value);
+
+        return Arrays.asList(values);
+    }
+
+    /**
+     * 引数として指定されたA1形式の範囲( {@code B2:F5000} )に含まれる存在するセルの値を、
+     * 行優先の順序で引数として指定された {@link CellVisitor} へ渡します。 範囲内の行は1度だけ走査され、
+     * セルごとにオブジェクトを生成することはありません。 結合セル領域に属するセルの値は、結合セル領域の左上セルの値として渡されます。
+     * 結合セル領域に属するセルは、行またはセルが存在しない場合も左上セルが存在すれば渡されます。
+     *
+     * @param range   A1形式の範囲
+     * @param visitor セルの値を受け取る処理
+     *
+     * @exception NullPointerException     引数として {@code null} が渡された場合
+     * @exception IllegalArgumentException 範囲の形式が不正な場合
+     */
+    public void getRange(@NonNull final CharSequence range, @NonNull final CellVisitor visitor) {
+
+        final long start = A1Reference.rangeStart(range);
+        final long end = A1Reference.rangeEnd(range);
+
+        this.visitRange(A1Reference.columnOf(start), A1Reference.rowOf(start), A1Reference.columnOf(end),
+                A1Reference.rowOf(end), visitor);
+    }
+
+    /**
+     * 引数として指定された範囲に含まれる存在するセルの値を、 行優先の順序で引数として指定された {@link CellVisitor} へ渡します。
+     *
+     * @param range   範囲
+     * @param visitor セルの値を受け取る処理
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     *
+     * @see #getRange(CharSequence, CellVisitor)
+     */
+    public void getRange(@NonNull final CellRange range, @NonNull final CellVisitor visitor) {
+        this.visitRange(range.getFirst().getColumn(), range.getFirst().getRow(), range.getLast().getColumn(),
+                range.getLast().getRow(), visitor);
+    }
+
+    /**
+     * 引数として指定された範囲に含まれる存在するセルの値を、 行優先の順序で引数として指定された {@link CellVisitor} へ渡します。
+     * 結合セル領域に属するセルは、行またはセルが存在しない場合も左上セルが存在すれば左上セルの値を渡します。
+     *
+     * @param firstColumn 開始列インデックス
+     * @param firstRow    開始行インデックス
+     * @param lastColumn  終了列インデックス
+     * @param lastRow     終了行インデックス
+     * @param visitor     セルの値を受け取る処理
+     */
+    private void visitRange(final int firstColumn, final int firstRow, final int lastColumn, final int lastRow,
+            final CellVisitor visitor) {
+
+        final Sheet sheet = this.sheet;
+        final MergedRegionIndex mergedRegionIndex = this.getMergedRegionIndex();
+        final List<CellRangeAddress> mergedRegions = new ArrayList<>();
+        int lastVisitedRow = sheet.getLastRowNum();
+
+        if (mergedRegionIndex.size() > 0) {
+            for (CellRangeAddress region : sheet.getMergedRegions()) {
+                if (region.getFirstRow() <= lastRow && region.getLastRow() >= firstRow
+                        && region.getFirstColumn() <= lastColumn && region.getLastColumn() >= firstColumn) {
+                    mergedRegions.add(region);
+                    lastVisitedRow = Math.max(lastVisitedRow, region.getLastRow());
                 }
+            }
 
-                if (FluentCell.isNumeric(cell)) {
-                    return String.valueOf(cell.getNumericCellValue());
+            mergedRegions.sort((first, second) -> Integer.compare(first.getFirstRow(), second.getFirstRow()));
+        }
+
+        final List<CellRangeAddress> activeRegions = new ArrayList<>();
+        int nextRegion = 0;
+
+        for (int rowIndex = firstRow, last = Math.min(lastRow, lastVisitedRow); rowIndex <= last; rowIndex++) {
+            while (nextRegion < mergedRegions.size() && mergedRegions.get(nextRegion).getFirstRow() <= rowIndex) {
+                activeRegions.add(mergedRegions.get(nextRegion++));
+            }
+
+            int lastMergedColumn = -1;
+
+            for (int i = activeRegions.size() - 1; i >= 0; i--) {
+                if (activeRegions.get(i).getLastRow() < rowIndex) {
+                    activeRegions.remove(i);
+                } else {
+                    lastMergedColumn = Math.max(lastMergedColumn, activeRegions.get(i).getLastColumn());
                 }
+            }
 
-                return cell.getRichStringCellValue().getString().trim();
+            final Row row = sheet.getRow(rowIndex);
+            final int lastCell = row == null ? -1 : row.getLastCellNum() - 1;
+
+            for (int columnIndex = firstColumn, lastVisitedColumn = Math.min(lastColumn,
+                    Math.max(lastCell, lastMergedColumn)); columnIndex <= lastVisitedColumn; columnIndex++) {
+                final Cell cell = columnIndex <= lastCell ? row.getCell(columnIndex) : null;
+
+                if (cell != null) {
+                    final Cell valueCell = activeRegions.isEmpty() ? cell
+                            : this.resolveMergedCell(mergedRegionIndex, cell);
+                    visitor.visit(columnIndex, rowIndex, FluentCell.getValue(valueCell));
+                } else if (columnIndex <= lastMergedColumn) {
+                    final CellRangeAddress region = mergedRegionIndex.find(columnIndex, rowIndex);
+                    final Cell anchorCell = region == null ? null : this.getAnchorCell(region);
+
+                    if (anchorCell != null) {
+                        visitor.visit(columnIndex, rowIndex, FluentCell.getValue(anchorCell));
+                    }
+                }
             }
         }
-
-        throw new ExcelHandlingException(String
-                .format("indicated cell (column index = %s, row index = %s) does not exist.", columnIndex, rowIndex));
     }
 
     /**
      * 引数として指定された列番号と行番号を基にセルへ値を代入します。 引数として指定された列番号が負数の場合は実行時に必ず失敗します。
-     * 引数として指定された行番号が負数の場合は実行時に必ず失敗します。
+     * 引数として指定された行番号が負数の場合は実行時に必ず失敗します。 値を代入したセルは {@link FluentWorkbook#recalculate()}
+     * の再計算対象として記録されます。
      *
      * @param columnIndex 列番号
      * @param rowIndex    行番号
@@ -132,6 +330,7 @@ public final class FluentSheet {
 
         final Row row = this.getNewRow(rowIndex);
         final Cell cell = this.getNewCell(row, columnIndex);
+        final boolean wasFormula = cell.getCellType() == CellType.FORMULA;
 
         if (cellValue instanceof Boolean) {
             cell.setCellValue((Boolean) cellValue);
@@ -148,6 +347,106 @@ public final class FluentSheet {
         } else {
             cell.setCellValue(String.valueOf(cellValue));
         }
+
+        if (this.formulaDependencyGraph != null) {
+            this.formulaDependencyGraph.markDirty(cell, wasFormula);
+        }
+    }
+
+    /**
+     * 引数として指定されたA1形式のセル参照( {@code B2} )を基にセルへ値を代入します。
+     *
+     * @param a1        A1形式のセル参照
+     * @param cellValue 代入する値
+     *
+     * @exception NullPointerException     セル参照として {@code null} が渡された場合
+     * @exception IllegalArgumentException セル参照の形式が不正な場合
+     *
+     * @see #put(int, int, Object)
+     */
+    public void put(@NonNull final CharSequence a1, final Object cellValue) {
+        final long reference = A1Reference.parse(a1);
+        this.put(A1Reference.columnOf(reference), A1Reference.rowOf(reference), cellValue);
+    }
+
+    /**
+     * 引数として指定されたA1形式の範囲の左上セルを起点として、二次元配列の値を行優先の順序で代入します。
+     * 範囲が単一のセル参照( {@code B2} )の場合は配列の大きさに制限はありません。 範囲( {@code B2:D3} )が指定された場合は
+     * 配列の大きさが範囲を超えてはいけません。 {@code B2:B2} のように1つのセルからなる範囲も範囲として扱います。
+     * 配列の大きさは代入を始める前に検査されるため、 範囲を超える場合はいずれのセルにも代入されません。
+     * 配列中の {@code null} の要素は代入されません。
+     *
+     * @param range  A1形式の範囲または左上のセル参照
+     * @param values 行ごとの値
+     *
+     * @exception NullPointerException     引数として {@code null} が渡された場合
+     * @exception IllegalArgumentException 範囲の形式が不正な場合、または配列の大きさが範囲を超える場合
+     *
+     * @see #put(int, int, Object)
+     */
+    public void putRange(@NonNull final CharSequence range, @NonNull final Object[][] values) {
+
+        if (A1Reference.indexOfSeparator(range) < 0) {
+            final long start = A1Reference.parse(range);
+            this.putValues(A1Reference.columnOf(start), A1Reference.rowOf(start), values);
+            return;
+        }
+
+        this.putRange(CellRange.of(range), values);
+    }
+
+    /**
+     * 引数として指定された範囲の左上セルを起点として、二次元配列の値を行優先の順序で代入します。
+     * 配列の大きさは代入を始める前に検査されるため、 範囲を超える場合はいずれのセルにも代入されません。
+     * 配列中の {@code null} の要素は代入されません。
+     *
+     * @param range  範囲
+     * @param values 行ごとの値
+     *
+     * @exception NullPointerException     引数として {@code null} が渡された場合
+     * @exception IllegalArgumentException 配列の大きさが範囲を超える場合
+     *
+     * @see #putRange(CharSequence, Object[][])
+     */
+    public void putRange(@NonNull final CellRange range, @NonNull final Object[][] values) {
+
+        if (values.length > range.getRowCount()) {
+            throw new IllegalArgumentException(String.format(
+                    "wrong parameter was given. %s rows do not fit in range (%s).", values.length, range));
+        }
+
+        for (Object[] rowValues : values) {
+            if (rowValues != null && rowValues.length > range.getColumnCount()) {
+                throw new IllegalArgumentException(String.format(
+                        "wrong parameter was given. %s columns do not fit in range (%s).", rowValues.length, range));
+            }
+        }
+
+        this.putValues(range.getFirst().getColumn(), range.getFirst().getRow(), values);
+    }
+
+    /**
+     * 引数として指定された列番号と行番号のセルを起点として、二次元配列の値を行優先の順序で代入します。
+     * 配列中の {@code null} の要素は代入されません。
+     *
+     * @param firstColumn 起点の列番号
+     * @param firstRow    起点の行番号
+     * @param values      行ごとの値
+     */
+    private void putValues(final int firstColumn, final int firstRow, final Object[][] values) {
+        for (int i = 0; i < values.length; i++) {
+            final Object[] rowValues = values[i];
+
+            if (rowValues == null) {
+                continue;
+            }
+
+            for (int j = 0; j < rowValues.length; j++) {
+                if (rowValues[j] != null) {
+                    this.put(firstColumn + j, firstRow + i, rowValues[j]);
+                }
+            }
+        }
     }
 
     /**
@@ -169,16 +468,8 @@ public final class FluentSheet {
 
         for (Row row : sheet) {
             for (Cell cell : row) {
-                if (FluentCell.isNumeric(cell)) {
-                    final String cellValue = String.valueOf(cell.getNumericCellValue());
-                    if (value.equals(cellValue)) {
-                        return true;
-                    }
-                } else {
-                    final String cellValue = cell.getRichStringCellValue().getString().trim();
-                    if (value.equals(cellValue)) {
-                        return true;
-                    }
+                if (value.equals(FluentCell.getValue(cell))) {
+                    return true;
                 }
             }
         }
@@ -201,14 +492,8 @@ public final class FluentSheet {
 
         for (Row row : sheet) {
             for (Cell cell : row) {
-                if (FluentCell.isNumeric(cell)) {
-                    if (sequence.equals(String.valueOf(cell.getNumericCellValue()))) {
-                        return Matrix.of(cell.getColumnIndex(), cell.getRowIndex());
-                    }
-                } else {
-                    if (sequence.equals(cell.getRichStringCellValue().getString().trim())) {
-                        return Matrix.of(cell.getColumnIndex(), cell.getRowIndex());
-                    }
+                if (sequence.equals(FluentCell.getValue(cell))) {
+                    return Matrix.of(cell.getColumnIndex(), cell.getRowIndex());
                 }
             }
         }
@@ -231,14 +516,8 @@ public final class FluentSheet {
 
         for (Row row : sheet) {
             for (Cell cell : row) {
-                if (FluentCell.isNumeric(cell)) {
-                    if (sequence.equals(String.valueOf(cell.getNumericCellValue()))) {
-                        cell.getRowIndex();
-                    }
-                } else {
-                    if (sequence.equals(cell.getRichStringCellValue().getString().trim())) {
-                        cell.getRowIndex();
-                    }
+                if (sequence.equals(FluentCell.getValue(cell))) {
+                    return cell.getRowIndex();
                 }
             }
         }
@@ -261,14 +540,8 @@ public final class FluentSheet {
 
         for (Row row : sheet) {
             for (Cell cell : row) {
-                if (FluentCell.isNumeric(cell)) {
-                    if (sequence.equals(String.valueOf(cell.getNumericCellValue()))) {
-                        return cell.getColumnIndex();
-                    }
-                } else {
-                    if (sequence.equals(cell.getRichStringCellValue().getString().trim())) {
-                        return cell.getColumnIndex();
-                    }
+                if (sequence.equals(FluentCell.getValue(cell))) {
+                    return cell.getColumnIndex();
                 }
             }
         }
@@ -595,17 +868,10 @@ public final class FluentSheet {
             for (Cell cell : row) {
                 final int columnIndex = cell.getColumnIndex();
                 if (startColumnIndex <= columnIndex && columnIndex <= endColumnIndex) {
+                    final String cellValue = FluentCell.getValue(cell);
 
-                    if (FluentCell.isNumeric(cell)) {
-                        final String cellValue = String.valueOf(cell.getNumericCellValue());
-                        if (!StringUtils.isEmpty(cellValue)) {
-                            return cellValue;
-                        }
-                    } else {
-                        final String cellValue = cell.getRichStringCellValue().getString().trim();
-                        if (!StringUtils.isEmpty(cellValue)) {
-                            return cellValue;
-                        }
+                    if (!StringUtils.isEmpty(cellValue)) {
+                        return cellValue;
                     }
                 }
             }
@@ -616,6 +882,7 @@ public final class FluentSheet {
 
     /**
      * 指定された行列インデックスからExcelに記述されたマトリクス情報を取得しリスト形式で返却します。
+     * 結合セル領域に属するセルの値は、結合セル領域の左上セルの値として取得されます。
      *
      * @param startColumnIndex 開始開始インデックス
      * @param startRowIndex    開始行インデックス
@@ -633,6 +900,7 @@ public final class FluentSheet {
         }
 
         final Sheet sheet = this.sheet;
+        final MergedRegionIndex mergedRegionIndex = this.getMergedRegionIndex();
         final List<String> matrixHeader = this.getMatrixHeader(startColumnIndex, startRowIndex);
         final int rowSize = matrixHeader.size();
 
@@ -642,24 +910,18 @@ public final class FluentSheet {
             final Map<String, String> record = new HashMap<>(rowSize);
             final Row row = sheet.getRow(i);
 
-            boolean alreadySet = false;
-            int countHeader = 0;
+            if (row != null) {
+                boolean alreadySet = false;
+                int countHeader = 0;
 
-            for (Cell cell : row) {
-                if (!FluentCell.isBlank(cell)) {
-                    if (FluentCell.isNumeric(cell)) {
-                        final String cellValue = String.valueOf(cell.getNumericCellValue());
-                        record.put(matrixHeader.get(countHeader), cellValue);
-                        alreadySet = true;
-                    } else {
-                        final String cellValue = cell.getRichStringCellValue().getString().trim();
-                        record.put(matrixHeader.get(countHeader), cellValue);
-                        alreadySet = true;
-                    }
+                for (Cell cell : row) {
+                    final Cell valueCell = this.resolveMergedCell(mergedRegionIndex, cell);
 
-                    countHeader++;
-                } else {
-                    if (FluentCell.isBorderedRight(cell)) {
+                    if (!FluentCell.isBlank(valueCell)) {
+                        record.put(matrixHeader.get(countHeader), FluentCell.getValue(valueCell));
+                        alreadySet = true;
+                        countHeader++;
+                    } else if (FluentCell.isBorderedRight(cell)) {
                         if (alreadySet) {
                             alreadySet = false;
                         } else {
@@ -703,18 +965,81 @@ public final class FluentSheet {
                 continue;
             }
 
-            if (FluentCell.isNumeric(cell)) {
-                final String cellValue = String.valueOf(cell.getNumericCellValue());
-                matrixHeader.add(cellValue);
-            } else {
-                final String cellValue = cell.getRichStringCellValue().getString().trim();
-                matrixHeader.add(cellValue);
-            }
+            matrixHeader.add(FluentCell.getValue(cell));
         }
 
         return matrixHeader;
     }
 
+    /**
+     * 結合セル領域の索引を返却します。 索引が未生成の場合、またはシート中の結合セル領域の数が索引の生成時から変化している場合は索引を再生成します。
+     * 当該クラスを経由せずに結合セル領域の追加と解除を同数行った場合は数が変化しないため、 {@link #refreshMergedRegions()} による破棄が必要です。
+     *
+     * @return 結合セル領域の索引
+     */
+    private MergedRegionIndex getMergedRegionIndex() {
+
+        MergedRegionIndex mergedRegionIndex = this.mergedRegionIndex;
+
+        if (mergedRegionIndex == null || mergedRegionIndex.size() != this.sheet.getNumMergedRegions()) {
+            mergedRegionIndex = MergedRegionIndex.of(this.sheet);
+            this.mergedRegionIndex = mergedRegionIndex;
+        }
+
+        return mergedRegionIndex;
+    }
+
+    /**
+     * 引数として指定されたA1形式の範囲を結合セル領域へ変換します。
+     *
+     * @param range A1形式の範囲
+     * @return 結合セル領域
+     *
+     * @exception IllegalArgumentException 範囲の形式が不正な場合
+     */
+    private static CellRangeAddress toRegion(final CharSequence range) {
+
+        final long start = A1Reference.rangeStart(range);
+        final long end = A1Reference.rangeEnd(range);
+
+        return new CellRangeAddress(A1Reference.rowOf(start), A1Reference.rowOf(end), A1Reference.columnOf(start),
+                A1Reference.columnOf(end));
+    }
+
+    /**
+     * 引数として指定されたセルが結合セル領域に属する場合は、結合セル領域の左上セルを返却します。
+     * 指定されたセルが結合セル領域に属さない場合、または左上セルが存在しない場合は指定されたセルをそのまま返却します。
+     *
+     * @param mergedRegionIndex 結合セル領域の索引
+     * @param cell              セルオブジェクト
+     * @return 値の参照元となるセルオブジェクト
+     */
+    private Cell resolveMergedCell(final MergedRegionIndex mergedRegionIndex, final Cell cell) {
+
+        final CellRangeAddress region = mergedRegionIndex.find(cell.getColumnIndex(), cell.getRowIndex());
+
+        if (region == null) {
+            return cell;
+        }
+
+        final Cell anchorCell = this.getAnchorCell(region);
+
+        return anchorCell == null ? cell : anchorCell;
+    }
+
+    /**
+     * 引数として指定された結合セル領域の左上セルを返却します。 左上セルが存在しない場合は {@code null} を返却します。
+     *
+     * @param region 結合セル領域
+     * @return 結合セル領域の左上セル
+     */
+    private Cell getAnchorCell(final CellRangeAddress region) {
+
+        final Row anchorRow = this.sheet.getRow(region.getFirstRow());
+
+        return anchorRow == null ? null : anchorRow.getCell(region.getFirstColumn());
+    }
+
     /**
      * 引数として指定された行オブジェクトと列番号を基にセルオブジェクトを取得して返却します。
      * 引数として指定された列番号に紐づくセルオブジェクトが存在しない場合は、 指定された列番号に紐づく新しいセルオブジェクトを生成し返却します。
@@ -763,6 +1088,64 @@ public final class FluentSheet {
         return row;
     }
 
+    /**
+     * 引数として指定されたA1形式の範囲( {@code B2:D4} )を結合セル領域として追加します。
+     *
+     * @param range A1形式の範囲
+     *
+     * @exception NullPointerException     引数として {@code null} が渡された場合
+     * @exception IllegalArgumentException 範囲の形式が不正な場合、範囲が単一のセルの場合、または既存の結合セル領域と重複する場合
+     */
+    public void merge(@NonNull final CharSequence range) {
+        this.sheet.addMergedRegion(toRegion(range));
+        this.mergedRegionIndex = null;
+    }
+
+    /**
+     * 引数として指定されたA1形式の範囲( {@code B2:D4} )と一致する結合セル領域を解除します。
+     *
+     * @param range A1形式の範囲
+     * @return 結合セル領域を解除した場合は {@code true} 、一致する結合セル領域が存在しない場合は {@code false}
+     *
+     * @exception NullPointerException     引数として {@code null} が渡された場合
+     * @exception IllegalArgumentException 範囲の形式が不正な場合
+     */
+    public boolean unmerge(@NonNull final CharSequence range) {
+
+        final CellRangeAddress region = toRegion(range);
+        final List<CellRangeAddress> mergedRegions = this.sheet.getMergedRegions();
+
+        for (int i = 0; i < mergedRegions.size(); i++) {
+            if (region.equals(mergedRegions.get(i))) {
+                this.sheet.removeMergedRegion(i);
+                this.mergedRegionIndex = null;
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * 結合セル領域の索引を破棄し、 次回の参照時にシートから再生成させます。 {@link #getSheet()} で取得したシートに対して
+     * {@link #merge(CharSequence)} 及び {@link #unmerge(CharSequence)} を経由せずに結合セル領域を変更した場合は、
+     * 以降の参照の前にこのメソッドを呼び出してください。 索引は結合セル領域の数が変化した場合にも再生成されますが、 追加と解除を同数行った場合は検知できません。
+     */
+    public void refreshMergedRegions() {
+        this.mergedRegionIndex = null;
+    }
+
+    /**
+     * 当該シートの現在の内容を複製した不変のスナップショットを生成し返却します。
+     * スナップショットは元のシートを参照しないため、ロックを取得せずに複数のスレッドから同時に読み込むことができます。
+     * スナップショットの生成後にシートへ加えた変更はスナップショットに反映されません。
+     *
+     * @return シートのスナップショット
+     */
+    public FluentSheetSnapshot snapshot() {
+        return FluentSheetSnapshot.of(this.sheet);
+    }
+
     /**
      * 当該シートオブジェクトに含まれる全てのセルの値を文字列型のリスト形式で取得し返却します。
      *
@@ -777,11 +1160,7 @@ public final class FluentSheet {
             final List<String> rowList = new ArrayList<>(row.getPhysicalNumberOfCells());
 
             for (Cell cell : row) {
-                if (FluentCell.isNumeric(cell)) {
-                    rowList.add(String.valueOf(cell.getNumericCellValue()));
-                } else {
-                    rowList.add(cell.getRichStringCellValue().getString().trim());
-                }
+                rowList.add(FluentCell.getValue(cell));
             }
 
             stringList.add(rowList);
@@ -0,0 +1,366 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.workbook;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.CellRangeAddress;
+
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * {@link FluentSheet} の内容を複製した不変のスナップショットを表すクラスです。
+ * <p>
+ * スナップショットの生成後は元のシートを参照しないため、 全ての読み込み操作はロックを取得せずに任意の数のスレッドから同時に実行できます。
+ * セルは {@link CompactCellGrid} に格納され、 罫線の有無はセルごとのビットマップとして保持されます。
+ * {@link #hasValue(String)} 及び {@link #findCellIndex(String)} は文字列の辞書の索引を参照するため、 文字列の検索ではシートの走査を行いません。
+ * <p>
+ * 数式セルの値はスナップショット生成時にキャッシュされている計算結果となります。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ *
+ * @see FluentSheet#snapshot()
+ */
+@ToString(of = { "sheetName" })
+public final class FluentSheetSnapshot {
+
+    /**
+     * シート名
+     */
+    private final String sheetName;
+
+    /**
+     * 物理的な行数
+     */
+    private final int physicalNumberOfRows;
+
+    /**
+     * セルのグリッド
+     */
+    private final CompactCellGrid grid;
+
+    /**
+     * 結合セル領域の索引
+     */
+    private final MergedRegionIndex mergedRegionIndex;
+
+    /**
+     * 引数として指定されたシートの内容を複製するコンストラクタです。
+     *
+     * @param sheet シートオブジェクト
+     */
+    private FluentSheetSnapshot(final Sheet sheet) {
+        this.sheetName = sheet.getSheetName();
+        this.physicalNumberOfRows = sheet.getPhysicalNumberOfRows();
+        this.grid = CompactCellGrid.of(sheet);
+        this.mergedRegionIndex = MergedRegionIndex.of(sheet);
+    }
+
+    /**
+     * 引数として指定されたシートのスナップショットを生成し返却します。
+     *
+     * @param sheet シートオブジェクト
+     * @return スナップショット
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    static FluentSheetSnapshot of(@NonNull final Sheet sheet) {
+        return new FluentSheetSnapshot(sheet);
+    }
+
+    /**
+     * 引数として指定された列番号と行番号を基にセルの値を取得し返却します。
+     * 指定されたセルが結合セル領域に属する場合は、結合セル領域の左上セルの値を返却します。
+     *
+     * @param columnIndex 列番号
+     * @param rowIndex    行番号
+     * @return セルの値
+     *
+     * @exception IllegalArgumentException 引数として指定された列番号が負数の場合、または行番号が負数の場合
+     * @exception ExcelHandlingException   指定されたセルが存在しない場合
+     *
+     * @see FluentSheet#get(int, int)
+     */
+    public String get(final int columnIndex, final int rowIndex) {
+
+        if (columnIndex < 0) {
+            throw new IllegalArgumentException("wrong parameter was given. Column index must be positive.");
+        }
+
+        if (rowIndex < 0) {
+            throw new IllegalArgumentException("wrong parameter was given. Row index must be positive.");
+        }
+
+        final Matrix anchor = this.mergedRegionIndex.resolve(columnIndex, rowIndex);
+        final int position = this.grid.position(anchor.getColumn(), anchor.getRow());
+
+        if (position < 0) {
+            throw new ExcelHandlingException(String.format(
+                    "indicated cell (column index = %s, row index = %s) does not exist.", columnIndex, rowIndex));
+        }
+
+        return this.grid.valueAt(position);
+    }
+
+    /**
+     * シート中に引数として渡された文字列が存在するか判定します。
+     *
+     * @param value 検査対象の文字列
+     * @return シート中に指定された文字列が存在する場合は{@code true}、それ以外は{@code false}
+     *
+     * @exception IllegalArgumentException 引数として指定された文字列が {@code null} または空文字列の場合
+     *
+     * @see FluentSheet#hasValue(String)
+     */
+    public boolean hasValue(final String value) {
+
+        if (StringUtils.isEmpty(value)) {
+            throw new IllegalArgumentException("wrong parameter was given. String is null or empty.");
+        }
+
+        return this.grid.find(value) >= 0;
+    }
+
+    /**
+     * 引数として指定された文字列と一番初めに合致するセルの行列インデックスを取得し返却します。
+     *
+     * @param sequence 検索対象の文字列
+     * @return 検索対象の文字列が含まれる一番始めのセルの行列インデックス。 検索対象の文字列が存在しない場合は {@code null} を返却します。
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     *
+     * @see FluentSheet#findCellIndex(String)
+     */
+    public Matrix findCellIndex(@NonNull final String sequence) {
+
+        final int position = this.grid.find(sequence);
+
+        if (position < 0) {
+            return null;
+        }
+
+        return Matrix.of(this.grid.columnAt(position), this.grid.rowIndexOf(position));
+    }
+
+    /**
+     * 引数として指定された行列インデックスから上部に罫線が設定されているセルの行列インデックスを取得し返却します。
+     *
+     * @param startColumnIndex 探索開始列インデックス
+     * @param startRowIndex    探索開始行インデックス
+     * @return 上部に罫線が設定されているセルの行列インデックス。 存在しない場合は {@code null}
+     *
+     * @exception IllegalArgumentException 探索開始列インデックスが負数の場合、または探索開始行インデックスが負数の場合
+     *
+     * @see FluentSheet#findBorderTopIndex(int, int)
+     */
+    public Matrix findBorderTopIndex(final int startColumnIndex, final int startRowIndex) {
+        return this.findBorderIndex(startColumnIndex, startRowIndex, CompactCellGrid.BORDER_TOP);
+    }
+
+    /**
+     * 引数として指定された行列インデックスから下部に罫線が設定されているセルの行列インデックスを取得し返却します。
+     *
+     * @param startColumnIndex 探索開始列インデックス
+     * @param startRowIndex    探索開始行インデックス
+     * @return 下部に罫線が設定されているセルの行列インデックス。 存在しない場合は {@code null}
+     *
+     * @exception IllegalArgumentException 探索開始列インデックスが負数の場合、または探索開始行インデックスが負数の場合
+     *
+     * @see FluentSheet#findBorderBottomIndex(int, int)
+     */
+    public Matrix findBorderBottomIndex(final int startColumnIndex, final int startRowIndex) {
+        return this.findBorderIndex(startColumnIndex, startRowIndex, CompactCellGrid.BORDER_BOTTOM);
+    }
+
+    /**
+     * 引数として指定された行列インデックスから右部に罫線が設定されているセルの行列インデックスを取得し返却します。
+     *
+     * @param startColumnIndex 探索開始列インデックス
+     * @param startRowIndex    探索開始行インデックス
+     * @return 右部に罫線が設定されているセルの行列インデックス。 存在しない場合は {@code null}
+     *
+     * @exception IllegalArgumentException 探索開始列インデックスが負数の場合、または探索開始行インデックスが負数の場合
+     *
+     * @see FluentSheet#findBorderRightIndex(int, int)
+     */
+    public Matrix findBorderRightIndex(final int startColumnIndex, final int startRowIndex) {
+        return this.findBorderIndex(startColumnIndex, startRowIndex, CompactCellGrid.BORDER_RIGHT);
+    }
+
+    /**
+     * 引数として指定された行列インデックスから左部に罫線が設定されているセルの行列インデックスを取得し返却します。
+     *
+     * @param startColumnIndex 探索開始列インデックス
+     * @param startRowIndex    探索開始行インデックス
+     * @return 左部に罫線が設定されているセルの行列インデックス。 存在しない場合は {@code null}
+     *
+     * @exception IllegalArgumentException 探索開始列インデックスが負数の場合、または探索開始行インデックスが負数の場合
+     *
+     * @see FluentSheet#findBorderLeftIndex(int, int)
+     */
+    public Matrix findBorderLeftIndex(final int startColumnIndex, final int startRowIndex) {
+        return this.findBorderIndex(startColumnIndex, startRowIndex, CompactCellGrid.BORDER_LEFT);
+    }
+
+    /**
+     * 指定された行列インデックスからExcelに記述されたマトリクス情報を取得しリスト形式で返却します。
+     * 結合セル領域に属するセルの値は、結合セル領域の左上セルの値として取得されます。 物理的に存在しない行は空のマップとして返却されます。
+     *
+     * @param startColumnIndex 開始開始インデックス
+     * @param startRowIndex    開始行インデックス
+     * @return マトリクス情報
+     *
+     * @exception IllegalArgumentException 引数として指定された行列インデックスが負数の場合
+     *
+     * @see FluentSheet#getMatrixList(int, int)
+     */
+    public List<Map<String, String>> getMatrixList(final int startColumnIndex, final int startRowIndex) {
+
+        if (startColumnIndex < 0) {
+            throw new IllegalArgumentException("wrong parameter was given. Column Index must be positive.");
+        }
+
+        if (startRowIndex < 0) {
+            throw new IllegalArgumentException("wrong parameter was given. Row index must be positive.");
+        }
+
+        final CompactCellGrid grid = this.grid;
+        final List<String> matrixHeader = this.getMatrixHeader(startRowIndex);
+        final int rowSize = matrixHeader.size();
+
+        final List<Map<String, String>> matrixList = new ArrayList<>();
+
+        for (int i = startRowIndex + 1, size = this.physicalNumberOfRows + 1; i < size; i++) {
+            final Map<String, String> record = new HashMap<>(rowSize);
+            final int row = grid.rowPosition(i);
+
+            if (row >= 0) {
+                boolean alreadySet = false;
+                int countHeader = 0;
+
+                for (int cell = grid.rowStart(row), end = grid.rowEnd(row); cell < end; cell++) {
+                    final int valueCell = this.resolveMergedCell(cell, i);
+
+                    if (grid.kindAt(valueCell) != CompactCellGrid.KIND_BLANK) {
+                        record.put(matrixHeader.get(countHeader), grid.valueAt(valueCell));
+                        alreadySet = true;
+                        countHeader++;
+                    } else if (grid.hasBorder(cell, CompactCellGrid.BORDER_RIGHT)) {
+                        if (alreadySet) {
+                            alreadySet = false;
+                        } else {
+                            countHeader++;
+                        }
+                    }
+                }
+            }
+
+            matrixList.add(record);
+        }
+
+        return matrixList;
+    }
+
+    /**
+     * マトリクスのヘッダー部分を取得しリストとして返却します。
+     *
+     * @param rowIndex 行インデックス
+     * @return マトリクスのヘッダー部分
+     */
+    private List<String> getMatrixHeader(final int rowIndex) {
+
+        final List<String> matrixHeader = new ArrayList<>();
+        final int row = this.grid.rowPosition(rowIndex);
+
+        if (row < 0) {
+            return matrixHeader;
+        }
+
+        for (int cell = this.grid.rowStart(row), end = this.grid.rowEnd(row); cell < end; cell++) {
+            if (this.grid.kindAt(cell) != CompactCellGrid.KIND_BLANK) {
+                matrixHeader.add(this.grid.valueAt(cell));
+            }
+        }
+
+        return matrixHeader;
+    }
+
+    /**
+     * 引数として指定されたフラグを持つセルを行列インデックスの昇順に探索し、最初に見つかったセルの行列インデックスを返却します。
+     *
+     * @param startColumnIndex 探索開始列インデックス
+     * @param startRowIndex    探索開始行インデックス
+     * @param border           罫線のフラグ
+     * @return 罫線が設定されているセルの行列インデックス。 存在しない場合は {@code null}
+     *
+     * @exception IllegalArgumentException 探索開始列インデックスが負数の場合、または探索開始行インデックスが負数の場合
+     */
+    private Matrix findBorderIndex(final int startColumnIndex, final int startRowIndex, final byte border) {
+
+        if (startColumnIndex < 0) {
+            throw new IllegalArgumentException(
+                    String.format("wrong parameter (%s) was given. Column index must be positive.", startColumnIndex));
+        }
+
+        if (startRowIndex < 0) {
+            throw new IllegalArgumentException(
+                    String.format("wrong parameter (%s) was given. Row index must be positive.", startRowIndex));
+        }
+
+        final CompactCellGrid grid = this.grid;
+
+        int row = grid.rowPosition(startRowIndex);
+        row = row < 0 ? -row - 1 : row;
+
+        for (; row < grid.rowCount() && grid.rowIndexAt(row) < this.physicalNumberOfRows; row++) {
+            for (int cell = grid.rowStart(row), end = grid.rowEnd(row); cell < end; cell++) {
+                if (startColumnIndex <= grid.columnAt(cell) && grid.hasBorder(cell, border)) {
+                    return Matrix.of(grid.columnAt(cell), grid.rowIndexAt(row));
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * 引数として指定されたセルが結合セル領域に属する場合は、結合セル領域の左上セルの位置を返却します。
+     * 指定されたセルが結合セル領域に属さない場合、または左上セルが存在しない場合は指定されたセルの位置をそのまま返却します。
+     *
+     * @param cell     セルの位置
+     * @param rowIndex 行インデックス
+     * @return 値の参照元となるセルの位置
+     */
+    private int resolveMergedCell(final int cell, final int rowIndex) {
+
+        final CellRangeAddress region = this.mergedRegionIndex.find(this.grid.columnAt(cell), rowIndex);
+
+        if (region == null) {
+            return cell;
+        }
+
+        final int anchor = this.grid.position(region.getFirstColumn(), region.getFirstRow());
+
+        return anchor < 0 ? cell : anchor;
+    }
+}
@@ -14,16 +14,28 @@
 
 package org.thinkit.common.util.workbook;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.util.Calendar;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.time.ZoneId;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
 
 import com.google.common.flogger.FluentLogger;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.poi.EncryptedDocumentException;
@@ -54,11 +66,40 @@ public final class FluentWorkbook implements AutoCloseable {
      */
     private static final FluentLogger logger = FluentLogger.forEnclosingClass();
 
+    /**
+     * 非同期クローズ処理で使用するパイプのバッファサイズ
+     */
+    private static final int PIPE_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 非同期クローズ処理で出力ストリームへの書き込みを行うスレッドプール
+     */
+    private static final ExecutorService OUTPUT_EXECUTOR = Executors
+            .newCachedThreadPool(new ThreadFactoryBuilder().setDaemon(true).setNameFormat("fluent-workbook-output-%d")
+                    .build());
+
     /**
      * 出力ストリーム
      */
     private OutputStream outputStream = null;
 
+    /**
+     * 出力時の圧縮レベル
+     */
+    private int compressionLevel = Deflater.DEFAULT_COMPRESSION;
+
+    /**
+     * 出力時にパッケージのパートを並列に圧縮する {@link Executor}
+     */
+    private Executor compressionExecutor = null;
+
+    /**
+     * 数式の依存関係。 初回参照時に生成されます。
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private FormulaDependencyGraph formulaDependencyGraph = null;
+
     /**
      * デフォルトコンストラクタ
      */
@@ -80,9 +121,12 @@ public final class FluentWorkbook implements AutoCloseable {
 
     /**
      * Date型オブジェクトを時間に変換して返却するメソッドです。 引数として指定されたDateオブジェクトがnullの場合は必ずnullを返却します。
+     * 変換はデフォルトのタイムゾーンで行われ、分未満の端数は切り捨てられます。
+     * 大量の日時を変換する場合は {@link SerialDateCodec} を使用してください。
      *
      * @param date Dateオブジェクト
      * @return Dateオブジェクトから変換された時間
+     * @see SerialDateCodec#toTimeSerial(long, ZoneId)
      */
     public static Double timeOnly(final Date date) {
 
@@ -90,12 +134,10 @@ public final class FluentWorkbook implements AutoCloseable {
             return null;
         }
 
-        Calendar calendar = Calendar.getInstance();
-        calendar.clear();
-        calendar.setTime(date);
+        final int minuteOfDay = SerialDateCodec.millisOfDay(date.getTime(), ZoneId.systemDefault()) / 60_000;
 
-        final int hour = calendar.get(Calendar.HOUR_OF_DAY);
-        final int minute = calendar.get(Calendar.MINUTE);
+        final int hour = minuteOfDay / 60;
+        final int minute = minuteOfDay % 60;
 
         Double time = (double) 0;
         time += (double) 1 / 24 * hour;
@@ -104,6 +146,31 @@ public final class FluentWorkbook implements AutoCloseable {
         return time;
     }
 
+    /**
+     * 当該ワークブックを比較元、引数として指定されたワークブックを比較先として、セル単位の差分をストリームとして返却します。
+     * シートは名前で対応付けられ、行と列の昇順に両ワークブックを同時に走査してセルの値を直接比較します。
+     * 両ワークブックは読み込み済みである必要がありますが、 比較処理で追加で保持されるのは比較中の行の差分のみです。
+     *
+     * <pre>
+     * 使用例:
+     * <code>try (Stream&lt;CellChange&gt; changes = base.diff(target)) { changes.forEach(System.out::println); }</code>
+     * </pre>
+     *
+     * @param other 比較先のワークブック
+     * @return セルの差分のストリーム
+     *
+     * @exception NullPointerException   引数として {@code null} が渡された場合
+     * @exception ExcelHandlingException Excelワークブックオブジェクトが {@code null} の場合
+     */
+    public Stream<CellChange> diff(@NonNull final FluentWorkbook other) {
+
+        if (this.workbook == null || other.workbook == null) {
+            throw new ExcelHandlingException("unexpected error has occured. Excel workbook object is null.");
+        }
+
+        return WorkbookDiff.diff(this.workbook, other.workbook);
+    }
+
     /**
      * 引数として渡されたシート番号を基にシートオブジェクトを取得して返却します。 引数として指定されたシート番号が負数の場合は実行時に必ず失敗します。
      *
@@ -117,7 +184,7 @@ public final class FluentWorkbook implements AutoCloseable {
             throw new IllegalArgumentException("wrong parameter was given. Sheet number must be positive.");
         }
 
-        return new FluentSheet(this.getSheetAt(sheetNo));
+        return new FluentSheet(this.getSheetAt(sheetNo), this.getFormulaDependencyGraph());
     }
 
     /**
@@ -134,7 +201,43 @@ public final class FluentWorkbook implements AutoCloseable {
             throw new IllegalArgumentException("wrong parameter was given. String is null or empty.");
         }
 
-        return new FluentSheet(this.getSheet(sheetName));
+        return new FluentSheet(this.getSheet(sheetName), this.getFormulaDependencyGraph());
+    }
+
+    /**
+     * {@link FluentSheet#put(int, int, Object)} で値が変更されたセルに依存する数式セルのみを依存順に再計算し、
+     * 値が変化した数式セルの差分を返却します。 ワークブック全体の再計算を行う {@link #close()} と異なり、
+     * 変更の影響を受けない数式セルは再計算されません。
+     * <p>
+     * 変更の追跡は当該メソッドを初めて呼び出した時点で開始されます。 初回の呼び出しでは数式の依存関係を構築したうえで全ての数式セルを
+     * 再計算し、 以降の呼び出しでは前回の呼び出し以降に変更されたセルの影響を受ける数式セルのみを再計算します。
+     * 当該メソッドを呼び出さない限り、値の代入時に変更の追跡は行われません。
+     *
+     * @return 値が変化した数式セルの差分。 変更種別は全て {@link CellChange.Type#CHANGED} です。
+     *
+     * @exception ExcelHandlingException Excelワークブックオブジェクトが {@code null} の場合、または数式の解析に対応していない形式の場合
+     */
+    public List<CellChange> recalculate() {
+        return this.getFormulaDependencyGraph().recalculate();
+    }
+
+    /**
+     * 数式の依存関係を返却します。 数式の依存関係が未生成の場合は新たに生成します。
+     *
+     * @return 数式の依存関係
+     * @exception ExcelHandlingException Excelワークブックオブジェクトが {@code null} の場合
+     */
+    private FormulaDependencyGraph getFormulaDependencyGraph() {
+
+        if (this.workbook == null) {
+            throw new ExcelHandlingException("unexpected error has occured. Excel workbook object is null.");
+        }
+
+        if (this.formulaDependencyGraph == null) {
+            this.formulaDependencyGraph = new FormulaDependencyGraph(this.workbook);
+        }
+
+        return this.formulaDependencyGraph;
     }
 
     /**
@@ -201,19 +304,132 @@ public final class FluentWorkbook implements AutoCloseable {
         }
 
         try (final OutputStream outputStream = this.outputStream;) {
-            if (workbook instanceof XSSFWorkbook) {
-                @SuppressWarnings("resource")
-                final SXSSFWorkbook sxss = new SXSSFWorkbook((XSSFWorkbook) workbook);
-                sxss.write(outputStream);
-            } else {
-                workbook.write(outputStream);
-            }
+            write(workbook, outputStream);
         } catch (IOException e) {
             logger.atSevere().withCause(e)
                     .log("An exception occurred when accessing information using streams, files and directories.");
         }
     }
 
+    /**
+     * {@link ForkJoinPool#commonPool()} を使用して非同期でワークブックのクローズ処理を行います。
+     *
+     * @return クローズ処理の完了を表す {@link CompletableFuture}
+     * @see #closeAsync(Executor)
+     */
+    public CompletableFuture<Void> closeAsync() {
+        return this.closeAsync(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 引数として指定された {@link Executor} を使用して非同期でワークブックのクローズ処理を行います。
+     * <p>
+     * 数式の再計算とワークブックの直列化及び圧縮は指定された {@link Executor} 上で実行され、 直列化されたバイト列は
+     * パイプを介して出力用のスレッドへ渡されて出力ストリームへ書き込まれます。 そのため直列化と出力処理は並行して行われます。
+     * パイプを読み込む出力用のスレッドは直列化より先に開始されるため、 呼び出し元のスレッドで実行する {@link Executor} や
+     * 飽和した {@link Executor} を指定しても処理は停止しません。 出力されるバイト列は {@link #close()} と同一です。
+     * <p>
+     * 出力ストリームは当該ワークブックから切り離されるため、 以降に {@link #close()} を呼び出してもワークブックは再度出力されません。
+     * 返却された {@link CompletableFuture} が完了するまで当該ワークブックを操作してはいけません。 処理中に例外が発生した場合、
+     * 返却された {@link CompletableFuture} は {@link ExcelHandlingException} で異常終了します。
+     *
+     * @param executor 直列化処理を実行する {@link Executor}
+     * @return クローズ処理の完了を表す {@link CompletableFuture}
+     *
+     * @exception NullPointerException   引数として {@code null} が渡された場合
+     * @exception ExcelHandlingException Excelワークブックオブジェクトが {@code null} の場合
+     */
+    public CompletableFuture<Void> closeAsync(@NonNull final Executor executor) {
+
+        final Workbook workbook = this.workbook;
+
+        if (workbook == null) {
+            throw new ExcelHandlingException("unexpected error has occured. Excel workbook object is null.");
+        }
+
+        final OutputStream outputStream = this.outputStream;
+        this.outputStream = null;
+
+        if (outputStream == null) {
+            return CompletableFuture.runAsync(() -> {
+                workbook.getCreationHelper().createFormulaEvaluator().evaluateAll();
+                logger.atWarning().log("The output stream object to be closed is null.");
+            }, executor);
+        }
+
+        final PipedInputStream pipedInputStream = new PipedInputStream(PIPE_BUFFER_SIZE);
+        final PipedOutputStream pipedOutputStream;
+
+        try {
+            pipedOutputStream = new PipedOutputStream(pipedInputStream);
+        } catch (IOException e) {
+            throw new ExcelHandlingException("The pipe between serialization and output could not be connected.", e);
+        }
+
+        final CompletableFuture<Void> output = CompletableFuture.runAsync(() -> {
+            try (final InputStream pipe = pipedInputStream; final OutputStream destination = outputStream) {
+                final byte[] buffer = new byte[PIPE_BUFFER_SIZE];
+                int length;
+
+                while ((length = pipe.read(buffer)) != -1) {
+                    destination.write(buffer, 0, length);
+                }
+            } catch (IOException | RuntimeException e) {
+                throw wrap("An exception occurred while writing the workbook.", e);
+            }
+        }, OUTPUT_EXECUTOR);
+
+        final CompletableFuture<Void> serialization = CompletableFuture.runAsync(() -> {
+            try (final OutputStream pipe = pipedOutputStream) {
+                workbook.getCreationHelper().createFormulaEvaluator().evaluateAll();
+                write(workbook, pipe);
+            } catch (IOException | RuntimeException e) {
+                throw wrap("An exception occurred while serializing the workbook.", e);
+            }
+        }, executor);
+
+        return serialization.thenCombine(output, (left, right) -> (Void) null);
+    }
+
+    /**
+     * 引数として指定された例外を {@link ExcelHandlingException} で包んで返却します。 {@link ExcelHandlingException} の場合はそのまま返却します。
+     *
+     * @param message 詳細メッセージ
+     * @param cause   発生した例外
+     * @return {@link ExcelHandlingException}
+     */
+    private static ExcelHandlingException wrap(final String message, final Exception cause) {
+
+        if (cause instanceof ExcelHandlingException) {
+            return (ExcelHandlingException) cause;
+        }
+
+        return new ExcelHandlingException(message, cause);
+    }
+
+    /**
+     * 引数として指定されたワークブックを出力ストリームへ書き込みます。 {@link XSSFWorkbook} の場合は
+     * {@link SXSSFWorkbook} へ変換したうえで書き込みます。 ただし {@link XSSFWorkbook} に対して圧縮レベルまたは並列圧縮が
+     * 設定されている場合は、 {@link PackageCompressor} を使用してパッケージのパートごとに圧縮したうえで書き込みます。
+     *
+     * @param workbook     ワークブックオブジェクト
+     * @param outputStream 出力ストリーム
+     * @throws IOException 書き込み処理が異常終了した場合
+     */
+    private void write(final Workbook workbook, final OutputStream outputStream) throws IOException {
+        if (workbook instanceof XSSFWorkbook
+                && (this.compressionExecutor != null || this.compressionLevel != Deflater.DEFAULT_COMPRESSION)) {
+            final Executor executor = this.compressionExecutor != null ? this.compressionExecutor : Runnable::run;
+            new PackageCompressor(this.compressionLevel, executor).write((XSSFWorkbook) workbook, outputStream);
+        } else if (workbook instanceof XSSFWorkbook) {
+            @SuppressWarnings("resource")
+            final SXSSFWorkbook sxss = new SXSSFWorkbook((XSSFWorkbook) workbook);
+            sxss.write(outputStream);
+        } else {
+            workbook.write(outputStream);
+        }
+    }
+
     /**
      * ExcelHandlerのインスタンスを生成する処理を定義したビルダークラスです。
      * 操作対象のExcelワークブックオブジェクトと入出力ストリームの設定を行います。
@@ -237,6 +453,16 @@ public final class FluentWorkbook implements AutoCloseable {
          */
         private Workbook workbook = null;
 
+        /**
+         * 出力時の圧縮レベル
+         */
+        private int compressionLevel = Deflater.DEFAULT_COMPRESSION;
+
+        /**
+         * 出力時にパッケージのパートを並列に圧縮する {@link Executor}
+         */
+        private Executor compressionExecutor = null;
+
         /**
          * デフォルトコンストラクタ
          */
@@ -274,6 +500,44 @@ public final class FluentWorkbook implements AutoCloseable {
             return this;
         }
 
+        /**
+         * 引数として渡された文字列とパスワードを基に暗号化されたExcelワークブックオブジェクトを取得して返却します。
+         * ワークブックはメモリ上で復号されるため、 復号したデータが一時ファイルとして出力されることはありません。
+         * 暗号化されていないワークブックが指定された場合はパスワードを使用せずに読み込みます。
+         * いずれの場合もワークブックは書き込み可能な状態で読み込まれ、 元のファイルが変更されることはありません。
+         *
+         * @param origin   操作するExcelワークブックを表す文字列
+         * @param password Excelワークブックのパスワード
+         * @return Builderオブジェクト
+         * @see #build()
+         * @see RowReader#open(File, String)
+         * @exception IllegalArgumentException 引数の文字列がnullまたは空文字列の場合、またはパスワードがnullの場合
+         */
+        public Builder fromFile(String origin, String password) {
+
+            if (StringUtils.isEmpty(origin)) {
+                throw new IllegalArgumentException("wrong parameter was given. String is null or empty.");
+            }
+
+            if (password == null) {
+                throw new IllegalArgumentException("wrong parameter was given. Password is null.");
+            }
+
+            try (final InputStream is = new FileInputStream(origin)) {
+                this.workbook = WorkbookFactory.create(is, password);
+            } catch (FileNotFoundException e) {
+                logger.atSevere().withCause(e).log(
+                        "The file indicated by the specified path name could not be opened. Check if the file exists.");
+            } catch (EncryptedDocumentException e) {
+                logger.atSevere().withCause(e).log("The password for the specified Excel file is incorrect.");
+            } catch (IOException e) {
+                logger.atSevere().withCause(e)
+                        .log("Exception occurred while accessing information using streams, files and directories.");
+            }
+
+            return this;
+        }
+
         /**
          * 引数として渡されたクラスパスを基にExcelワークブックオブジェクトを取得して返却します。
          * 引数として渡されるクラスパスは既に存在してるExcelワークブックを表すものでなければなりません。
@@ -405,6 +669,59 @@ public final class FluentWorkbook implements AutoCloseable {
             return this;
         }
 
+        /**
+         * 出力時の圧縮レベルを設定します。 圧縮レベルの設定は必須ではありません。 圧縮レベルには {@link Deflater} と同様に
+         * {@code -1} から {@code 9} の値を指定します。 圧縮レベルを下げることで出力ファイルのサイズと引き換えに出力処理を高速化できます。
+         * 圧縮レベルは {@code .xlsx} 形式のワークブックに対してのみ有効です。
+         *
+         * @see #build()
+         * @param compressionLevel 圧縮レベル
+         * @return Builderオブジェクト
+         * @exception IllegalArgumentException 圧縮レベルが範囲外の場合
+         */
+        public Builder compressionLevel(int compressionLevel) {
+
+            if (!PackageCompressor.isValidLevel(compressionLevel)) {
+                throw new IllegalArgumentException(
+                        String.format("wrong parameter (%s) was given. Compression level must be between -1 and 9.",
+                                compressionLevel));
+            }
+
+            this.compressionLevel = compressionLevel;
+
+            return this;
+        }
+
+        /**
+         * {@link ForkJoinPool#commonPool()} を使用して出力時にパッケージのパートを並列に圧縮するよう設定します。
+         *
+         * @see #parallelCompression(Executor)
+         * @return Builderオブジェクト
+         */
+        public Builder parallelCompression() {
+            return this.parallelCompression(ForkJoinPool.commonPool());
+        }
+
+        /**
+         * 出力時にパッケージのパート(シート、共有文字列、スタイル等)を引数として指定された {@link Executor} 上で並列に圧縮するよう設定します。
+         * 並列圧縮の設定は必須ではありません。 並列圧縮は {@code .xlsx} 形式のワークブックに対してのみ有効です。
+         *
+         * @see #build()
+         * @param executor 圧縮処理を実行する {@link Executor}
+         * @return Builderオブジェクト
+         * @exception IllegalArgumentException 引数の {@link Executor} が {@code null} の場合
+         */
+        public Builder parallelCompression(Executor executor) {
+
+            if (executor == null) {
+                throw new IllegalArgumentException("wrong parameter was given. Executor object is null.");
+            }
+
+            this.compressionExecutor = executor;
+
+            return this;
+        }
+
         /**
          * ExcelHandlerのインスタンスを生成して返却します。 操作対象のExcelワークブックオブジェクトまたは入出力ストリームの設定が終わった後に、
          * 必ず当該メソッドが呼び出される必要があります。
@@ -415,6 +732,8 @@ public final class FluentWorkbook implements AutoCloseable {
             FluentWorkbook workbook = new FluentWorkbook();
             workbook.workbook = this.workbook;
             workbook.outputStream = this.outputStream;
+            workbook.compressionLevel = this.compressionLevel;
+            workbook.compressionExecutor = this.compressionExecutor;
 
             return workbook;
         }
@@ -0,0 +1,693 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.workbook;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.poi.hssf.usermodel.HSSFEvaluationWorkbook;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.formula.ExternSheetReferenceToken;
+import org.apache.poi.ss.formula.FormulaParser;
+import org.apache.poi.ss.formula.FormulaParsingWorkbook;
+import org.apache.poi.ss.formula.FormulaRenderingWorkbook;
+import org.apache.poi.ss.formula.FormulaType;
+import org.apache.poi.ss.formula.ptg.AbstractFunctionPtg;
+import org.apache.poi.ss.formula.ptg.AreaPtgBase;
+import org.apache.poi.ss.formula.ptg.NamePtg;
+import org.apache.poi.ss.formula.ptg.NameXPtg;
+import org.apache.poi.ss.formula.ptg.Ptg;
+import org.apache.poi.ss.formula.ptg.Pxg;
+import org.apache.poi.ss.formula.ptg.Pxg3D;
+import org.apache.poi.ss.formula.ptg.RefPtgBase;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.FormulaEvaluator;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFEvaluationWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * ワークブックに含まれる数式セルの依存関係を管理し、差分再計算を行う機能を定義したクラスです。
+ * <p>
+ * 変更の追跡は任意で、 初回の再計算が行われるまでは {@link FluentSheet#put(int, int, Object)} で値が変更されても何も記録しません。
+ * 初回の再計算時に全ての数式を解析して依存関係を構築し、 全ての数式セルを依存順に再計算したうえで変更の追跡を開始します。
+ * 以降は数式セルから参照されているセルへの変更のみを変更済みのセルとして記録し、 再計算時には変更済みのセルに推移的に依存する
+ * 数式セルのみを依存順に再計算します。 評価オブジェクトへの変更の通知も再計算時にまとめて行います。
+ * <p>
+ * 名前定義、外部参照、複数シートにまたがる参照、または {@code INDIRECT} や {@code NOW} 等の揮発性関数を含む数式は
+ * 依存関係を静的に決定できないため、再計算の度に必ず再計算されます。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+@ToString(of = { "dirtyCells", "built", "tracking" })
+final class FormulaDependencyGraph {
+
+    /**
+     * 依存関係を静的に決定できない関数の名前
+     */
+    private static final Set<String> VOLATILE_FUNCTIONS = new HashSet<>(
+            Arrays.asList("INDIRECT", "OFFSET", "NOW", "TODAY", "RAND", "RANDBETWEEN", "CELL", "INFO"));
+
+    /**
+     * 範囲参照の索引で1つのブロックにまとめる行数の2を底とする対数
+     */
+    private static final int ROW_BLOCK_SHIFT = 8;
+
+    /**
+     * 行のブロックの索引に登録する範囲参照の最大の行数。 {@code A:A} のような列全体の参照等、これを超える行数の範囲参照は
+     * 行のブロックごとではなく列のブロックごとに登録します。
+     */
+    private static final int MAX_BLOCKED_AREA_ROWS = 1 << 12;
+
+    /**
+     * 縦長の範囲参照の索引で1つのブロックにまとめる列数の2を底とする対数
+     */
+    private static final int COLUMN_BLOCK_SHIFT = 6;
+
+    /**
+     * 操作対象のワークブック
+     */
+    private final Workbook workbook;
+
+    /**
+     * 数式の評価に使用する評価オブジェクト。 評価結果のキャッシュを再計算間で共有するため保持します。 初回の再計算時に生成されます。
+     */
+    private FormulaEvaluator evaluator = null;
+
+    /**
+     * 値が変更されたセルのうち、数式セルから参照されているセルのキー
+     */
+    private final Set<Long> dirtyCells = new LinkedHashSet<>();
+
+    /**
+     * 単一セルの参照元キーと、そのセルを参照する数式セルのキーの対応
+     */
+    private final Map<Long, List<Long>> cellDependents = new HashMap<>();
+
+    /**
+     * シートと行のブロックを表すキーと、そのブロックと重なる範囲参照の対応
+     */
+    private final Map<Long, List<AreaDependency>> areaDependents = new HashMap<>();
+
+    /**
+     * シートと列のブロックを表すキーと、そのブロックと重なる縦長の範囲参照の対応
+     */
+    private final Map<Long, List<AreaDependency>> tallAreaDependents = new HashMap<>();
+
+    /**
+     * 再計算の度に必ず再計算される数式セルのキー
+     */
+    private final Set<Long> volatileFormulas = new LinkedHashSet<>();
+
+    /**
+     * 依存関係が構築済みか否か
+     */
+    private boolean built = false;
+
+    /**
+     * 変更の追跡を開始済みか否か
+     */
+    private boolean tracking = false;
+
+    /**
+     * 揮発性の数式セルが参照し得るセルが評価オブジェクトへ通知されずに変更されたか否か
+     */
+    private boolean cacheStale = false;
+
+    /**
+     * コンストラクタ
+     *
+     * @param workbook 操作対象のワークブック
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    FormulaDependencyGraph(@NonNull final Workbook workbook) {
+        this.workbook = workbook;
+    }
+
+    /**
+     * 引数として指定されたセルの値が変更されたことを記録します。 変更の追跡を開始していない場合は何も行いません。
+     * 数式セルから参照されていないセルは記録しません。 変更されたセルが数式セルであった場合は依存関係が変化するため、
+     * 次回の再計算時に依存関係を再構築します。
+     *
+     * @param cell       値が変更されたセル
+     * @param wasFormula 変更前のセルが数式セルであった場合は {@code true}
+     */
+    void markDirty(@NonNull final Cell cell, final boolean wasFormula) {
+
+        if (!this.tracking) {
+            return;
+        }
+
+        final long key = key(this.workbook.getSheetIndex(cell.getSheet()), cell.getRowIndex(),
+                cell.getColumnIndex());
+
+        if (wasFormula) {
+            this.built = false;
+            this.dirtyCells.add(key);
+        } else if (this.hasDependents(key)) {
+            this.dirtyCells.add(key);
+        } else if (!this.volatileFormulas.isEmpty()) {
+            this.cacheStale = true;
+        }
+    }
+
+    /**
+     * 変更されたセルに推移的に依存する数式セルを依存順に再計算し、値が変化した数式セルを返却します。
+     * 初回の呼び出し時は全ての数式セルを再計算し、変更の追跡を開始します。
+     *
+     * @return 値が変化した数式セルの差分
+     */
+    List<CellChange> recalculate() {
+
+        if (this.evaluator == null) {
+            this.evaluator = this.workbook.getCreationHelper().createFormulaEvaluator();
+        }
+
+        final Set<Long> formulas = this.built ? null : this.build();
+        final Map<Long, List<Long>> edges = new HashMap<>();
+        final Set<Long> affected;
+
+        if (this.tracking) {
+            if (this.cacheStale) {
+                this.evaluator.clearAllCachedResultValues();
+                this.cacheStale = false;
+            }
+
+            for (long key : this.dirtyCells) {
+                final Cell cell = this.getCell(key);
+
+                if (cell != null) {
+                    this.evaluator.notifyUpdateCell(cell);
+                }
+            }
+
+            affected = this.collectAffected(edges);
+        } else {
+            affected = formulas;
+            this.tracking = true;
+        }
+
+        this.dirtyCells.clear();
+
+        if (affected.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final List<CellChange> changes = new ArrayList<>();
+
+        for (long key : this.sort(affected, edges)) {
+            final Cell cell = this.getCell(key);
+
+            if (cell == null || cell.getCellType() != CellType.FORMULA) {
+                continue;
+            }
+
+            final String oldValue = FluentCell.getValue(cell);
+            this.evaluator.notifyUpdateCell(cell);
+            this.evaluator.evaluateFormulaCell(cell);
+            final String newValue = FluentCell.getValue(cell);
+
+            if (!oldValue.equals(newValue)) {
+                changes.add(CellChange.of(CellChange.Type.CHANGED, cell.getSheet().getSheetName(),
+                        Matrix.of(cell.getColumnIndex(), cell.getRowIndex()), oldValue, newValue));
+            }
+        }
+
+        return changes;
+    }
+
+    /**
+     * ワークブックに含まれる全ての数式を解析し依存関係を構築します。
+     *
+     * @return ワークブックに含まれる全ての数式セルのキー
+     */
+    private Set<Long> build() {
+
+        this.cellDependents.clear();
+        this.areaDependents.clear();
+        this.tallAreaDependents.clear();
+        this.volatileFormulas.clear();
+
+        final Set<Long> formulas = new LinkedHashSet<>();
+
+        final FormulaParsingWorkbook parsingWorkbook = createParsingWorkbook(this.workbook);
+        final FormulaRenderingWorkbook renderingWorkbook = (FormulaRenderingWorkbook) parsingWorkbook;
+
+        for (int sheetIndex = 0, size = this.workbook.getNumberOfSheets(); sheetIndex < size; sheetIndex++) {
+            for (Row row : this.workbook.getSheetAt(sheetIndex)) {
+                for (Cell cell : row) {
+                    if (cell.getCellType() == CellType.FORMULA) {
+                        final long formulaKey = key(sheetIndex, row.getRowNum(), cell.getColumnIndex());
+                        final Ptg[] ptgs = FormulaParser.parse(cell.getCellFormula(), parsingWorkbook,
+                                FormulaType.CELL, sheetIndex, row.getRowNum());
+                        this.register(formulaKey, sheetIndex, ptgs, renderingWorkbook);
+                        formulas.add(formulaKey);
+                    }
+                }
+            }
+        }
+
+        this.built = true;
+
+        return formulas;
+    }
+
+    /**
+     * 引数として指定された数式セルの依存関係を登録します。
+     *
+     * @param formulaKey        数式セルのキー
+     * @param sheetIndex        数式セルが存在するシートのインデックス
+     * @param ptgs              数式の解析結果
+     * @param renderingWorkbook シート参照の解決に使用するワークブック
+     */
+    private void register(final long formulaKey, final int sheetIndex, final Ptg[] ptgs,
+            final FormulaRenderingWorkbook renderingWorkbook) {
+
+        for (Ptg ptg : ptgs) {
+            if (ptg instanceof NamePtg || ptg instanceof NameXPtg
+                    || (ptg instanceof AbstractFunctionPtg
+                            && VOLATILE_FUNCTIONS.contains(((AbstractFunctionPtg) ptg).getName()))) {
+                this.volatileFormulas.add(formulaKey);
+                continue;
+            }
+
+            if (!(ptg instanceof RefPtgBase) && !(ptg instanceof AreaPtgBase)) {
+                continue;
+            }
+
+            final int referencedSheetIndex = this.resolveSheetIndex(ptg, sheetIndex, renderingWorkbook);
+
+            if (referencedSheetIndex < 0) {
+                this.volatileFormulas.add(formulaKey);
+                continue;
+            }
+
+            if (ptg instanceof RefPtgBase) {
+                final RefPtgBase ref = (RefPtgBase) ptg;
+                this.cellDependents.computeIfAbsent(key(referencedSheetIndex, ref.getRow(), ref.getColumn()),
+                        k -> new ArrayList<>()).add(formulaKey);
+            } else {
+                final AreaPtgBase area = (AreaPtgBase) ptg;
+                final AreaDependency areaDependency = new AreaDependency(referencedSheetIndex, area.getFirstRow(),
+                        area.getLastRow(), area.getFirstColumn(), area.getLastColumn(), formulaKey);
+
+                if (area.getLastRow() - area.getFirstRow() >= MAX_BLOCKED_AREA_ROWS) {
+                    for (int block = area.getFirstColumn() >>> COLUMN_BLOCK_SHIFT,
+                            lastBlock = area.getLastColumn() >>> COLUMN_BLOCK_SHIFT; block <= lastBlock; block++) {
+                        this.tallAreaDependents.computeIfAbsent(blockKey(referencedSheetIndex, block),
+                                k -> new ArrayList<>()).add(areaDependency);
+                    }
+                } else {
+                    for (int block = area.getFirstRow() >>> ROW_BLOCK_SHIFT,
+                            lastBlock = area.getLastRow() >>> ROW_BLOCK_SHIFT; block <= lastBlock; block++) {
+                        this.areaDependents.computeIfAbsent(blockKey(referencedSheetIndex, block),
+                                k -> new ArrayList<>()).add(areaDependency);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 引数として指定された参照トークンが参照するシートのインデックスを返却します。
+     *
+     * @param ptg               参照トークン
+     * @param sheetIndex        数式セルが存在するシートのインデックス
+     * @param renderingWorkbook シート参照の解決に使用するワークブック
+     * @return 参照先のシートのインデックス。 外部参照または複数シートにまたがる参照の場合は {@code -1}
+     */
+    private int resolveSheetIndex(final Ptg ptg, final int sheetIndex,
+            final FormulaRenderingWorkbook renderingWorkbook) {
+
+        if (ptg instanceof Pxg) {
+            final Pxg pxg = (Pxg) ptg;
+
+            if (pxg.getExternalWorkbookNumber() > 0
+                    || (pxg instanceof Pxg3D && ((Pxg3D) pxg).getLastSheetName() != null)) {
+                return -1;
+            }
+
+            return this.workbook.getSheetIndex(pxg.getSheetName());
+        }
+
+        if (ptg instanceof ExternSheetReferenceToken) {
+            final int externSheetIndex = ((ExternSheetReferenceToken) ptg).getExternSheetIndex();
+            final String firstSheetName = renderingWorkbook.getSheetFirstNameByExternSheet(externSheetIndex);
+            final String lastSheetName = renderingWorkbook.getSheetLastNameByExternSheet(externSheetIndex);
+
+            if (firstSheetName == null || !firstSheetName.equals(lastSheetName)) {
+                return -1;
+            }
+
+            return this.workbook.getSheetIndex(firstSheetName);
+        }
+
+        return sheetIndex;
+    }
+
+    /**
+     * 変更済みのセルに推移的に依存する数式セルのキーを収集します。 揮発性の数式セルは常に含まれます。
+     * 走査した各セルを直接参照する数式セルは引数として指定された対応へ格納され、整列時に再利用されます。
+     *
+     * @param edges セルのキーと、そのセルを直接参照する数式セルのキーの対応
+     * @return 再計算対象の数式セルのキー
+     */
+    private Set<Long> collectAffected(final Map<Long, List<Long>> edges) {
+
+        final Set<Long> affected = new LinkedHashSet<>(this.volatileFormulas);
+        final Deque<Long> queue = new ArrayDeque<>(this.dirtyCells);
+        queue.addAll(this.volatileFormulas);
+
+        while (!queue.isEmpty()) {
+            for (long dependent : edges.computeIfAbsent(queue.poll(), this::dependentsOf)) {
+                if (affected.add(dependent)) {
+                    queue.add(dependent);
+                }
+            }
+        }
+
+        return affected;
+    }
+
+    /**
+     * 引数として指定されたセルを直接参照する数式セルのキーを返却します。
+     *
+     * @param key セルのキー
+     * @return セルを直接参照する数式セルのキー
+     */
+    private List<Long> dependentsOf(final long key) {
+
+        final List<Long> dependents = new ArrayList<>(
+                this.cellDependents.getOrDefault(key, Collections.emptyList()));
+
+        final int sheetIndex = sheetIndexOf(key);
+        final int rowIndex = rowIndexOf(key);
+        final int columnIndex = columnIndexOf(key);
+
+        for (List<AreaDependency> areas : this.areasOf(sheetIndex, rowIndex, columnIndex)) {
+            for (AreaDependency area : areas) {
+                if (area.contains(sheetIndex, rowIndex, columnIndex)) {
+                    dependents.add(area.formulaKey);
+                }
+            }
+        }
+
+        return dependents;
+    }
+
+    /**
+     * 引数として指定されたセルを参照する数式セルが存在するか判定します。
+     *
+     * @param key セルのキー
+     * @return セルを参照する数式セルが存在する場合は {@code true}、それ以外は {@code false}
+     */
+    private boolean hasDependents(final long key) {
+
+        if (this.cellDependents.containsKey(key)) {
+            return true;
+        }
+
+        final int sheetIndex = sheetIndexOf(key);
+        final int rowIndex = rowIndexOf(key);
+        final int columnIndex = columnIndexOf(key);
+
+        for (List<AreaDependency> areas : this.areasOf(sheetIndex, rowIndex, columnIndex)) {
+            for (AreaDependency area : areas) {
+                if (area.contains(sheetIndex, rowIndex, columnIndex)) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * 引数として指定されたセルと重なり得る範囲参照を、行のブロックの索引と列のブロックの索引からそれぞれ取得して返却します。
+     *
+     * @param sheetIndex  シートのインデックス
+     * @param rowIndex    行インデックス
+     * @param columnIndex 列インデックス
+     * @return セルと重なり得る範囲参照のリスト
+     */
+    private List<List<AreaDependency>> areasOf(final int sheetIndex, final int rowIndex, final int columnIndex) {
+        return Arrays.asList(
+                this.areaDependents.getOrDefault(blockKey(sheetIndex, rowIndex >>> ROW_BLOCK_SHIFT),
+                        Collections.emptyList()),
+                this.tallAreaDependents.getOrDefault(blockKey(sheetIndex, columnIndex >>> COLUMN_BLOCK_SHIFT),
+                        Collections.emptyList()));
+    }
+
+    /**
+     * 引数として指定された数式セルを依存順に整列します。 循環参照が存在する場合、循環に含まれる数式セルは末尾に追加されます。
+     *
+     * @param affected 再計算対象の数式セルのキー
+     * @param edges    セルのキーと、そのセルを直接参照する数式セルのキーの対応。 未格納のセルは新たに算出して格納します。
+     * @return 依存順に整列された数式セルのキー
+     */
+    private List<Long> sort(final Set<Long> affected, final Map<Long, List<Long>> edges) {
+
+        final Map<Long, List<Long>> affectedEdges = new HashMap<>(affected.size());
+        final Map<Long, Integer> inDegrees = new HashMap<>(affected.size());
+
+        for (long key : affected) {
+            inDegrees.putIfAbsent(key, 0);
+        }
+
+        for (long key : affected) {
+            final List<Long> dependents = new ArrayList<>();
+
+            for (long dependent : edges.computeIfAbsent(key, this::dependentsOf)) {
+                if (affected.contains(dependent)) {
+                    dependents.add(dependent);
+                    inDegrees.merge(dependent, 1, Integer::sum);
+                }
+            }
+
+            affectedEdges.put(key, dependents);
+        }
+
+        final Deque<Long> queue = new ArrayDeque<>();
+
+        for (long key : affected) {
+            if (inDegrees.get(key) == 0) {
+                queue.add(key);
+            }
+        }
+
+        final List<Long> sorted = new ArrayList<>(affected.size());
+
+        while (!queue.isEmpty()) {
+            final long key = queue.poll();
+            sorted.add(key);
+
+            for (long dependent : affectedEdges.get(key)) {
+                if (inDegrees.merge(dependent, -1, Integer::sum) == 0) {
+                    queue.add(dependent);
+                }
+            }
+        }
+
+        if (sorted.size() < affected.size()) {
+            for (long key : affected) {
+                if (inDegrees.get(key) > 0) {
+                    sorted.add(key);
+                }
+            }
+        }
+
+        return sorted;
+    }
+
+    /**
+     * 引数として指定されたキーに紐づくセルを返却します。
+     *
+     * @param key セルのキー
+     * @return セルオブジェクト。 存在しない場合は {@code null}
+     */
+    private Cell getCell(final long key) {
+
+        final Sheet sheet = this.workbook.getSheetAt(sheetIndexOf(key));
+        final Row row = sheet.getRow(rowIndexOf(key));
+
+        return row == null ? null : row.getCell(columnIndexOf(key));
+    }
+
+    /**
+     * 引数として指定されたワークブックに対応する数式解析用のワークブックを生成し返却します。
+     *
+     * @param workbook ワークブック
+     * @return 数式解析用のワークブック
+     * @exception ExcelHandlingException 数式の解析に対応していない形式のワークブックの場合
+     */
+    private static FormulaParsingWorkbook createParsingWorkbook(final Workbook workbook) {
+
+        if (workbook instanceof XSSFWorkbook) {
+            return XSSFEvaluationWorkbook.create((XSSFWorkbook) workbook);
+        }
+
+        if (workbook instanceof HSSFWorkbook) {
+            return HSSFEvaluationWorkbook.create((HSSFWorkbook) workbook);
+        }
+
+        throw new ExcelHandlingException(String.format("The workbook type (%s) does not support recalculation.",
+                workbook.getClass().getSimpleName()));
+    }
+
+    /**
+     * 引数として指定されたシートのインデックス、行インデックス、列インデックスからセルのキーを生成します。
+     *
+     * @param sheetIndex  シートのインデックス
+     * @param rowIndex    行インデックス
+     * @param columnIndex 列インデックス
+     * @return セルのキー
+     */
+    private static long key(final int sheetIndex, final int rowIndex, final int columnIndex) {
+        return ((long) sheetIndex << 34) | ((long) rowIndex << 14) | columnIndex;
+    }
+
+    /**
+     * 引数として指定されたシートのインデックスと行または列のブロックから範囲参照の索引のキーを生成します。
+     *
+     * @param sheetIndex シートのインデックス
+     * @param block      行インデックスを {@link #ROW_BLOCK_SHIFT} だけ、 または列インデックスを {@link #COLUMN_BLOCK_SHIFT}
+     *                   だけ右へシフトしたブロック
+     * @return 範囲参照の索引のキー
+     */
+    private static long blockKey(final int sheetIndex, final int block) {
+        return ((long) sheetIndex << 32) | block;
+    }
+
+    /**
+     * 引数として指定されたキーからシートのインデックスを返却します。
+     *
+     * @param key セルのキー
+     * @return シートのインデックス
+     */
+    private static int sheetIndexOf(final long key) {
+        return (int) (key >>> 34);
+    }
+
+    /**
+     * 引数として指定されたキーから行インデックスを返却します。
+     *
+     * @param key セルのキー
+     * @return 行インデックス
+     */
+    private static int rowIndexOf(final long key) {
+        return (int) ((key >>> 14) & 0xfffff);
+    }
+
+    /**
+     * 引数として指定されたキーから列インデックスを返却します。
+     *
+     * @param key セルのキー
+     * @return 列インデックス
+     */
+    private static int columnIndexOf(final long key) {
+        return (int) (key & 0x3fff);
+    }
+
+    /**
+     * 範囲参照による依存関係を表すクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    private static final class AreaDependency {
+
+        /**
+         * 参照先のシートのインデックス
+         */
+        private final int sheetIndex;
+
+        /**
+         * 開始行インデックス
+         */
+        private final int firstRow;
+
+        /**
+         * 終了行インデックス
+         */
+        private final int lastRow;
+
+        /**
+         * 開始列インデックス
+         */
+        private final int firstColumn;
+
+        /**
+         * 終了列インデックス
+         */
+        private final int lastColumn;
+
+        /**
+         * 範囲を参照する数式セルのキー
+         */
+        private final long formulaKey;
+
+        /**
+         * コンストラクタ
+         *
+         * @param sheetIndex  参照先のシートのインデックス
+         * @param firstRow    開始行インデックス
+         * @param lastRow     終了行インデックス
+         * @param firstColumn 開始列インデックス
+         * @param lastColumn  終了列インデックス
+         * @param formulaKey  範囲を参照する数式セルのキー
+         */
+        private AreaDependency(final int sheetIndex, final int firstRow, final int lastRow, final int firstColumn,
+                final int lastColumn, final long formulaKey) {
+            this.sheetIndex = sheetIndex;
+            this.firstRow = firstRow;
+            this.lastRow = lastRow;
+            this.firstColumn = firstColumn;
+            this.lastColumn = lastColumn;
+            this.formulaKey = formulaKey;
+        }
+
+        /**
+         * 引数として指定されたセルが当該範囲に含まれるか判定します。
+         *
+         * @param sheetIndex  シートのインデックス
+         * @param rowIndex    行インデックス
+         * @param columnIndex 列インデックス
+         * @return 範囲に含まれる場合は {@code true}、それ以外は {@code false}
+         */
+        private boolean contains(final int sheetIndex, final int rowIndex, final int columnIndex) {
+            return this.sheetIndex == sheetIndex && this.firstRow <= rowIndex && rowIndex <= this.lastRow
+                    && this.firstColumn <= columnIndex && columnIndex <= this.lastColumn;
+        }
+    }
+}
@@ -0,0 +1,426 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.workbook;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.apache.poi.hssf.record.BOFRecord;
+import org.apache.poi.hssf.record.BoolErrRecord;
+import org.apache.poi.hssf.record.BoundSheetRecord;
+import org.apache.poi.hssf.record.EOFRecord;
+import org.apache.poi.hssf.record.FormulaRecord;
+import org.apache.poi.hssf.record.LabelRecord;
+import org.apache.poi.hssf.record.LabelSSTRecord;
+import org.apache.poi.hssf.record.MulRKRecord;
+import org.apache.poi.hssf.record.NumberRecord;
+import org.apache.poi.hssf.record.RKRecord;
+import org.apache.poi.hssf.record.Record;
+import org.apache.poi.hssf.record.RecordFactoryInputStream;
+import org.apache.poi.hssf.record.SSTRecord;
+import org.apache.poi.hssf.record.StringRecord;
+import org.apache.poi.hssf.record.crypto.Biff8EncryptionKey;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.usermodel.CellType;
+
+/**
+ * {@code .xls} 形式のワークブックを逐次読み込む {@link RowReader} の実装クラスです。
+ * <p>
+ * ワークブックのBIFFレコードを {@link RecordFactoryInputStream} から1件ずつ取り出して解析するため、
+ * {@link HSSFWorkbook} のモデルを構築せずに行を読み込むことができます。 数式セルはキャッシュされた計算結果を値とします。
+ * <p>
+ * パスワードで暗号化されたワークブックのレコードは {@link RecordFactoryInputStream} によって逐次復号されます。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class HssfRowReader implements RowReader {
+
+    /**
+     * ファイルシステム
+     */
+    private final POIFSFileSystem fileSystem;
+
+    /**
+     * ワークブックのストリーム
+     */
+    private final InputStream workbookStream;
+
+    /**
+     * レコードのストリーム
+     */
+    private final RecordFactoryInputStream records;
+
+    /**
+     * シート名のリスト
+     */
+    private final List<String> sheetNames = new ArrayList<>();
+
+    /**
+     * 共有文字列テーブル
+     */
+    private SSTRecord sharedStrings;
+
+    /**
+     * サブストリームの入れ子の深さ
+     */
+    private int depth;
+
+    /**
+     * 読み込み中のシートのインデックス
+     */
+    private int sheetIndex = -1;
+
+    /**
+     * 読み込み中のサブストリームがワークシートであるか
+     */
+    private boolean inWorksheet;
+
+    /**
+     * 読み込み中の行インデックス
+     */
+    private int rowIndex = -1;
+
+    /**
+     * 読み込み中の行の値
+     */
+    private List<String> values = new ArrayList<>();
+
+    /**
+     * 文字列の計算結果を待機している数式セルの行インデックス
+     */
+    private int formulaRowIndex = -1;
+
+    /**
+     * 文字列の計算結果を待機している数式セルの列インデックス
+     */
+    private int formulaColumnIndex = -1;
+
+    /**
+     * 先読みした行
+     */
+    private SheetRow nextRow;
+
+    /**
+     * 全てのレコードを読み終えたか
+     */
+    private boolean finished;
+
+    /**
+     * コンストラクタ
+     *
+     * @param file ワークブックのファイル
+     *
+     * @exception ExcelHandlingException ファイルの読み込みに失敗した場合
+     */
+    HssfRowReader(final File file) {
+        this(file, null);
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param file     ワークブックのファイル
+     * @param password パスワード。 暗号化されていない場合は {@code null}
+     *
+     * @exception ExcelHandlingException ファイルの読み込みに失敗した場合、またはパスワードが一致しない場合
+     */
+    HssfRowReader(final File file, final String password) {
+
+        try {
+            this.fileSystem = new POIFSFileSystem(file, true);
+        } catch (IOException e) {
+            throw new ExcelHandlingException(String.format("The file (%s) could not be opened.", file), e);
+        }
+
+        try {
+            this.workbookStream = this.fileSystem
+                    .createDocumentInputStream(HSSFWorkbook.getWorkbookDirEntryName(this.fileSystem.getRoot()));
+            this.records = createRecords(this.workbookStream, password);
+        } catch (IOException | RuntimeException e) {
+            this.closeQuietly();
+            throw new ExcelHandlingException(String.format("The file (%s) could not be read.", file), e);
+        }
+    }
+
+    /**
+     * 引数として指定されたストリームのレコードを読み込む {@link RecordFactoryInputStream} を生成し返却します。
+     * 復号に使用するパスワードは生成時にのみ参照されるため、 スレッドに設定したパスワードは生成後に直ちに解除します。
+     *
+     * @param workbookStream ワークブックのストリーム
+     * @param password       パスワード。 暗号化されていない場合は {@code null}
+     * @return {@link RecordFactoryInputStream} の新しいインスタンス
+     */
+    private static RecordFactoryInputStream createRecords(final InputStream workbookStream, final String password) {
+
+        if (password == null) {
+            return new RecordFactoryInputStream(workbookStream, false);
+        }
+
+        Biff8EncryptionKey.setCurrentUserPassword(password);
+
+        try {
+            return new RecordFactoryInputStream(workbookStream, false);
+        } finally {
+            Biff8EncryptionKey.setCurrentUserPassword(null);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+
+        if (this.nextRow == null && !this.finished) {
+            this.nextRow = this.readRow();
+        }
+
+        return this.nextRow != null;
+    }
+
+    @Override
+    public SheetRow next() {
+
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        final SheetRow row = this.nextRow;
+        this.nextRow = null;
+
+        return row;
+    }
+
+    @Override
+    public void close() {
+        try {
+            this.workbookStream.close();
+            this.fileSystem.close();
+        } catch (IOException e) {
+            throw new ExcelHandlingException("The workbook could not be closed.", e);
+        }
+    }
+
+    /**
+     * 値を持つ次の行を読み込みます。 全てのレコードを読み終えた場合は {@code null} を返却します。
+     *
+     * @return 次の行。 存在しない場合は {@code null}
+     */
+    private SheetRow readRow() {
+
+        Record record;
+
+        while ((record = this.records.nextRecord()) != null) {
+            final SheetRow row = this.process(record);
+
+            if (row != null) {
+                return row;
+            }
+        }
+
+        this.finished = true;
+
+        return this.flush();
+    }
+
+    /**
+     * 引数として指定されたレコードを処理します。 レコードの処理により行が確定した場合は確定した行を返却します。
+     *
+     * @param record レコード
+     * @return 確定した行。 確定した行が存在しない場合は {@code null}
+     */
+    private SheetRow process(final Record record) {
+
+        switch (record.getSid()) {
+            case BoundSheetRecord.sid:
+                this.sheetNames.add(((BoundSheetRecord) record).getSheetname());
+                return null;
+            case SSTRecord.sid:
+                this.sharedStrings = (SSTRecord) record;
+                return null;
+            case BOFRecord.sid:
+                if (this.depth++ == 0 && ((BOFRecord) record).getType() != BOFRecord.TYPE_WORKBOOK) {
+                    this.sheetIndex++;
+                    this.inWorksheet = ((BOFRecord) record).getType() == BOFRecord.TYPE_WORKSHEET;
+                }
+                return null;
+            case EOFRecord.sid:
+                if (--this.depth == 0 && this.inWorksheet) {
+                    this.inWorksheet = false;
+                    return this.flush();
+                }
+                return null;
+            default:
+                break;
+        }
+
+        if (!this.inWorksheet) {
+            return null;
+        }
+
+        switch (record.getSid()) {
+            case NumberRecord.sid: {
+                final NumberRecord numberRecord = (NumberRecord) record;
+                return this.add(numberRecord.getRow(), numberRecord.getColumn(),
+                        String.valueOf(numberRecord.getValue()));
+            }
+            case RKRecord.sid: {
+                final RKRecord rkRecord = (RKRecord) record;
+                return this.add(rkRecord.getRow(), rkRecord.getColumn(), String.valueOf(rkRecord.getRKNumber()));
+            }
+            case MulRKRecord.sid: {
+                final MulRKRecord mulRkRecord = (MulRKRecord) record;
+                SheetRow row = null;
+
+                for (int i = 0, size = mulRkRecord.getNumColumns(); i < size; i++) {
+                    final SheetRow flushed = this.add(mulRkRecord.getRow(), mulRkRecord.getFirstColumn() + i,
+                            String.valueOf(mulRkRecord.getRKNumberAt(i)));
+                    row = row == null ? flushed : row;
+                }
+
+                return row;
+            }
+            case LabelSSTRecord.sid: {
+                final LabelSSTRecord labelSstRecord = (LabelSSTRecord) record;
+                return this.add(labelSstRecord.getRow(), labelSstRecord.getColumn(),
+                        this.sharedStrings.getString(labelSstRecord.getSSTIndex()).getString().trim());
+            }
+            case LabelRecord.sid: {
+                final LabelRecord labelRecord = (LabelRecord) record;
+                return this.add(labelRecord.getRow(), labelRecord.getColumn(), labelRecord.getValue().trim());
+            }
+            case BoolErrRecord.sid: {
+                final BoolErrRecord boolErrRecord = (BoolErrRecord) record;
+                return this.add(boolErrRecord.getRow(), boolErrRecord.getColumn(),
+                        boolErrRecord.isBoolean() ? String.valueOf(boolErrRecord.getBooleanValue()) : "");
+            }
+            case FormulaRecord.sid:
+                return this.processFormula((FormulaRecord) record);
+            case StringRecord.sid:
+                if (this.formulaRowIndex < 0) {
+                    return null;
+                }
+
+                final SheetRow row = this.add(this.formulaRowIndex, this.formulaColumnIndex,
+                        ((StringRecord) record).getString().trim());
+                this.formulaRowIndex = -1;
+                this.formulaColumnIndex = -1;
+
+                return row;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 引数として指定された数式レコードのキャッシュされた計算結果を処理します。
+     * 計算結果が文字列の場合は後続の {@link StringRecord} で値が確定するため、セルの位置のみを保持します。
+     *
+     * @param record 数式レコード
+     * @return 確定した行。 確定した行が存在しない場合は {@code null}
+     */
+    private SheetRow processFormula(final FormulaRecord record) {
+
+        if (record.hasCachedResultString()) {
+            this.formulaRowIndex = record.getRow();
+            this.formulaColumnIndex = record.getColumn();
+            return null;
+        }
+
+        final CellType resultType = cachedResultTypeOf(record);
+
+        if (resultType == CellType.NUMERIC) {
+            return this.add(record.getRow(), record.getColumn(), String.valueOf(record.getValue()));
+        } else if (resultType == CellType.BOOLEAN) {
+            return this.add(record.getRow(), record.getColumn(), String.valueOf(record.getCachedBooleanValue()));
+        }
+
+        return null;
+    }
+
+    /**
+     * 引数として指定された数式レコードのキャッシュされた計算結果の型を返却します。
+     * POI 4.1.2 の {@link FormulaRecord} は計算結果の型を数値のコードとしてのみ公開しているため、 当該メソッドでのみ
+     * {@link CellType} へ変換し、呼び出し元では {@link CellType} の値を直接比較します。
+     *
+     * @param record 数式レコード
+     * @return キャッシュされた計算結果の型
+     */
+    @SuppressWarnings("deprecation")
+    private static CellType cachedResultTypeOf(final FormulaRecord record) {
+        return CellType.forInt(record.getCachedResultType());
+    }
+
+    /**
+     * 引数として指定されたセルの値を読み込み中の行へ追加します。
+     * セルが読み込み中の行とは異なる行に属する場合は、読み込み中の行を確定させたうえで新しい行を開始します。
+     *
+     * @param rowIndex    行インデックス
+     * @param columnIndex 列インデックス
+     * @param value       セルの値
+     * @return 確定した行。 確定した行が存在しない場合は {@code null}
+     */
+    private SheetRow add(final int rowIndex, final int columnIndex, final String value) {
+
+        final SheetRow row = rowIndex != this.rowIndex ? this.flush() : null;
+        this.rowIndex = rowIndex;
+
+        if (!value.isEmpty()) {
+            while (this.values.size() <= columnIndex) {
+                this.values.add("");
+            }
+
+            this.values.set(columnIndex, value);
+        }
+
+        return row;
+    }
+
+    /**
+     * 読み込み中の行を確定させ返却します。 読み込み中の行が値を持たない場合は {@code null} を返却します。
+     *
+     * @return 確定した行。 値を持たない場合は {@code null}
+     */
+    private SheetRow flush() {
+
+        SheetRow row = null;
+
+        if (!this.values.isEmpty()) {
+            final String sheetName = this.sheetIndex < this.sheetNames.size() ? this.sheetNames.get(this.sheetIndex)
+                    : "";
+            row = new SheetRow(sheetName, this.sheetIndex, this.rowIndex, this.values);
+            this.values = new ArrayList<>();
+        }
+
+        this.rowIndex = -1;
+
+        return row;
+    }
+
+    /**
+     * ファイルシステムを例外を送出せずに解放します。
+     */
+    private void closeQuietly() {
+        try {
+            this.fileSystem.close();
+        } catch (IOException e) {
+            // 初期化失敗時の解放処理のため例外は無視する
+        }
+    }
+}
@@ -0,0 +1,510 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.workbook;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import org.apache.commons.lang3.StringUtils;
+
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * json文字列を {@link JsonParser} で逐次読み込み、 パスの指定に従って平坦化した行を {@link SheetWriter} へ出力するクラスです。
+ * <p>
+ * パスはフィールド名を {@code .} で連結し、 配列の要素を {@code []} で表します。 行のパスに一致する配列の要素ごとに1行が出力され、
+ * 列のパスに一致する値がその行の値となります。 行のパスの祖先に位置する値(例えば {@code conditionNodes[].node.conditionId})は、
+ * 同じ要素内で行の配列より前に出現する場合に各行へ引き継がれます。 パスに含まれない部分木は読み飛ばされるため、 jsonのツリーや
+ * マップのリストがメモリ上に構築されることはありません。
+ *
+ * <pre>
+ * 使用例:
+ * <code>JsonSheetExporter exporter = JsonSheetExporter.builder().rowPath("conditionNodes[].node.conditions[]")
+ *         .column("conditionId", "conditionNodes[].node.conditionId")
+ *         .column("keyName", "conditionNodes[].node.conditions[].keyName").build();
+ *
+ * try (SheetWriter writer = SheetWriter.builder().schema(exporter.getSchema()).output("conditions.xlsx").build()) {
+ *     exporter.export(file, writer);
+ * }</code>
+ * </pre>
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+@ToString(of = { "rowPath", "columnPaths" })
+public final class JsonSheetExporter {
+
+    /**
+     * jsonパーサーを生成するファクトリ
+     */
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /**
+     * 配列の要素を表すパスの接尾辞
+     */
+    private static final String ELEMENT = "[]";
+
+    /**
+     * 行のパス
+     */
+    private String rowPath;
+
+    /**
+     * 列ごとのパス
+     */
+    private List<String> columnPaths;
+
+    /**
+     * 出力するシートの列定義
+     */
+    private SheetSchema schema;
+
+    /**
+     * パスの木の根
+     */
+    private PathNode root;
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private JsonSheetExporter() {
+    }
+
+    /**
+     * {@link JsonSheetExporter} クラスを生成するビルダーを返却します。
+     *
+     * @return ビルダー
+     */
+    public static JsonSheetExporter.Builder builder() {
+        return new JsonSheetExporter.Builder();
+    }
+
+    /**
+     * {@link SheetWriter} の生成に使用する列定義を返却します。
+     *
+     * @return 列定義
+     */
+    public SheetSchema getSchema() {
+        return this.schema;
+    }
+
+    /**
+     * 引数として指定されたファイルのjsonを読み込み、平坦化した行を出力します。
+     *
+     * @param file   jsonが定義されたファイル
+     * @param writer 出力先
+     * @return 出力した行数
+     *
+     * @exception NullPointerException   引数として {@code null} が渡された場合
+     * @exception ExcelHandlingException jsonの読み込みに失敗した場合
+     */
+    public long export(@NonNull final File file, @NonNull final SheetWriter writer) {
+        try (JsonParser parser = JSON_FACTORY.createParser(file)) {
+            return this.export(parser, writer);
+        } catch (IOException e) {
+            throw new ExcelHandlingException(String.format("The json file (%s) could not be read.", file), e);
+        }
+    }
+
+    /**
+     * 引数として指定された入力ストリームのjsonを読み込み、平坦化した行を出力します。 入力ストリームは閉じられません。
+     *
+     * @param inputStream jsonの入力ストリーム
+     * @param writer      出力先
+     * @return 出力した行数
+     *
+     * @exception NullPointerException   引数として {@code null} が渡された場合
+     * @exception ExcelHandlingException jsonの読み込みに失敗した場合
+     */
+    public long export(@NonNull final InputStream inputStream, @NonNull final SheetWriter writer) {
+        try (JsonParser parser = JSON_FACTORY.createParser(inputStream)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            return this.export(parser, writer);
+        } catch (IOException e) {
+            throw new ExcelHandlingException("The json stream could not be read.", e);
+        }
+    }
+
+    /**
+     * 引数として指定されたパーサーからjsonを読み込み、平坦化した行を出力します。
+     *
+     * @param parser jsonパーサー
+     * @param writer 出力先
+     * @return 出力した行数
+     *
+     * @throws IOException jsonの読み込みに失敗した場合
+     */
+    private long export(final JsonParser parser, final SheetWriter writer) throws IOException {
+
+        final Export export = new Export(parser, writer, this.columnPaths.size());
+
+        if (parser.nextToken() != null) {
+            export.readValue(this.root);
+        }
+
+        return export.rows;
+    }
+
+    /**
+     * 1回の出力処理の状態を保持するクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    private static final class Export {
+
+        /**
+         * jsonパーサー
+         */
+        private final JsonParser parser;
+
+        /**
+         * 出力先
+         */
+        private final SheetWriter writer;
+
+        /**
+         * 出力中の行の値
+         */
+        private final Object[] values;
+
+        /**
+         * 出力した行数
+         */
+        private long rows;
+
+        /**
+         * コンストラクタ
+         *
+         * @param parser      jsonパーサー
+         * @param writer      出力先
+         * @param columnCount 列数
+         */
+        private Export(final JsonParser parser, final SheetWriter writer, final int columnCount) {
+            this.parser = parser;
+            this.writer = writer;
+            this.values = new Object[columnCount];
+        }
+
+        /**
+         * パーサーが指している値を引数として指定されたパスの節に従って読み込みます。 節が {@code null} の場合は値を読み飛ばします。
+         *
+         * @param node パスの節
+         *
+         * @throws IOException jsonの読み込みに失敗した場合
+         */
+        private void readValue(final PathNode node) throws IOException {
+
+            final JsonParser parser = this.parser;
+
+            if (node == null) {
+                parser.skipChildren();
+                return;
+            }
+
+            switch (parser.currentToken()) {
+                case START_OBJECT:
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        final PathNode child = node.children.get(parser.getCurrentName());
+                        parser.nextToken();
+                        this.readValue(child);
+                    }
+                    break;
+                case START_ARRAY:
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        this.readValue(node.element);
+
+                        if (node.element != null) {
+                            if (node.element.row) {
+                                this.writer.writeRow(this.values);
+                                this.rows++;
+                            }
+
+                            for (int column : node.element.scopedColumns) {
+                                this.values[column] = null;
+                            }
+                        }
+                    }
+                    break;
+                case VALUE_STRING:
+                    this.setValue(node, parser.getText());
+                    break;
+                case VALUE_NUMBER_INT:
+                case VALUE_NUMBER_FLOAT:
+                    this.setValue(node, parser.getNumberValue());
+                    break;
+                case VALUE_TRUE:
+                    this.setValue(node, Boolean.TRUE);
+                    break;
+                case VALUE_FALSE:
+                    this.setValue(node, Boolean.FALSE);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        /**
+         * 引数として指定されたパスの節が列に対応する場合は値を設定します。
+         *
+         * @param node  パスの節
+         * @param value 値
+         */
+        private void setValue(final PathNode node, final Object value) {
+            if (node.column >= 0) {
+                this.values[node.column] = value;
+            }
+        }
+    }
+
+    /**
+     * パスの木の節を表すクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    private static final class PathNode {
+
+        /**
+         * フィールド名ごとの子の節
+         */
+        private final Map<String, PathNode> children = new HashMap<>();
+
+        /**
+         * 配列の要素の節
+         */
+        private PathNode element;
+
+        /**
+         * 値を設定する列のインデックス。 列に対応しない場合は {@code -1}
+         */
+        private int column = -1;
+
+        /**
+         * 行のパスに一致する節であるか
+         */
+        private boolean row;
+
+        /**
+         * 当該節の部分木に含まれる列のインデックス
+         */
+        private int[] scopedColumns = new int[0];
+
+        /**
+         * 引数として指定されたパスの節を返却します。 節が存在しない場合は生成します。
+         *
+         * @param path パス
+         * @return パスの節
+         */
+        private PathNode resolve(final String path) {
+
+            PathNode node = this;
+
+            for (String segment : StringUtils.split(path, '.')) {
+                String name = segment;
+                int depth = 0;
+
+                while (name.endsWith(ELEMENT)) {
+                    name = name.substring(0, name.length() - ELEMENT.length());
+                    depth++;
+                }
+
+                if (!name.isEmpty()) {
+                    node = node.children.computeIfAbsent(name, key -> new PathNode());
+                }
+
+                for (int i = 0; i < depth; i++) {
+                    if (node.element == null) {
+                        node.element = new PathNode();
+                    }
+
+                    node = node.element;
+                }
+            }
+
+            return node;
+        }
+
+        /**
+         * 部分木に含まれる列のインデックスを集計します。
+         *
+         * @return 部分木に含まれる列のインデックス
+         */
+        private int[] collectScopedColumns() {
+
+            final List<Integer> columns = new ArrayList<>();
+
+            if (this.column >= 0) {
+                columns.add(this.column);
+            }
+
+            for (PathNode child : this.children.values()) {
+                for (int column : child.collectScopedColumns()) {
+                    columns.add(column);
+                }
+            }
+
+            if (this.element != null) {
+                for (int column : this.element.collectScopedColumns()) {
+                    columns.add(column);
+                }
+            }
+
+            this.scopedColumns = columns.stream().mapToInt(Integer::intValue).toArray();
+
+            return this.scopedColumns;
+        }
+    }
+
+    /**
+     * {@link JsonSheetExporter} のインスタンスを生成する処理を定義したビルダークラスです。 行のパスの設定と1件以上の列の追加は必須です。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @ToString
+    public static class Builder {
+
+        /**
+         * 行のパス
+         */
+        private String rowPath = null;
+
+        /**
+         * 列ごとのパス
+         */
+        private List<String> columnPaths = new ArrayList<>();
+
+        /**
+         * 列定義のビルダー
+         */
+        private SheetSchema.Builder schema = SheetSchema.builder();
+
+        /**
+         * デフォルトコンストラクタ
+         */
+        private Builder() {
+        }
+
+        /**
+         * 行のパスを設定します。 行のパスは配列の要素を表す {@code []} で終わる必要があります。
+         *
+         * @param rowPath 行のパス
+         * @return Builderオブジェクト
+         * @exception IllegalArgumentException 行のパスがnullまたは空文字列の場合、または配列の要素を表していない場合
+         */
+        public Builder rowPath(String rowPath) {
+
+            if (StringUtils.isEmpty(rowPath)) {
+                throw new IllegalArgumentException("wrong parameter was given. String is null or empty.");
+            }
+
+            if (!rowPath.endsWith(ELEMENT)) {
+                throw new IllegalArgumentException(
+                        String.format("wrong parameter (%s) was given. Row path must end with []", rowPath));
+            }
+
+            this.rowPath = rowPath;
+
+            return this;
+        }
+
+        /**
+         * 文字列型の列を追加します。
+         *
+         * @see #column(String, String, SheetSchema.ColumnType)
+         * @param header 見出し
+         * @param path   値のパス
+         * @return Builderオブジェクト
+         * @exception IllegalArgumentException 見出しがnullの場合、またはパスがnullまたは空文字列の場合
+         */
+        public Builder column(String header, String path) {
+            return this.column(header, path, SheetSchema.ColumnType.STRING);
+        }
+
+        /**
+         * 列を追加します。 列は追加した順序で左から配置されます。 数値型の列にはjsonの数値、真偽値型の列にはjsonの真偽値が対応します。
+         *
+         * @param header 見出し
+         * @param path   値のパス
+         * @param type   値の型
+         * @return Builderオブジェクト
+         * @exception IllegalArgumentException 見出しまたは値の型がnullの場合、またはパスがnullまたは空文字列の場合
+         */
+        public Builder column(String header, String path, SheetSchema.ColumnType type) {
+
+            if (StringUtils.isEmpty(path)) {
+                throw new IllegalArgumentException("wrong parameter was given. String is null or empty.");
+            }
+
+            this.schema.column(header, type);
+            this.columnPaths.add(path);
+
+            return this;
+        }
+
+        /**
+         * {@link JsonSheetExporter} のインスタンスを生成して返却します。
+         *
+         * @return {@link JsonSheetExporter} クラスの新しいインスタンス
+         * @exception IllegalArgumentException 行のパスが設定されていない場合、列が追加されていない場合、または同一のパスが複数の列に指定された場合
+         */
+        public JsonSheetExporter build() {
+
+            if (this.rowPath == null) {
+                throw new IllegalArgumentException("wrong parameter was given. Row path is null.");
+            }
+
+            final PathNode root = new PathNode();
+            root.resolve(this.rowPath).row = true;
+
+            for (int i = 0, size = this.columnPaths.size(); i < size; i++) {
+                final PathNode node = root.resolve(this.columnPaths.get(i));
+
+                if (node.column >= 0) {
+                    throw new IllegalArgumentException(String.format(
+                            "wrong parameter (%s) was given. Path is already used.", this.columnPaths.get(i)));
+                }
+
+                node.column = i;
+            }
+
+            root.collectScopedColumns();
+
+            final JsonSheetExporter exporter = new JsonSheetExporter();
+            exporter.rowPath = this.rowPath;
+            exporter.columnPaths = Collections.unmodifiableList(new ArrayList<>(this.columnPaths));
+            exporter.schema = this.schema.build();
+            exporter.root = root;
+
+            return exporter;
+        }
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.workbook;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.CellRangeAddress;
+
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * シート中の結合セル領域に対する索引を管理するクラスです。
+ * <p>
+ * 結合セル領域を行方向の区間木として保持し、任意のセルが属する結合セル領域を対数時間で取得します。
+ * 区間木の各節点には節点の中心行を跨ぐ領域のみが格納されます。 結合セル領域は互いに重複しないため、
+ * 同一行を跨ぐ領域同士は列方向に必ず素となり、節点内の領域は開始列の昇順で二分探索できます。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+@ToString
+final class MergedRegionIndex {
+
+    /**
+     * 結合セル領域が存在しない場合に使用する空の索引
+     */
+    private static final MergedRegionIndex EMPTY = new MergedRegionIndex(null, 0);
+
+    /**
+     * 区間木の根節点
+     */
+    private final Node root;
+
+    /**
+     * 索引に含まれる結合セル領域の数
+     */
+    private final int size;
+
+    /**
+     * コンストラクタ
+     *
+     * @param root 区間木の根節点
+     * @param size 索引に含まれる結合セル領域の数
+     */
+    private MergedRegionIndex(final Node root, final int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * 引数として指定されたシートに含まれる結合セル領域から索引を生成し返却します。
+     *
+     * @param sheet シートオブジェクト
+     * @return 結合セル領域の索引
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public static MergedRegionIndex of(@NonNull final Sheet sheet) {
+        return of(sheet.getMergedRegions());
+    }
+
+    /**
+     * 引数として指定された結合セル領域のリストから索引を生成し返却します。
+     *
+     * @param mergedRegions 結合セル領域のリスト
+     * @return 結合セル領域の索引
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public static MergedRegionIndex of(@NonNull final List<CellRangeAddress> mergedRegions) {
+
+        if (mergedRegions.isEmpty()) {
+            return EMPTY;
+        }
+
+        return new MergedRegionIndex(build(mergedRegions.toArray(new CellRangeAddress[0])), mergedRegions.size());
+    }
+
+    /**
+     * 索引に含まれる結合セル領域の数を返却します。
+     *
+     * @return 索引に含まれる結合セル領域の数
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * 引数として指定された列インデックスと行インデックスが属する結合セル領域を返却します。
+     *
+     * @param columnIndex 列インデックス
+     * @param rowIndex    行インデックス
+     * @return 指定されたセルが属する結合セル領域。 指定されたセルが結合セル領域に属さない場合は {@code null} を返却します。
+     */
+    public CellRangeAddress find(final int columnIndex, final int rowIndex) {
+
+        Node node = this.root;
+
+        while (node != null) {
+            final CellRangeAddress region = node.find(columnIndex, rowIndex);
+
+            if (region != null) {
+                return region;
+            }
+
+            if (rowIndex < node.center) {
+                node = node.left;
+            } else if (rowIndex > node.center) {
+                node = node.right;
+            } else {
+                return null;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * 引数として指定された列インデックスと行インデックスを値の参照元となるセルの行列インデックスへ解決します。
+     * 指定されたセルが結合セル領域に属する場合は結合セル領域の左上セルの行列インデックスを返却し、
+     * 結合セル領域に属さない場合は指定された行列インデックスをそのまま返却します。
+     *
+     * @param columnIndex 列インデックス
+     * @param rowIndex    行インデックス
+     * @return 値の参照元となるセルの行列インデックス
+     */
+    public Matrix resolve(final int columnIndex, final int rowIndex) {
+
+        final CellRangeAddress region = this.find(columnIndex, rowIndex);
+
+        if (region == null) {
+            return Matrix.of(columnIndex, rowIndex);
+        }
+
+        return Matrix.of(region.getFirstColumn(), region.getFirstRow());
+    }
+
+    /**
+     * 引数として指定された結合セル領域から区間木を再帰的に構築します。
+     *
+     * @param regions 結合セル領域の配列
+     * @return 区間木の節点。 引数の配列が空の場合は {@code null} を返却します。
+     */
+    private static Node build(final CellRangeAddress[] regions) {
+
+        if (regions.length == 0) {
+            return null;
+        }
+
+        final int[] midpoints = new int[regions.length];
+
+        for (int i = 0; i < regions.length; i++) {
+            midpoints[i] = (regions[i].getFirstRow() + regions[i].getLastRow()) >>> 1;
+        }
+
+        Arrays.sort(midpoints);
+        final int center = midpoints[midpoints.length >>> 1];
+
+        final List<CellRangeAddress> left = new ArrayList<>();
+        final List<CellRangeAddress> right = new ArrayList<>();
+        final List<CellRangeAddress> crossing = new ArrayList<>();
+
+        for (CellRangeAddress region : regions) {
+            if (region.getLastRow() < center) {
+                left.add(region);
+            } else if (region.getFirstRow() > center) {
+                right.add(region);
+            } else {
+                crossing.add(region);
+            }
+        }
+
+        final CellRangeAddress[] sorted = crossing.toArray(new CellRangeAddress[0]);
+        Arrays.sort(sorted, Comparator.comparingInt(CellRangeAddress::getFirstColumn));
+
+        return new Node(center, sorted, build(left.toArray(new CellRangeAddress[0])),
+                build(right.toArray(new CellRangeAddress[0])));
+    }
+
+    /**
+     * 区間木の節点を表すクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @ToString
+    private static final class Node {
+
+        /**
+         * 節点の中心行
+         */
+        private final int center;
+
+        /**
+         * 中心行を跨ぐ結合セル領域。 開始列の昇順で整列されています。
+         */
+        private final CellRangeAddress[] crossing;
+
+        /**
+         * 中心行より上に存在する結合セル領域の節点
+         */
+        private final Node left;
+
+        /**
+         * 中心行より下に存在する結合セル領域の節点
+         */
+        private final Node right;
+
+        /**
+         * コンストラクタ
+         *
+         * @param center   節点の中心行
+         * @param crossing 中心行を跨ぐ結合セル領域
+         * @param left     中心行より上に存在する結合セル領域の節点
+         * @param right    中心行より下に存在する結合セル領域の節点
+         */
+        private Node(final int center, final CellRangeAddress[] crossing, final Node left, final Node right) {
+            this.center = center;
+            this.crossing = crossing;
+            this.left = left;
+            this.right = right;
+        }
+
+        /**
+         * 当該節点に格納された結合セル領域から指定されたセルが属する領域を二分探索で取得します。
+         *
+         * @param columnIndex 列インデックス
+         * @param rowIndex    行インデックス
+         * @return 指定されたセルが属する結合セル領域。 該当する領域が存在しない場合は {@code null} を返却します。
+         */
+        private CellRangeAddress find(final int columnIndex, final int rowIndex) {
+
+            final CellRangeAddress[] crossing = this.crossing;
+
+            int low = 0;
+            int high = crossing.length - 1;
+            int candidate = -1;
+
+            while (low <= high) {
+                final int middle = (low + high) >>> 1;
+
+                if (crossing[middle].getFirstColumn() <= columnIndex) {
+                    candidate = middle;
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+
+            if (candidate < 0) {
+                return null;
+            }
+
+            final CellRangeAddress region = crossing[candidate];
+
+            if (columnIndex <= region.getLastColumn() && region.getFirstRow() <= rowIndex
+                    && rowIndex <= region.getLastRow()) {
+                return region;
+            }
+
+            return null;
+        }
+    }
+}
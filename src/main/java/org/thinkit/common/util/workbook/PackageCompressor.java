@@ -0,0 +1,352 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.workbook;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import org.apache.commons.compress.archivers.ArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * ワークブックのパッケージを構成する各パートを指定された圧縮レベルで圧縮し出力する機能を定義したクラスです。
+ * <p>
+ * ワークブックが保存する各パート(シート、共有文字列、スタイル等)は保存時にメモリ上で受け取られ、 一時ファイルを経由せずに
+ * 指定された {@link Executor} 上で並列に圧縮されます。 圧縮されたパートは元のパッケージと同じ順序で出力ストリームへ書き込まれ、
+ * 先頭のパートの圧縮が完了するまで後続のパートは書き込まれません。 同時に圧縮されるパートの数は {@link Executor} の並列度に制限されるため、
+ * パートのデータを保持するメモリは並列度分のパートに限られます。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+@ToString
+final class PackageCompressor {
+
+    /**
+     * 圧縮時に使用するバッファサイズ
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 圧縮レベル
+     */
+    private final int compressionLevel;
+
+    /**
+     * 圧縮処理を実行する {@link Executor}
+     */
+    private final Executor executor;
+
+    /**
+     * 同時に圧縮するパートの最大数
+     */
+    private final int parallelism;
+
+    /**
+     * コンストラクタ
+     *
+     * @param compressionLevel 圧縮レベル
+     * @param executor         圧縮処理を実行する {@link Executor}
+     *
+     * @exception NullPointerException     {@code executor} が {@code null} の場合
+     * @exception IllegalArgumentException 圧縮レベルが範囲外の場合
+     */
+    PackageCompressor(final int compressionLevel, @NonNull final Executor executor) {
+
+        if (!isValidLevel(compressionLevel)) {
+            throw new IllegalArgumentException(
+                    String.format("wrong parameter (%s) was given. Compression level must be between -1 and 9.",
+                            compressionLevel));
+        }
+
+        this.compressionLevel = compressionLevel;
+        this.executor = executor;
+        this.parallelism = executor instanceof ForkJoinPool ? ((ForkJoinPool) executor).getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * 引数として指定された圧縮レベルが {@link Deflater} で使用可能な値か判定します。
+     *
+     * @param compressionLevel 圧縮レベル
+     * @return 使用可能な圧縮レベルの場合は {@code true}、それ以外は {@code false}
+     */
+    static boolean isValidLevel(final int compressionLevel) {
+        return compressionLevel == Deflater.DEFAULT_COMPRESSION
+                || (Deflater.NO_COMPRESSION <= compressionLevel && compressionLevel <= Deflater.BEST_COMPRESSION);
+    }
+
+    /**
+     * 引数として指定されたワークブックを圧縮し出力ストリームへ書き込みます。
+     *
+     * @param workbook     ワークブックオブジェクト
+     * @param outputStream 出力ストリーム
+     * @throws IOException 書き込み処理が異常終了した場合
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    void write(@NonNull final XSSFWorkbook workbook, @NonNull final OutputStream outputStream) throws IOException {
+
+        final ZipArchiveOutputStream zipOutputStream = new ZipArchiveOutputStream(outputStream);
+        final PartCollector collector = new PartCollector(zipOutputStream);
+
+        workbook.write(collector);
+        collector.drain();
+        zipOutputStream.finish();
+    }
+
+    /**
+     * 引数として指定されたパートのデータを圧縮して返却します。
+     *
+     * @param name パート名
+     * @param time パートの更新日時。 未設定の場合は {@code -1}
+     * @param data パートの非圧縮データ
+     * @return 圧縮されたパート
+     */
+    private CompressedPart compress(final String name, final long time, final PartBuffer data) {
+
+        final Deflater deflater = new Deflater(this.compressionLevel, true);
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        final CRC32 crc = new CRC32();
+        crc.update(data.array(), 0, data.size());
+
+        try (final DeflaterOutputStream deflaterOutputStream = new DeflaterOutputStream(compressed, deflater,
+                BUFFER_SIZE)) {
+            deflaterOutputStream.write(data.array(), 0, data.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deflater.end();
+        }
+
+        final ZipArchiveEntry compressedEntry = new ZipArchiveEntry(name);
+        compressedEntry.setMethod(ZipArchiveEntry.DEFLATED);
+
+        if (time != -1L) {
+            compressedEntry.setTime(time);
+        }
+
+        compressedEntry.setCrc(crc.getValue());
+        compressedEntry.setSize(data.size());
+        compressedEntry.setCompressedSize(compressed.size());
+
+        return new CompressedPart(compressedEntry, compressed.toByteArray());
+    }
+
+    /**
+     * 圧縮処理の完了を待機し、圧縮されたパートを出力ストリームへ書き込みます。
+     *
+     * @param zipOutputStream 出力ストリーム
+     * @param part            圧縮処理
+     * @throws IOException 圧縮処理または書き込み処理が異常終了した場合
+     */
+    private static void writePart(final ZipArchiveOutputStream zipOutputStream,
+            final CompletableFuture<CompressedPart> part) throws IOException {
+        final CompressedPart compressedPart = join(part);
+        zipOutputStream.addRawArchiveEntry(compressedPart.entry, new ByteArrayInputStream(compressedPart.data));
+    }
+
+    /**
+     * 圧縮処理の完了を待機し、圧縮されたパートを返却します。
+     *
+     * @param part 圧縮処理
+     * @return 圧縮されたパート
+     * @throws IOException 圧縮処理が異常終了した場合
+     */
+    private static CompressedPart join(final CompletableFuture<CompressedPart> part) throws IOException {
+        try {
+            return part.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * ワークブックの保存時に書き込まれる各パートを受け取り、 圧縮処理へ渡す出力ストリームです。
+     * <p>
+     * ワークブックは {@link ZipArchiveOutputStream} が渡された場合にそのストリームへ直接パートを書き込むため、
+     * エントリの開始から終了までに書き込まれたデータをパートのデータとして受け取ります。 このストリーム自体には何も出力されません。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    private final class PartCollector extends ZipArchiveOutputStream {
+
+        /**
+         * 圧縮されたパートを書き込む出力ストリーム
+         */
+        private final ZipArchiveOutputStream zipOutputStream;
+
+        /**
+         * 元のパッケージと同じ順序で並んだ圧縮処理
+         */
+        private final Deque<CompletableFuture<CompressedPart>> parts = new ArrayDeque<>(parallelism);
+
+        /**
+         * 受け取り中のパートのエントリ情報
+         */
+        private ArchiveEntry entry;
+
+        /**
+         * 受け取り中のパートのデータ
+         */
+        private PartBuffer data;
+
+        /**
+         * コンストラクタ
+         *
+         * @param zipOutputStream 圧縮されたパートを書き込む出力ストリーム
+         */
+        private PartCollector(final ZipArchiveOutputStream zipOutputStream) {
+            super(new ByteArrayOutputStream(0));
+            this.zipOutputStream = zipOutputStream;
+        }
+
+        @Override
+        public void putArchiveEntry(final ArchiveEntry archiveEntry) throws IOException {
+
+            if (this.entry != null) {
+                throw new IOException("The previous part has not been closed.");
+            }
+
+            this.entry = archiveEntry;
+            this.data = new PartBuffer();
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            this.write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] b, final int offset, final int length) throws IOException {
+
+            if (this.entry == null) {
+                throw new IOException("No part is being written.");
+            }
+
+            this.data.write(b, offset, length);
+        }
+
+        @Override
+        public void closeArchiveEntry() throws IOException {
+
+            if (this.entry == null) {
+                throw new IOException("No part is being written.");
+            }
+
+            if (this.parts.size() >= parallelism) {
+                writePart(this.zipOutputStream, this.parts.poll());
+            }
+
+            final String name = this.entry.getName();
+            final long time = this.entry instanceof ZipArchiveEntry ? ((ZipArchiveEntry) this.entry).getTime() : -1L;
+            final PartBuffer partData = this.data;
+
+            this.parts.add(CompletableFuture.supplyAsync(() -> compress(name, time, partData), executor));
+            this.entry = null;
+            this.data = null;
+        }
+
+        @Override
+        public void finish() {
+            // 圧縮されたパートは drain() で書き込む
+        }
+
+        /**
+         * 圧縮中の全てのパートの完了を待機し、 元のパッケージと同じ順序で書き込みます。
+         *
+         * @throws IOException 圧縮処理または書き込み処理が異常終了した場合
+         */
+        private void drain() throws IOException {
+            while (!this.parts.isEmpty()) {
+                writePart(this.zipOutputStream, this.parts.poll());
+            }
+        }
+    }
+
+    /**
+     * 内部の配列を複製せずに参照できる {@link ByteArrayOutputStream} です。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    private static final class PartBuffer extends ByteArrayOutputStream {
+
+        /**
+         * 書き込まれたデータを保持する内部の配列を返却します。 有効なデータは先頭から {@link #size()} バイトです。
+         *
+         * @return 内部の配列
+         */
+        private byte[] array() {
+            return this.buf;
+        }
+    }
+
+    /**
+     * 圧縮されたパートを表すクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    private static final class CompressedPart {
+
+        /**
+         * 圧縮後のエントリ情報
+         */
+        private final ZipArchiveEntry entry;
+
+        /**
+         * 圧縮後のデータ
+         */
+        private final byte[] data;
+
+        /**
+         * コンストラクタ
+         *
+         * @param entry 圧縮後のエントリ情報
+         * @param data  圧縮後のデータ
+         */
+        private CompressedPart(final ZipArchiveEntry entry, final byte[] data) {
+            this.entry = entry;
+            this.data = data;
+        }
+    }
+}
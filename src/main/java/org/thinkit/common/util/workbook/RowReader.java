@@ -0,0 +1,140 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.workbook;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+
+import org.apache.poi.poifs.crypt.Decryptor;
+import org.apache.poi.poifs.filesystem.FileMagic;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+
+import lombok.NonNull;
+
+/**
+ * ワークブックの全シートの行を先頭から順に読み込む前方専用のリーダーです。
+ * <p>
+ * ワークブック全体をメモリへ展開せずに読み込むため、 巨大なワークブックでもメモリ使用量は行単位に抑えられます。
+ * {@code .xlsx} 形式はシートのXMLを逐次解析し、 {@code .xls} 形式はBIFFレコードを逐次解析します。
+ * 値を持たない行は返却されません。
+ *
+ * <pre>
+ * 使用例:
+ * <code>try (RowReader reader = RowReader.open(file)) { reader.forEachRemaining(row -&gt; ...); }</code>
+ * </pre>
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+public interface RowReader extends Iterator<SheetRow>, AutoCloseable {
+
+    /**
+     * 引数として指定されたファイルの形式を判定し、形式に応じた {@link RowReader} を生成し返却します。
+     *
+     * @param file ワークブックのファイル
+     * @return {@link RowReader} の新しいインスタンス
+     *
+     * @exception NullPointerException   引数として {@code null} が渡された場合
+     * @exception ExcelHandlingException ファイルの読み込みに失敗した場合、または対応していない形式の場合
+     */
+    static RowReader open(@NonNull final File file) {
+
+        final FileMagic fileMagic;
+
+        try {
+            fileMagic = FileMagic.valueOf(file);
+        } catch (IOException e) {
+            throw new ExcelHandlingException(String.format("The file (%s) could not be read.", file), e);
+        }
+
+        switch (fileMagic) {
+            case OOXML:
+                return XssfRowReader.open(file);
+            case OLE2:
+                return new HssfRowReader(file);
+            default:
+                throw new ExcelHandlingException(
+                        String.format("The file format (%s) of %s is not supported.", fileMagic, file));
+        }
+    }
+
+    /**
+     * 引数として指定されたパスワードで保護されたファイルの形式を判定し、形式に応じた {@link RowReader} を生成し返却します。
+     * <p>
+     * 暗号化された {@code .xlsx} 形式のファイルは復号ストリームから直接読み込まれるため、 復号したデータが一時ファイルとして出力されることはありません。
+     * 暗号化されていないファイルが指定された場合はパスワードを使用せずに読み込みます。
+     *
+     * @param file     ワークブックのファイル
+     * @param password パスワード
+     * @return {@link RowReader} の新しいインスタンス
+     *
+     * @exception NullPointerException   引数として {@code null} が渡された場合
+     * @exception ExcelHandlingException ファイルの読み込みに失敗した場合、パスワードが一致しない場合、または対応していない形式の場合
+     */
+    static RowReader open(@NonNull final File file, @NonNull final String password) {
+
+        final FileMagic fileMagic;
+
+        try {
+            fileMagic = FileMagic.valueOf(file);
+        } catch (IOException e) {
+            throw new ExcelHandlingException(String.format("The file (%s) could not be read.", file), e);
+        }
+
+        if (fileMagic != FileMagic.OLE2) {
+            return open(file);
+        }
+
+        final POIFSFileSystem fileSystem;
+
+        try {
+            fileSystem = new POIFSFileSystem(file, true);
+        } catch (IOException e) {
+            throw new ExcelHandlingException(String.format("The file (%s) could not be opened.", file), e);
+        }
+
+        if (!fileSystem.getRoot().hasEntry(Decryptor.DEFAULT_POIFS_ENTRY)) {
+            try {
+                fileSystem.close();
+            } catch (IOException e) {
+                throw new ExcelHandlingException(String.format("The file (%s) could not be closed.", file), e);
+            }
+
+            return new HssfRowReader(file, password);
+        }
+
+        try {
+            return XssfRowReader.open(fileSystem, password);
+        } catch (RuntimeException e) {
+            try {
+                fileSystem.close();
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * リーダーが保持するリソースを解放します。
+     *
+     * @exception ExcelHandlingException リソースの解放に失敗した場合
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,366 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.workbook;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneRules;
+
+import lombok.NonNull;
+
+/**
+ * Excelのシリアル値と日時の相互変換を行う機能を定義したクラスです。
+ * <p>
+ * シリアル値は {@code double} 型、日時はエポックミリ秒の {@code long} 型で扱い、変換処理中にオブジェクトを生成しません。
+ * 1900年基準と1904年基準の両方の日付システムに対応しています。 1900年基準ではExcelとの互換性のため、
+ * 存在しない1900年2月29日をシリアル値 {@code 60} として扱います。
+ * <p>
+ * 列単位の変換を行う場合は {@link #toSerials(long[], double[], ZoneId, boolean)} 及び
+ * {@link #toEpochMillis(double[], long[], ZoneId, boolean)} を使用してください。
+ *
+ * <pre>
+ * 使用例:
+ * <code>double serial = SerialDateCodec.toSerial(System.currentTimeMillis(), ZoneOffset.UTC, false);</code>
+ * </pre>
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+public final class SerialDateCodec {
+
+    /**
+     * 1日のミリ秒数
+     */
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    /**
+     * 1900年基準のシリアル値 {@code 0} (1899年12月30日) に対応するエポック日数の符号反転値
+     */
+    private static final long EPOCH_DAY_OFFSET_1900 = 25_569L;
+
+    /**
+     * 1904年基準のシリアル値 {@code 0} (1904年1月1日) に対応するエポック日数の符号反転値
+     */
+    private static final long EPOCH_DAY_OFFSET_1904 = 24_107L;
+
+    /**
+     * 1900年基準で1900年3月1日を表すシリアル値
+     */
+    private static final long FIRST_SERIAL_AFTER_LEAP_BUG = 61L;
+
+    /**
+     * 変換できない日時を表すシリアル値
+     */
+    public static final double INVALID_SERIAL = -1.0;
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private SerialDateCodec() {
+    }
+
+    /**
+     * 引数として指定されたローカル日時をシリアル値へ変換します。 シリアル値で表現できない日時が指定された場合は {@link #INVALID_SERIAL}
+     * を返却します。
+     *
+     * @param dateTime ローカル日時
+     * @param date1904 1904年基準の日付システムを使用する場合は {@code true}
+     * @return シリアル値
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public static double toSerial(@NonNull final LocalDateTime dateTime, final boolean date1904) {
+        return toSerialFromLocalMillis(dateTime.toEpochSecond(ZoneOffset.UTC) * 1000L + dateTime.getNano() / 1_000_000,
+                date1904);
+    }
+
+    /**
+     * 引数として指定されたエポックミリ秒を指定されたタイムゾーンのローカル日時としてシリアル値へ変換します。
+     * シリアル値で表現できない日時が指定された場合は {@link #INVALID_SERIAL} を返却します。
+     *
+     * @param epochMillis エポックミリ秒
+     * @param zone        タイムゾーン
+     * @param date1904    1904年基準の日付システムを使用する場合は {@code true}
+     * @return シリアル値
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public static double toSerial(final long epochMillis, @NonNull final ZoneId zone, final boolean date1904) {
+        return toSerialFromLocalMillis(epochMillis + offsetMillis(zone.getRules(), epochMillis), date1904);
+    }
+
+    /**
+     * 引数として指定されたシリアル値をローカル日時へ変換します。
+     *
+     * @param serial   シリアル値
+     * @param date1904 1904年基準の日付システムを使用する場合は {@code true}
+     * @return ローカル日時
+     *
+     * @exception IllegalArgumentException シリアル値が負数または数値ではない場合
+     */
+    public static LocalDateTime toLocalDateTime(final double serial, final boolean date1904) {
+
+        final long localMillis = toLocalMillis(serial, date1904);
+
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(localMillis, 1000L),
+                (int) Math.floorMod(localMillis, 1000L) * 1_000_000, ZoneOffset.UTC);
+    }
+
+    /**
+     * 引数として指定されたシリアル値を指定されたタイムゾーンのローカル日時とみなし、エポックミリ秒へ変換します。
+     *
+     * @param serial   シリアル値
+     * @param zone     タイムゾーン
+     * @param date1904 1904年基準の日付システムを使用する場合は {@code true}
+     * @return エポックミリ秒
+     *
+     * @exception NullPointerException     引数として {@code null} が渡された場合
+     * @exception IllegalArgumentException シリアル値が負数または数値ではない場合
+     */
+    public static long toEpochMillis(final double serial, @NonNull final ZoneId zone, final boolean date1904) {
+        return toEpochMillisFromLocalMillis(toLocalMillis(serial, date1904), zone.getRules());
+    }
+
+    /**
+     * 引数として指定されたエポックミリ秒を指定されたタイムゾーンのローカル時刻とみなし、時刻部分のみのシリアル値へ変換します。
+     *
+     * @param epochMillis エポックミリ秒
+     * @param zone        タイムゾーン
+     * @return 時刻部分のみのシリアル値。 {@code 0} 以上 {@code 1} 未満の値を返却します。
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public static double toTimeSerial(final long epochMillis, @NonNull final ZoneId zone) {
+        return (double) millisOfDay(epochMillis, zone) / MILLIS_PER_DAY;
+    }
+
+    /**
+     * 引数として指定されたエポックミリ秒を指定されたタイムゾーンのローカル時刻とみなし、 その日の0時からの経過ミリ秒を返却します。
+     *
+     * @param epochMillis エポックミリ秒
+     * @param zone        タイムゾーン
+     * @return その日の0時からの経過ミリ秒
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public static int millisOfDay(final long epochMillis, @NonNull final ZoneId zone) {
+        return (int) Math.floorMod(epochMillis + offsetMillis(zone.getRules(), epochMillis), MILLIS_PER_DAY);
+    }
+
+    /**
+     * 引数として指定されたエポックミリ秒の配列をシリアル値の配列へ変換します。
+     *
+     * @param epochMillis エポックミリ秒の配列
+     * @param zone        タイムゾーン
+     * @param date1904    1904年基準の日付システムを使用する場合は {@code true}
+     * @return シリアル値の配列
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    public static double[] toSerials(@NonNull final long[] epochMillis, @NonNull final ZoneId zone,
+            final boolean date1904) {
+        final double[] serials = new double[epochMillis.length];
+        toSerials(epochMillis, serials, zone, date1904);
+        return serials;
+    }
+
+    /**
+     * 引数として指定されたエポックミリ秒の配列をシリアル値へ変換し、変換先の配列へ格納します。 変換先の配列は変換元の配列以上の長さを持つ必要があります。
+     *
+     * @param epochMillis エポックミリ秒の配列
+     * @param serials     変換先の配列
+     * @param zone        タイムゾーン
+     * @param date1904    1904年基準の日付システムを使用する場合は {@code true}
+     *
+     * @exception NullPointerException     引数として {@code null} が渡された場合
+     * @exception IllegalArgumentException 変換先の配列が変換元の配列より短い場合
+     */
+    public static void toSerials(@NonNull final long[] epochMillis, @NonNull final double[] serials,
+            @NonNull final ZoneId zone, final boolean date1904) {
+
+        if (serials.length < epochMillis.length) {
+            throw new IllegalArgumentException("wrong parameter was given. Destination array is too short.");
+        }
+
+        final ZoneRules rules = zone.getRules();
+
+        if (rules.isFixedOffset()) {
+            final long offset = rules.getOffset(Instant.EPOCH).getTotalSeconds() * 1000L;
+
+            for (int i = 0; i < epochMillis.length; i++) {
+                serials[i] = toSerialFromLocalMillis(epochMillis[i] + offset, date1904);
+            }
+        } else {
+            for (int i = 0; i < epochMillis.length; i++) {
+                serials[i] = toSerialFromLocalMillis(epochMillis[i] + offsetMillis(rules, epochMillis[i]), date1904);
+            }
+        }
+    }
+
+    /**
+     * 引数として指定されたシリアル値の配列をエポックミリ秒の配列へ変換します。
+     *
+     * @param serials  シリアル値の配列
+     * @param zone     タイムゾーン
+     * @param date1904 1904年基準の日付システムを使用する場合は {@code true}
+     * @return エポックミリ秒の配列
+     *
+     * @exception NullPointerException     引数として {@code null} が渡された場合
+     * @exception IllegalArgumentException シリアル値が負数または数値ではない場合
+     */
+    public static long[] toEpochMillis(@NonNull final double[] serials, @NonNull final ZoneId zone,
+            final boolean date1904) {
+        final long[] epochMillis = new long[serials.length];
+        toEpochMillis(serials, epochMillis, zone, date1904);
+        return epochMillis;
+    }
+
+    /**
+     * 引数として指定されたシリアル値の配列をエポックミリ秒へ変換し、変換先の配列へ格納します。 変換先の配列は変換元の配列以上の長さを持つ必要があります。
+     *
+     * @param serials     シリアル値の配列
+     * @param epochMillis 変換先の配列
+     * @param zone        タイムゾーン
+     * @param date1904    1904年基準の日付システムを使用する場合は {@code true}
+     *
+     * @exception NullPointerException     引数として {@code null} が渡された場合
+     * @exception IllegalArgumentException 変換先の配列が変換元の配列より短い場合、またはシリアル値が負数または数値ではない場合
+     */
+    public static void toEpochMillis(@NonNull final double[] serials, @NonNull final long[] epochMillis,
+            @NonNull final ZoneId zone, final boolean date1904) {
+
+        if (epochMillis.length < serials.length) {
+            throw new IllegalArgumentException("wrong parameter was given. Destination array is too short.");
+        }
+
+        final ZoneRules rules = zone.getRules();
+
+        for (int i = 0; i < serials.length; i++) {
+            epochMillis[i] = toEpochMillisFromLocalMillis(toLocalMillis(serials[i], date1904), rules);
+        }
+    }
+
+    /**
+     * 引数として指定されたローカル日時のエポックミリ秒をシリアル値へ変換します。
+     *
+     * @param localMillis ローカル日時のエポックミリ秒
+     * @param date1904    1904年基準の日付システムを使用する場合は {@code true}
+     * @return シリアル値。 シリアル値で表現できない日時の場合は {@link #INVALID_SERIAL}
+     */
+    private static double toSerialFromLocalMillis(final long localMillis, final boolean date1904) {
+
+        long serialDay = Math.floorDiv(localMillis, MILLIS_PER_DAY);
+        final long millisOfDay = Math.floorMod(localMillis, MILLIS_PER_DAY);
+
+        if (date1904) {
+            serialDay += EPOCH_DAY_OFFSET_1904;
+
+            if (serialDay < 0) {
+                return INVALID_SERIAL;
+            }
+        } else {
+            serialDay += EPOCH_DAY_OFFSET_1900;
+
+            if (serialDay < FIRST_SERIAL_AFTER_LEAP_BUG) {
+                serialDay--;
+            }
+
+            if (serialDay < 1) {
+                return INVALID_SERIAL;
+            }
+        }
+
+        return serialDay + (double) millisOfDay / MILLIS_PER_DAY;
+    }
+
+    /**
+     * 引数として指定されたシリアル値をローカル日時のエポックミリ秒へ変換します。 ミリ秒未満の端数は四捨五入されます。
+     *
+     * @param serial   シリアル値
+     * @param date1904 1904年基準の日付システムを使用する場合は {@code true}
+     * @return ローカル日時のエポックミリ秒
+     * @exception IllegalArgumentException シリアル値が負数または数値ではない場合
+     */
+    private static long toLocalMillis(final double serial, final boolean date1904) {
+
+        if (!(serial >= 0)) {
+            throw new IllegalArgumentException(
+                    String.format("wrong parameter (%s) was given. Serial value must be positive.", serial));
+        }
+
+        long serialDay = (long) serial;
+        long millisOfDay = Math.round((serial - serialDay) * MILLIS_PER_DAY);
+
+        if (millisOfDay == MILLIS_PER_DAY) {
+            serialDay++;
+            millisOfDay = 0;
+        }
+
+        if (date1904) {
+            serialDay -= EPOCH_DAY_OFFSET_1904;
+        } else {
+            if (serialDay < FIRST_SERIAL_AFTER_LEAP_BUG) {
+                serialDay++;
+            }
+
+            serialDay -= EPOCH_DAY_OFFSET_1900;
+        }
+
+        return serialDay * MILLIS_PER_DAY + millisOfDay;
+    }
+
+    /**
+     * 引数として指定されたエポックミリ秒時点におけるUTCからのオフセットをミリ秒で返却します。
+     *
+     * @param rules       タイムゾーンのルール
+     * @param epochMillis エポックミリ秒
+     * @return UTCからのオフセット(ミリ秒)
+     */
+    private static long offsetMillis(final ZoneRules rules, final long epochMillis) {
+
+        if (rules.isFixedOffset()) {
+            return rules.getOffset(Instant.EPOCH).getTotalSeconds() * 1000L;
+        }
+
+        return rules.getOffset(Instant.ofEpochMilli(epochMillis)).getTotalSeconds() * 1000L;
+    }
+
+    /**
+     * 引数として指定されたローカル日時のエポックミリ秒をエポックミリ秒へ変換します。
+     * 夏時間の切り替えにより存在しないローカル日時、または重複するローカル日時の場合はいずれかの有効なオフセットを使用します。
+     *
+     * @param localMillis ローカル日時のエポックミリ秒
+     * @param rules       タイムゾーンのルール
+     * @return エポックミリ秒
+     */
+    private static long toEpochMillisFromLocalMillis(final long localMillis, final ZoneRules rules) {
+
+        if (rules.isFixedOffset()) {
+            return localMillis - rules.getOffset(Instant.EPOCH).getTotalSeconds() * 1000L;
+        }
+
+        final long estimate = localMillis - offsetMillis(rules, localMillis);
+        final long offset = offsetMillis(rules, estimate);
+
+        if (offsetMillis(rules, localMillis - offset) == offset) {
+            return localMillis - offset;
+        }
+
+        return estimate;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.workbook;
+
+import java.util.Collections;
+import java.util.List;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * {@link RowReader} が読み込んだ1行分の値を表すクラスです。
+ * 値は {@link FluentSheet} と同様に文字列として保持され、値が存在しない列は空文字列となります。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+@ToString
+@EqualsAndHashCode
+public final class SheetRow {
+
+    /**
+     * シート名
+     */
+    @Getter
+    private String sheetName;
+
+    /**
+     * シートのインデックス
+     */
+    @Getter
+    private int sheetIndex;
+
+    /**
+     * 行インデックス
+     */
+    @Getter
+    private int rowIndex;
+
+    /**
+     * 列インデックス {@code 0} から最終列までのセルの値
+     */
+    @Getter
+    private List<String> values;
+
+    /**
+     * コンストラクタ
+     *
+     * @param sheetName  シート名
+     * @param sheetIndex シートのインデックス
+     * @param rowIndex   行インデックス
+     * @param values     列インデックス {@code 0} から最終列までのセルの値
+     */
+    SheetRow(final String sheetName, final int sheetIndex, final int rowIndex, final List<String> values) {
+        this.sheetName = sheetName;
+        this.sheetIndex = sheetIndex;
+        this.rowIndex = rowIndex;
+        this.values = Collections.unmodifiableList(values);
+    }
+
+    /**
+     * 引数として指定された列インデックスに紐づくセルの値を返却します。
+     *
+     * @param columnIndex 列インデックス
+     * @return セルの値。 値が存在しない場合は空文字列
+     *
+     * @exception IllegalArgumentException 列インデックスが負数の場合
+     */
+    public String get(final int columnIndex) {
+
+        if (columnIndex < 0) {
+            throw new IllegalArgumentException("wrong parameter was given. Column index must be positive.");
+        }
+
+        return columnIndex < this.values.size() ? this.values.get(columnIndex) : "";
+    }
+}
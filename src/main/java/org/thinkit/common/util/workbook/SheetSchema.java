@@ -0,0 +1,220 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.workbook;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * {@link SheetWriter} が出力するシートの列定義を表すクラスです。
+ * 列ごとに見出し、値の型、表示形式を宣言します。
+ *
+ * <pre>
+ * 使用例:
+ * <code>SheetSchema.builder().column("id", ColumnType.NUMERIC, "0").column("name", ColumnType.STRING).build();</code>
+ * </pre>
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+@ToString
+@EqualsAndHashCode
+public final class SheetSchema {
+
+    /**
+     * 列の値の型を表す列挙型です。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    public enum ColumnType {
+
+        /**
+         * 文字列
+         */
+        STRING,
+
+        /**
+         * 数値。 {@link Number} の値を数値として出力します。
+         */
+        NUMERIC,
+
+        /**
+         * 真偽値
+         */
+        BOOLEAN,
+
+        /**
+         * 日付。 {@link java.util.Date} 、 {@link java.util.Calendar} 、 {@link java.time.LocalDate} 、
+         * {@link java.time.LocalDateTime} の値をシリアル値として出力します。
+         */
+        DATE;
+    }
+
+    /**
+     * 列定義のリスト
+     */
+    @Getter
+    private List<Column> columns;
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private SheetSchema() {
+    }
+
+    /**
+     * {@link SheetSchema} クラスを生成するビルダーを返却します。
+     *
+     * @return ビルダー
+     */
+    public static SheetSchema.Builder builder() {
+        return new SheetSchema.Builder();
+    }
+
+    /**
+     * 列定義を表すクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @ToString
+    @EqualsAndHashCode
+    public static final class Column {
+
+        /**
+         * 見出し
+         */
+        @Getter
+        private String header;
+
+        /**
+         * 値の型
+         */
+        @Getter
+        private ColumnType type;
+
+        /**
+         * 表示形式。 指定されていない場合は {@code null}
+         */
+        @Getter
+        private String format;
+
+        /**
+         * コンストラクタ
+         *
+         * @param header 見出し
+         * @param type   値の型
+         * @param format 表示形式
+         */
+        private Column(final String header, final ColumnType type, final String format) {
+            this.header = header;
+            this.type = type;
+            this.format = format;
+        }
+    }
+
+    /**
+     * {@link SheetSchema} のインスタンスを生成する処理を定義したビルダークラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @ToString
+    @EqualsAndHashCode
+    public static class Builder {
+
+        /**
+         * 列定義のリスト
+         */
+        private List<Column> columns = new ArrayList<>();
+
+        /**
+         * デフォルトコンストラクタ
+         */
+        private Builder() {
+        }
+
+        /**
+         * 表示形式を指定せずに列定義を追加します。
+         *
+         * @see #column(String, ColumnType, String)
+         * @param header 見出し
+         * @param type   値の型
+         * @return Builderオブジェクト
+         * @exception IllegalArgumentException 見出しがnullの場合、または値の型がnullの場合
+         */
+        public Builder column(String header, ColumnType type) {
+            return this.column(header, type, null);
+        }
+
+        /**
+         * 列定義を追加します。 列は追加した順序で左から配置されます。 表示形式にはExcelの書式文字列を指定します。
+         *
+         * @param header 見出し
+         * @param type   値の型
+         * @param format 表示形式。 指定しない場合は {@code null}
+         * @return Builderオブジェクト
+         * @exception IllegalArgumentException 見出しがnullの場合、値の型がnullの場合、または表示形式が空文字列の場合
+         */
+        public Builder column(String header, ColumnType type, String format) {
+
+            if (header == null) {
+                throw new IllegalArgumentException("wrong parameter was given. Header is null.");
+            }
+
+            if (type == null) {
+                throw new IllegalArgumentException("wrong parameter was given. Column type is null.");
+            }
+
+            if (format != null && StringUtils.isEmpty(format)) {
+                throw new IllegalArgumentException("wrong parameter was given. Format is empty.");
+            }
+
+            this.columns.add(new Column(header, type, format));
+
+            return this;
+        }
+
+        /**
+         * {@link SheetSchema} のインスタンスを生成して返却します。
+         *
+         * @return {@link SheetSchema} クラスの新しいインスタンス
+         * @exception IllegalArgumentException 列定義が1件も追加されていない場合
+         */
+        public SheetSchema build() {
+
+            if (this.columns.isEmpty()) {
+                throw new IllegalArgumentException("wrong parameter was given. Schema must have at least one column.");
+            }
+
+            final SheetSchema schema = new SheetSchema();
+            schema.columns = Collections.unmodifiableList(new ArrayList<>(this.columns));
+
+            return schema;
+        }
+    }
+}
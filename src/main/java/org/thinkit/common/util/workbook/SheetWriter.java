@@ -0,0 +1,534 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.workbook;
+
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.DataFormat;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * {@link SheetSchema} で宣言された列定義に従って行を逐次出力するクラスです。
+ * <p>
+ * {@link SXSSFWorkbook} を使用し、 メモリ上には直近の行のみを保持するため数百万行の出力にも対応します。
+ * 列ごとのセルスタイルは生成時に一度だけ作成され、 数値は {@link Integer} 、 {@link Long} 、 {@link BigDecimal}
+ * を含めて文字列化せずに数値として出力されます。 Excelの数値は倍精度浮動小数点数のため、 {@code 2^53} を超える整数は精度が失われます。
+ *
+ * <pre>
+ * 使用例:
+ * <code>try (SheetWriter writer = SheetWriter.builder().schema(schema).output("report.xlsx").build()) {
+ *     writer.writeRow(1, "name", new Date());
+ * }</code>
+ * </pre>
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+@ToString(of = { "sheetName", "rowIndex" })
+public final class SheetWriter implements AutoCloseable {
+
+    /**
+     * 日付型の列に表示形式が指定されていない場合の表示形式
+     */
+    private static final String DEFAULT_DATE_FORMAT = "yyyy/m/d h:mm";
+
+    /**
+     * ワークブック
+     */
+    private SXSSFWorkbook workbook;
+
+    /**
+     * 出力対象のシート
+     */
+    private SXSSFSheet sheet;
+
+    /**
+     * シート名
+     */
+    private String sheetName;
+
+    /**
+     * 出力ストリーム
+     */
+    private OutputStream outputStream;
+
+    /**
+     * 列定義
+     */
+    private SheetSchema.Column[] columns;
+
+    /**
+     * 列ごとのセルスタイル。 表示形式を持たない列は {@code null}
+     */
+    private CellStyle[] styles;
+
+    /**
+     * 日付を変換する際のタイムゾーン
+     */
+    private ZoneId zone;
+
+    /**
+     * 次に出力する行インデックス
+     */
+    private int rowIndex;
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private SheetWriter() {
+    }
+
+    /**
+     * {@link SheetWriter} クラスを生成するビルダーを返却します。
+     *
+     * @return ビルダー
+     */
+    public static SheetWriter.Builder builder() {
+        return new SheetWriter.Builder();
+    }
+
+    /**
+     * 引数として指定された値を1行として出力します。 値は列定義の順序で指定し、 {@code null} の列はセルを出力しません。
+     *
+     * @param values 列ごとの値
+     *
+     * @exception NullPointerException     引数として {@code null} が渡された場合
+     * @exception IllegalArgumentException 値の数が列定義の数を超える場合、値が列の型に対応していない場合、
+     *                                     または日付がシリアル値で表現できない1900年以前の日付の場合
+     */
+    public void writeRow(@NonNull final Object... values) {
+
+        if (values.length > this.columns.length) {
+            throw new IllegalArgumentException(String.format(
+                    "wrong parameter was given. Row has %s values but schema has %s columns.", values.length,
+                    this.columns.length));
+        }
+
+        final Row row = this.sheet.createRow(this.rowIndex++);
+
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                this.writeCell(row.createCell(i), i, values[i]);
+            }
+        }
+    }
+
+    /**
+     * 引数として指定された値のリストを1行として出力します。
+     *
+     * @see #writeRow(Object...)
+     * @param values 列ごとの値
+     *
+     * @exception NullPointerException     引数として {@code null} が渡された場合
+     * @exception IllegalArgumentException 値の数が列定義の数を超える場合、値が列の型に対応していない場合、
+     *                                     または日付がシリアル値で表現できない1900年以前の日付の場合
+     */
+    public void writeRow(@NonNull final List<?> values) {
+        this.writeRow(values.toArray());
+    }
+
+    /**
+     * ワークブックを出力ストリームへ書き込み、 一時ファイルを削除したうえで出力ストリームを閉じます。
+     *
+     * @exception ExcelHandlingException 書き込みに失敗した場合
+     */
+    @Override
+    public void close() {
+        try (OutputStream os = this.outputStream) {
+            this.workbook.write(os);
+        } catch (IOException e) {
+            throw new ExcelHandlingException("The workbook could not be written.", e);
+        } finally {
+            this.workbook.dispose();
+        }
+    }
+
+    /**
+     * 引数として指定されたセルへ列の型に応じて値を設定します。
+     *
+     * @param cell        セル
+     * @param columnIndex 列インデックス
+     * @param value       値
+     *
+     * @exception IllegalArgumentException 値が列の型に対応していない場合、または日付がシリアル値で表現できない場合
+     */
+    private void writeCell(final Cell cell, final int columnIndex, final Object value) {
+
+        final SheetSchema.Column column = this.columns[columnIndex];
+
+        if (this.styles[columnIndex] != null) {
+            cell.setCellStyle(this.styles[columnIndex]);
+        }
+
+        switch (column.getType()) {
+            case STRING:
+                cell.setCellValue(value instanceof String ? (String) value : String.valueOf(value));
+                return;
+            case NUMERIC:
+                if (value instanceof Number) {
+                    cell.setCellValue(toDouble((Number) value));
+                    return;
+                }
+                break;
+            case BOOLEAN:
+                if (value instanceof Boolean) {
+                    cell.setCellValue((Boolean) value);
+                    return;
+                }
+                break;
+            case DATE:
+                final double serial = this.toSerial(value);
+
+                if (serial == SerialDateCodec.INVALID_SERIAL) {
+                    throw new IllegalArgumentException(String.format(
+                            "wrong parameter (%s) was given. Column (%s) cannot hold a date before 1900.", value,
+                            column.getHeader()));
+                }
+
+                if (!Double.isNaN(serial)) {
+                    cell.setCellValue(serial);
+                    return;
+                }
+                break;
+            default:
+                break;
+        }
+
+        throw new IllegalArgumentException(String.format(
+                "wrong parameter (%s) was given. Column (%s) expects %s value.", value.getClass().getName(),
+                column.getHeader(), column.getType()));
+    }
+
+    /**
+     * 引数として指定された数値を倍精度浮動小数点数へ変換します。
+     *
+     * @param number 数値
+     * @return 倍精度浮動小数点数
+     */
+    private static double toDouble(final Number number) {
+
+        if (number instanceof Integer || number instanceof Long || number instanceof Short
+                || number instanceof Byte) {
+            return number.longValue();
+        }
+
+        return number.doubleValue();
+    }
+
+    /**
+     * 引数として指定された日付をシリアル値へ変換します。 日付として扱えない型の場合は {@link Double#NaN} を返却します。
+     *
+     * @param value 日付
+     * @return シリアル値。 日付として扱えない型の場合は {@link Double#NaN}
+     */
+    private double toSerial(final Object value) {
+
+        if (value instanceof Date) {
+            return SerialDateCodec.toSerial(((Date) value).getTime(), this.zone, false);
+        } else if (value instanceof Calendar) {
+            final Calendar calendar = (Calendar) value;
+            return SerialDateCodec.toSerial(calendar.getTimeInMillis(), calendar.getTimeZone().toZoneId(), false);
+        } else if (value instanceof LocalDateTime) {
+            return SerialDateCodec.toSerial((LocalDateTime) value, false);
+        } else if (value instanceof LocalDate) {
+            return SerialDateCodec.toSerial(((LocalDate) value).atStartOfDay(), false);
+        }
+
+        return Double.NaN;
+    }
+
+    /**
+     * {@link SheetWriter} のインスタンスを生成する処理を定義したビルダークラスです。 列定義と出力ストリームの設定は必須です。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @ToString
+    public static class Builder {
+
+        /**
+         * 列定義
+         */
+        private SheetSchema schema = null;
+
+        /**
+         * シート名
+         */
+        private String sheetName = "Sheet1";
+
+        /**
+         * 出力ストリーム
+         */
+        private OutputStream outputStream = null;
+
+        /**
+         * メモリ上に保持する行数
+         */
+        private int windowSize = SXSSFWorkbook.DEFAULT_WINDOW_SIZE;
+
+        /**
+         * 見出し行を出力するか
+         */
+        private boolean header = true;
+
+        /**
+         * 一時ファイルを圧縮するか
+         */
+        private boolean compressTempFiles = false;
+
+        /**
+         * 日付を変換する際のタイムゾーン
+         */
+        private ZoneId zone = ZoneId.systemDefault();
+
+        /**
+         * デフォルトコンストラクタ
+         */
+        private Builder() {
+        }
+
+        /**
+         * 列定義を設定します。 列定義の設定は必須です。
+         *
+         * @param schema 列定義
+         * @return Builderオブジェクト
+         * @exception IllegalArgumentException 引数の列定義がnullの場合
+         */
+        public Builder schema(SheetSchema schema) {
+
+            if (schema == null) {
+                throw new IllegalArgumentException("wrong parameter was given. SheetSchema object is null.");
+            }
+
+            this.schema = schema;
+
+            return this;
+        }
+
+        /**
+         * シート名を設定します。 シート名の設定は必須ではなく、 デフォルトは {@code Sheet1} です。
+         *
+         * @param sheetName シート名
+         * @return Builderオブジェクト
+         * @exception IllegalArgumentException 引数の文字列がnullまたは空文字列の場合
+         */
+        public Builder sheetName(String sheetName) {
+
+            if (StringUtils.isEmpty(sheetName)) {
+                throw new IllegalArgumentException("wrong parameter was given. String is null or empty.");
+            }
+
+            this.sheetName = sheetName;
+
+            return this;
+        }
+
+        /**
+         * 引数として渡された文字列から出力ストリームの設定を行います。
+         *
+         * @param fileName 出力するファイル名
+         * @return Builderオブジェクト
+         * @exception IllegalArgumentException 引数の文字列がnullまたは空文字列の場合
+         * @exception ExcelHandlingException   ファイルを開けなかった場合
+         */
+        public Builder output(String fileName) {
+
+            if (StringUtils.isEmpty(fileName)) {
+                throw new IllegalArgumentException("wrong parameter was given. String is null or empty.");
+            }
+
+            try {
+                this.outputStream = new FileOutputStream(fileName);
+            } catch (FileNotFoundException e) {
+                throw new ExcelHandlingException(String.format("The file (%s) could not be opened.", fileName), e);
+            }
+
+            return this;
+        }
+
+        /**
+         * 出力ストリームオブジェクトから出力設定を行います。
+         *
+         * @param os 出力ストリームオブジェクト
+         * @return Builderオブジェクト
+         * @exception IllegalArgumentException 引数の出力ストリームがnullの場合
+         */
+        public Builder output(OutputStream os) {
+
+            if (os == null) {
+                throw new IllegalArgumentException("wrong parameter was given. OutputStream object is null.");
+            }
+
+            this.outputStream = os;
+
+            return this;
+        }
+
+        /**
+         * メモリ上に保持する行数を設定します。 保持する行数を超えた行は一時ファイルへ書き出されます。 デフォルトは
+         * {@link SXSSFWorkbook#DEFAULT_WINDOW_SIZE} です。
+         *
+         * @param windowSize メモリ上に保持する行数
+         * @return Builderオブジェクト
+         * @exception IllegalArgumentException 行数が正数ではない場合
+         */
+        public Builder windowSize(int windowSize) {
+
+            if (windowSize <= 0) {
+                throw new IllegalArgumentException(
+                        String.format("wrong parameter (%s) was given. Window size must be positive.", windowSize));
+            }
+
+            this.windowSize = windowSize;
+
+            return this;
+        }
+
+        /**
+         * 見出し行を出力するかを設定します。 デフォルトでは見出し行を出力します。
+         *
+         * @param header 見出し行を出力する場合は {@code true}
+         * @return Builderオブジェクト
+         */
+        public Builder header(boolean header) {
+            this.header = header;
+            return this;
+        }
+
+        /**
+         * 一時ファイルを圧縮するかを設定します。 圧縮することでディスク使用量と引き換えに処理時間が増加します。
+         *
+         * @param compressTempFiles 一時ファイルを圧縮する場合は {@code true}
+         * @return Builderオブジェクト
+         */
+        public Builder compressTempFiles(boolean compressTempFiles) {
+            this.compressTempFiles = compressTempFiles;
+            return this;
+        }
+
+        /**
+         * {@link Date} 及び {@link LocalDateTime} をシリアル値へ変換する際のタイムゾーンを設定します。 デフォルトはシステムのタイムゾーンです。
+         *
+         * @param zone タイムゾーン
+         * @return Builderオブジェクト
+         * @exception IllegalArgumentException 引数のタイムゾーンがnullの場合
+         */
+        public Builder zone(ZoneId zone) {
+
+            if (zone == null) {
+                throw new IllegalArgumentException("wrong parameter was given. ZoneId object is null.");
+            }
+
+            this.zone = zone;
+
+            return this;
+        }
+
+        /**
+         * {@link SheetWriter} のインスタンスを生成して返却します。 見出し行の出力が有効な場合は見出し行を出力します。
+         *
+         * @return {@link SheetWriter} クラスの新しいインスタンス
+         * @exception IllegalArgumentException 列定義または出力ストリームが設定されていない場合
+         */
+        public SheetWriter build() {
+
+            if (this.schema == null) {
+                throw new IllegalArgumentException("wrong parameter was given. SheetSchema object is null.");
+            }
+
+            if (this.outputStream == null) {
+                throw new IllegalArgumentException("wrong parameter was given. OutputStream object is null.");
+            }
+
+            final SheetWriter writer = new SheetWriter();
+            writer.workbook = new SXSSFWorkbook(null, this.windowSize, this.compressTempFiles);
+            writer.sheet = writer.workbook.createSheet(this.sheetName);
+            writer.sheetName = this.sheetName;
+            writer.outputStream = this.outputStream;
+            writer.zone = this.zone;
+            writer.columns = this.schema.getColumns().toArray(new SheetSchema.Column[0]);
+            writer.styles = createStyles(writer.workbook, writer.columns);
+
+            if (this.header) {
+                final Row row = writer.sheet.createRow(writer.rowIndex++);
+
+                for (int i = 0; i < writer.columns.length; i++) {
+                    row.createCell(i).setCellValue(writer.columns[i].getHeader());
+                }
+            }
+
+            return writer;
+        }
+
+        /**
+         * 列定義の表示形式に対応するセルスタイルを列ごとに生成します。 同一の表示形式を持つ列はセルスタイルを共有します。
+         *
+         * @param workbook ワークブック
+         * @param columns  列定義
+         * @return 列ごとのセルスタイル
+         */
+        private static CellStyle[] createStyles(final SXSSFWorkbook workbook, final SheetSchema.Column[] columns) {
+
+            final DataFormat dataFormat = workbook.createDataFormat();
+            final CellStyle[] styles = new CellStyle[columns.length];
+
+            for (int i = 0; i < columns.length; i++) {
+                String format = columns[i].getFormat();
+
+                if (format == null && columns[i].getType() == SheetSchema.ColumnType.DATE) {
+                    format = DEFAULT_DATE_FORMAT;
+                }
+
+                if (format == null) {
+                    continue;
+                }
+
+                for (int j = 0; j < i; j++) {
+                    if (styles[j] != null && format.equals(styles[j].getDataFormatString())) {
+                        styles[i] = styles[j];
+                        break;
+                    }
+                }
+
+                if (styles[i] == null) {
+                    styles[i] = workbook.createCellStyle();
+                    styles[i].setDataFormat(dataFormat.getFormat(format));
+                }
+            }
+
+            return styles;
+        }
+    }
+}
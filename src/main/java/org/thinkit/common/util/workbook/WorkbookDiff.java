@@ -0,0 +1,259 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.workbook;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+
+import lombok.NonNull;
+
+/**
+ * 2つのワークブック間の差分を検出する機能を定義したクラスです。
+ * <p>
+ * 両ワークブックのシートを名前で対応付け、行と列を昇順に同時に走査してセルの値を直接比較します。
+ * 比較対象は読み込み済みのワークブックであるため、 ワークブック自体はメモリ上に保持されている必要があります。
+ * 差分は遅延評価されるストリームとして返却されるため、 比較処理で追加で保持されるのは比較中の1行分の差分のみです。
+ * <p>
+ * 空文字列となるセル(空白セル等)は存在しないセルとして扱います。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class WorkbookDiff {
+
+    /**
+     * デフォルトコンストラクタ
+     */
+    private WorkbookDiff() {
+    }
+
+    /**
+     * 引数として指定されたワークブック間の差分をストリームとして返却します。
+     * 比較元にのみ存在するシートのセルは {@link CellChange.Type#REMOVED}、 比較先にのみ存在するシートのセルは
+     * {@link CellChange.Type#ADDED} として返却されます。
+     *
+     * @param base   比較元のワークブック
+     * @param target 比較先のワークブック
+     * @return セルの差分のストリーム
+     *
+     * @exception NullPointerException 引数として {@code null} が渡された場合
+     */
+    static Stream<CellChange> diff(@NonNull final Workbook base, @NonNull final Workbook target) {
+
+        final List<String> sheetNames = new ArrayList<>();
+
+        for (Sheet sheet : base) {
+            sheetNames.add(sheet.getSheetName());
+        }
+
+        for (Sheet sheet : target) {
+            if (base.getSheet(sheet.getSheetName()) == null) {
+                sheetNames.add(sheet.getSheetName());
+            }
+        }
+
+        return sheetNames.stream()
+                .flatMap(sheetName -> diff(sheetName, base.getSheet(sheetName), target.getSheet(sheetName)));
+    }
+
+    /**
+     * 引数として指定されたシート間の差分をストリームとして返却します。
+     *
+     * @param sheetName シート名
+     * @param base      比較元のシート。 存在しない場合は {@code null}
+     * @param target    比較先のシート。 存在しない場合は {@code null}
+     * @return セルの差分のストリーム
+     */
+    private static Stream<CellChange> diff(final String sheetName, final Sheet base, final Sheet target) {
+
+        final Iterator<Row> baseRows = base == null ? Collections.emptyIterator() : base.rowIterator();
+        final Iterator<Row> targetRows = target == null ? Collections.emptyIterator() : target.rowIterator();
+
+        final Iterator<Pair<Row>> rowPairs = new MergeIterator<>(baseRows, targetRows, Row::getRowNum);
+
+        return StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(rowPairs, Spliterator.ORDERED | Spliterator.NONNULL),
+                        false)
+                .flatMap(rowPair -> diff(sheetName, rowPair.base, rowPair.target).stream());
+    }
+
+    /**
+     * 引数として指定された行間の差分をリストとして返却します。 差分が存在しない場合は空のリストを返却します。
+     *
+     * @param sheetName シート名
+     * @param base      比較元の行。 存在しない場合は {@code null}
+     * @param target    比較先の行。 存在しない場合は {@code null}
+     * @return セルの差分のリスト
+     */
+    private static List<CellChange> diff(final String sheetName, final Row base, final Row target) {
+
+        final Iterator<Cell> baseCells = base == null ? Collections.emptyIterator() : base.cellIterator();
+        final Iterator<Cell> targetCells = target == null ? Collections.emptyIterator() : target.cellIterator();
+
+        final Iterator<Pair<Cell>> cellPairs = new MergeIterator<>(baseCells, targetCells, Cell::getColumnIndex);
+        final List<CellChange> changes = new ArrayList<>();
+
+        while (cellPairs.hasNext()) {
+            final Pair<Cell> cellPair = cellPairs.next();
+            final String oldValue = cellPair.base == null ? "" : FluentCell.getValue(cellPair.base);
+            final String newValue = cellPair.target == null ? "" : FluentCell.getValue(cellPair.target);
+
+            if (oldValue.equals(newValue)) {
+                continue;
+            }
+
+            final Cell cell = cellPair.base != null ? cellPair.base : cellPair.target;
+            final Matrix matrix = Matrix.of(cell.getColumnIndex(), cell.getRowIndex());
+
+            if (oldValue.isEmpty()) {
+                changes.add(CellChange.of(CellChange.Type.ADDED, sheetName, matrix, null, newValue));
+            } else if (newValue.isEmpty()) {
+                changes.add(CellChange.of(CellChange.Type.REMOVED, sheetName, matrix, oldValue, null));
+            } else {
+                changes.add(CellChange.of(CellChange.Type.CHANGED, sheetName, matrix, oldValue, newValue));
+            }
+        }
+
+        return changes;
+    }
+
+    /**
+     * インデックスの昇順に整列された2つのイテレータを同時に走査し、同一インデックスの要素を {@link Pair} として返却するイテレータです。
+     * 一方にのみ存在するインデックスの場合、組の他方の要素は {@code null} となります。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    private static final class MergeIterator<T> implements Iterator<Pair<T>> {
+
+        /**
+         * 比較元のイテレータ
+         */
+        private final Iterator<T> base;
+
+        /**
+         * 比較先のイテレータ
+         */
+        private final Iterator<T> target;
+
+        /**
+         * 要素のインデックスを取得する関数
+         */
+        private final ToIntFunction<T> indexer;
+
+        /**
+         * 比較元の先読み要素
+         */
+        private T nextBase;
+
+        /**
+         * 比較先の先読み要素
+         */
+        private T nextTarget;
+
+        /**
+         * コンストラクタ
+         *
+         * @param base    比較元のイテレータ
+         * @param target  比較先のイテレータ
+         * @param indexer 要素のインデックスを取得する関数
+         */
+        private MergeIterator(final Iterator<T> base, final Iterator<T> target,
+                final ToIntFunction<T> indexer) {
+            this.base = base;
+            this.target = target;
+            this.indexer = indexer;
+            this.nextBase = base.hasNext() ? base.next() : null;
+            this.nextTarget = target.hasNext() ? target.next() : null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.nextBase != null || this.nextTarget != null;
+        }
+
+        @Override
+        public Pair<T> next() {
+
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            final T base = this.nextBase;
+            final T target = this.nextTarget;
+
+            if (target == null || (base != null && this.indexer.applyAsInt(base) < this.indexer.applyAsInt(target))) {
+                this.nextBase = this.base.hasNext() ? this.base.next() : null;
+                return new Pair<>(base, null);
+            }
+
+            if (base == null || this.indexer.applyAsInt(base) > this.indexer.applyAsInt(target)) {
+                this.nextTarget = this.target.hasNext() ? this.target.next() : null;
+                return new Pair<>(null, target);
+            }
+
+            this.nextBase = this.base.hasNext() ? this.base.next() : null;
+            this.nextTarget = this.target.hasNext() ? this.target.next() : null;
+
+            return new Pair<>(base, target);
+        }
+    }
+
+    /**
+     * 比較元と比較先の同一インデックスの要素の組を表すクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    private static final class Pair<T> {
+
+        /**
+         * 比較元の要素。 存在しない場合は {@code null}
+         */
+        private final T base;
+
+        /**
+         * 比較先の要素。 存在しない場合は {@code null}
+         */
+        private final T target;
+
+        /**
+         * コンストラクタ
+         *
+         * @param base   比較元の要素
+         * @param target 比較先の要素
+         */
+        private Pair(final T base, final T target) {
+            this.base = base;
+            this.target = target;
+        }
+    }
+}
@@ -0,0 +1,716 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.workbook;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveInputStream;
+import org.apache.commons.io.input.CloseShieldInputStream;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.poifs.crypt.Decryptor;
+import org.apache.poi.poifs.crypt.EncryptionInfo;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.xml.sax.SAXException;
+
+/**
+ * {@code .xlsx} 形式のワークブックを逐次読み込む {@link RowReader} の実装クラスです。
+ * <p>
+ * 各シートのXMLはStAXで逐次解析され、 共有文字列は {@link CompactSharedStrings} を通じて参照されます。
+ * <p>
+ * パスワードで暗号化されたワークブックは {@link Decryptor} が返却する復号ストリームをZIPとして逐次読み込みます。
+ * 1回目の走査でワークブックの定義と共有文字列テーブルを読み込み、 2回目の走査でシートを読み込むため、
+ * 復号したデータがディスクへ書き込まれることはなく、 パッケージ全体がメモリ上に複製されることもありません。
+ * この場合、シートはパッケージに格納された順序で返却されます。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class XssfRowReader implements RowReader {
+
+    /**
+     * StAXのファクトリ
+     */
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
+
+    /**
+     * 共有文字列テーブル
+     */
+    private final CompactSharedStrings sharedStrings;
+
+    /**
+     * シートの供給元
+     */
+    private final SheetSource sheets;
+
+    /**
+     * 読み込み中のシートのストリーム
+     */
+    private InputStream sheetStream;
+
+    /**
+     * 読み込み中のシートのリーダー
+     */
+    private XMLStreamReader sheetReader;
+
+    /**
+     * 読み込み中のシート名
+     */
+    private String sheetName;
+
+    /**
+     * 読み込み中のシートのインデックス
+     */
+    private int sheetIndex;
+
+    /**
+     * 読み込み中のシートで直前に解析した行のインデックス。 {@code r} 属性を持たない行のインデックスの算出に使用します。
+     */
+    private int previousRowIndex;
+
+    /**
+     * 先読みした行
+     */
+    private SheetRow nextRow;
+
+    /**
+     * コンストラクタ
+     *
+     * @param sharedStrings 共有文字列テーブル
+     * @param sheets        シートの供給元
+     */
+    private XssfRowReader(final CompactSharedStrings sharedStrings, final SheetSource sheets) {
+        this.sharedStrings = sharedStrings;
+        this.sheets = sheets;
+    }
+
+    /**
+     * 引数として指定されたファイルを読み込む {@link XssfRowReader} を生成し返却します。
+     *
+     * @param file ワークブックのファイル
+     * @return {@link XssfRowReader} の新しいインスタンス
+     *
+     * @exception ExcelHandlingException ファイルの読み込みに失敗した場合
+     */
+    static XssfRowReader open(final File file) {
+
+        final OPCPackage opcPackage;
+
+        try {
+            opcPackage = OPCPackage.open(file, PackageAccess.READ);
+        } catch (OpenXML4JException e) {
+            throw new ExcelHandlingException(String.format("The file (%s) could not be opened.", file), e);
+        }
+
+        try {
+            final XSSFReader xssfReader = new XSSFReader(opcPackage);
+            return new XssfRowReader(CompactSharedStrings.of(opcPackage),
+                    new PackageSheetSource(opcPackage, (XSSFReader.SheetIterator) xssfReader.getSheetsData()));
+        } catch (IOException | OpenXML4JException | SAXException | RuntimeException e) {
+            opcPackage.revert();
+            throw new ExcelHandlingException(String.format("The file (%s) could not be read.", file), e);
+        }
+    }
+
+    /**
+     * 引数として指定された暗号化済みのファイルを復号しながら読み込む {@link XssfRowReader} を生成し返却します。
+     *
+     * @param fileSystem 暗号化済みのワークブックのファイルシステム
+     * @param password   パスワード
+     * @return {@link XssfRowReader} の新しいインスタンス
+     *
+     * @exception ExcelHandlingException パスワードが一致しない場合、またはファイルの読み込みに失敗した場合
+     */
+    static XssfRowReader open(final POIFSFileSystem fileSystem, final String password) {
+        try {
+            final Decryptor decryptor = Decryptor.getInstance(new EncryptionInfo(fileSystem));
+
+            if (!decryptor.verifyPassword(password)) {
+                throw new ExcelHandlingException("The password for the encrypted workbook is incorrect.");
+            }
+
+            final EncryptedSheetSource sheets = new EncryptedSheetSource(fileSystem, decryptor);
+            return new XssfRowReader(sheets.readDefinitions(), sheets);
+        } catch (IOException | GeneralSecurityException | XMLStreamException | SAXException e) {
+            throw new ExcelHandlingException("The encrypted workbook could not be read.", e);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+
+        if (this.nextRow == null) {
+            this.nextRow = this.readRow();
+        }
+
+        return this.nextRow != null;
+    }
+
+    @Override
+    public SheetRow next() {
+
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        final SheetRow row = this.nextRow;
+        this.nextRow = null;
+
+        return row;
+    }
+
+    @Override
+    public void close() {
+        try {
+            this.closeSheet();
+        } finally {
+            try {
+                this.sheets.close();
+            } catch (IOException e) {
+                throw new ExcelHandlingException("The workbook could not be closed.", e);
+            }
+        }
+    }
+
+    /**
+     * 値を持つ次の行を読み込みます。 全てのシートを読み終えた場合は {@code null} を返却します。
+     *
+     * @return 次の行。 存在しない場合は {@code null}
+     *
+     * @exception ExcelHandlingException シートの読み込みに失敗した場合
+     */
+    private SheetRow readRow() {
+
+        try {
+            while (true) {
+                if (this.sheetReader == null) {
+                    this.sheetStream = this.sheets.next();
+
+                    if (this.sheetStream == null) {
+                        return null;
+                    }
+
+                    this.sheetReader = XML_INPUT_FACTORY.createXMLStreamReader(this.sheetStream);
+                    this.sheetName = this.sheets.getSheetName();
+                    this.sheetIndex = this.sheets.getSheetIndex();
+                    this.previousRowIndex = -1;
+                }
+
+                while (this.sheetReader.hasNext()) {
+                    if (this.sheetReader.next() == XMLStreamConstants.START_ELEMENT
+                            && "row".equals(this.sheetReader.getLocalName())) {
+                        final SheetRow row = this.parseRow();
+
+                        if (row != null) {
+                            return row;
+                        }
+                    }
+                }
+
+                this.closeSheet();
+            }
+        } catch (IOException | XMLStreamException e) {
+            throw new ExcelHandlingException(String.format("The sheet (%s) could not be parsed.", this.sheetName), e);
+        }
+    }
+
+    /**
+     * 読み込み中の {@code row} 要素を解析します。 値を持つセルが存在しない場合は {@code null} を返却します。
+     * {@code r} 属性を持たない行は直前の行の次の行として扱います。
+     *
+     * @return 解析した行。 値を持つセルが存在しない場合は {@code null}
+     *
+     * @throws XMLStreamException XMLの解析に失敗した場合
+     */
+    private SheetRow parseRow() throws XMLStreamException {
+
+        final String rowReference = this.sheetReader.getAttributeValue(null, "r");
+        final int rowIndex = rowReference == null ? this.previousRowIndex + 1 : Integer.parseInt(rowReference) - 1;
+        final List<String> values = new ArrayList<>();
+
+        int lastRowIndex = rowIndex;
+        int nextColumnIndex = 0;
+
+        while (this.sheetReader.hasNext()) {
+            final int event = this.sheetReader.next();
+
+            if (event == XMLStreamConstants.END_ELEMENT && "row".equals(this.sheetReader.getLocalName())) {
+                break;
+            }
+
+            if (event != XMLStreamConstants.START_ELEMENT || !"c".equals(this.sheetReader.getLocalName())) {
+                continue;
+            }
+
+            final String cellReference = this.sheetReader.getAttributeValue(null, "r");
+            final int columnIndex;
+
+            if (cellReference == null) {
+                columnIndex = nextColumnIndex;
+            } else {
+                final CellReference reference = new CellReference(cellReference);
+                columnIndex = reference.getCol();
+                lastRowIndex = reference.getRow();
+            }
+
+            final String value = this.parseCell(this.sheetReader.getAttributeValue(null, "t"));
+
+            if (!value.isEmpty()) {
+                while (values.size() < columnIndex) {
+                    values.add("");
+                }
+
+                values.add(value);
+            }
+
+            nextColumnIndex = columnIndex + 1;
+        }
+
+        this.previousRowIndex = lastRowIndex;
+
+        if (values.isEmpty()) {
+            return null;
+        }
+
+        return new SheetRow(this.sheetName, this.sheetIndex, lastRowIndex, values);
+    }
+
+    /**
+     * 読み込み中の {@code c} 要素を解析し、 {@link FluentCell#getValue(org.apache.poi.ss.usermodel.Cell)}
+     * と同じ形式の文字列を返却します。
+     *
+     * @param type セルの型を表す {@code t} 属性の値
+     * @return セルの値
+     *
+     * @throws XMLStreamException XMLの解析に失敗した場合
+     */
+    private String parseCell(final String type) throws XMLStreamException {
+
+        String rawValue = null;
+        StringBuilder inlineString = null;
+
+        while (this.sheetReader.hasNext()) {
+            final int event = this.sheetReader.next();
+
+            if (event == XMLStreamConstants.END_ELEMENT && "c".equals(this.sheetReader.getLocalName())) {
+                break;
+            }
+
+            if (event != XMLStreamConstants.START_ELEMENT) {
+                continue;
+            }
+
+            final String localName = this.sheetReader.getLocalName();
+
+            if ("v".equals(localName)) {
+                rawValue = this.sheetReader.getElementText();
+            } else if ("t".equals(localName)) {
+                if (inlineString == null) {
+                    inlineString = new StringBuilder();
+                }
+
+                inlineString.append(this.sheetReader.getElementText());
+            } else if ("rPh".equals(localName)) {
+                this.skipElement();
+            }
+        }
+
+        if (type == null || "n".equals(type)) {
+            return rawValue == null || rawValue.isEmpty() ? "" : String.valueOf(Double.parseDouble(rawValue));
+        }
+
+        switch (type) {
+            case "s":
+                return rawValue == null ? "" : this.sharedStrings.getString(Integer.parseInt(rawValue)).trim();
+            case "str":
+                return rawValue == null ? "" : rawValue.trim();
+            case "inlineStr":
+                return inlineString == null ? "" : inlineString.toString().trim();
+            case "b":
+                return rawValue == null ? "" : String.valueOf("1".equals(rawValue));
+            default:
+                return "";
+        }
+    }
+
+    /**
+     * 読み込み中の要素を子要素を含めて読み飛ばします。
+     *
+     * @throws XMLStreamException XMLの解析に失敗した場合
+     */
+    private void skipElement() throws XMLStreamException {
+
+        int depth = 1;
+
+        while (depth > 0 && this.sheetReader.hasNext()) {
+            final int event = this.sheetReader.next();
+
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    /**
+     * 読み込み中のシートのリソースを解放します。
+     *
+     * @exception ExcelHandlingException リソースの解放に失敗した場合
+     */
+    private void closeSheet() {
+
+        try {
+            if (this.sheetReader != null) {
+                this.sheetReader.close();
+            }
+
+            if (this.sheetStream != null) {
+                this.sheetStream.close();
+            }
+        } catch (XMLStreamException | IOException e) {
+            throw new ExcelHandlingException(String.format("The sheet (%s) could not be closed.", this.sheetName), e);
+        } finally {
+            this.sheetReader = null;
+            this.sheetStream = null;
+        }
+    }
+
+    /**
+     * 外部エンティティの解決を無効にしたStAXのファクトリを生成し返却します。
+     *
+     * @return StAXのファクトリ
+     */
+    private static XMLInputFactory createXmlInputFactory() {
+
+        final XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+        return factory;
+    }
+
+    /**
+     * 読み込むシートのストリームを順に供給する処理を定義したインターフェースです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    private interface SheetSource extends Closeable {
+
+        /**
+         * 次のシートのストリームを返却します。
+         *
+         * @return 次のシートのストリーム。 全てのシートを供給し終えた場合は {@code null}
+         *
+         * @throws IOException ストリームの取得に失敗した場合
+         */
+        InputStream next() throws IOException;
+
+        /**
+         * 直前に返却したシートの名前を返却します。
+         *
+         * @return シート名
+         */
+        String getSheetName();
+
+        /**
+         * 直前に返却したシートのインデックスを返却します。
+         *
+         * @return シートのインデックス
+         */
+        int getSheetIndex();
+    }
+
+    /**
+     * {@link OPCPackage} からシートを供給するクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    private static final class PackageSheetSource implements SheetSource {
+
+        /**
+         * パッケージ
+         */
+        private final OPCPackage opcPackage;
+
+        /**
+         * シートのイテレータ
+         */
+        private final XSSFReader.SheetIterator sheets;
+
+        /**
+         * 直前に返却したシートのインデックス
+         */
+        private int sheetIndex = -1;
+
+        /**
+         * コンストラクタ
+         *
+         * @param opcPackage パッケージ
+         * @param sheets     シートのイテレータ
+         */
+        private PackageSheetSource(final OPCPackage opcPackage, final XSSFReader.SheetIterator sheets) {
+            this.opcPackage = opcPackage;
+            this.sheets = sheets;
+        }
+
+        @Override
+        public InputStream next() {
+
+            if (!this.sheets.hasNext()) {
+                return null;
+            }
+
+            this.sheetIndex++;
+
+            return this.sheets.next();
+        }
+
+        @Override
+        public String getSheetName() {
+            return this.sheets.getSheetName();
+        }
+
+        @Override
+        public int getSheetIndex() {
+            return this.sheetIndex;
+        }
+
+        @Override
+        public void close() {
+            this.opcPackage.revert();
+        }
+    }
+
+    /**
+     * 暗号化されたパッケージの復号ストリームをZIPとして逐次読み込み、シートを供給するクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    private static final class EncryptedSheetSource implements SheetSource {
+
+        /**
+         * リレーションシップの名前空間
+         */
+        private static final String RELATIONSHIP_NAMESPACE = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+        /**
+         * ワークブックのパートの名前
+         */
+        private static final String WORKBOOK_PART = "xl/workbook.xml";
+
+        /**
+         * ワークブックのリレーションシップのパートの名前
+         */
+        private static final String WORKBOOK_RELATIONSHIPS_PART = "xl/_rels/workbook.xml.rels";
+
+        /**
+         * 共有文字列テーブルのパートの名前の接尾辞
+         */
+        private static final String SHARED_STRINGS_SUFFIX = "sharedStrings.xml";
+
+        /**
+         * 暗号化されたワークブックのファイルシステム
+         */
+        private final POIFSFileSystem fileSystem;
+
+        /**
+         * 復号処理
+         */
+        private final Decryptor decryptor;
+
+        /**
+         * シートのパートの名前からシートのインデックスへの対応
+         */
+        private final Map<String, Integer> sheetIndexes = new HashMap<>();
+
+        /**
+         * ワークブックに定義された順序のシート名
+         */
+        private final List<String> sheetNames = new ArrayList<>();
+
+        /**
+         * シートを読み込む際のZIPストリーム
+         */
+        private ZipArchiveInputStream zip;
+
+        /**
+         * 直前に返却したシートのインデックス
+         */
+        private int sheetIndex = -1;
+
+        /**
+         * コンストラクタ
+         *
+         * @param fileSystem 暗号化されたワークブックのファイルシステム
+         * @param decryptor  パスワードの検証が完了した復号処理
+         */
+        private EncryptedSheetSource(final POIFSFileSystem fileSystem, final Decryptor decryptor) {
+            this.fileSystem = fileSystem;
+            this.decryptor = decryptor;
+        }
+
+        /**
+         * パッケージを先頭から走査し、ワークブックに定義されたシートと共有文字列テーブルを読み込みます。
+         *
+         * @return 共有文字列テーブル
+         *
+         * @throws IOException              パッケージの読み込みに失敗した場合
+         * @throws GeneralSecurityException 復号に失敗した場合
+         * @throws XMLStreamException       ワークブックの定義の解析に失敗した場合
+         * @throws SAXException             共有文字列テーブルの解析に失敗した場合
+         */
+        private CompactSharedStrings readDefinitions()
+                throws IOException, GeneralSecurityException, XMLStreamException, SAXException {
+
+            final List<String[]> sheets = new ArrayList<>();
+            final Map<String, String> targets = new HashMap<>();
+            CompactSharedStrings sharedStrings = null;
+
+            try (ZipArchiveInputStream zip = new ZipArchiveInputStream(this.decryptor.getDataStream(this.fileSystem))) {
+                ZipArchiveEntry entry;
+
+                while ((entry = zip.getNextZipEntry()) != null) {
+                    final String name = entry.getName();
+
+                    if (WORKBOOK_PART.equals(name)) {
+                        readElements(zip, "sheet", "name", RELATIONSHIP_NAMESPACE, "id", sheets);
+                    } else if (WORKBOOK_RELATIONSHIPS_PART.equals(name)) {
+                        final List<String[]> relationships = new ArrayList<>();
+                        readElements(zip, "Relationship", "Id", null, "Target", relationships);
+                        relationships.forEach(relationship -> targets.put(relationship[0], relationship[1]));
+                    } else if (name.endsWith(SHARED_STRINGS_SUFFIX)) {
+                        sharedStrings = CompactSharedStrings.read(new CloseShieldInputStream(zip), 0);
+                    }
+                }
+            }
+
+            for (String[] sheet : sheets) {
+                final String target = targets.get(sheet[1]);
+
+                if (target != null) {
+                    this.sheetIndexes.put(target.startsWith("/") ? target.substring(1) : "xl/" + target,
+                            this.sheetNames.size());
+                }
+
+                this.sheetNames.add(sheet[0]);
+            }
+
+            return sharedStrings != null ? sharedStrings : CompactSharedStrings.empty();
+        }
+
+        @Override
+        public InputStream next() throws IOException {
+
+            if (this.zip == null) {
+                try {
+                    this.zip = new ZipArchiveInputStream(this.decryptor.getDataStream(this.fileSystem));
+                } catch (GeneralSecurityException e) {
+                    throw new IOException(e);
+                }
+            }
+
+            ZipArchiveEntry entry;
+
+            while ((entry = this.zip.getNextZipEntry()) != null) {
+                final Integer sheetIndex = this.sheetIndexes.get(entry.getName());
+
+                if (sheetIndex != null) {
+                    this.sheetIndex = sheetIndex;
+                    return new CloseShieldInputStream(this.zip);
+                }
+            }
+
+            return null;
+        }
+
+        @Override
+        public String getSheetName() {
+            return this.sheetNames.get(this.sheetIndex);
+        }
+
+        @Override
+        public int getSheetIndex() {
+            return this.sheetIndex;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                if (this.zip != null) {
+                    this.zip.close();
+                }
+            } finally {
+                this.fileSystem.close();
+            }
+        }
+
+        /**
+         * 引数として指定されたストリームのXMLから指定された要素の2つの属性値を順に読み込みます。 ストリームは閉じられません。
+         *
+         * @param inputStream     XMLのストリーム
+         * @param element         要素のローカル名
+         * @param firstAttribute  1つ目の属性のローカル名
+         * @param secondNamespace 2つ目の属性の名前空間。 名前空間を持たない場合は {@code null}
+         * @param secondAttribute 2つ目の属性のローカル名
+         * @param values          読み込んだ属性値の組を格納するリスト
+         *
+         * @throws XMLStreamException XMLの解析に失敗した場合
+         */
+        private static void readElements(final InputStream inputStream, final String element,
+                final String firstAttribute, final String secondNamespace, final String secondAttribute,
+                final List<String[]> values) throws XMLStreamException {
+
+            final XMLStreamReader reader = XML_INPUT_FACTORY
+                    .createXMLStreamReader(new CloseShieldInputStream(inputStream));
+
+            try {
+                while (reader.hasNext()) {
+                    if (reader.next() == XMLStreamConstants.START_ELEMENT && element.equals(reader.getLocalName())) {
+                        values.add(new String[] { reader.getAttributeValue(null, firstAttribute),
+                                reader.getAttributeValue(secondNamespace, secondAttribute) });
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.content;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link ConditionDecisionTable} クラスのテストクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class ConditionDecisionTableTest {
+
+    /**
+     * テストで使用するコンテンツ
+     */
+    private static final String CONTENT = "{\"selectionNodes\":["
+            + "{\"node\":{\"conditionId\":\"a\",\"result\":\"a\"}},"
+            + "{\"node\":{\"conditionId\":\"b\",\"result\":\"b\"}},"
+            + "{\"node\":{\"conditionId\":\"\",\"result\":\"always\"}},"
+            + "{\"node\":{\"conditionId\":\"c\",\"result\":\"c\"}},"
+            + "{\"node\":{\"conditionId\":\"d\",\"result\":\"d\"}}],"
+            + "\"conditionNodes\":["
+            + "{\"node\":{\"conditionId\":\"a\",\"exclude\":false,\"conditions\":["
+            + "{\"keyName\":\"lang\",\"operand\":\"=\",\"value\":\"java\"},"
+            + "{\"keyName\":\"os\",\"operand\":\"!=\",\"value\":\"windows\"}]}},"
+            + "{\"node\":{\"conditionId\":\"b\",\"exclude\":false,\"conditions\":["
+            + "{\"keyName\":\"lang\",\"operand\":\"=\",\"value\":\"java\"},"
+            + "{\"keyName\":\"lang\",\"operand\":\"=\",\"value\":\"go\"}]}},"
+            + "{\"node\":{\"conditionId\":\"c\",\"exclude\":true,\"conditions\":[]}},"
+            + "{\"node\":{\"conditionId\":\"d\",\"exclude\":false,\"conditions\":["
+            + "{\"keyName\":\"os\",\"operand\":\"=\",\"value\":null}]}}]}";
+
+    /**
+     * {@link ConditionDecisionTable#getConditionIds(Map)} メソッドのテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestGetConditionIds {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link ConditionDecisionTable#getConditionIds(Map)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・全ての条件を満たす条件ノードの条件IDが定義順に返却されること
+         * ・{@code "!="} の条件に一致する属性を持つ場合は一致しないこと
+         * ・同じキー名に異なる値の {@code "="} の条件を持つ条件ノード、 及び除外フラグが設定された条件ノードは一致しないこと
+         * ・値が {@code null} の条件は属性が存在しない場合に一致すること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testGetConditionIds() {
+            final ConditionDecisionTable table = ConditionDecisionTable.compile(load(CONTENT));
+
+            assertEquals(Arrays.asList("a", "d"), table.getConditionIds(attributes("lang", "java")));
+            assertEquals(Arrays.asList("a"), table.getConditionIds(attributes("lang", "java", "os", "linux")));
+            assertEquals(Collections.emptyList(), table.getConditionIds(attributes("lang", "java", "os", "windows")));
+            assertEquals(Arrays.asList("d"), table.getConditionIds(attributes("lang", "go")));
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link ConditionDecisionTable#getConditionIds(Map)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・コンテンツファイルの条件ノードが評価されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         *
+         * @throws URISyntaxException テスト用のファイルのパスが不正な場合
+         */
+        @Test
+        void testContentFile() throws URISyntaxException {
+            final ConditionDecisionTable table = ConditionDecisionTable.compile(ContentLoader.load(new File(
+                    ConditionDecisionTableTest.class.getClassLoader()
+                            .getResource("content/testContentWithSmallConditionNodes.json").toURI())));
+
+            assertEquals(Arrays.asList("1"),
+                    table.getConditionIds(attributes("testCondition1", "1", "testCondition2", "0")));
+            assertEquals(Arrays.asList("0"),
+                    table.getConditionIds(attributes("testCondition1", "0", "testCondition2", "")));
+            assertEquals(Collections.emptyList(), table.getConditionIds(attributes("testCondition1", "0")));
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link ConditionDecisionTable#compile(ContentDefinition)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・対応していない演算子が定義されている場合は {@link ContentLoadingException} が発生すること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testUnsupportedOperand() {
+            final ContentDefinition content = load("{\"conditionNodes\":[{\"node\":{\"conditionId\":\"0\","
+                    + "\"conditions\":[{\"keyName\":\"key\",\"operand\":\"<\",\"value\":\"1\"}]}}]}");
+
+            assertThrows(ContentLoadingException.class, () -> ConditionDecisionTable.compile(content));
+        }
+    }
+
+    /**
+     * {@link ConditionDecisionTable#select(Map)} メソッドのテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestSelect {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link ConditionDecisionTable#select(Map)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・一致した条件ノードの条件IDを持つ選択ノードが定義順に返却されること
+         * ・条件IDが空文字列の選択ノードは常に返却されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testSelect() {
+            final ConditionDecisionTable table = ConditionDecisionTable.compile(load(CONTENT));
+
+            assertEquals(Arrays.asList("a", "always", "d"), results(table.select(attributes("lang", "java"))));
+            assertEquals(Arrays.asList("always"), results(table.select(attributes("os", "windows"))));
+        }
+
+        /**
+         * 選択ノードの {@code result} の値のリストを返却します。
+         *
+         * @param selectionNodes 選択ノードのリスト
+         * @return {@code result} の値のリスト
+         */
+        private List<String> results(final List<SelectionNode> selectionNodes) {
+            return selectionNodes.stream().map(selectionNode -> selectionNode.get("result"))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * 引数として指定されたjson文字列をコンテンツ定義へ変換します。
+     *
+     * @param json json文字列
+     * @return コンテンツ定義
+     */
+    private static ContentDefinition load(final String json) {
+        return ContentLoader.load(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * 引数として指定されたキー名と値の組み合わせから属性を生成します。
+     *
+     * @param keyValues キー名と値を交互に並べた配列
+     * @return 属性
+     */
+    private static Map<String, String> attributes(final String... keyValues) {
+
+        final Map<String, String> attributes = new HashMap<>();
+
+        for (int i = 0; i < keyValues.length; i += 2) {
+            attributes.put(keyValues[i], keyValues[i + 1]);
+        }
+
+        return attributes;
+    }
+}
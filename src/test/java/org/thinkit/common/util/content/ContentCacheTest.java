@@ -0,0 +1,354 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.content;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link ContentCache} クラスのテストクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class ContentCacheTest {
+
+    /**
+     * テストで使用するファイルの確認間隔
+     */
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(50);
+
+    /**
+     * 再読み込みを待機する最大時間(ミリ秒)
+     */
+    private static final long TIMEOUT = 10000L;
+
+    /**
+     * テストで使用する一時ディレクトリ
+     */
+    private Path directory;
+
+    /**
+     * 一時ディレクトリを作成します。
+     *
+     * @throws IOException 一時ディレクトリを作成できない場合
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        this.directory = Files.createTempDirectory("content-cache");
+    }
+
+    /**
+     * 一時ディレクトリを削除します。
+     *
+     * @throws IOException 一時ディレクトリを削除できない場合
+     */
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(this.directory)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    /**
+     * テスト用のコンテンツファイルのバイト列を返却します。
+     *
+     * @param name コンテンツファイル名
+     * @return コンテンツファイルのバイト列
+     * @throws IOException        ファイルを読み込めない場合
+     * @throws URISyntaxException テスト用のファイルのパスが不正な場合
+     */
+    private static byte[] content(final String name) throws IOException, URISyntaxException {
+        return Files.readAllBytes(
+                Paths.get(ContentCacheTest.class.getClassLoader().getResource("content/" + name).toURI()));
+    }
+
+    /**
+     * 引数として指定された条件を満たすまで待機します。
+     *
+     * @param condition 待機する条件
+     * @throws InterruptedException 待機中に割り込まれた場合
+     */
+    private static void await(final BooleanSupplier condition) throws InterruptedException {
+
+        final long deadline = System.currentTimeMillis() + TIMEOUT;
+
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "The content was not reloaded.");
+            Thread.sleep(POLL_INTERVAL.toMillis() / 2);
+        }
+    }
+
+    /**
+     * {@link ContentCache#get(Path)} メソッドのテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestGet {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link ContentCache#get(Path)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・初回の参照時にコンテンツファイルが読み込まれること
+         * ・同じファイルを指すパスでは同じスナップショットが返却されること
+         * ・判定表がコンテンツ定義からコンパイルされていること
+         * ・閉じられたキャッシュを参照した場合は {@link IllegalStateException} が発生すること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         *
+         * @throws URISyntaxException テスト用のファイルのパスが不正な場合
+         */
+        @Test
+        void testGet() throws URISyntaxException {
+            final Path path = Paths.get(ContentCacheTest.class.getClassLoader()
+                    .getResource("content/testContentWithSmallConditionNodes.json").toURI());
+
+            final ContentCache cache = ContentCache.builder().build();
+
+            try {
+                final ContentDefinition content = cache.get(path);
+                final Map<String, String> attributes = new HashMap<>();
+                attributes.put("testCondition1", "1");
+                attributes.put("testCondition2", "0");
+
+                assertEquals(2, content.getSelectionNodes().size());
+                assertSame(content, cache.get(path.getParent().resolve(".").resolve(path.getFileName())));
+                assertSame(content, cache.getDecisionTable(path).getContent());
+                assertEquals(Arrays.asList("1"), cache.getDecisionTable(path).getConditionIds(attributes));
+            } finally {
+                cache.close();
+            }
+
+            assertThrows(IllegalStateException.class, () -> cache.get(path));
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 複数のスレッドから同時に初回の参照を行った場合の {@link ContentCache#get(Path)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・全てのスレッドに同じスナップショットが返却されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         *
+         * @throws Exception テスト用のファイルを読み込めない場合、またはスレッドの実行に失敗した場合
+         */
+        @Test
+        void testConcurrentGet() throws Exception {
+            final Path path = Paths.get(ContentCacheTest.class.getClassLoader()
+                    .getResource("content/testContentWithSmallConditionNodes.json").toURI());
+
+            final int threads = 8;
+            final CountDownLatch start = new CountDownLatch(1);
+            final ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+            try (ContentCache cache = ContentCache.builder().build()) {
+                final List<Future<ContentDefinition>> results = new ArrayList<>(threads);
+
+                for (int i = 0; i < threads; i++) {
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        return cache.get(path);
+                    }));
+                }
+
+                start.countDown();
+
+                for (Future<ContentDefinition> result : results) {
+                    assertSame(cache.get(path), result.get());
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    /**
+     * ファイルの変更を検知した再読み込みのテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestReload {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link java.nio.file.WatchService} を使用した {@link ContentCache} の再読み込みの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・ファイルが変更された場合に新しいコンテンツ定義へ差し替えられること
+         * ・判定表も新しいコンテンツ定義からコンパイルされたものへ差し替えられること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         *
+         * @throws Exception ファイルの操作または待機に失敗した場合
+         */
+        @Test
+        void testReloadOnChange() throws Exception {
+            final Path path = directory.resolve("content.json");
+            Files.write(path, content("testContentWithSmallSelectionNodes.json"));
+
+            try (ContentCache cache = ContentCache.builder().pollInterval(POLL_INTERVAL).build()) {
+                assertEquals(1, cache.get(path).getSelectionNodes().size());
+
+                Files.write(path, content("testContentWithMediumSelectionNodes.json"));
+
+                await(() -> cache.get(path).getSelectionNodes().size() == 10);
+                assertSame(cache.get(path), cache.getDecisionTable(path).getContent());
+            }
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link ContentCache.Builder#watch(boolean)} に {@code false} を指定した場合の再読み込みの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・ファイルの更新日時と大きさの確認により変更が検知されること
+         * ・同じディレクトリの複数のファイルがそれぞれ再読み込みされること
+         * ・変更されていないファイルのスナップショットは差し替えられないこと
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         *
+         * @throws Exception ファイルの操作または待機に失敗した場合
+         */
+        @Test
+        void testPolling() throws Exception {
+            final Path first = directory.resolve("first.json");
+            final Path second = directory.resolve("second.json");
+            final Path unchanged = directory.resolve("unchanged.json");
+            Files.write(first, content("testContentWithSmallSelectionNodes.json"));
+            Files.write(second, content("testContentWithSmallSelectionNodes.json"));
+            Files.write(unchanged, content("testContent.json"));
+
+            try (ContentCache cache = ContentCache.builder().pollInterval(POLL_INTERVAL).watch(false).build()) {
+                assertEquals(1, cache.get(first).getSelectionNodes().size());
+                assertEquals(1, cache.get(second).getSelectionNodes().size());
+                final ContentDefinition original = cache.get(unchanged);
+
+                Files.write(first, content("testContentWithMediumSelectionNodes.json"));
+                Files.write(second, content("testContentWithLargeSelectionNodes.json"));
+
+                await(() -> cache.get(first).getSelectionNodes().size() == 10);
+                await(() -> cache.get(second).getSelectionNodes().size() == 40);
+                assertSame(original, cache.get(unchanged));
+            }
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 書き込み途中のファイルを検知した場合の {@link ContentCache} の機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・解析できないファイルを検知した場合は直前のスナップショットが保持されること
+         * ・書き込みが完了した後の確認で新しいコンテンツ定義へ差し替えられること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * 書き込み途中の状態はコンテンツファイルの前半のみを書き込むことで再現する
+         * </pre>
+         *
+         * @throws Exception ファイルの操作または待機に失敗した場合
+         */
+        @Test
+        void testHalfWrittenFile() throws Exception {
+            final Path path = directory.resolve("content.json");
+            Files.write(path, content("testContentWithSmallSelectionNodes.json"));
+
+            try (ContentCache cache = ContentCache.builder().pollInterval(POLL_INTERVAL).watch(false).build()) {
+                final ContentDefinition original = cache.get(path);
+                final ConditionDecisionTable originalTable = cache.getDecisionTable(path);
+                final byte[] updated = content("testContentWithMediumSelectionNodes.json");
+
+                Files.write(path, Arrays.copyOf(updated, updated.length / 2));
+                Thread.sleep(POLL_INTERVAL.toMillis() * 10);
+
+                assertSame(original, cache.get(path));
+                assertSame(originalTable, cache.getDecisionTable(path));
+
+                Files.write(path, updated);
+
+                await(() -> cache.get(path).getSelectionNodes().size() == 10);
+            }
+        }
+    }
+}
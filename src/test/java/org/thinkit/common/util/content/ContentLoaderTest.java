@@ -0,0 +1,174 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.content;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link ContentLoader} クラスのテストクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class ContentLoaderTest {
+
+    /**
+     * テスト用のコンテンツファイルを返却します。
+     *
+     * @param name コンテンツファイル名
+     * @return コンテンツファイル
+     * @throws URISyntaxException テスト用のファイルのパスが不正な場合
+     */
+    private static File content(final String name) throws URISyntaxException {
+        return new File(ContentLoaderTest.class.getClassLoader().getResource("content/" + name).toURI());
+    }
+
+    /**
+     * {@link ContentLoader#load(File)} メソッドのテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestLoad {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link ContentLoader#load(File)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・メタ情報が定義順に読み込まれること
+         * ・選択ノードが条件IDで索引付けされること
+         * ・条件ノードの条件が定義順に読み込まれること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         *
+         * @throws URISyntaxException テスト用のファイルのパスが不正な場合
+         */
+        @Test
+        void testConditionNodes() throws URISyntaxException {
+            final ContentDefinition content = ContentLoader.load(content("testContentWithSmallConditionNodes.json"));
+
+            assertEquals("Kato Shinya", content.getMetadata().get("author"));
+            assertEquals("1.0", content.getMetadata().get("version"));
+
+            assertEquals(2, content.getSelectionNodes().size());
+            assertEquals("1", content.getSelectionNodes("1").get(0).get("result"));
+            assertTrue(content.getSelectionNodes("2").isEmpty());
+
+            final ConditionNode conditionNode = content.getConditionNode("1");
+            assertFalse(conditionNode.isExclude());
+            assertEquals(
+                    Arrays.asList(Condition.of("testCondition1", "=", "1"), Condition.of("testCondition2", "=", "0")),
+                    conditionNode.getConditions());
+            assertNull(content.getConditionNode("2"));
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link ContentLoader#load(File)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・同じ条件IDを持つ選択ノードが定義順に取得できること
+         * ・同じキー構成を持つ選択ノードのキー名と値が共有されたインスタンスであること
+         * ・{@code conditionId} がキー名に含まれないこと
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         *
+         * @throws URISyntaxException テスト用のファイルのパスが不正な場合
+         */
+        @Test
+        void testSelectionNodes() throws URISyntaxException {
+            final ContentDefinition content = ContentLoader.load(content("testContent.json"));
+            final List<SelectionNode> selectionNodes = content.getSelectionNodes("");
+
+            assertEquals(3, selectionNodes.size());
+            assertEquals(Arrays.asList("test1", "test2", "test3", "test4"), selectionNodes.get(0).getKeys());
+            assertEquals("0", selectionNodes.get(0).get("test1"));
+            assertEquals("4", selectionNodes.get(1).get("test4"));
+            assertFalse(selectionNodes.get(0).containsKey("conditionId"));
+            assertSame(selectionNodes.get(1).get("test1"), selectionNodes.get(2).get("test1"));
+            assertSame(selectionNodes.get(1).getKeys().get(3), selectionNodes.get(2).getKeys().get(3));
+            assertEquals(selectionNodes.get(1), selectionNodes.get(2));
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link ContentLoader#load(java.io.InputStream)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・構造が不正なコンテンツの場合は {@link ContentLoadingException} が発生すること
+         * ・同じ条件IDを持つ条件ノードが複数定義されている場合は {@link ContentLoadingException} が発生すること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testInvalidContent() {
+            assertThrows(ContentLoadingException.class, () -> ContentLoader.load(stream("[]")));
+            assertThrows(ContentLoadingException.class,
+                    () -> ContentLoader.load(stream("{\"selectionNodes\":[{\"node\":{\"result\":[1]}}]}")));
+            assertThrows(ContentLoadingException.class, () -> ContentLoader.load(stream(
+                    "{\"conditionNodes\":[{\"node\":{\"conditionId\":\"0\"}},{\"node\":{\"conditionId\":\"0\"}}]}")));
+        }
+
+        /**
+         * 引数として指定された文字列を読み込む入力ストリームを返却します。
+         *
+         * @param json json文字列
+         * @return 入力ストリーム
+         */
+        private ByteArrayInputStream stream(final String json) {
+            return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.content;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link ContentSnapshot} クラスのテストクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class ContentSnapshotTest {
+
+    /**
+     * {@link ContentSnapshot#load(Path, Path)} メソッドのテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestLoad {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link ContentSnapshot#load(Path, Path)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・スナップショットから読み込んだコンテンツ定義がjsonを解析した結果と等しいこと
+         * ・変換元のファイルが変更された場合はjsonを解析し、 スナップショットが作成し直されること
+         * ・破損したスナップショットはjsonの解析結果で置き換えられること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * テスト用の一時ディレクトリはテスト終了時に削除する。
+         * </pre>
+         *
+         * @throws IOException        一時ファイルの操作に失敗した場合
+         * @throws URISyntaxException テスト用のファイルのパスが不正な場合
+         */
+        @Test
+        void testLoad() throws IOException, URISyntaxException {
+            final Path directory = Files.createTempDirectory("content");
+            final Path source = directory.resolve("content.json");
+            final Path snapshot = directory.resolve("content.snapshot");
+
+            try {
+                Files.copy(Paths.get(ContentSnapshotTest.class.getClassLoader()
+                        .getResource("content/testContentWithLargeConditionNodes.json").toURI()), source);
+
+                final ContentDefinition content = ContentSnapshot.compile(source, snapshot);
+
+                assertEquals(ContentLoader.load(source.toFile()), content);
+                assertEquals(content, ContentSnapshot.load(source, snapshot));
+
+                Files.write(source, "{\"selectionNodes\":[{\"node\":{\"conditionId\":\"\",\"result\":\"changed\"}}]}"
+                        .getBytes(StandardCharsets.UTF_8));
+                Files.setLastModifiedTime(source, FileTime.fromMillis(0L));
+
+                assertEquals("changed", result(source, snapshot));
+                assertEquals("changed", result(source, snapshot));
+
+                final byte[] bytes = Files.readAllBytes(snapshot);
+                bytes[bytes.length - 1] ^= 1;
+                Files.write(snapshot, bytes);
+
+                assertEquals(Arrays.asList("result"),
+                        ContentSnapshot.load(source, snapshot).getSelectionNodes().get(0).getKeys());
+                assertTrue(Files.readAllBytes(snapshot)[bytes.length - 1] != bytes[bytes.length - 1]);
+            } finally {
+                Files.deleteIfExists(source);
+                Files.deleteIfExists(snapshot);
+                Files.delete(directory);
+            }
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 変換元のファイルの大きさと更新日時が変わらずに内容のみが変更された場合の {@link ContentSnapshot#load(Path, Path)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・変換元のファイルではなくスナップショットのコンテンツ定義が返却されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * スナップショットの鮮度は変換元のファイルの大きさと更新日時のみで判定するため、 内容の変更は検知されない。
+         * </pre>
+         *
+         * @throws IOException        一時ファイルの操作に失敗した場合
+         * @throws URISyntaxException テスト用のファイルのパスが不正な場合
+         */
+        @Test
+        void testSameSizeAndLastModified() throws IOException, URISyntaxException {
+            final Path directory = Files.createTempDirectory("content");
+            final Path source = directory.resolve("content.json");
+            final Path snapshot = directory.resolve("content.snapshot");
+
+            try {
+                final byte[] original = Files.readAllBytes(Paths.get(ContentSnapshotTest.class.getClassLoader()
+                        .getResource("content/testContentWithSmallSelectionNodes.json").toURI()));
+                Files.write(source, original);
+
+                final ContentDefinition content = ContentSnapshot.compile(source, snapshot);
+                final FileTime lastModified = Files.getLastModifiedTime(source);
+                final byte[] changed = new String(original, StandardCharsets.UTF_8)
+                        .replace("\"test5\": \"test\"", "\"test5\": \"tset\"").getBytes(StandardCharsets.UTF_8);
+
+                assertEquals(original.length, changed.length);
+                Files.write(source, changed);
+                Files.setLastModifiedTime(source, lastModified);
+
+                final ContentDefinition loaded = ContentSnapshot.load(source, snapshot);
+
+                assertEquals(content, loaded);
+                assertEquals("test", loaded.getSelectionNodes().get(0).get("test5"));
+                assertNotEquals(ContentLoader.load(source.toFile()), loaded);
+            } finally {
+                Files.deleteIfExists(source);
+                Files.deleteIfExists(snapshot);
+                Files.delete(directory);
+            }
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * ヘッダが破損したスナップショットに対する {@link ContentSnapshot#load(Path, Path)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・ヘッダのレコード数が破損した場合はチェックサムの不一致によりjsonの解析結果が返却されること
+         * ・チェックサムが一致していてもレコード数がスナップショットの大きさを超える場合はjsonの解析結果が返却されること
+         * ・いずれの場合もレコード数に応じた領域を確保せずに、 スナップショットが作成し直されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * チェックサムの位置を0としたファイル全体のCRC32を計算し、 チェックサムが一致する破損したスナップショットを作成する。
+         * </pre>
+         *
+         * @throws IOException        一時ファイルの操作に失敗した場合
+         * @throws URISyntaxException テスト用のファイルのパスが不正な場合
+         */
+        @Test
+        void testCorruptedHeader() throws IOException, URISyntaxException {
+            final Path directory = Files.createTempDirectory("content");
+            final Path source = directory.resolve("content.json");
+            final Path snapshot = directory.resolve("content.snapshot");
+
+            try {
+                Files.copy(Paths.get(ContentSnapshotTest.class.getClassLoader()
+                        .getResource("content/testContentWithLargeConditionNodes.json").toURI()), source);
+
+                final ContentDefinition content = ContentSnapshot.compile(source, snapshot);
+                final byte[] original = Files.readAllBytes(snapshot);
+
+                final byte[] flipped = original.clone();
+                flipped[40] ^= 0x40;
+                Files.write(snapshot, flipped);
+
+                assertEquals(content, ContentSnapshot.load(source, snapshot));
+                assertArrayEquals(original, Files.readAllBytes(snapshot));
+
+                final byte[] oversized = original.clone();
+                oversized[40] = 0x7F;
+                Arrays.fill(oversized, 32, 40, (byte) 0);
+
+                final CRC32 crc = new CRC32();
+                crc.update(oversized);
+                final long checksum = crc.getValue();
+
+                for (int i = 0; i < Long.BYTES; i++) {
+                    oversized[32 + i] = (byte) (checksum >>> (56 - i * 8));
+                }
+
+                Files.write(snapshot, oversized);
+
+                assertEquals(content, ContentSnapshot.load(source, snapshot));
+                assertArrayEquals(original, Files.readAllBytes(snapshot));
+            } finally {
+                Files.deleteIfExists(source);
+                Files.deleteIfExists(snapshot);
+                Files.delete(directory);
+            }
+        }
+
+        /**
+         * スナップショットから読み込んだ最初の選択ノードの {@code result} の値を返却します。
+         *
+         * @param source   変換元のコンテンツファイルのパス
+         * @param snapshot スナップショットのパス
+         * @return {@code result} の値
+         */
+        private String result(final Path source, final Path snapshot) {
+            return ContentSnapshot.load(source, snapshot).getSelectionNodes().get(0).get("result");
+        }
+    }
+}
@@ -0,0 +1,417 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.thinkit.common.util.json.BinaryJsonConverter.Format;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * {@link BinaryJsonConverter} クラスのテストクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class BinaryJsonConverterTest {
+
+    /**
+     * テストで使用するjson文字列
+     */
+    private static final String JSON = "{\"id\":1,\"name\":\"テスト\",\"score\":1.5,\"tags\":[\"a\",\"b\"]}";
+
+    /**
+     * テストで使用するjsonに対応するオブジェクト
+     */
+    private static final Sample SAMPLE = new Sample(1, "テスト", 1.5, Arrays.asList("a", "b"));
+
+    /**
+     * テストで使用するバイナリ形式の変換先となるクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static final class Sample {
+
+        /**
+         * ID
+         */
+        private int id;
+
+        /**
+         * 名前
+         */
+        private String name;
+
+        /**
+         * 得点
+         */
+        private double score;
+
+        /**
+         * タグ
+         */
+        private List<String> tags;
+    }
+
+    /**
+     * {@link BinaryJsonConverter#toBytes(Object, Format)} 、 {@link BinaryJsonConverter#toObject(byte[], Class, Format)}
+     * メソッド等の往復変換のテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestRoundTrip {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link BinaryJsonConverter#toBytes(Object, Format)} 、
+         * {@link BinaryJsonConverter#toObject(byte[], Class, Format)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・SmileとCBORのそれぞれの形式で元のオブジェクトへ復元されること
+         * ・Smile形式のバイト列はSmileのヘッダーで始まること
+         * ・バイナリ形式のバイト列はテキスト形式のjsonより小さいこと
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testBytes() {
+            for (Format format : Format.values()) {
+                final byte[] bytes = BinaryJsonConverter.toBytes(SAMPLE, format);
+
+                assertEquals(SAMPLE, BinaryJsonConverter.toObject(bytes, Sample.class, format));
+                assertEquals(SAMPLE, BinaryJsonConverter.toObject(bytes, new TypeReference<Sample>() {
+                }, format));
+                assertTrue(bytes.length < JSON.getBytes(StandardCharsets.UTF_8).length);
+            }
+
+            final byte[] smile = BinaryJsonConverter.toBytes(SAMPLE, Format.SMILE);
+            assertEquals(":)\n", new String(smile, 0, 3, StandardCharsets.US_ASCII));
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link BinaryJsonConverter#write(Object, java.io.OutputStream, Format)} 、
+         * {@link BinaryJsonConverter#toObject(java.io.InputStream, Class, Format)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・出力ストリームへ書き込んだバイト列が {@link BinaryJsonConverter#toBytes(Object, Format)} と一致すること
+         * ・出力ストリームが閉じられないこと
+         * ・入力ストリームから元のオブジェクトへ復元されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testStream() {
+            for (Format format : Format.values()) {
+                final AtomicBoolean closed = new AtomicBoolean();
+                final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+                BinaryJsonConverter.write(SAMPLE, new FilterOutputStream(outputStream) {
+
+                    @Override
+                    public void close() {
+                        closed.set(true);
+                    }
+                }, format);
+
+                assertTrue(Arrays.equals(BinaryJsonConverter.toBytes(SAMPLE, format), outputStream.toByteArray()));
+                assertFalse(closed.get());
+                assertEquals(SAMPLE, BinaryJsonConverter
+                        .toObject(new ByteArrayInputStream(outputStream.toByteArray()), Sample.class, format));
+                assertEquals(SAMPLE, BinaryJsonConverter.toObject(
+                        new ByteArrayInputStream(outputStream.toByteArray()), new TypeReference<Sample>() {
+                        }, format));
+            }
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link BinaryJsonConverter#toObject(ByteBuffer, Class, Format)} 、
+         * {@link BinaryJsonConverter#toObject(ByteBuffer, TypeReference, Format)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・ヒープ上のバッファとダイレクトバッファのどちらからも元のオブジェクトへ復元されること
+         * ・バッファの位置から上限までの範囲のみが変換されること
+         * ・バッファの位置が変更されないこと
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testBuffer() {
+            for (Format format : Format.values()) {
+                final byte[] bytes = BinaryJsonConverter.toBytes(SAMPLE, format);
+
+                for (ByteBuffer buffer : Arrays.asList(ByteBuffer.allocate(bytes.length + 4),
+                        ByteBuffer.allocateDirect(bytes.length + 4))) {
+                    buffer.put(new byte[] { 0, 0 }).put(bytes).put(new byte[] { 0, 0 }).flip();
+                    buffer.position(2).limit(2 + bytes.length);
+
+                    assertEquals(SAMPLE, BinaryJsonConverter.toObject(buffer, Sample.class, format));
+                    assertEquals(2, buffer.position());
+                    assertEquals(SAMPLE, BinaryJsonConverter.toObject(buffer, new TypeReference<Sample>() {
+                    }, format));
+                }
+            }
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 不正なバイト列に対する {@link BinaryJsonConverter#toObject(byte[], Class, Format)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・途中で切り詰められたバイト列の場合は {@link JsonConvertingException} が発生すること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testTruncatedBytes() {
+            for (Format format : Format.values()) {
+                final byte[] bytes = BinaryJsonConverter.toBytes(SAMPLE, format);
+                final byte[] truncated = Arrays.copyOf(bytes, bytes.length / 2);
+
+                assertThrows(JsonConvertingException.class,
+                        () -> BinaryJsonConverter.toObject(truncated, Sample.class, format));
+            }
+        }
+    }
+
+    /**
+     * テキスト形式のjsonとの相互変換を行う {@link BinaryJsonConverter} のメソッドのテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestText {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link BinaryJsonConverter#toJsonString(byte[], Format)} 、
+         * {@link BinaryJsonConverter#toLinkedHashMap(byte[], Format)} 、
+         * {@link BinaryJsonConverter#toHashMap(byte[], Format)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・バイナリ形式のバイト列がテキスト形式のjsonと同じ内容へ変換されること
+         * ・{@link LinkedHashMap} へ変換した場合はプロパティの順序が保持されること
+         * ・値を含まないバイト列の場合は空文字列が返却されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testToJsonString() {
+            for (Format format : Format.values()) {
+                final byte[] bytes = BinaryJsonConverter.toBytes(SAMPLE, format);
+
+                assertEquals(JSON, BinaryJsonConverter.toJsonString(bytes, format));
+                assertEquals(JsonConverter.toLinkedHashMap(JSON), BinaryJsonConverter.toHashMap(bytes, format));
+                assertTrue(BinaryJsonConverter.toHashMap(bytes, format) instanceof HashMap);
+                assertEquals(Arrays.asList("id", "name", "score", "tags"),
+                        Arrays.asList(BinaryJsonConverter.toLinkedHashMap(bytes, format).keySet().toArray()));
+                assertEquals("", BinaryJsonConverter.toJsonString(new byte[0], format));
+            }
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link BinaryJsonConverter#write(File, java.io.OutputStream, Format)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・ファイルに定義されたテキスト形式のjsonが指定された形式へ変換されること
+         * ・変換したバイト列を元のオブジェクトへ復元できること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         *
+         * @throws IOException 一時ファイルを作成できない場合
+         */
+        @Test
+        void testWriteFile() throws IOException {
+            final File file = File.createTempFile("binary-json-converter", ".json");
+
+            try {
+                Files.write(file.toPath(), ("{\n  \"id\" : 1,\n  \"name\" : \"テスト\",\n  \"score\" : 1.5,\n"
+                        + "  \"tags\" : [ \"a\", \"b\" ]\n}\n").getBytes(StandardCharsets.UTF_8));
+
+                for (Format format : Format.values()) {
+                    final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                    BinaryJsonConverter.write(file, outputStream, format);
+
+                    assertEquals(SAMPLE,
+                            BinaryJsonConverter.toObject(outputStream.toByteArray(), Sample.class, format));
+                    assertEquals(JSON, BinaryJsonConverter.toJsonString(outputStream.toByteArray(), format));
+                }
+            } finally {
+                Files.deleteIfExists(file.toPath());
+            }
+        }
+    }
+
+    /**
+     * 値の並びを扱う {@link BinaryJsonConverter} のメソッドのテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestValues {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link BinaryJsonConverter#writeValues(Stream, java.io.OutputStream, Format)} 、
+         * {@link BinaryJsonConverter#toObjectStream(java.io.InputStream, Class, Format)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・書き込んだ値の数が返却されること
+         * ・書き込んだ値の並びが順序どおりに復元されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testWriteValues() {
+            final List<Sample> samples = Arrays.asList(SAMPLE, new Sample(2, "b", 0.0, Arrays.asList()),
+                    new Sample(3, "c", -2.25, null));
+
+            for (Format format : Format.values()) {
+                final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+                assertEquals(3L, BinaryJsonConverter.writeValues(samples.stream(), outputStream, format));
+
+                try (Stream<Sample> stream = BinaryJsonConverter
+                        .toObjectStream(new ByteArrayInputStream(outputStream.toByteArray()), Sample.class, format)) {
+                    assertEquals(samples, stream.collect(Collectors.toList()));
+                }
+            }
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link BinaryJsonConverter#extract(byte[], JsonPointerQuery, Format)} 、
+         * {@link BinaryJsonConverter#extract(java.io.InputStream, JsonPointerQuery, Format)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・バイナリ形式のバイト列からJSON Pointerに一致する値が抽出されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testExtract() {
+            final JsonPointerQuery query = JsonPointerQuery.compile("/name", "/tags/1", "/missing");
+
+            for (Format format : Format.values()) {
+                final byte[] bytes = BinaryJsonConverter.toBytes(SAMPLE, format);
+
+                final Map<String, JsonNode> values = BinaryJsonConverter.extract(bytes, query, format);
+                assertEquals(Arrays.asList("/name", "/tags/1"), Arrays.asList(values.keySet().toArray()));
+                assertEquals("テスト", values.get("/name").asText());
+                assertEquals("b", BinaryJsonConverter.extract(new ByteArrayInputStream(bytes), query, format)
+                        .get("/tags/1").asText());
+            }
+        }
+    }
+}
@@ -0,0 +1,760 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * {@link JsonConverter} クラスのテストクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class JsonConverterTest {
+
+    /**
+     * テストで使用するjson文字列
+     */
+    private static final String JSON = "{\"id\":1,\"name\":\"test\",\"tags\":[\"a\",\"b\"]}";
+
+    /**
+     * テストで使用するjsonに対応するオブジェクト
+     */
+    private static final Sample SAMPLE = new Sample(1, "test", Arrays.asList("a", "b"));
+
+    /**
+     * テストで使用するjsonの変換先となるクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static final class Sample {
+
+        /**
+         * ID
+         */
+        private int id;
+
+        /**
+         * 名前
+         */
+        private String name;
+
+        /**
+         * タグ
+         */
+        private List<String> tags;
+    }
+
+    /**
+     * {@link JsonConverter#reader(Class)} 、 {@link JsonConverter#reader(TypeReference)} 、
+     * {@link JsonConverter#writer(Class)} メソッドのテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestCache {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link JsonConverter#reader(Class)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・同じクラスに対して同じ {@link ObjectReader} が返却されること
+         * ・異なるクラスに対して異なる {@link ObjectReader} が返却されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testClassReader() {
+            final ObjectReader reader = JsonConverter.reader(Sample.class);
+
+            assertSame(reader, JsonConverter.reader(Sample.class));
+            assertNotSame(reader, JsonConverter.reader(String.class));
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link JsonConverter#reader(TypeReference)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・同じ型を表す異なる {@link TypeReference} のインスタンスに対して同じ {@link ObjectReader} が返却されること
+         * ・型引数が異なる場合は異なる {@link ObjectReader} が返却されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testTypeReader() {
+            final ObjectReader reader = JsonConverter.reader(new TypeReference<Map<String, Sample>>() {
+            });
+
+            assertSame(reader, JsonConverter.reader(new TypeReference<Map<String, Sample>>() {
+            }));
+            assertNotSame(reader, JsonConverter.reader(new TypeReference<Map<String, String>>() {
+            }));
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link JsonConverter#writer(Class)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・同じクラスに対して同じ {@link com.fasterxml.jackson.databind.ObjectWriter} が返却されること
+         * ・複数のスレッドから同時に取得した場合も1つのインスタンスのみが返却されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testWriter() {
+            assertSame(JsonConverter.writer(Sample.class), JsonConverter.writer(Sample.class));
+
+            final Set<Object> writers = ConcurrentHashMap.newKeySet();
+            IntStream.range(0, 64).parallel().forEach(i -> writers.add(JsonConverter.writer(Sample.class)));
+
+            assertEquals(1, writers.size());
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * キャッシュされた {@link ObjectReader} と {@link com.fasterxml.jackson.databind.ObjectWriter} を使用した変換処理の機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・繰り返し変換しても同じ結果が返却されること
+         * ・{@link Class} と {@link TypeReference} のどちらを指定しても同じオブジェクトへ変換されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testRoundTrip() {
+            for (int i = 0; i < 3; i++) {
+                assertEquals(JSON, JsonConverter.toJsonString(SAMPLE));
+                assertEquals(SAMPLE, JsonConverter.toObject(JSON, Sample.class));
+                assertEquals(SAMPLE, JsonConverter.toObject(JSON, new TypeReference<Sample>() {
+                }));
+            }
+        }
+    }
+
+    /**
+     * バイト列、入力ストリーム、 {@link ByteBuffer} を扱う {@link JsonConverter} のメソッドのテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestBytes {
+
+        /**
+         * テストで使用するjsonのバイト列
+         */
+        private final byte[] json = JSON.getBytes(StandardCharsets.UTF_8);
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link JsonConverter#toObject(byte[], Class)} 、 {@link JsonConverter#toObject(byte[], TypeReference)}
+         * メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・バイト列からオブジェクトへ変換されること
+         * ・不正なjsonの場合は {@link JsonConvertingException} が発生すること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testToObjectFromBytes() {
+            assertEquals(SAMPLE, JsonConverter.toObject(this.json, Sample.class));
+            assertEquals("test", JsonConverter.toObject(this.json, new TypeReference<Map<String, Object>>() {
+            }).get("name"));
+            assertThrows(JsonConvertingException.class,
+                    () -> JsonConverter.toObject("{\"id\":".getBytes(StandardCharsets.UTF_8), Sample.class));
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link JsonConverter#toObject(java.io.InputStream, Class)} 、
+         * {@link JsonConverter#toObject(java.io.InputStream, TypeReference)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・入力ストリームからオブジェクトへ変換されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testToObjectFromInputStream() {
+            assertEquals(SAMPLE, JsonConverter.toObject(new ByteArrayInputStream(this.json), Sample.class));
+            assertEquals(SAMPLE,
+                    JsonConverter.toObject(new ByteArrayInputStream(this.json), new TypeReference<Sample>() {
+                    }));
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * ヒープ上の配列を持つバッファに対する {@link JsonConverter#toObject(ByteBuffer, Class)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・バッファの位置から上限までの範囲のみが変換されること
+         * ・配列のオフセットを持つバッファでも正しい範囲が変換されること
+         * ・バッファの位置が変更されないこと
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testToObjectFromHeapBuffer() {
+            final byte[] padded = new byte[this.json.length + 8];
+            Arrays.fill(padded, (byte) '#');
+            System.arraycopy(this.json, 0, padded, 4, this.json.length);
+
+            final ByteBuffer buffer = ByteBuffer.wrap(padded, 4, this.json.length);
+            assertEquals(SAMPLE, JsonConverter.toObject(buffer, Sample.class));
+            assertEquals(4, buffer.position());
+
+            buffer.position(2);
+            final ByteBuffer slice = buffer.slice();
+            slice.position(2).limit(2 + this.json.length);
+            assertEquals(SAMPLE, JsonConverter.toObject(slice, new TypeReference<Sample>() {
+            }));
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * ダイレクトバッファに対する {@link JsonConverter#toObject(ByteBuffer, Class)} 、
+         * {@link JsonConverter#toObject(ByteBuffer, TypeReference)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・ダイレクトバッファの位置から上限までの範囲がオブジェクトへ変換されること
+         * ・バッファの位置と上限が変更されず、 繰り返し変換できること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testToObjectFromDirectBuffer() {
+            final ByteBuffer buffer = ByteBuffer.allocateDirect(this.json.length + 8);
+            buffer.put((byte) ' ').put((byte) ' ').put(this.json).put((byte) '#').flip().position(2);
+
+            buffer.limit(buffer.limit() - 1);
+
+            assertEquals(SAMPLE, JsonConverter.toObject(buffer, Sample.class));
+            assertEquals(2, buffer.position());
+            assertEquals(2 + this.json.length, buffer.limit());
+            assertEquals(SAMPLE, JsonConverter.toObject(buffer, new TypeReference<Sample>() {
+            }));
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link JsonConverter#toJsonBytes(Object)} 、 {@link JsonConverter#writeJson(Object, java.io.OutputStream)}
+         * メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・{@link JsonConverter#toJsonString(Object)} と同じ内容のUTF-8のバイト列が出力されること
+         * ・出力ストリームが閉じられないこと
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testWriteJson() {
+            assertEquals(JSON, new String(JsonConverter.toJsonBytes(SAMPLE), StandardCharsets.UTF_8));
+
+            final AtomicBoolean closed = new AtomicBoolean();
+            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+            JsonConverter.writeJson(SAMPLE, new FilterOutputStream(outputStream) {
+
+                @Override
+                public void close() {
+                    closed.set(true);
+                }
+            });
+
+            assertEquals(JSON, new String(outputStream.toByteArray(), StandardCharsets.UTF_8));
+            assertFalse(closed.get());
+        }
+    }
+
+    /**
+     * {@link JsonConverter#toJsonString(File)} 、 {@link JsonConverter#writeJson(File, java.io.OutputStream)}
+     * メソッドのテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestFile {
+
+        /**
+         * テストで使用する一時ファイル
+         */
+        private File file;
+
+        /**
+         * 一時ファイルを作成します。
+         *
+         * @throws IOException 一時ファイルを作成できない場合
+         */
+        @BeforeEach
+        void setUp() throws IOException {
+            this.file = File.createTempFile("json-converter", ".json");
+        }
+
+        /**
+         * 一時ファイルを削除します。
+         *
+         * @throws IOException 一時ファイルを削除できない場合
+         */
+        @AfterEach
+        void tearDown() throws IOException {
+            Files.deleteIfExists(this.file.toPath());
+        }
+
+        /**
+         * 引数として指定された文字列をUTF-8で一時ファイルへ書き込みます。
+         *
+         * @param content 書き込む文字列
+         * @throws IOException 一時ファイルへ書き込めない場合
+         */
+        private void write(final String content) throws IOException {
+            Files.write(this.file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link JsonConverter#toJsonString(File)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・整形されたjsonが空白を除去した形式で返却されること
+         * ・マルチバイト文字とエスケープされた文字が保持されること
+         * ・jsonの値が定義されていないファイルの場合は空文字列が返却されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         *
+         * @throws IOException 一時ファイルへ書き込めない場合
+         */
+        @Test
+        void testToJsonString() throws IOException {
+            this.write("{\n  \"id\" : 1,\n  \"name\" : \"テスト \\\"quoted\\\"\",\n  \"tags\" : [ \"a\", \"b\" ]\n}\n");
+            assertEquals("{\"id\":1,\"name\":\"テスト \\\"quoted\\\"\",\"tags\":[\"a\",\"b\"]}",
+                    JsonConverter.toJsonString(this.file));
+
+            this.write("  \n");
+            assertEquals("", JsonConverter.toJsonString(this.file));
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 大きなファイルに対する {@link JsonConverter#toJsonString(File)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・読み込みバッファを超える大きさのファイルも全体が変換されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         *
+         * @throws IOException 一時ファイルへ書き込めない場合
+         */
+        @Test
+        void testToJsonStringWithLargeFile() throws IOException {
+            final StringBuilder pretty = new StringBuilder("[\n");
+            final StringBuilder minified = new StringBuilder("[");
+
+            for (int i = 0; i < 20000; i++) {
+                final String separator = i == 0 ? "" : ",";
+                pretty.append(separator).append("  { \"id\" : ").append(i).append(" }\n");
+                minified.append(separator).append("{\"id\":").append(i).append('}');
+            }
+
+            this.write(pretty.append(']').toString());
+
+            assertEquals(minified.append(']').toString(), JsonConverter.toJsonString(this.file));
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 不正なjsonが定義されたファイルに対する {@link JsonConverter#toJsonString(File)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・閉じられていないjsonの場合は {@link JsonConvertingException} が発生すること
+         * ・存在しないファイルの場合は {@link JsonConvertingException} が発生すること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         *
+         * @throws IOException 一時ファイルへ書き込めない場合
+         */
+        @Test
+        void testToJsonStringWithInvalidFile() throws IOException {
+            this.write("{\"id\": [1, 2");
+            assertThrows(JsonConvertingException.class, () -> JsonConverter.toJsonString(this.file));
+
+            Files.delete(this.file.toPath());
+            assertThrows(JsonConvertingException.class, () -> JsonConverter.toJsonString(this.file));
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link JsonConverter#writeJson(File, java.io.OutputStream)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・整形されたjsonが空白を除去した形式のUTF-8で出力されること
+         * ・出力ストリームが閉じられないこと
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         *
+         * @throws IOException 一時ファイルへ書き込めない場合
+         */
+        @Test
+        void testWriteJson() throws IOException {
+            this.write("{ \"id\" : 1, \"name\" : \"テスト\" }");
+
+            final AtomicBoolean closed = new AtomicBoolean();
+            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+            JsonConverter.writeJson(this.file, new FilterOutputStream(outputStream) {
+
+                @Override
+                public void close() {
+                    closed.set(true);
+                }
+            });
+
+            assertEquals("{\"id\":1,\"name\":\"テスト\"}", new String(outputStream.toByteArray(), StandardCharsets.UTF_8));
+            assertFalse(closed.get());
+        }
+    }
+
+    /**
+     * NDJSON形式のjsonを扱う {@link JsonConverter} のメソッドのテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestJsonLines {
+
+        /**
+         * テストで使用するNDJSON形式のjson
+         */
+        private static final String JSON_LINES = "{\"id\":1,\"name\":\"a\",\"tags\":[]}\n"
+                + "{\"id\":2,\"name\":\"b\",\"tags\":[\"x\"]}\n\n{\"id\":3,\"name\":\"c\",\"tags\":null}";
+
+        /**
+         * テストで使用する一時ファイル
+         */
+        private File file;
+
+        /**
+         * 一時ファイルを作成します。
+         *
+         * @throws IOException 一時ファイルを作成できない場合
+         */
+        @BeforeEach
+        void setUp() throws IOException {
+            this.file = File.createTempFile("json-converter", ".ndjson");
+            Files.write(this.file.toPath(), JSON_LINES.getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * 一時ファイルを削除します。
+         *
+         * @throws IOException 一時ファイルを削除できない場合
+         */
+        @AfterEach
+        void tearDown() throws IOException {
+            Files.deleteIfExists(this.file.toPath());
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link JsonConverter#toObjectStream(File, Class)} 、
+         * {@link JsonConverter#toObjectStream(java.io.InputStream, Class)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・各行が順序どおりにオブジェクトへ変換されること
+         * ・空行は読み飛ばされること
+         * ・末尾に改行がない最終行も変換されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testToObjectStream() {
+            try (Stream<Sample> stream = JsonConverter.toObjectStream(this.file, Sample.class)) {
+                assertEquals(Arrays.asList(1, 2, 3), stream.map(Sample::getId).collect(Collectors.toList()));
+            }
+
+            try (Stream<Sample> stream = JsonConverter.toObjectStream(
+                    new ByteArrayInputStream(JSON_LINES.getBytes(StandardCharsets.UTF_8)), Sample.class)) {
+                final List<Sample> samples = stream.collect(Collectors.toList());
+
+                assertEquals(3, samples.size());
+                assertEquals(Arrays.asList("x"), samples.get(1).getTags());
+                assertNull(samples.get(2).getTags());
+            }
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link JsonConverter#toObjectIterator(File, Class)} 、
+         * {@link JsonConverter#toObjectIterator(java.io.InputStream, Class)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・各行が順序どおりにオブジェクトへ変換されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         *
+         * @throws IOException イテレータを閉じられない場合
+         */
+        @Test
+        void testToObjectIterator() throws IOException {
+            try (MappingIterator<Sample> iterator = JsonConverter.toObjectIterator(this.file, Sample.class)) {
+                assertEquals(Arrays.asList(1, 2, 3),
+                        iterator.readAll().stream().map(Sample::getId).collect(Collectors.toList()));
+            }
+
+            try (MappingIterator<Sample> iterator = JsonConverter.toObjectIterator(
+                    new ByteArrayInputStream(JSON_LINES.getBytes(StandardCharsets.UTF_8)), Sample.class)) {
+                assertEquals("a", iterator.next().getName());
+            }
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 不正な行を含むNDJSONに対する {@link JsonConverter#toObjectStream(File, Class)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・不正な行を変換する時点で {@link JsonConvertingException} が発生すること
+         * ・存在しないファイルの場合は {@link JsonConvertingException} が発生すること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         *
+         * @throws IOException 一時ファイルへ書き込めない場合
+         */
+        @Test
+        void testToObjectStreamWithInvalidLine() throws IOException {
+            Files.write(this.file.toPath(), "{\"id\":1}\n{\"id\":\n".getBytes(StandardCharsets.UTF_8));
+
+            try (Stream<Sample> stream = JsonConverter.toObjectStream(this.file, Sample.class)) {
+                assertThrows(JsonConvertingException.class, () -> stream.forEach(sample -> {
+                }));
+            }
+
+            Files.delete(this.file.toPath());
+            assertThrows(JsonConvertingException.class, () -> JsonConverter.toObjectStream(this.file, Sample.class));
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link JsonConverter#writeJsonLines(Stream, java.io.OutputStream)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・各要素が1行のjsonとして改行文字で終端されて出力されること
+         * ・{@code null} の要素は {@code null} として出力されること
+         * ・書き込んだ行数が返却されること
+         * ・出力ストリームが閉じられないこと
+         * ・出力されたNDJSONを読み込むと元のオブジェクトへ変換されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * 読み込み時は {@code null} の行を変換できないため、 {@code null} を含まない出力で往復を確認する
+         * </pre>
+         */
+        @Test
+        void testWriteJsonLines() {
+            final AtomicBoolean closed = new AtomicBoolean();
+            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            final Sample second = new Sample(2, "テスト", Arrays.asList());
+
+            assertEquals(3L, JsonConverter.writeJsonLines(Stream.of(SAMPLE, null, second),
+                    new FilterOutputStream(outputStream) {
+
+                        @Override
+                        public void close() {
+                            closed.set(true);
+                        }
+                    }));
+
+            final String jsonLines = new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+
+            assertEquals(JSON + "\nnull\n{\"id\":2,\"name\":\"テスト\",\"tags\":[]}\n", jsonLines);
+            assertFalse(closed.get());
+
+            outputStream.reset();
+            JsonConverter.writeJsonLines(Stream.of(SAMPLE, second), outputStream);
+
+            try (Stream<Sample> stream = JsonConverter.toObjectStream(
+                    new ByteArrayInputStream(outputStream.toByteArray()), Sample.class)) {
+                assertEquals(Arrays.asList(SAMPLE, second), stream.collect(Collectors.toList()));
+            }
+        }
+    }
+}
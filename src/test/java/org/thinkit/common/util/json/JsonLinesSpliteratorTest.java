@@ -0,0 +1,282 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link JsonLinesSpliterator} クラスのテストクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class JsonLinesSpliteratorTest {
+
+    /**
+     * 分割可能な大きさのファイルに書き込む行数
+     */
+    private static final int LINES = 60000;
+
+    /**
+     * 各行に対応するクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    static final class Line {
+
+        /**
+         * ID
+         */
+        public int id;
+
+        /**
+         * 値
+         */
+        public String value;
+    }
+
+    /**
+     * テストで使用する一時ファイル
+     */
+    private File file;
+
+    /**
+     * 一時ファイルを作成します。
+     *
+     * @throws IOException 一時ファイルを作成できない場合
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        this.file = File.createTempFile("json-lines", ".ndjson");
+    }
+
+    /**
+     * 一時ファイルを削除します。
+     *
+     * @throws IOException 一時ファイルを削除できない場合
+     */
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(this.file.toPath());
+    }
+
+    /**
+     * 引数として指定された行数のNDJSONを一時ファイルへ書き込みます。 中央の行には走査用のバッファを超える長さの値を持たせます。
+     *
+     * @param lines 書き込む行数
+     * @throws IOException 一時ファイルへ書き込めない場合
+     */
+    private void writeLines(final int lines) throws IOException {
+
+        final String longValue = String.join("", Collections.nCopies(20000, "x"));
+
+        try (OutputStream outputStream = Files.newOutputStream(this.file.toPath())) {
+            for (int i = 0; i < lines; i++) {
+                final String value = i == lines / 2 ? longValue : "value-" + i;
+                outputStream.write(("{\"id\":" + i + ",\"value\":\"" + value + "\"}\n")
+                        .getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    /**
+     * 引数として指定された {@link Spliterator} の全ての要素のIDを返却します。
+     *
+     * @param spliterator 走査する {@link Spliterator}
+     * @return 要素のIDのリスト
+     */
+    private static List<Integer> ids(final Spliterator<Line> spliterator) {
+        final List<Integer> ids = new ArrayList<>();
+        spliterator.forEachRemaining(line -> ids.add(line.id));
+        return ids;
+    }
+
+    /**
+     * {@link JsonLinesSpliterator#trySplit()} メソッドのテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestTrySplit {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link JsonLinesSpliterator#trySplit()} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・分割可能な大きさのファイルが改行位置で2つの範囲へ分割されること
+         * ・分割された範囲を順に走査すると全ての行がファイル中の順序で1度ずつ変換されること
+         * ・走査用のバッファを超える長さの行を跨いで分割できること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         *
+         * @throws IOException ファイルの読み込みに失敗した場合
+         */
+        @Test
+        void testSplit() throws IOException {
+            writeLines(LINES);
+
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                final JsonLinesSpliterator<Line> suffix = JsonLinesSpliterator.of(JsonConverter.reader(Line.class),
+                        channel);
+                final long size = suffix.estimateSize();
+                final Spliterator<Line> prefix = suffix.trySplit();
+
+                assertNotNull(prefix);
+                assertEquals(size, prefix.estimateSize() + suffix.estimateSize());
+                assertTrue(prefix.estimateSize() >= size / 2);
+
+                final List<Integer> ids = ids(prefix);
+                ids.addAll(ids(suffix));
+
+                assertEquals(IntStream.range(0, LINES).boxed().collect(Collectors.toList()), ids);
+            }
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 分割できない場合の {@link JsonLinesSpliterator#trySplit()} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・分割を行う最小のバイト数に満たないファイルは分割されないこと
+         * ・入力ストリームを走査対象とする場合は分割されないこと
+         * ・走査を開始した後は分割されないこと
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         *
+         * @throws IOException ファイルの読み込みに失敗した場合
+         */
+        @Test
+        void testNoSplit() throws IOException {
+            writeLines(10);
+
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                assertNull(JsonLinesSpliterator.of(JsonConverter.reader(Line.class), channel).trySplit());
+            }
+
+            assertNull(JsonLinesSpliterator.of(JsonConverter.reader(Line.class),
+                    new ByteArrayInputStream(Files.readAllBytes(file.toPath()))).trySplit());
+
+            writeLines(LINES);
+
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                final JsonLinesSpliterator<Line> spliterator = JsonLinesSpliterator.of(
+                        JsonConverter.reader(Line.class), channel);
+
+                assertTrue(spliterator.tryAdvance(line -> assertEquals(0, line.id)));
+                assertNull(spliterator.trySplit());
+            }
+        }
+    }
+
+    /**
+     * 並列ストリームで使用した場合の {@link JsonLinesSpliterator} のテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestParallel {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link JsonConverter#toObjectStream(File, Class, boolean)} メソッドで並列ストリームを使用した場合の機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・全ての行が1度ずつ変換されること
+         * ・順序を保持する操作ではファイル中の順序が維持されること
+         * ・各行の内容が分割の境界を跨いでも正しく変換されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         *
+         * @throws IOException 一時ファイルへ書き込めない場合
+         */
+        @Test
+        void testParallelStream() throws IOException {
+            writeLines(LINES);
+
+            try (Stream<Line> stream = JsonConverter.toObjectStream(file, Line.class, true)) {
+                assertTrue(stream.isParallel());
+
+                final List<Line> lines = stream.collect(Collectors.toList());
+
+                assertEquals(IntStream.range(0, LINES).boxed().collect(Collectors.toList()),
+                        lines.stream().map(line -> line.id).collect(Collectors.toList()));
+                assertEquals("value-" + (LINES - 1), lines.get(LINES - 1).value);
+                assertEquals(20000, lines.get(LINES / 2).value.length());
+            }
+
+            try (Stream<Line> stream = JsonConverter.toObjectStream(file, Line.class, true)) {
+                final Map<Boolean, Long> counts = stream
+                        .collect(Collectors.partitioningBy(line -> line.id % 2 == 0, Collectors.counting()));
+
+                assertEquals(LINES / 2, counts.get(true).intValue());
+                assertEquals(LINES / 2, counts.get(false).intValue());
+            }
+        }
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link JsonPointerQuery} クラスのテストクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class JsonPointerQueryTest {
+
+    /**
+     * テストで使用するjson文字列
+     */
+    private static final String JSON = "{\"metadata\":{\"version\":\"1.0\",\"tags\":[\"a\",\"b\"]},"
+            + "\"nodes\":[{\"id\":1,\"skip\":{\"deep\":[1,2,3]}},{\"id\":2}],\"0\":\"zero\"}";
+
+    /**
+     * {@link JsonConverter#extract(String, JsonPointerQuery)} メソッドのテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestExtract {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link JsonConverter#extract(String, JsonPointerQuery)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・オブジェクトのプロパティと配列のインデックスを辿って値が抽出されること
+         * ・返却されるマップはクエリで指定した順序であること
+         * ・存在しないパスは返却されるマップに含まれないこと
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testExtract() {
+            final Map<String, JsonNode> values = JsonConverter.extract(JSON,
+                    JsonPointerQuery.compile("/nodes/1/id", "/metadata/version", "/metadata/missing", "/nodes/5"));
+
+            assertEquals(Arrays.asList("/nodes/1/id", "/metadata/version"), Arrays.asList(values.keySet().toArray()));
+            assertEquals(2, values.get("/nodes/1/id").asInt());
+            assertEquals("1.0", values.get("/metadata/version").asText());
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link JsonConverter#extract(String, JsonPointerQuery)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・オブジェクトや配列に一致した場合は部分木が抽出されること
+         * ・一致した部分木の子孫を指すパスも同時に抽出されること
+         * ・数値のセグメントがオブジェクトのプロパティ名にも一致すること
+         * ・空文字列のパスはjson全体に一致すること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testSubtree() {
+            final Map<String, JsonNode> values = JsonConverter.extract(JSON,
+                    JsonPointerQuery.compile("/metadata", "/metadata/tags/1", "/0"));
+
+            assertTrue(values.get("/metadata").isObject());
+            assertEquals("b", values.get("/metadata/tags/1").asText());
+            assertEquals("zero", values.get("/0").asText());
+
+            final JsonNode root = JsonConverter.extract(JSON.getBytes(StandardCharsets.UTF_8),
+                    JsonPointerQuery.compile("")).get("");
+
+            assertEquals(2, root.get("nodes").size());
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link JsonConverter#extract(java.io.InputStream, JsonPointerQuery)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・全てのパスが一致した時点で走査が終了し、後続の不正なjsonが解析されないこと
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testStopsEarly() {
+            final byte[] json = "{\"metadata\":{\"version\":\"2.0\"},\"broken\":[1,2,".getBytes(StandardCharsets.UTF_8);
+
+            final Map<String, JsonNode> values = JsonConverter.extract(new ByteArrayInputStream(json),
+                    JsonPointerQuery.compile("/metadata/version"));
+
+            assertEquals("2.0", values.get("/metadata/version").asText());
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link JsonConverter#extract(File, JsonPointerQuery)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・ファイルに定義されたjsonから値が抽出されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         *
+         * @throws URISyntaxException テスト用のファイルのパスが不正な場合
+         */
+        @Test
+        void testFile() throws URISyntaxException {
+            final File file = new File(
+                    JsonPointerQueryTest.class.getClassLoader().getResource("content/content.json").toURI());
+
+            final Map<String, JsonNode> values = JsonConverter.extract(file,
+                    JsonPointerQuery.compile("/metadata/version", "/selectionNodes/1/node/test2"));
+
+            assertEquals("1.0", values.get("/metadata/version").asText());
+            assertEquals("2", values.get("/selectionNodes/1/node/test2").asText());
+        }
+    }
+
+    /**
+     * {@link JsonPointerQuery#compile(String...)} メソッドのテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestCompile {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link JsonPointerQuery#compile(String...)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・重複したパスが1つにまとめられること
+         * ・パスが指定されていない場合、または形式が不正な場合は {@link IllegalArgumentException} が発生すること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testCompile() {
+            assertEquals(Arrays.asList("/a", "/b"), JsonPointerQuery.compile("/a", "/b", "/a").getPointers());
+            assertFalse(JsonPointerQuery.compile("/a").getPointers().isEmpty());
+            assertThrows(IllegalArgumentException.class, () -> JsonPointerQuery.compile());
+            assertThrows(IllegalArgumentException.class, () -> JsonPointerQuery.compile("metadata"));
+        }
+    }
+}
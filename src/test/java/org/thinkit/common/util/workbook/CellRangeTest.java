@@ -0,0 +1,125 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.workbook;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link CellRange} クラスのテストクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class CellRangeTest {
+
+    /**
+     * {@link CellRange#of(CharSequence)} メソッドのテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestOf {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link CellRange#of(CharSequence)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・A1形式の範囲が左上と右下の行列インデックスへ変換されること
+         * ・始点と終点が逆転している場合は正規化されること
+         * ・絶対参照の {@code $} 及び小文字の列名が解釈されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testRange() {
+            final CellRange range = CellRange.of("B2:F5000");
+
+            assertEquals(Matrix.of(1, 1), range.getFirst());
+            assertEquals(Matrix.of(5, 4999), range.getLast());
+            assertEquals(5, range.getColumnCount());
+            assertEquals(4999, range.getRowCount());
+            assertTrue(range.contains(3, 100));
+            assertFalse(range.contains(0, 100));
+
+            assertEquals(range, CellRange.of("F5000:B2"));
+            assertEquals(range, CellRange.of("$b$2:f$5000"));
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link CellRange#of(CharSequence)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・単一のセル参照の場合は1セルの範囲となること
+         * ・複数文字の列名及び最終列、最終行が正しく変換されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testSingleCell() {
+            assertEquals(Matrix.of(0, 0), CellRange.of("A1").getFirst());
+            assertEquals(Matrix.of(26, 9), CellRange.of("AA10").getLast());
+            assertEquals(Matrix.of(16383, 1048575), CellRange.of("XFD1048576").getFirst());
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link CellRange#of(CharSequence)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・不正な形式の参照が指定された場合は {@link IllegalArgumentException} が発生すること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testInvalid() {
+            for (String reference : new String[] { "", "A", "1", "A0", "1A", "A1:", ":A1", "A-1", "XFE1", "A1048577",
+                    "Sheet1!A1" }) {
+                assertThrows(IllegalArgumentException.class, () -> CellRange.of(reference), reference);
+            }
+        }
+    }
+}
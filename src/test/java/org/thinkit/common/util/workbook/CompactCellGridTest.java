@@ -0,0 +1,155 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.workbook;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link CompactCellGrid} クラスのテストクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class CompactCellGridTest {
+
+    /**
+     * {@link CompactCellGrid#of(Sheet)} メソッドのテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestOf {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link CompactCellGrid#of(Sheet)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・各セルの値が {@link FluentCell#getValue(org.apache.poi.ss.usermodel.Cell)} と同じ形式で取得できること
+         * ・存在しない行及びセルの位置が {@code -1} となること
+         * ・罫線のフラグがセルごとに保持されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testOf() throws IOException {
+            try (Workbook workbook = new XSSFWorkbook()) {
+                final Sheet sheet = workbook.createSheet();
+                final CellStyle style = workbook.createCellStyle();
+                style.setBorderRight(BorderStyle.THIN);
+
+                final Row first = sheet.createRow(0);
+                first.createCell(0).setCellValue(" text ");
+                first.createCell(3).setCellValue(1.5);
+
+                final Row third = sheet.createRow(2);
+                third.createCell(1).setCellValue(true);
+                third.createCell(2).setCellStyle(style);
+
+                final CompactCellGrid grid = CompactCellGrid.of(sheet);
+
+                assertEquals(2, grid.rowCount());
+                assertEquals(4, grid.size());
+                assertEquals("text", grid.valueAt(grid.position(0, 0)));
+                assertEquals("1.5", grid.valueAt(grid.position(3, 0)));
+                assertEquals("true", grid.valueAt(grid.position(1, 2)));
+                assertEquals("", grid.valueAt(grid.position(2, 2)));
+                assertEquals(CompactCellGrid.KIND_BLANK, grid.kindAt(grid.position(2, 2)));
+                assertEquals(2, grid.rowIndexOf(grid.position(2, 2)));
+                assertEquals(-1, grid.position(1, 0));
+                assertEquals(-1, grid.position(0, 1));
+                assertTrue(grid.hasBorder(grid.position(2, 2), CompactCellGrid.BORDER_RIGHT));
+                assertFalse(grid.hasBorder(grid.position(2, 2), CompactCellGrid.BORDER_LEFT));
+            }
+        }
+    }
+
+    /**
+     * {@link CompactCellGrid#find(String)} メソッドのテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestFind {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link CompactCellGrid#find(String)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・文字列、数値、真偽値の各セルについて最初に出現するセルの位置が返却されること
+         * ・値の型が異なる場合も文字列表現が一致すれば出現順で早いセルが返却されること
+         * ・存在しない値の場合は {@code -1} が返却されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testFind() throws IOException {
+            try (Workbook workbook = new XSSFWorkbook()) {
+                final Sheet sheet = workbook.createSheet();
+
+                final Row first = sheet.createRow(0);
+                first.createCell(0).setCellValue("a");
+                first.createCell(1).setCellValue(2);
+
+                final Row second = sheet.createRow(1);
+                second.createCell(0).setCellValue("2.0");
+                second.createCell(1).setCellValue("a");
+                second.createCell(2).setCellValue(false);
+
+                final CompactCellGrid grid = CompactCellGrid.of(sheet);
+
+                assertEquals(grid.position(0, 0), grid.find("a"));
+                assertEquals(grid.position(1, 0), grid.find("2.0"));
+                assertEquals(grid.position(2, 1), grid.find("false"));
+                assertEquals(-1, grid.find("2"));
+                assertEquals(-1, grid.find("b"));
+                assertEquals(-1, grid.find("true"));
+            }
+        }
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.workbook;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.xml.sax.SAXException;
+
+/**
+ * {@link CompactSharedStrings} クラスのテストクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class CompactSharedStringsTest {
+
+    /**
+     * テストで使用する共有文字列テーブルのXML
+     */
+    private static final String SHARED_STRINGS_XML = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+            + "<sst xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" count=\"5\" uniqueCount=\"4\">"
+            + "<si><t>test</t></si>" + "<si><t>テスト &amp; 試験</t></si>"
+            + "<si><r><t>rich</t></r><r><t xml:space=\"preserve\"> text</t></r></si>"
+            + "<si><t>漢字</t><rPh sb=\"0\" eb=\"2\"><t>カンジ</t></rPh></si>" + "</sst>";
+
+    /**
+     * {@link CompactSharedStrings#read(java.io.InputStream, int)} メソッドのテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestRead {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link CompactSharedStrings#read(java.io.InputStream, int)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・共有文字列がXMLに定義された順序で取得できること
+         * ・リッチテキストの各ランが連結されて取得できること
+         * ・ふりがなが共有文字列に含まれないこと
+         * ・参照数及び一意な数がXMLの属性値と等価であること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testRead() throws IOException, SAXException {
+            final CompactSharedStrings sharedStrings = CompactSharedStrings
+                    .read(new ByteArrayInputStream(SHARED_STRINGS_XML.getBytes(StandardCharsets.UTF_8)), 0);
+
+            assertEquals(4, sharedStrings.size());
+            assertEquals(5, sharedStrings.getCount());
+            assertEquals(4, sharedStrings.getUniqueCount());
+            assertEquals("test", sharedStrings.getString(0));
+            assertEquals("テスト & 試験", sharedStrings.getString(1));
+            assertEquals("rich text", sharedStrings.getString(2));
+            assertEquals("漢字", sharedStrings.getString(3));
+            assertEquals("漢字", sharedStrings.getItemAt(3).getString());
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link CompactSharedStrings#read(java.io.InputStream, int)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・キャッシュを使用する場合は同一インデックスに対して同一の文字列インスタンスが返却されること
+         * ・範囲外のインデックスが指定された場合は {@link IndexOutOfBoundsException} が発生すること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testReadWithCache() throws IOException, SAXException {
+            final CompactSharedStrings sharedStrings = CompactSharedStrings
+                    .read(new ByteArrayInputStream(SHARED_STRINGS_XML.getBytes(StandardCharsets.UTF_8)), 2);
+
+            assertSame(sharedStrings.getString(1), sharedStrings.getString(1));
+            assertThrows(IndexOutOfBoundsException.class, () -> sharedStrings.getString(4));
+            assertThrows(IndexOutOfBoundsException.class, () -> sharedStrings.getString(-1));
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link CompactSharedStrings#read(java.io.InputStream, int)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・バッファの初期容量を超える共有文字列が格納された場合も全ての文字列が正しく取得できること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testReadLargeTable() throws IOException, SAXException {
+            final StringBuilder xml = new StringBuilder("<sst>");
+
+            for (int i = 0; i < 20000; i++) {
+                xml.append("<si><t>value-").append(i).append("</t></si>");
+            }
+
+            xml.append("</sst>");
+
+            final CompactSharedStrings sharedStrings = CompactSharedStrings
+                    .read(new ByteArrayInputStream(xml.toString().getBytes(StandardCharsets.UTF_8)), 0);
+
+            assertEquals(20000, sharedStrings.size());
+            assertEquals(20000, sharedStrings.getUniqueCount());
+
+            for (int i = 0; i < 20000; i++) {
+                assertEquals("value-" + i, sharedStrings.getString(i));
+            }
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@code uniqueCount} 属性が実際の共有文字列の数と異なる場合の {@link CompactSharedStrings#read(java.io.InputStream, int)}
+         * メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・極端に大きい {@code uniqueCount} 属性が指定されても属性値分の領域を確保せずに解析できること
+         * ・初期容量を超える共有文字列が格納された場合も全ての文字列が正しく取得できること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testReadWithLargeUniqueCount() throws IOException, SAXException {
+            final StringBuilder xml = new StringBuilder("<sst count=\"70000\" uniqueCount=\"2147483647\">");
+
+            for (int i = 0; i < 70000; i++) {
+                xml.append("<si><t>value-").append(i).append("</t></si>");
+            }
+
+            xml.append("</sst>");
+
+            final CompactSharedStrings sharedStrings = CompactSharedStrings
+                    .read(new ByteArrayInputStream(xml.toString().getBytes(StandardCharsets.UTF_8)), 0);
+
+            assertEquals(70000, sharedStrings.size());
+            assertEquals("value-0", sharedStrings.getString(0));
+            assertEquals("value-69999", sharedStrings.getString(69999));
+        }
+    }
+
+    /**
+     * {@link CompactSharedStrings#of(OPCPackage)} メソッドのテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestOf {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link CompactSharedStrings#of(OPCPackage)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・パッケージに含まれる共有文字列テーブルの全ての文字列が正しく取得できること
+         * ・パートのサイズがバッファの初期容量を超える場合も全ての文字列が正しく取得できること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testOf() throws IOException, SAXException, InvalidFormatException {
+            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+            try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+                final Sheet sheet = workbook.createSheet();
+
+                for (int i = 0; i < 20000; i++) {
+                    sheet.createRow(i).createCell(0).setCellValue("value-" + i);
+                }
+
+                workbook.write(outputStream);
+            }
+
+            try (OPCPackage opcPackage = OPCPackage.open(new ByteArrayInputStream(outputStream.toByteArray()))) {
+                final CompactSharedStrings sharedStrings = CompactSharedStrings.of(opcPackage);
+
+                assertEquals(20000, sharedStrings.size());
+
+                for (int i = 0; i < 20000; i++) {
+                    assertEquals("value-" + i, sharedStrings.getString(i));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,560 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.workbook;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link FluentSheetSnapshot} クラスのテストクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class FluentSheetSnapshotTest {
+
+    /**
+     * 比較の対象とする最大の列インデックス及び行インデックス
+     */
+    private static final int LAST_INDEX = 6;
+
+    /**
+     * テストで使用するワークブック
+     */
+    private Workbook workbook;
+
+    /**
+     * テストで使用するシート
+     */
+    private Sheet sheet;
+
+    /**
+     * 各テストの前にワークブックを生成します。
+     */
+    @BeforeEach
+    void setUp() {
+        this.workbook = new XSSFWorkbook();
+        this.sheet = this.workbook.createSheet();
+    }
+
+    /**
+     * 各テストの後にワークブックを閉じます。
+     *
+     * @throws IOException ワークブックを閉じられない場合
+     */
+    @AfterEach
+    void tearDown() throws IOException {
+        this.workbook.close();
+    }
+
+    /**
+     * 引数として指定された罫線を持つセルスタイルを生成します。
+     *
+     * @param top    上部の罫線を設定する場合は {@code true}
+     * @param bottom 下部の罫線を設定する場合は {@code true}
+     * @param right  右部の罫線を設定する場合は {@code true}
+     * @param left   左部の罫線を設定する場合は {@code true}
+     * @return セルスタイル
+     */
+    private CellStyle createBorderStyle(final boolean top, final boolean bottom, final boolean right,
+            final boolean left) {
+
+        final CellStyle style = this.workbook.createCellStyle();
+
+        if (top) {
+            style.setBorderTop(BorderStyle.THIN);
+        }
+
+        if (bottom) {
+            style.setBorderBottom(BorderStyle.THIN);
+        }
+
+        if (right) {
+            style.setBorderRight(BorderStyle.THIN);
+        }
+
+        if (left) {
+            style.setBorderLeft(BorderStyle.THIN);
+        }
+
+        return style;
+    }
+
+    /**
+     * 数値、 文字列、 真偽値、 数式、 罫線のみを持つセル及び結合セル領域を含むマトリクスをシートへ設定します。
+     * <p>
+     * 1行目はヘッダー、 2行目から4行目はレコードです。 5行目の {@code A5:B6} は結合セル領域であり、 {@code B5} は値を持つ非左上セル、
+     * 6行目は行オブジェクトが存在しません。 罫線はシート全体の探索で位置が区別できるよう、 種類ごとに異なるセルへ設定します。
+     */
+    private void createMatrix() {
+
+        final Row header = this.sheet.createRow(0);
+        header.createCell(0).setCellValue("name");
+        header.createCell(1).setCellValue("value");
+        header.createCell(2).setCellValue("flag");
+
+        final Row first = this.sheet.createRow(1);
+        first.createCell(0).setCellValue("  apple  ");
+        first.createCell(1).setCellValue(1.5d);
+        first.createCell(2).setCellValue(true);
+        first.createCell(3).setCellStyle(this.createBorderStyle(true, false, false, false));
+
+        final Row second = this.sheet.createRow(2);
+        second.createCell(0).setCellValue("banana");
+        second.createCell(1).setCellFormula("B2*2");
+        second.createCell(2).setCellValue(false);
+
+        final Row third = this.sheet.createRow(3);
+        third.createCell(0).setCellStyle(this.createBorderStyle(false, false, true, false));
+        third.createCell(1).setCellValue("apple");
+        third.createCell(2).setCellValue(10);
+        third.createCell(4).setCellStyle(this.createBorderStyle(false, true, false, true));
+
+        final Row fourth = this.sheet.createRow(4);
+        fourth.createCell(0).setCellValue("merged");
+        fourth.createCell(1).setCellValue("hidden");
+        final Cell bottom = fourth.createCell(2);
+        bottom.setCellValue("bottom");
+        bottom.setCellStyle(this.createBorderStyle(false, true, true, false));
+        this.sheet.addMergedRegion(CellRangeAddress.valueOf("A5:B6"));
+
+        this.workbook.getCreationHelper().createFormulaEvaluator().evaluateAll();
+    }
+
+    /**
+     * 2つの処理の結果が等しいことを検証します。 処理が例外を送出した場合は例外のクラスを結果として比較します。
+     *
+     * @param expected 期待値を返却する処理
+     * @param actual   実際の値を返却する処理
+     * @param message  検証に失敗した場合のメッセージ
+     */
+    private static void assertParity(final Supplier<?> expected, final Supplier<?> actual, final String message) {
+        assertEquals(resultOf(expected), resultOf(actual), message);
+    }
+
+    /**
+     * 引数として指定された処理の結果を返却します。 処理が例外を送出した場合は例外のクラスを返却します。
+     *
+     * @param supplier 処理
+     * @return 処理の結果、または送出された例外のクラス
+     */
+    private static Object resultOf(final Supplier<?> supplier) {
+        try {
+            return supplier.get();
+        } catch (RuntimeException e) {
+            return e.getClass();
+        }
+    }
+
+    /**
+     * {@link FluentSheet} と {@link FluentSheetSnapshot} の結果の一致を検証するテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestParity {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link FluentSheetSnapshot#get(int, int)} メソッドが {@link FluentSheet#get(int, int)} メソッドと同じ結果を返却することを確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・全てのセルの値が一致すること
+         * ・結合セル領域の非左上セルは、 セルオブジェクトが存在しない場合も左上セルの値となること
+         * ・存在しないセルはいずれも {@link ExcelHandlingException} が発生すること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testGet() {
+            createMatrix();
+            final FluentSheet fluentSheet = new FluentSheet(sheet);
+            final FluentSheetSnapshot snapshot = fluentSheet.snapshot();
+
+            for (int rowIndex = 0; rowIndex <= LAST_INDEX; rowIndex++) {
+                for (int columnIndex = 0; columnIndex <= LAST_INDEX; columnIndex++) {
+                    final int column = columnIndex;
+                    final int row = rowIndex;
+                    assertParity(() -> fluentSheet.get(column, row), () -> snapshot.get(column, row),
+                            column + ":" + row);
+                }
+            }
+
+            assertEquals("merged", snapshot.get(1, 5));
+            assertEquals("3.0", snapshot.get(1, 2));
+            assertThrows(ExcelHandlingException.class, () -> snapshot.get(3, 0));
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link FluentSheetSnapshot#hasValue(String)} 及び {@link FluentSheetSnapshot#findCellIndex(String)}
+         * メソッドが {@link FluentSheet} と同じ結果を返却することを確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・文字列、数値、真偽値、数式の計算結果の検索結果が一致すること
+         * ・前後の空白を除いた文字列で最初に出現するセルが返却されること
+         * ・存在しない値の検索結果が一致すること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testFind() {
+            createMatrix();
+            final FluentSheet fluentSheet = new FluentSheet(sheet);
+            final FluentSheetSnapshot snapshot = fluentSheet.snapshot();
+
+            for (String value : Arrays.asList("name", "apple", "hidden", "1.5", "3.0", "10.0", "10", "true", "false",
+                    "missing", "  apple  ")) {
+                assertParity(() -> fluentSheet.hasValue(value), () -> snapshot.hasValue(value), value);
+                assertParity(() -> fluentSheet.findCellIndex(value), () -> snapshot.findCellIndex(value), value);
+            }
+
+            assertEquals(Matrix.of(0, 1), snapshot.findCellIndex("apple"));
+            assertEquals(Matrix.of(1, 2), snapshot.findCellIndex("3.0"));
+            assertEquals(Matrix.of(2, 2), snapshot.findCellIndex("false"));
+            assertNull(snapshot.findCellIndex("missing"));
+            assertThrows(IllegalArgumentException.class, () -> snapshot.hasValue(""));
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 罫線を探索する4つのメソッドが {@link FluentSheet} と同じ結果を返却することを確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・全ての探索開始位置について上部、下部、右部、左部の罫線の探索結果が一致すること
+         * ・探索開始位置より左の列の罫線は無視されること
+         * ・負数の探索開始位置はいずれも {@link IllegalArgumentException} が発生すること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testFindBorderIndex() {
+            createMatrix();
+            final FluentSheet fluentSheet = new FluentSheet(sheet);
+            final FluentSheetSnapshot snapshot = fluentSheet.snapshot();
+
+            for (int rowIndex = -1; rowIndex <= LAST_INDEX; rowIndex++) {
+                for (int columnIndex = -1; columnIndex <= LAST_INDEX; columnIndex++) {
+                    final int column = columnIndex;
+                    final int row = rowIndex;
+                    final String message = column + ":" + row;
+
+                    assertParity(() -> fluentSheet.findBorderTopIndex(column, row),
+                            () -> snapshot.findBorderTopIndex(column, row), message);
+                    assertParity(() -> fluentSheet.findBorderBottomIndex(column, row),
+                            () -> snapshot.findBorderBottomIndex(column, row), message);
+                    assertParity(() -> fluentSheet.findBorderRightIndex(column, row),
+                            () -> snapshot.findBorderRightIndex(column, row), message);
+                    assertParity(() -> fluentSheet.findBorderLeftIndex(column, row),
+                            () -> snapshot.findBorderLeftIndex(column, row), message);
+                }
+            }
+
+            assertEquals(Matrix.of(3, 1), snapshot.findBorderTopIndex(0, 0));
+            assertEquals(Matrix.of(4, 3), snapshot.findBorderBottomIndex(0, 0));
+            assertEquals(Matrix.of(2, 4), snapshot.findBorderBottomIndex(0, 4));
+            assertEquals(Matrix.of(0, 3), snapshot.findBorderRightIndex(0, 0));
+            assertEquals(Matrix.of(2, 4), snapshot.findBorderRightIndex(2, 0));
+            assertNull(snapshot.findBorderLeftIndex(5, 0));
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link FluentSheetSnapshot#getMatrixList(int, int)} メソッドが {@link FluentSheet#getMatrixList(int, int)}
+         * メソッドと同じ結果を返却することを確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・行オブジェクトが存在する全ての開始行についてマトリクス情報が一致すること
+         * ・右部の罫線のみを持つ空セルでヘッダーの位置が進むこと
+         * ・結合セル領域の非左上セルの値が左上セルの値となること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * {@link FluentSheet#getMatrixList(int, int)} はヘッダー行が存在しない場合に失敗するため、開始行は存在する行のみとする。
+         * </pre>
+         */
+        @Test
+        void testGetMatrixList() {
+            createMatrix();
+            final FluentSheet fluentSheet = new FluentSheet(sheet);
+            final FluentSheetSnapshot snapshot = fluentSheet.snapshot();
+
+            for (int rowIndex = 0; rowIndex <= sheet.getLastRowNum(); rowIndex++) {
+                final int row = rowIndex;
+                assertParity(() -> fluentSheet.getMatrixList(0, row), () -> snapshot.getMatrixList(0, row),
+                        String.valueOf(row));
+            }
+
+            final Map<String, String> third = new HashMap<>();
+            third.put("value", "apple");
+            third.put("flag", "10.0");
+
+            final Map<String, String> fourth = new HashMap<>();
+            fourth.put("name", "merged");
+            fourth.put("value", "merged");
+            fourth.put("flag", "bottom");
+
+            final List<Map<String, String>> matrixList = snapshot.getMatrixList(0, 0);
+            assertEquals(5, matrixList.size());
+            assertEquals(third, matrixList.get(2));
+            assertEquals(fourth, matrixList.get(3));
+        }
+    }
+
+    /**
+     * 複数のスレッドからの読み込みに関するテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestConcurrentRead {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 元のシートを変更しながら複数のスレッドから {@link FluentSheetSnapshot} を読み込んだ場合の機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・全てのスレッドで生成時点の値が読み込まれること
+         * ・生成後のシートへの変更がスナップショットへ反映されないこと
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * シートへの変更は読み込みを行うスレッドとは別の1つのスレッドのみで行う。
+         * </pre>
+         *
+         * @throws Exception スレッドの実行に失敗した場合、または読み込みの検証に失敗した場合
+         */
+        @Test
+        void testReadWhileMutating() throws Exception {
+            createMatrix();
+            final FluentSheet fluentSheet = new FluentSheet(sheet);
+            final FluentSheetSnapshot snapshot = fluentSheet.snapshot();
+
+            final Map<Matrix, String> expected = new HashMap<>();
+
+            for (int rowIndex = 0; rowIndex <= 4; rowIndex++) {
+                for (int columnIndex = 0; columnIndex <= 2; columnIndex++) {
+                    expected.put(Matrix.of(columnIndex, rowIndex), fluentSheet.get(columnIndex, rowIndex));
+                }
+            }
+
+            final List<Map<String, String>> expectedMatrixList = fluentSheet.getMatrixList(0, 0);
+
+            final int threads = 8;
+            final CountDownLatch start = new CountDownLatch(1);
+            final ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+            try {
+                final List<Future<?>> results = new ArrayList<>(threads);
+
+                for (int i = 0; i < threads; i++) {
+                    results.add(executor.submit(() -> {
+                        start.await();
+
+                        for (int iteration = 0; iteration < 200; iteration++) {
+                            expected.forEach((matrix, value) -> assertEquals(value,
+                                    snapshot.get(matrix.getColumn(), matrix.getRow())));
+                            assertEquals(Matrix.of(0, 1), snapshot.findCellIndex("apple"));
+                            assertFalse(snapshot.hasValue("changed"));
+                            assertEquals(expectedMatrixList, snapshot.getMatrixList(0, 0));
+                        }
+
+                        return null;
+                    }));
+                }
+
+                start.countDown();
+
+                for (int iteration = 0; iteration < 200; iteration++) {
+                    for (int rowIndex = 0; rowIndex <= 20; rowIndex++) {
+                        fluentSheet.put(iteration % 3, rowIndex, "changed");
+                    }
+                }
+
+                for (Future<?> result : results) {
+                    result.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+
+            assertTrue(fluentSheet.hasValue("changed"));
+            assertEquals("apple", snapshot.get(0, 1));
+        }
+    }
+
+    /**
+     * {@link CompactCellGrid} に格納されたシートの読み込みに関するテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestGrid {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 行が連続しないシートのスナップショットの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・存在する行のセルの値が取得できること
+         * ・行の間にある存在しない行及び存在する行の存在しないセルは {@link ExcelHandlingException} が発生すること
+         * ・存在しない行は空のマップとしてマトリクス情報に含まれること
+         * ・マトリクス情報が {@link FluentSheet#getMatrixList(int, int)} と一致すること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testSparseRows() {
+            final Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("key");
+            header.createCell(1).setCellValue("value");
+            sheet.createRow(3).createCell(1).setCellValue(4);
+            sheet.createRow(1000).createCell(0).setCellValue("last");
+
+            final FluentSheet fluentSheet = new FluentSheet(sheet);
+            final FluentSheetSnapshot snapshot = fluentSheet.snapshot();
+
+            assertEquals("key", snapshot.get(0, 0));
+            assertEquals("4.0", snapshot.get(1, 3));
+            assertEquals("last", snapshot.get(0, 1000));
+            assertThrows(ExcelHandlingException.class, () -> snapshot.get(0, 2));
+            assertThrows(ExcelHandlingException.class, () -> snapshot.get(0, 3));
+            assertThrows(ExcelHandlingException.class, () -> snapshot.get(1, 1000));
+            assertThrows(ExcelHandlingException.class, () -> snapshot.get(0, 1001));
+            assertEquals(Matrix.of(0, 1000), snapshot.findCellIndex("last"));
+
+            final Map<String, String> record = new HashMap<>();
+            record.put("key", "4.0");
+
+            assertEquals(Arrays.asList(new HashMap<>(), new HashMap<>(), record), snapshot.getMatrixList(0, 0));
+            assertEquals(fluentSheet.getMatrixList(0, 0), snapshot.getMatrixList(0, 0));
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 同じ文字列を複数の行に持つシートのスナップショットの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・前後の空白を除いて等しい文字列が辞書の同じ文字列として共有されること
+         * ・行をまたいで繰り返される文字列の検索で最初に出現するセルが返却されること
+         * ・後の行で初めて出現する文字列も検索できること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testRepeatedStrings() {
+            for (int rowIndex = 0; rowIndex < 100; rowIndex++) {
+                final Row row = sheet.createRow(rowIndex);
+                row.createCell(0).setCellValue(rowIndex % 2 == 0 ? "shared" : " shared ");
+                row.createCell(1).setCellValue("row" + rowIndex);
+                row.createCell(2).setCellValue(rowIndex < 50 ? "early" : "late");
+            }
+
+            final FluentSheetSnapshot snapshot = new FluentSheet(sheet).snapshot();
+
+            for (int rowIndex = 0; rowIndex < 100; rowIndex++) {
+                assertSame(snapshot.get(0, 0), snapshot.get(0, rowIndex));
+                assertEquals("row" + rowIndex, snapshot.get(1, rowIndex));
+            }
+
+            assertSame(snapshot.get(2, 0), snapshot.get(2, 49));
+            assertSame(snapshot.get(2, 50), snapshot.get(2, 99));
+            assertEquals(Matrix.of(0, 0), snapshot.findCellIndex("shared"));
+            assertEquals(Matrix.of(2, 50), snapshot.findCellIndex("late"));
+            assertEquals(Matrix.of(1, 99), snapshot.findCellIndex("row99"));
+            assertFalse(snapshot.hasValue(" shared "));
+            assertFalse(snapshot.hasValue("row100"));
+        }
+    }
+}
@@ -0,0 +1,678 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.workbook;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link FluentSheet} クラスのテストクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class FluentSheetTest {
+
+    /**
+     * テストで使用するワークブック
+     */
+    private Workbook workbook;
+
+    /**
+     * テストで使用するシート
+     */
+    private Sheet sheet;
+
+    /**
+     * 各テストの前にワークブックを生成します。
+     */
+    @BeforeEach
+    void setUp() {
+        this.workbook = new XSSFWorkbook();
+        this.sheet = this.workbook.createSheet();
+    }
+
+    /**
+     * 各テストの後にワークブックを閉じます。
+     *
+     * @throws IOException ワークブックを閉じられない場合
+     */
+    @AfterEach
+    void tearDown() throws IOException {
+        this.workbook.close();
+    }
+
+    /**
+     * 数値、 文字列、 真偽値、 数式のセルを持つ行をシートへ追加します。
+     *
+     * @param rowIndex 行番号
+     */
+    private void createTypedRow(final int rowIndex) {
+
+        final Row row = this.sheet.createRow(rowIndex);
+        row.createCell(0).setCellValue(1.0d);
+        row.createCell(1).setCellValue("  text  ");
+        row.createCell(2).setCellValue(true);
+        row.createCell(3).setCellFormula("A" + (rowIndex + 1) + "+1");
+
+        this.workbook.getCreationHelper().createFormulaEvaluator().evaluateAll();
+    }
+
+    /**
+     * {@link FluentSheet#get(int, int)} メソッドのテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestGet {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link FluentSheet#get(int, int)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・数値のセルは {@link String#valueOf(double)} の形式で返却されること
+         * ・文字列のセルは前後の空白を除去して返却されること
+         * ・真偽値のセルは {@code "true"} または {@code "false"} として返却されること
+         * ・数式のセルは計算結果のキャッシュが返却されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testCellTypes() {
+            createTypedRow(0);
+            final FluentSheet fluentSheet = new FluentSheet(sheet);
+
+            assertEquals("1.0", fluentSheet.get(0, 0));
+            assertEquals("text", fluentSheet.get(1, 0));
+            assertEquals("true", fluentSheet.get(2, 0));
+            assertEquals("2.0", fluentSheet.get(3, 0));
+        }
+    }
+
+    /**
+     * {@link FluentSheet#hasValue(String)} メソッドのテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestHasValue {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link FluentSheet#hasValue(String)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・真偽値と数式のセルを含むシートで値を検索できること
+         * ・存在しない値の場合は {@code false} が返却されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testHasValue() {
+            createTypedRow(0);
+            final FluentSheet fluentSheet = new FluentSheet(sheet);
+
+            assertTrue(fluentSheet.hasValue("true"));
+            assertTrue(fluentSheet.hasValue("2.0"));
+            assertTrue(fluentSheet.hasValue("text"));
+            assertFalse(fluentSheet.hasValue("missing"));
+        }
+    }
+
+    /**
+     * {@link FluentSheet#findRowIndex(String)} メソッドのテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestFindIndex {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link FluentSheet#findRowIndex(String)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・一番初めに合致するセルの行インデックスが返却されること
+         * ・合致するセルが存在しない場合は -1 が返却されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testFindRowIndex() {
+            createTypedRow(0);
+            sheet.createRow(4).createCell(2).setCellValue("target");
+            final FluentSheet fluentSheet = new FluentSheet(sheet);
+
+            assertEquals(4, fluentSheet.findRowIndex("target"));
+            assertEquals(0, fluentSheet.findRowIndex("true"));
+            assertEquals(-1, fluentSheet.findRowIndex("missing"));
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link FluentSheet#findCellIndex(String)} 及び {@link FluentSheet#findColumnIndex(String)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・真偽値と数式のセルを含むシートで一番初めに合致するセルの位置が返却されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testFindCellIndex() {
+            createTypedRow(0);
+            createTypedRow(1);
+            final FluentSheet fluentSheet = new FluentSheet(sheet);
+
+            assertEquals(Matrix.of(3, 0), fluentSheet.findCellIndex("2.0"));
+            assertEquals(2, fluentSheet.findColumnIndex("true"));
+            assertEquals(-1, fluentSheet.findColumnIndex("missing"));
+        }
+    }
+
+    /**
+     * {@link FluentSheet#toStringList()} メソッドのテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestToStringList {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link FluentSheet#toStringList()} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・全ての型のセルが {@link FluentSheet#get(int, int)} と同じ形式の文字列へ変換されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testToStringList() {
+            createTypedRow(0);
+
+            assertEquals(Arrays.asList(Arrays.asList("1.0", "text", "true", "2.0")),
+                    new FluentSheet(sheet).toStringList());
+        }
+    }
+
+    /**
+     * {@link FluentSheet#merge(CharSequence)} メソッドのテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestMergedRegions {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link FluentSheet#merge(CharSequence)} 及び {@link FluentSheet#unmerge(CharSequence)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・結合セル領域に属するセルの値として左上セルの値が返却されること
+         * ・結合セル領域の解除と追加を同数行った後も新しい結合セル領域が参照されること
+         * ・一致する結合セル領域が存在しない場合は解除されないこと
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testMergeAndUnmerge() {
+            final FluentSheet fluentSheet = new FluentSheet(sheet);
+            fluentSheet.put("A1", "first");
+            fluentSheet.put("A3", "second");
+            fluentSheet.put("A2", "");
+            fluentSheet.put("A4", "");
+
+            fluentSheet.merge("A1:A2");
+            assertEquals("first", fluentSheet.get("A2"));
+
+            assertTrue(fluentSheet.unmerge("A1:A2"));
+            fluentSheet.merge("A3:A4");
+            assertEquals("", fluentSheet.get("A2"));
+            assertEquals("second", fluentSheet.get("A4"));
+            assertFalse(fluentSheet.unmerge("A1:A2"));
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link FluentSheet#refreshMergedRegions()} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・シートの結合セル領域を直接変更した後に索引を破棄することで、新しい結合セル領域が参照されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testRefreshMergedRegions() {
+            final FluentSheet fluentSheet = new FluentSheet(sheet);
+            fluentSheet.put("A1", "first");
+            fluentSheet.put("B1", "");
+            fluentSheet.put("C1", "third");
+            fluentSheet.put("D1", "");
+
+            sheet.addMergedRegion(CellRangeAddress.valueOf("A1:B1"));
+            assertEquals("first", fluentSheet.get("B1"));
+
+            sheet.removeMergedRegion(0);
+            sheet.addMergedRegion(CellRangeAddress.valueOf("C1:D1"));
+            fluentSheet.refreshMergedRegions();
+
+            assertEquals("", fluentSheet.get("B1"));
+            assertEquals("third", fluentSheet.get("D1"));
+        }
+    }
+
+    /**
+     * {@link FluentSheet#getMatrixList(int, int)} メソッドのテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestGetMatrixList {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link FluentSheet#getMatrixList(int, int)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・数値、 文字列、 真偽値、 数式のセルの値が {@link FluentSheet#get(int, int)} と同じ形式で取得されること
+         * ・真偽値のヘッダーも文字列として取得されること
+         * ・存在しない行は空のレコードとして返却されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testTypedCells() {
+            final Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("number");
+            header.createCell(1).setCellValue("text");
+            header.createCell(2).setCellValue(true);
+            header.createCell(3).setCellValue("formula");
+            createTypedRow(1);
+            createTypedRow(3);
+
+            final FluentSheet fluentSheet = new FluentSheet(sheet);
+            final Map<String, String> expected = new HashMap<>();
+            expected.put("number", "1.0");
+            expected.put("text", "text");
+            expected.put("true", "true");
+            expected.put("formula", "2.0");
+
+            final List<Map<String, String>> matrixList = fluentSheet.getMatrixList(0, 0);
+
+            assertEquals(Arrays.asList(expected, new HashMap<>(), expected), matrixList);
+            assertEquals(fluentSheet.get(2, 1), matrixList.get(0).get("true"));
+        }
+    }
+
+    /**
+     * {@link FluentSheet#get(CharSequence)} メソッドのテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestGetA1 {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link FluentSheet#get(CharSequence)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・A1形式のセル参照に対応するセルの値が返却されること
+         * ・{@link FluentSheet#put(CharSequence, Object)} で代入した値が取得できること
+         * ・不正なセル参照の場合は {@link IllegalArgumentException} が発生すること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testGet() {
+            createTypedRow(1);
+            final FluentSheet fluentSheet = new FluentSheet(sheet);
+            fluentSheet.put("AA10", "far");
+
+            assertEquals("1.0", fluentSheet.get("A2"));
+            assertEquals("text", fluentSheet.get("B2"));
+            assertEquals("2.0", fluentSheet.get("D2"));
+            assertEquals("far", fluentSheet.get("AA10"));
+            assertEquals("far", fluentSheet.get(26, 9));
+            assertThrows(IllegalArgumentException.class, () -> fluentSheet.get("2A"));
+            assertThrows(IllegalArgumentException.class, () -> fluentSheet.get(""));
+        }
+    }
+
+    /**
+     * {@link FluentSheet#getRange(CharSequence)} メソッドのテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestGetRange {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link FluentSheet#getRange(CharSequence)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・範囲内のセルの値が行優先の順序で返却されること
+         * ・存在しないセルの値は空文字列となること
+         * ・結合セル領域に属するセルの値は左上セルの値となること
+         * ・逆順に指定された範囲も同一の結果となること
+         * ・{@link CellRange} を指定した場合も同一の結果となること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testGetRange() {
+            createTypedRow(0);
+            final FluentSheet fluentSheet = new FluentSheet(sheet);
+            fluentSheet.putRange("B3", new Object[][] { { "merged", "hidden" } });
+            fluentSheet.merge("B3:C3");
+
+            final List<String> expected = Arrays.asList("text", "true", "", "", "merged", "merged");
+
+            assertEquals(expected, fluentSheet.getRange("B1:C3"));
+            assertEquals(expected, fluentSheet.getRange("C3:B1"));
+            assertEquals(expected, fluentSheet.getRange(CellRange.of("B1:C3")));
+            assertEquals(Arrays.asList("1.0"), fluentSheet.getRange("A1"));
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link FluentSheet#getRange(CharSequence, CellVisitor)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・範囲内の存在するセルのみが行優先の順序で渡されること
+         * ・{@link CellRange} を指定した場合も同一の結果となること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testGetRangeWithVisitor() {
+            createTypedRow(0);
+            createTypedRow(2);
+            final FluentSheet fluentSheet = new FluentSheet(sheet);
+
+            final List<String> visited = new ArrayList<>();
+            final CellVisitor visitor = (columnIndex, rowIndex, value) -> visited
+                    .add(columnIndex + ":" + rowIndex + "=" + value);
+
+            fluentSheet.getRange("C1:D5", visitor);
+            final List<String> expected = Arrays.asList("2:0=true", "3:0=2.0", "2:2=true", "3:2=2.0");
+            assertEquals(expected, visited);
+
+            visited.clear();
+            fluentSheet.getRange(CellRange.of(Matrix.of(2, 0), Matrix.of(3, 4)), visitor);
+            assertEquals(expected, visited);
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 行またはセルが存在しない結合セル領域を含む範囲に対する {@link FluentSheet#getRange(CharSequence)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・結合セル領域に属する存在しないセルの値は左上セルの値となること
+         * ・最終行より下方の結合セル領域に属するセルの値も左上セルの値となること
+         * ・範囲と一部のみ重なる結合セル領域も左上セルの値となること
+         * ・{@link CellVisitor} へは行優先の順序で渡されること
+         * ・左上セルが存在しない結合セル領域のセルは渡されないこと
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testGetRangeWithMissingMergedCells() {
+            final FluentSheet fluentSheet = new FluentSheet(sheet);
+            fluentSheet.put(0, 0, "anchor");
+            fluentSheet.put(3, 0, "tall");
+            fluentSheet.merge("A1:B2");
+            fluentSheet.merge("D1:E5");
+            fluentSheet.merge("G1:H2");
+
+            assertEquals(Arrays.asList("anchor", "anchor", "anchor", "anchor"), fluentSheet.getRange("A1:B2"));
+            assertEquals(Arrays.asList("anchor", "", "tall", "", "", "tall", "", "", "tall", "", "", "tall", "", "", "",
+                    "", "", ""), fluentSheet.getRange("B2:D7"));
+            assertEquals(Arrays.asList("", "", "", ""), fluentSheet.getRange("G1:H2"));
+
+            final List<String> visited = new ArrayList<>();
+            fluentSheet.getRange("B1:E5",
+                    (columnIndex, rowIndex, value) -> visited.add(columnIndex + ":" + rowIndex + "=" + value));
+            assertEquals(Arrays.asList("1:0=anchor", "3:0=tall", "4:0=tall", "1:1=anchor", "3:1=tall", "4:1=tall",
+                    "3:2=tall", "4:2=tall", "3:3=tall", "4:3=tall", "3:4=tall", "4:4=tall"), visited);
+        }
+    }
+
+    /**
+     * {@link FluentSheet#putRange(CharSequence, Object[][])} メソッドのテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestPutRange {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 単一のセル参照を指定した場合の {@link FluentSheet#putRange(CharSequence, Object[][])} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・セル参照を起点として配列の値が代入されること
+         * ・配列の大きさに制限がないこと
+         * ・配列中の {@code null} の要素は代入されないこと
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testPutFromCell() {
+            final FluentSheet fluentSheet = new FluentSheet(sheet);
+            fluentSheet.put("C2", "kept");
+
+            fluentSheet.putRange("B2", new Object[][] { { "a", null, "c", "d" }, null, { 1.0d, true } });
+
+            assertEquals(Arrays.asList("a", "kept", "c", "d", "", "", "", "", "1.0", "true", "", ""),
+                    fluentSheet.getRange("B2:E4"));
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 範囲を指定した場合の {@link FluentSheet#putRange(CharSequence, Object[][])} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・範囲の左上セルを起点として配列の値が代入されること
+         * ・{@link CellRange} を指定した場合も同一の結果となること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testPutInRange() {
+            final FluentSheet fluentSheet = new FluentSheet(sheet);
+
+            fluentSheet.putRange("C3:B2", new Object[][] { { "a", "b" }, { "c" } });
+            fluentSheet.putRange(CellRange.of("D2:E3"), new Object[][] { { "d" }, { "e", "f" } });
+
+            assertEquals(Arrays.asList("a", "b", "d", "", "c", "", "e", "f"), fluentSheet.getRange("B2:E3"));
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 配列の大きさが範囲を超える場合の {@link FluentSheet#putRange(CharSequence, Object[][])} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・行数または列数が範囲を超える場合は {@link IllegalArgumentException} が発生すること
+         * ・1つのセルからなる範囲も範囲として扱われること
+         * ・例外が発生した場合はいずれのセルにも代入されないこと
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testOutOfRange() {
+            final FluentSheet fluentSheet = new FluentSheet(sheet);
+
+            assertThrows(IllegalArgumentException.class,
+                    () -> fluentSheet.putRange("A1:B2", new Object[][] { { "a" }, { "b" }, { "c" } }));
+            assertThrows(IllegalArgumentException.class,
+                    () -> fluentSheet.putRange("A1:B2", new Object[][] { { "a", "b" }, { "c", "d", "e" } }));
+            assertThrows(IllegalArgumentException.class,
+                    () -> fluentSheet.putRange("A1:A1", new Object[][] { { "a", "b" } }));
+            assertThrows(IllegalArgumentException.class,
+                    () -> fluentSheet.putRange(CellRange.of("A1:A1"), new Object[][] { { "a" }, { "b" } }));
+
+            assertEquals(-1, sheet.getLastRowNum());
+
+            fluentSheet.putRange("A1:A1", new Object[][] { { "a" } });
+            assertEquals("a", fluentSheet.get("A1"));
+        }
+    }
+}
@@ -0,0 +1,323 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.workbook;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.poifs.crypt.EncryptionInfo;
+import org.apache.poi.poifs.crypt.EncryptionMode;
+import org.apache.poi.poifs.crypt.Encryptor;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link FluentWorkbook} クラスのテストクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class FluentWorkbookTest {
+
+    /**
+     * 出力がパイプのバッファを超える行数
+     */
+    private static final int ROW_COUNT = 20_000;
+
+    /**
+     * パイプのバッファを超える大きさのワークブックを生成します。
+     *
+     * @return ワークブック
+     */
+    private static Workbook createLargeWorkbook() {
+
+        final Workbook workbook = new XSSFWorkbook();
+        final Sheet sheet = workbook.createSheet("data");
+
+        for (int i = 0; i < ROW_COUNT; i++) {
+            final Row row = sheet.createRow(i);
+            row.createCell(0).setCellValue(i * 1.37d);
+            row.createCell(1).setCellValue("value-" + i);
+        }
+
+        return workbook;
+    }
+
+    /**
+     * {@link FluentWorkbook#closeAsync(java.util.concurrent.Executor)} メソッドのテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestCloseAsync {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 呼び出し元のスレッドで実行する {@link java.util.concurrent.Executor} を指定した場合の
+         * {@link FluentWorkbook#closeAsync(java.util.concurrent.Executor)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・出力がパイプのバッファを超える場合でも処理が停止しないこと
+         * ・出力されたワークブックを再度読み込めること
+         * ・以降の {@link FluentWorkbook#close()} でワークブックが再度出力されないこと
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         *
+         * @throws IOException 出力されたワークブックを読み込めない場合
+         */
+        @Test
+        void testCallerRunsExecutor() throws IOException {
+
+            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            final FluentWorkbook fluentWorkbook = FluentWorkbook.builder().fromBook(createLargeWorkbook())
+                    .output(outputStream).build();
+
+            assertTimeoutPreemptively(Duration.ofSeconds(60),
+                    () -> fluentWorkbook.closeAsync(Runnable::run).join());
+
+            final int size = outputStream.size();
+            assertTrue(size > 64 * 1024);
+
+            try (Workbook written = new XSSFWorkbook(new ByteArrayInputStream(outputStream.toByteArray()))) {
+                final Sheet sheet = written.getSheet("data");
+                assertEquals(ROW_COUNT - 1, sheet.getLastRowNum());
+                assertEquals("value-" + (ROW_COUNT - 1), sheet.getRow(ROW_COUNT - 1).getCell(1).getStringCellValue());
+            }
+
+            fluentWorkbook.close();
+            assertEquals(size, outputStream.size());
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 出力先で実行時例外が発生した場合の {@link FluentWorkbook#closeAsync(java.util.concurrent.Executor)}
+         * メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・返却された {@link java.util.concurrent.CompletableFuture} が {@link ExcelHandlingException} で異常終了すること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testFailingDestination() {
+
+            final OutputStream failing = new OutputStream() {
+
+                @Override
+                public void write(int b) {
+                    throw new IllegalStateException("destination is broken");
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) {
+                    throw new IllegalStateException("destination is broken");
+                }
+            };
+
+            final FluentWorkbook fluentWorkbook = FluentWorkbook.builder().fromBook(createLargeWorkbook())
+                    .output(failing).build();
+
+            final CompletionException exception = assertTimeoutPreemptively(Duration.ofSeconds(60), () -> assertThrows(
+                    CompletionException.class, () -> fluentWorkbook.closeAsync(Runnable::run).join()));
+
+            assertTrue(exception.getCause() instanceof ExcelHandlingException);
+        }
+    }
+
+    /**
+     * {@link FluentWorkbook.Builder#fromFile(String, String)} メソッドのテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestFromFileWithPassword {
+
+        /**
+         * パスワード
+         */
+        private static final String PASSWORD = "secret";
+
+        /**
+         * 値を1つ持つワークブックを引数として指定されたファイルへ出力します。 パスワードが指定された場合は暗号化して出力します。
+         *
+         * @param file     出力先のファイル
+         * @param password パスワード。 暗号化しない場合は {@code null}
+         * @throws IOException              ファイルへ出力できない場合
+         * @throws GeneralSecurityException 暗号化に失敗した場合
+         * @throws InvalidFormatException   パッケージを読み込めない場合
+         */
+        private void writeWorkbook(final File file, final String password)
+                throws IOException, GeneralSecurityException, InvalidFormatException {
+
+            final ByteArrayOutputStream plain = new ByteArrayOutputStream();
+
+            try (Workbook workbook = new XSSFWorkbook()) {
+                workbook.createSheet("data").createRow(0).createCell(0).setCellValue("original");
+                workbook.write(plain);
+            }
+
+            if (password == null) {
+                try (OutputStream outputStream = new FileOutputStream(file)) {
+                    plain.writeTo(outputStream);
+                }
+                return;
+            }
+
+            try (POIFSFileSystem fileSystem = new POIFSFileSystem()) {
+                final Encryptor encryptor = new EncryptionInfo(EncryptionMode.agile).getEncryptor();
+                encryptor.confirmPassword(password);
+
+                try (OPCPackage opcPackage = OPCPackage.open(new ByteArrayInputStream(plain.toByteArray()));
+                        OutputStream encrypted = encryptor.getDataStream(fileSystem)) {
+                    opcPackage.save(encrypted);
+                }
+
+                try (OutputStream outputStream = new FileOutputStream(file)) {
+                    fileSystem.writeFilesystem(outputStream);
+                }
+            }
+        }
+
+        /**
+         * 引数として指定されたファイルを読み込み、値を追加して出力したうえで、出力されたワークブックの内容を検証します。
+         *
+         * @param file 読み込むファイル
+         * @throws IOException 出力されたワークブックを読み込めない場合
+         */
+        private void assertRoundTrip(final File file) throws IOException {
+
+            final long lastModified = file.lastModified();
+            final long length = file.length();
+            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            final FluentWorkbook fluentWorkbook = FluentWorkbook.builder().fromFile(file.getPath(), PASSWORD)
+                    .output(outputStream).build();
+
+            assertEquals("original", fluentWorkbook.sheet("data").get(0, 0));
+            fluentWorkbook.sheet("data").put(1, 0, "added");
+            fluentWorkbook.close();
+
+            try (Workbook written = new XSSFWorkbook(new ByteArrayInputStream(outputStream.toByteArray()))) {
+                assertEquals("original", written.getSheet("data").getRow(0).getCell(0).getStringCellValue());
+                assertEquals("added", written.getSheet("data").getRow(0).getCell(1).getStringCellValue());
+            }
+
+            assertEquals(lastModified, file.lastModified());
+            assertEquals(length, file.length());
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 暗号化されたワークブックに対する {@link FluentWorkbook.Builder#fromFile(String, String)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・暗号化されたワークブックを読み込み、変更して出力できること
+         * ・元のファイルが変更されないこと
+         * ・パスワードが一致しない場合はワークブックが読み込まれないこと
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         *
+         * @throws Exception ワークブックの出力または暗号化に失敗した場合
+         */
+        @Test
+        void testEncryptedFile() throws Exception {
+            final File file = File.createTempFile("fluent-workbook", ".xlsx");
+
+            try {
+                writeWorkbook(file, PASSWORD);
+                assertRoundTrip(file);
+                assertNull(FluentWorkbook.builder().fromFile(file.getPath(), "wrong").build().getWorkbook());
+            } finally {
+                file.delete();
+            }
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 暗号化されていないワークブックに対する {@link FluentWorkbook.Builder#fromFile(String, String)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・暗号化されていないワークブックを読み込み、変更して出力できること
+         * ・元のファイルが変更されないこと
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         *
+         * @throws Exception ワークブックの出力に失敗した場合
+         */
+        @Test
+        void testPlainFile() throws Exception {
+            final File file = File.createTempFile("fluent-workbook", ".xlsx");
+
+            try {
+                writeWorkbook(file, null);
+                assertRoundTrip(file);
+            } finally {
+                file.delete();
+            }
+        }
+    }
+}
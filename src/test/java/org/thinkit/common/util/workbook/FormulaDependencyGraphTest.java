@@ -0,0 +1,246 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.workbook;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link FormulaDependencyGraph} クラスのテストクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class FormulaDependencyGraphTest {
+
+    /**
+     * テストで使用するワークブック
+     */
+    private Workbook workbook;
+
+    /**
+     * テストで使用する {@link FluentWorkbook}
+     */
+    private FluentWorkbook fluentWorkbook;
+
+    /**
+     * 各テストの前に数式を含むワークブックを生成します。
+     * <p>
+     * {@code A1:A3} は {@code 1, 2, 3}、 {@code B1} は {@code A1*2}、 {@code C1} は {@code SUM(A1:A3)}、
+     * {@code D1} は {@code B1+1}、 {@code E1} は {@code SUM(A1:A1000)} です。
+     */
+    @BeforeEach
+    void setUp() {
+        this.workbook = new XSSFWorkbook();
+        final Sheet sheet = this.workbook.createSheet("sheet");
+
+        for (int i = 0; i < 3; i++) {
+            sheet.createRow(i).createCell(0).setCellValue(i + 1);
+        }
+
+        final Row row = sheet.getRow(0);
+        row.createCell(1).setCellFormula("A1*2");
+        row.createCell(2).setCellFormula("SUM(A1:A3)");
+        row.createCell(3).setCellFormula("B1+1");
+        row.createCell(4).setCellFormula("SUM(A1:A1000)");
+
+        this.workbook.getCreationHelper().createFormulaEvaluator().evaluateAll();
+        this.fluentWorkbook = FluentWorkbook.builder().fromBook(this.workbook).build();
+    }
+
+    /**
+     * 各テストの後にワークブックを閉じます。
+     *
+     * @throws IOException ワークブックを閉じられない場合
+     */
+    @AfterEach
+    void tearDown() throws IOException {
+        this.workbook.close();
+    }
+
+    /**
+     * 引数として指定された列と行の数式セルの差分を生成します。
+     *
+     * @param columnIndex 列インデックス
+     * @param oldValue    変更前の値
+     * @param newValue    変更後の値
+     * @return 数式セルの差分
+     */
+    private static CellChange changed(final int columnIndex, final String oldValue, final String newValue) {
+        return CellChange.of(CellChange.Type.CHANGED, "sheet", Matrix.of(columnIndex, 0), oldValue, newValue);
+    }
+
+    /**
+     * {@link FluentWorkbook#recalculate()} メソッドのテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestRecalculate {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 初回の {@link FluentWorkbook#recalculate()} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・初回の呼び出し前に代入された値が全ての数式セルに反映されること
+         * ・初回の呼び出しで全ての数式セルが依存順に再計算されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testFirstRecalculate() {
+            final FluentSheet sheet = fluentWorkbook.sheet("sheet");
+            sheet.put(0, 0, 3.0d);
+
+            assertEquals(Arrays.asList(changed(1, "2.0", "6.0"), changed(2, "6.0", "8.0"), changed(4, "6.0", "8.0"),
+                    changed(3, "3.0", "7.0")), fluentWorkbook.recalculate());
+            assertEquals(Collections.emptyList(), fluentWorkbook.recalculate());
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 2回目以降の {@link FluentWorkbook#recalculate()} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・変更されたセルに推移的に依存する数式セルのみが依存順に再計算されること
+         * ・範囲参照を含む数式セルは範囲内のセルの変更により再計算されること
+         * ・初回の再計算までは値の代入が記録されないこと
+         * ・数式セルから参照されていないセルの変更は記録されないこと
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testIncrementalRecalculate() {
+            final FluentSheet sheet = fluentWorkbook.sheet("sheet");
+            fluentWorkbook.recalculate();
+
+            sheet.put(0, 1, 5.0d);
+            assertEquals(Arrays.asList(changed(2, "6.0", "9.0"), changed(4, "6.0", "9.0")),
+                    fluentWorkbook.recalculate());
+
+            sheet.put(0, 0, 2.0d);
+            assertEquals(Arrays.asList(changed(1, "2.0", "4.0"), changed(2, "9.0", "10.0"),
+                    changed(4, "9.0", "10.0"), changed(3, "3.0", "5.0")), fluentWorkbook.recalculate());
+
+            sheet.put(0, 899, 10.0d);
+            assertEquals(Arrays.asList(changed(4, "10.0", "20.0")), fluentWorkbook.recalculate());
+
+            final FormulaDependencyGraph graph = new FormulaDependencyGraph(workbook);
+            final FluentSheet trackedSheet = new FluentSheet(workbook.getSheet("sheet"), graph);
+            trackedSheet.put(0, 0, 2.0d);
+            assertTrue(graph.toString().contains("dirtyCells=[]"));
+
+            graph.recalculate();
+            trackedSheet.put(25, 99, 1.0d);
+            assertTrue(graph.toString().contains("dirtyCells=[]"));
+            assertEquals(Collections.emptyList(), graph.recalculate());
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 列全体を参照する数式セルに対する {@link FluentWorkbook#recalculate()} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・列全体の参照に含まれる下方のセルの変更により数式セルが再計算されること
+         * ・同じ列のブロックに含まれる参照範囲外のセルの変更は記録されないこと
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testWholeColumnReference() {
+            workbook.getSheet("sheet").getRow(0).createCell(5).setCellFormula("SUM(A:A)");
+            final FluentSheet sheet = fluentWorkbook.sheet("sheet");
+            fluentWorkbook.recalculate();
+
+            sheet.put(0, 4999, 10.0d);
+            sheet.put(0, 1048575, 20.0d);
+            assertEquals(Arrays.asList(changed(5, "6.0", "36.0")), fluentWorkbook.recalculate());
+
+            final FormulaDependencyGraph graph = new FormulaDependencyGraph(workbook);
+            final FluentSheet trackedSheet = new FluentSheet(workbook.getSheet("sheet"), graph);
+            graph.recalculate();
+            trackedSheet.put(1, 4999, 1.0d);
+            assertTrue(graph.toString().contains("dirtyCells=[]"));
+
+            trackedSheet.put(0, 70000, 4.0d);
+            assertEquals(Arrays.asList(changed(5, "36.0", "40.0")), graph.recalculate());
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 揮発性関数を含む数式セルに対する {@link FluentWorkbook#recalculate()} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・揮発性関数を含む数式セルが毎回再計算されること
+         * ・静的な依存関係を持たないセルの変更も揮発性関数の評価結果に反映されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testVolatileFormula() {
+            workbook.getSheet("sheet").getRow(0).createCell(5).setCellFormula("INDIRECT(\"Z1\")");
+            final FluentSheet sheet = fluentWorkbook.sheet("sheet");
+            fluentWorkbook.recalculate();
+
+            sheet.put(25, 0, 7.0d);
+            assertEquals(Arrays.asList(changed(5, "0.0", "7.0")), fluentWorkbook.recalculate());
+        }
+    }
+}
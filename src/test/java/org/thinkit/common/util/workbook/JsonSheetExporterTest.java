@@ -0,0 +1,213 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.workbook;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.thinkit.common.util.workbook.SheetSchema.ColumnType;
+
+/**
+ * {@link JsonSheetExporter} クラスのテストクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class JsonSheetExporterTest {
+
+    /**
+     * テストで使用するjson文字列
+     */
+    private static final String CONTENT_JSON = "{\"metadata\": {\"ignored\": [1, 2, {\"deep\": [true]}]},"
+            + " \"conditionNodes\": ["
+            + "{\"node\": {\"conditionId\": \"A\", \"extra\": {\"x\": [1, 2]}, \"conditions\": ["
+            + "{\"keyName\": \"k1\", \"operand\": 1},"
+            + " {\"keyName\": \"k2\", \"operand\": 2.5, \"skip\": {\"a\": [1]}}]}},"
+            + "{\"node\": {\"conditionId\": \"B\", \"conditions\": [{\"keyName\": \"k3\"}]}},"
+            + "{\"node\": {\"conditions\": [{\"keyName\": \"k4\", \"active\": true}]}}]}";
+
+    /**
+     * 引数として指定されたjson文字列を出力し、見出し行を除く各行の値を返却します。
+     *
+     * @param exporter {@link JsonSheetExporter}
+     * @param json     json文字列
+     * @param rows     出力されるべき行数
+     * @return 見出し行を除く各行の値
+     * @throws IOException ワークブックを読み込めない場合
+     */
+    private static List<List<String>> export(final JsonSheetExporter exporter, final String json, final long rows)
+            throws IOException {
+
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        try (SheetWriter writer = SheetWriter.builder().schema(exporter.getSchema()).output(outputStream).build()) {
+            assertEquals(rows,
+                    exporter.export(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), writer));
+        }
+
+        final List<List<String>> values = new ArrayList<>();
+
+        try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            final Sheet sheet = workbook.getSheetAt(0);
+
+            for (int i = 1; i <= sheet.getLastRowNum(); i++) {
+                final Row row = sheet.getRow(i);
+                final List<String> rowValues = new ArrayList<>();
+
+                for (int j = 0; j < exporter.getSchema().getColumns().size(); j++) {
+                    final Cell cell = row.getCell(j);
+                    rowValues.add(cell == null ? null : FluentCell.getValue(cell));
+                }
+
+                values.add(rowValues);
+            }
+        }
+
+        return values;
+    }
+
+    /**
+     * {@link JsonSheetExporter#export(java.io.InputStream, SheetWriter)} メソッドのテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestExport {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link JsonSheetExporter#export(java.io.InputStream, SheetWriter)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・行のパスに一致する配列の要素ごとに1行が出力されること
+         * ・行のパスの祖先に位置する値が同じ要素内の各行へ引き継がれること
+         * ・引き継がれた値及び行の値が配列の要素ごとに消去されること
+         * ・パスに含まれない部分木が読み飛ばされること
+         * ・数値型及び真偽値型の列に値の型が保持されて出力されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         *
+         * @throws IOException ワークブックを読み込めない場合
+         */
+        @Test
+        void testExport() throws IOException {
+            final JsonSheetExporter exporter = JsonSheetExporter.builder().rowPath("conditionNodes[].node.conditions[]")
+                    .column("conditionId", "conditionNodes[].node.conditionId")
+                    .column("keyName", "conditionNodes[].node.conditions[].keyName")
+                    .column("operand", "conditionNodes[].node.conditions[].operand", ColumnType.NUMERIC)
+                    .column("active", "conditionNodes[].node.conditions[].active", ColumnType.BOOLEAN).build();
+
+            assertEquals(Arrays.asList(Arrays.asList("A", "k1", "1.0", null), Arrays.asList("A", "k2", "2.5", null),
+                    Arrays.asList("B", "k3", null, null), Arrays.asList(null, "k4", null, "true")),
+                    export(exporter, CONTENT_JSON, 4));
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 入れ子の配列を行のパスとした場合の {@link JsonSheetExporter#export(java.io.InputStream, SheetWriter)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・入れ子の配列の最も内側の要素ごとに1行が出力されること
+         * ・行のパスと同一の列のパスに配列の要素の値が設定されること
+         * ・行のパスに一致する要素が存在しない場合は行が出力されないこと
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         *
+         * @throws IOException ワークブックを読み込めない場合
+         */
+        @Test
+        void testNestedArray() throws IOException {
+            final JsonSheetExporter exporter = JsonSheetExporter.builder().rowPath("matrix[][]")
+                    .column("value", "matrix[][]", ColumnType.NUMERIC).build();
+
+            assertEquals(Arrays.asList(Arrays.asList("1.0"), Arrays.asList("2.0"), Arrays.asList("3.0")),
+                    export(exporter, "{\"matrix\": [[1, 2], [], [3]]}", 3));
+            assertEquals(Arrays.asList(), export(exporter, "{\"other\": [[1]]}", 0));
+        }
+    }
+
+    /**
+     * {@link JsonSheetExporter.Builder} クラスのテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestBuilder {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 不正な引数を指定した場合の {@link JsonSheetExporter.Builder} クラスの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・行のパスが配列の要素を表していない場合は {@link IllegalArgumentException} が発生すること
+         * ・行のパスが設定されていない場合は {@link IllegalArgumentException} が発生すること
+         * ・同一のパスが複数の列に指定された場合は {@link IllegalArgumentException} が発生すること
+         * ・列のパスが空文字列の場合は {@link IllegalArgumentException} が発生すること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testInvalidParameters() {
+            assertThrows(IllegalArgumentException.class, () -> JsonSheetExporter.builder().rowPath("items"));
+            assertThrows(IllegalArgumentException.class, () -> JsonSheetExporter.builder().rowPath(""));
+            assertThrows(IllegalArgumentException.class,
+                    () -> JsonSheetExporter.builder().column("id", "items[].id").build());
+            assertThrows(IllegalArgumentException.class, () -> JsonSheetExporter.builder().rowPath("items[]")
+                    .column("id", "items[].id").column("other", "items[].id").build());
+            assertThrows(IllegalArgumentException.class, () -> JsonSheetExporter.builder().column("id", ""));
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.workbook;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link MergedRegionIndex} クラスのテストクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class MergedRegionIndexTest {
+
+    /**
+     * {@link MergedRegionIndex#find(int, int)} メソッドのテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestFind {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link MergedRegionIndex#find(int, int)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・結合セル領域が存在しない場合は全てのセルに対して {@code null} が返却されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testEmpty() {
+            final MergedRegionIndex index = MergedRegionIndex.of(new ArrayList<>());
+
+            assertEquals(0, index.size());
+            assertNull(index.find(0, 0));
+            assertNull(index.find(10, 10));
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link MergedRegionIndex#find(int, int)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・結合セル領域に属するセルに対して該当する結合セル領域が返却されること
+         * ・結合セル領域に属さないセルに対して {@code null} が返却されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testMixedRegions() {
+            final CellRangeAddress tall = new CellRangeAddress(0, 99, 0, 0);
+            final CellRangeAddress wide = new CellRangeAddress(5, 5, 1, 10);
+            final CellRangeAddress block = new CellRangeAddress(20, 30, 3, 6);
+            final CellRangeAddress small = new CellRangeAddress(50, 51, 7, 8);
+
+            final MergedRegionIndex index = MergedRegionIndex.of(Arrays.asList(tall, wide, block, small));
+
+            assertEquals(4, index.size());
+            assertEquals(tall, index.find(0, 0));
+            assertEquals(tall, index.find(0, 99));
+            assertEquals(wide, index.find(1, 5));
+            assertEquals(wide, index.find(10, 5));
+            assertEquals(block, index.find(3, 20));
+            assertEquals(block, index.find(6, 30));
+            assertEquals(small, index.find(8, 51));
+            assertNull(index.find(0, 100));
+            assertNull(index.find(11, 5));
+            assertNull(index.find(2, 25));
+            assertNull(index.find(7, 30));
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link MergedRegionIndex#find(int, int)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・大量の結合セル領域が定義されている場合も全てのセルが正しい結合セル領域へ解決されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testManyRegions() {
+            final List<CellRangeAddress> regions = new ArrayList<>();
+
+            for (int row = 0; row < 3000; row += 3) {
+                for (int column = 0; column < 20; column += 2) {
+                    regions.add(new CellRangeAddress(row, row + 1, column, column + 1));
+                }
+            }
+
+            final MergedRegionIndex index = MergedRegionIndex.of(regions);
+
+            for (int row = 0; row < 3000; row++) {
+                for (int column = 0; column < 20; column++) {
+                    if (row % 3 == 2) {
+                        assertNull(index.find(column, row));
+                    } else {
+                        final CellRangeAddress region = index.find(column, row);
+                        assertEquals(row - row % 3, region.getFirstRow());
+                        assertEquals(column - column % 2, region.getFirstColumn());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * {@link MergedRegionIndex#resolve(int, int)} メソッドのテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestResolve {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link MergedRegionIndex#resolve(int, int)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・結合セル領域に属するセルは結合セル領域の左上セルの行列インデックスへ解決されること
+         * ・結合セル領域に属さないセルは指定された行列インデックスのまま返却されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testResolve() {
+            final MergedRegionIndex index = MergedRegionIndex.of(Arrays.asList(new CellRangeAddress(2, 4, 1, 3)));
+
+            assertEquals(Matrix.of(1, 2), index.resolve(3, 4));
+            assertEquals(Matrix.of(1, 2), index.resolve(1, 2));
+            assertEquals(Matrix.of(0, 0), index.resolve(0, 0));
+        }
+    }
+}
@@ -0,0 +1,301 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.workbook;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link PackageCompressor} クラスのテストクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class PackageCompressorTest {
+
+    /**
+     * テストで使用するシートの数
+     */
+    private static final int SHEET_COUNT = 8;
+
+    /**
+     * 複数のシートを持つワークブックを生成します。
+     *
+     * @return ワークブック
+     */
+    private static Workbook createWorkbook() {
+
+        final Workbook workbook = new XSSFWorkbook();
+
+        for (int sheetIndex = 0; sheetIndex < SHEET_COUNT; sheetIndex++) {
+            final Sheet sheet = workbook.createSheet("sheet" + sheetIndex);
+
+            for (int i = 0; i < 500; i++) {
+                final Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue(i);
+                row.createCell(1).setCellValue("value-" + sheetIndex + "-" + i);
+            }
+        }
+
+        return workbook;
+    }
+
+    /**
+     * 引数として指定された {@link FluentWorkbook.Builder} でワークブックを出力し、 出力されたバイト列を返却します。
+     *
+     * @param builder 出力ストリーム以外の設定が行われた {@link FluentWorkbook.Builder}
+     * @return 出力されたバイト列
+     */
+    private static byte[] write(final FluentWorkbook.Builder builder) {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        builder.fromBook(createWorkbook()).output(outputStream).build().close();
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * 引数として指定されたバイト列をワークブックとして読み込み、 内容が {@link #createWorkbook()} と一致することを検証します。
+     *
+     * @param bytes ワークブックのバイト列
+     * @throws IOException ワークブックを読み込めない場合
+     */
+    private static void assertWorkbook(final byte[] bytes) throws IOException {
+        try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(bytes))) {
+            assertEquals(SHEET_COUNT, workbook.getNumberOfSheets());
+
+            for (int sheetIndex = 0; sheetIndex < SHEET_COUNT; sheetIndex++) {
+                final Sheet sheet = workbook.getSheet("sheet" + sheetIndex);
+                assertEquals(499, sheet.getLastRowNum());
+                assertEquals("value-" + sheetIndex + "-499", sheet.getRow(499).getCell(1).getStringCellValue());
+            }
+        }
+    }
+
+    /**
+     * 引数として指定されたバイト列をzipとして読み込み、 エントリ名を格納順に返却します。 各エントリの更新日時が設定されていることも検証します。
+     *
+     * @param bytes zipのバイト列
+     * @return エントリ名のリスト
+     * @throws IOException zipを読み込めない場合
+     */
+    private static List<String> entryNames(final byte[] bytes) throws IOException {
+
+        final List<String> names = new ArrayList<>();
+
+        try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(bytes))) {
+            for (ZipEntry entry = zipInputStream.getNextEntry(); entry != null; entry = zipInputStream.getNextEntry()) {
+                assertTrue(entry.getTime() > 0L);
+                names.add(entry.getName());
+            }
+        }
+
+        return names;
+    }
+
+    /**
+     * {@link FluentWorkbook.Builder#compressionLevel(int)} メソッドのテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestCompressionLevel {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link FluentWorkbook.Builder#compressionLevel(int)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・全ての圧縮レベルで出力されたワークブックを読み込めること
+         * ・圧縮レベルが高いほど出力されたワークブックが小さくなること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         *
+         * @throws IOException ワークブックを読み込めない場合
+         */
+        @Test
+        void testCompressionLevel() throws IOException {
+
+            final byte[] stored = write(FluentWorkbook.builder().compressionLevel(Deflater.NO_COMPRESSION));
+            final byte[] fastest = write(FluentWorkbook.builder().compressionLevel(Deflater.BEST_SPEED));
+            final byte[] smallest = write(FluentWorkbook.builder().compressionLevel(Deflater.BEST_COMPRESSION));
+
+            assertWorkbook(stored);
+            assertWorkbook(fastest);
+            assertWorkbook(smallest);
+
+            assertTrue(stored.length > fastest.length);
+            assertTrue(fastest.length >= smallest.length);
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 範囲外の圧縮レベルを指定した場合の {@link FluentWorkbook.Builder#compressionLevel(int)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・{@link IllegalArgumentException} が発生すること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testInvalidCompressionLevel() {
+            assertThrows(IllegalArgumentException.class, () -> FluentWorkbook.builder().compressionLevel(-2));
+            assertThrows(IllegalArgumentException.class, () -> FluentWorkbook.builder().compressionLevel(10));
+        }
+    }
+
+    /**
+     * {@link FluentWorkbook.Builder#parallelCompression(java.util.concurrent.Executor)}
+     * メソッドのテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestParallelCompression {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link FluentWorkbook.Builder#parallelCompression(java.util.concurrent.Executor)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・並列に圧縮したワークブックを読み込めること
+         * ・並列度より多いパートを持つワークブックを出力できること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         *
+         * @throws IOException ワークブックを読み込めない場合
+         */
+        @Test
+        void testParallelCompression() throws IOException {
+
+            final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+            try {
+                final byte[] parallel = write(
+                        FluentWorkbook.builder().compressionLevel(Deflater.BEST_SPEED).parallelCompression(executor));
+                final byte[] sequential = write(FluentWorkbook.builder().parallelCompression(Runnable::run));
+                final byte[] commonPool = write(FluentWorkbook.builder().parallelCompression());
+
+                assertWorkbook(parallel);
+                assertWorkbook(sequential);
+                assertWorkbook(commonPool);
+            } finally {
+                executor.shutdown();
+            }
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@code null} を指定した場合の {@link FluentWorkbook.Builder#parallelCompression(java.util.concurrent.Executor)}
+         * メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・{@link IllegalArgumentException} が発生すること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testNullExecutor() {
+            assertThrows(IllegalArgumentException.class, () -> FluentWorkbook.builder().parallelCompression(null));
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 並列に圧縮したワークブックのパートの格納順を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・全てのパートがワークブック自身で出力した場合と同じ順序で格納されること
+         * ・各パートの更新日時が設定されていること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         *
+         * @throws IOException ワークブックの出力または読み込みに失敗した場合
+         */
+        @Test
+        void testEntryOrder() throws IOException {
+
+            final ExecutorService executor = Executors.newFixedThreadPool(3);
+
+            try (Workbook workbook = createWorkbook()) {
+                final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+                workbook.write(expected);
+
+                final byte[] parallel = write(
+                        FluentWorkbook.builder().compressionLevel(Deflater.BEST_SPEED).parallelCompression(executor));
+
+                assertEquals(entryNames(expected.toByteArray()), entryNames(parallel));
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+}
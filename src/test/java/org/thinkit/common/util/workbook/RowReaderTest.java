@@ -0,0 +1,545 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.workbook;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.poi.hssf.record.crypto.Biff8EncryptionKey;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.poifs.crypt.EncryptionInfo;
+import org.apache.poi.poifs.crypt.EncryptionMode;
+import org.apache.poi.poifs.crypt.Encryptor;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link RowReader} インターフェースの実装クラスのテストクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class RowReaderTest {
+
+    /**
+     * テストで使用するワークブックのファイル
+     */
+    private File file;
+
+    /**
+     * 各テストの前に一時ファイルを生成します。
+     *
+     * @throws IOException 一時ファイルを生成できない場合
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        this.file = File.createTempFile("row-reader", ".tmp");
+    }
+
+    /**
+     * 各テストの後に一時ファイルを削除します。
+     */
+    @AfterEach
+    void tearDown() {
+        this.file.delete();
+    }
+
+    /**
+     * 引数として指定されたワークブックへテストで使用する値を設定し、一時ファイルへ出力します。
+     * <p>
+     * 1つ目のシートの1行目には数値、文字列、真偽値、数値の数式、真偽値の数式、文字列の数式を設定し、
+     * 4行目には2列目のみ文字列を設定します。 2つ目のシートの1行目には文字列を設定します。 3つ目のシートは空です。
+     *
+     * @param workbook ワークブック
+     * @throws IOException ファイルへ出力できない場合
+     */
+    private void writeWorkbook(final Workbook workbook) throws IOException {
+        try (Workbook target = workbook; OutputStream outputStream = new FileOutputStream(this.file)) {
+            final Sheet first = target.createSheet("first");
+            final Row row = first.createRow(0);
+            row.createCell(0).setCellValue(1.5d);
+            row.createCell(1).setCellValue("text");
+            row.createCell(2).setCellValue(true);
+            row.createCell(3).setCellFormula("A1*2");
+            row.createCell(4).setCellFormula("A1>1");
+            row.createCell(5).setCellFormula("B1&\"!\"");
+            first.createRow(3).createCell(1).setCellValue("fourth");
+
+            target.createSheet("second").createRow(0).createCell(0).setCellValue("other");
+            target.createSheet("empty");
+
+            target.getCreationHelper().createFormulaEvaluator().evaluateAll();
+            target.write(outputStream);
+        }
+    }
+
+    /**
+     * 一時ファイルを {@link RowReader} で読み込み、全ての行をリストとして返却します。
+     *
+     * @return 読み込んだ行のリスト
+     */
+    private List<SheetRow> readAll() {
+        return readAll(RowReader.open(this.file));
+    }
+
+    /**
+     * 引数として指定された {@link RowReader} で全ての行を読み込み、リストとして返却します。 読み込み後に {@link RowReader} を閉じます。
+     *
+     * @param rowReader 読み込みに使用する {@link RowReader}
+     * @return 読み込んだ行のリスト
+     */
+    private static List<SheetRow> readAll(final RowReader rowReader) {
+
+        final List<SheetRow> rows = new ArrayList<>();
+
+        try (RowReader reader = rowReader) {
+            reader.forEachRemaining(rows::add);
+            assertFalse(reader.hasNext());
+            assertThrows(NoSuchElementException.class, reader::next);
+        }
+
+        return rows;
+    }
+
+    /**
+     * {@link #writeWorkbook(Workbook)} で出力したワークブックの読み込み結果を検証します。
+     *
+     * @param rows 読み込んだ行のリスト
+     */
+    private static void assertRows(final List<SheetRow> rows) {
+
+        assertEquals(3, rows.size());
+
+        assertEquals("first", rows.get(0).getSheetName());
+        assertEquals(0, rows.get(0).getSheetIndex());
+        assertEquals(0, rows.get(0).getRowIndex());
+        assertEquals(Arrays.asList("1.5", "text", "true", "3.0", "true", "text!"), rows.get(0).getValues());
+
+        assertEquals(3, rows.get(1).getRowIndex());
+        assertEquals(Arrays.asList("", "fourth"), rows.get(1).getValues());
+        assertEquals("", rows.get(1).get(0));
+        assertEquals("", rows.get(1).get(10));
+
+        assertEquals("second", rows.get(2).getSheetName());
+        assertEquals(1, rows.get(2).getSheetIndex());
+        assertEquals(0, rows.get(2).getRowIndex());
+        assertEquals(Arrays.asList("other"), rows.get(2).getValues());
+    }
+
+    /**
+     * {@code .xlsx} 形式のワークブックを読み込む {@link XssfRowReader} のテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestXssfRowReader {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@code .xlsx} 形式のワークブックに対する {@link RowReader#open(File)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・数値、文字列、真偽値、数式の計算結果が {@link FluentCell#getValue(org.apache.poi.ss.usermodel.Cell)} と同じ形式で読み込まれること
+         * ・値を持たない行及びシートは読み飛ばされること
+         * ・行インデックス、シート名、シートのインデックスが正しく設定されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         *
+         * @throws IOException ワークブックを出力できない場合
+         */
+        @Test
+        void testRead() throws IOException {
+            writeWorkbook(new XSSFWorkbook());
+            assertRows(readAll());
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@code r} 属性を持たない行を含む {@code .xlsx} 形式のワークブックに対する {@link RowReader#open(File)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・{@code r} 属性を持たない行のインデックスが直前の行のインデックスの次となること
+         * ・シートの先頭の {@code r} 属性を持たない行のインデックスが {@code 0} となること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         *
+         * @throws IOException ワークブックを出力できない場合
+         */
+        @Test
+        void testRowWithoutReference() throws IOException {
+            try (Workbook workbook = new XSSFWorkbook(); OutputStream outputStream = new FileOutputStream(file)) {
+                final Sheet sheet = workbook.createSheet("sheet");
+                sheet.createRow(0).createCell(0).setCellValue("a");
+                sheet.createRow(2).createCell(0).setCellValue("b");
+                sheet.createRow(3).createCell(0).setCellValue("c");
+                workbook.write(outputStream);
+            }
+
+            removeReferences("xl/worksheets/sheet1.xml", "1", "4");
+
+            final List<SheetRow> rows = readAll();
+
+            assertEquals(3, rows.size());
+            assertEquals(0, rows.get(0).getRowIndex());
+            assertEquals(2, rows.get(1).getRowIndex());
+            assertEquals(3, rows.get(2).getRowIndex());
+            assertEquals("c", rows.get(2).get(0));
+        }
+
+        /**
+         * 一時ファイルに含まれる指定されたパートから、 指定された行番号の行及びセルの {@code r} 属性を削除します。
+         *
+         * @param partName   パートの名前
+         * @param rowNumbers {@code r} 属性を削除する行の行番号
+         * @throws IOException 一時ファイルを読み書きできない場合
+         */
+        private void removeReferences(final String partName, final String... rowNumbers) throws IOException {
+
+            final ByteArrayOutputStream rewritten = new ByteArrayOutputStream();
+
+            try (ZipInputStream zipInputStream = new ZipInputStream(new FileInputStream(file));
+                    ZipOutputStream zipOutputStream = new ZipOutputStream(rewritten)) {
+                ZipEntry entry;
+
+                while ((entry = zipInputStream.getNextEntry()) != null) {
+                    byte[] data = readFully(zipInputStream);
+
+                    if (partName.equals(entry.getName())) {
+                        String xml = new String(data, StandardCharsets.UTF_8);
+
+                        for (String rowNumber : rowNumbers) {
+                            xml = xml.replace("<row r=\"" + rowNumber + "\"", "<row")
+                                    .replaceAll(" r=\"[A-Z]+" + rowNumber + "\"", "");
+                        }
+
+                        data = xml.getBytes(StandardCharsets.UTF_8);
+                    }
+
+                    zipOutputStream.putNextEntry(new ZipEntry(entry.getName()));
+                    zipOutputStream.write(data);
+                    zipOutputStream.closeEntry();
+                }
+            }
+
+            try (OutputStream outputStream = new FileOutputStream(file)) {
+                rewritten.writeTo(outputStream);
+            }
+        }
+
+        /**
+         * 引数として指定された入力ストリームの残りのバイト列を全て読み込みます。
+         *
+         * @param inputStream 入力ストリーム
+         * @return 読み込んだバイト列
+         * @throws IOException 読み込みに失敗した場合
+         */
+        private byte[] readFully(final InputStream inputStream) throws IOException {
+
+            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[8192];
+            int length;
+
+            while ((length = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, length);
+            }
+
+            return outputStream.toByteArray();
+        }
+    }
+
+    /**
+     * {@code .xls} 形式のワークブックを読み込む {@link HssfRowReader} のテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestHssfRowReader {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@code .xls} 形式のワークブックに対する {@link RowReader#open(File)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・数値、文字列、真偽値、数式の計算結果が {@link FluentCell#getValue(org.apache.poi.ss.usermodel.Cell)} と同じ形式で読み込まれること
+         * ・値を持たない行及びシートは読み飛ばされること
+         * ・行インデックス、シート名、シートのインデックスが正しく設定されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         *
+         * @throws IOException ワークブックを出力できない場合
+         */
+        @Test
+        void testRead() throws IOException {
+            writeWorkbook(new HSSFWorkbook());
+            assertRows(readAll());
+        }
+    }
+
+    /**
+     * パスワードで保護されたワークブックを読み込む {@link RowReader#open(File, String)} メソッドのテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestOpenWithPassword {
+
+        /**
+         * テストで使用するパスワード
+         */
+        private static final String PASSWORD = "password";
+
+        /**
+         * 一時ファイルの {@code .xlsx} 形式のワークブックを、引数として指定されたパスワードでagile方式により暗号化します。
+         *
+         * @param password パスワード
+         * @throws IOException              一時ファイルを読み書きできない場合
+         * @throws GeneralSecurityException 暗号化に失敗した場合
+         * @throws InvalidFormatException   ワークブックの形式が不正な場合
+         */
+        private void encrypt(final String password)
+                throws IOException, GeneralSecurityException, InvalidFormatException {
+
+            final ByteArrayOutputStream encrypted = new ByteArrayOutputStream();
+
+            try (POIFSFileSystem fileSystem = new POIFSFileSystem()) {
+                final Encryptor encryptor = new EncryptionInfo(EncryptionMode.agile).getEncryptor();
+                encryptor.confirmPassword(password);
+
+                try (InputStream inputStream = new FileInputStream(file);
+                        OPCPackage opcPackage = OPCPackage.open(inputStream);
+                        OutputStream dataStream = encryptor.getDataStream(fileSystem)) {
+                    opcPackage.save(dataStream);
+                }
+
+                fileSystem.writeFilesystem(encrypted);
+            }
+
+            try (OutputStream outputStream = new FileOutputStream(file)) {
+                encrypted.writeTo(outputStream);
+            }
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 暗号化された {@code .xlsx} 形式のワークブックに対する {@link RowReader#open(File, String)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・複数のシートが復号ストリームから順に読み込まれること
+         * ・共有文字列表を参照する文字列が正しく読み込まれること
+         * ・行インデックス、シート名、シートのインデックスが正しく設定されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         *
+         * @throws Exception ワークブックを出力または暗号化できない場合
+         */
+        @Test
+        void testReadEncryptedXssf() throws Exception {
+            writeWorkbook(new XSSFWorkbook());
+            encrypt(PASSWORD);
+
+            assertRows(readAll(RowReader.open(file, PASSWORD)));
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 暗号化された {@code .xls} 形式のワークブックに対する {@link RowReader#open(File, String)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・{@link Biff8EncryptionKey} に設定したパスワードで暗号化されたワークブックが読み込まれること
+         * ・読み込み後にスレッドのパスワードが解除されていること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * 暗号化のためにテスト中で設定したパスワードは出力後に解除する。
+         * </pre>
+         *
+         * @throws IOException ワークブックを出力できない場合
+         */
+        @Test
+        void testReadEncryptedHssf() throws IOException {
+            Biff8EncryptionKey.setCurrentUserPassword(PASSWORD);
+
+            try {
+                writeWorkbook(new HSSFWorkbook());
+            } finally {
+                Biff8EncryptionKey.setCurrentUserPassword(null);
+            }
+
+            assertThrows(ExcelHandlingException.class, () -> readAll());
+            assertRows(readAll(RowReader.open(file, PASSWORD)));
+            assertEquals(null, Biff8EncryptionKey.getCurrentUserPassword());
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 一致しないパスワードを指定した場合の {@link RowReader#open(File, String)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・暗号化された {@code .xlsx} 形式のワークブックで {@link ExcelHandlingException} が発生すること
+         * ・暗号化された {@code .xls} 形式のワークブックで {@link ExcelHandlingException} が発生すること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         *
+         * @throws Exception ワークブックを出力または暗号化できない場合
+         */
+        @Test
+        void testWrongPassword() throws Exception {
+            writeWorkbook(new XSSFWorkbook());
+            encrypt(PASSWORD);
+
+            assertThrows(ExcelHandlingException.class, () -> RowReader.open(file, "wrong"));
+
+            Biff8EncryptionKey.setCurrentUserPassword(PASSWORD);
+
+            try {
+                writeWorkbook(new HSSFWorkbook());
+            } finally {
+                Biff8EncryptionKey.setCurrentUserPassword(null);
+            }
+
+            assertThrows(ExcelHandlingException.class, () -> RowReader.open(file, "wrong"));
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 暗号化されていないワークブックに対する {@link RowReader#open(File, String)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・{@code .xlsx} 形式のワークブックがパスワードを使用せずに読み込まれること
+         * ・{@code .xls} 形式のワークブックがパスワードを使用せずに読み込まれること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         *
+         * @throws IOException ワークブックを出力できない場合
+         */
+        @Test
+        void testReadPlainFile() throws IOException {
+            writeWorkbook(new XSSFWorkbook());
+            assertRows(readAll(RowReader.open(file, PASSWORD)));
+
+            writeWorkbook(new HSSFWorkbook());
+            assertRows(readAll(RowReader.open(file, PASSWORD)));
+        }
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * 対応していない形式のファイルに対する {@link RowReader#open(File)} メソッドの機能を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・{@link ExcelHandlingException} が発生すること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     *
+     * @throws IOException ファイルを出力できない場合
+     */
+    @Test
+    void testUnsupportedFormat() throws IOException {
+        try (OutputStream outputStream = new FileOutputStream(file)) {
+            outputStream.write("plain text".getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertThrows(ExcelHandlingException.class, () -> RowReader.open(file));
+    }
+}
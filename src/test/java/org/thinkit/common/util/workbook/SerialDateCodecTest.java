@@ -0,0 +1,231 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.workbook;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link SerialDateCodec} クラスのテストクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class SerialDateCodecTest {
+
+    /**
+     * テストで使用するローカル日時
+     */
+    private static final LocalDateTime[] DATE_TIMES = { LocalDateTime.of(1900, 1, 1, 0, 0),
+            LocalDateTime.of(1900, 2, 28, 12, 0), LocalDateTime.of(1900, 3, 1, 6, 30),
+            LocalDateTime.of(1904, 1, 2, 0, 0), LocalDateTime.of(1970, 1, 1, 0, 0),
+            LocalDateTime.of(2020, 7, 4, 23, 59, 59), LocalDateTime.of(2099, 12, 31, 8, 15, 30) };
+
+    /**
+     * {@link SerialDateCodec#toSerial(LocalDateTime, boolean)} メソッドのテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestToSerial {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link SerialDateCodec#toSerial(LocalDateTime, boolean)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・1900年基準及び1904年基準の変換結果が {@link DateUtil#getExcelDate(LocalDateTime, boolean)} と等価であること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testCompatibleWithDateUtil() {
+            for (LocalDateTime dateTime : DATE_TIMES) {
+                assertEquals(DateUtil.getExcelDate(dateTime, false), SerialDateCodec.toSerial(dateTime, false), 1e-9);
+                assertEquals(DateUtil.getExcelDate(dateTime, true), SerialDateCodec.toSerial(dateTime, true), 1e-9);
+            }
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link SerialDateCodec#toSerial(LocalDateTime, boolean)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・各日付システムの基準日より前の日時に対して {@link SerialDateCodec#INVALID_SERIAL} が返却されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testInvalidDate() {
+            assertEquals(SerialDateCodec.INVALID_SERIAL,
+                    SerialDateCodec.toSerial(LocalDateTime.of(1899, 12, 31, 0, 0), false));
+            assertEquals(SerialDateCodec.INVALID_SERIAL,
+                    SerialDateCodec.toSerial(LocalDateTime.of(1903, 12, 31, 0, 0), true));
+        }
+    }
+
+    /**
+     * {@link SerialDateCodec#toLocalDateTime(double, boolean)} メソッドのテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestToLocalDateTime {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link SerialDateCodec#toLocalDateTime(double, boolean)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・シリアル値へ変換した日時を再度変換した結果が元の日時と等価であること
+         * ・1904年基準は1904年以降の日時のみを対象とすること
+         * ・負数のシリアル値が指定された場合は {@link IllegalArgumentException} が発生すること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testRoundTrip() {
+            for (LocalDateTime dateTime : DATE_TIMES) {
+                assertEquals(dateTime, SerialDateCodec.toLocalDateTime(SerialDateCodec.toSerial(dateTime, false), false));
+
+                if (dateTime.getYear() >= 1904) {
+                    assertEquals(dateTime,
+                            SerialDateCodec.toLocalDateTime(SerialDateCodec.toSerial(dateTime, true), true));
+                }
+            }
+
+            assertThrows(IllegalArgumentException.class, () -> SerialDateCodec.toLocalDateTime(-1, false));
+            assertThrows(IllegalArgumentException.class, () -> SerialDateCodec.toLocalDateTime(Double.NaN, false));
+        }
+    }
+
+    /**
+     * {@link SerialDateCodec#toSerials(long[], ZoneId, boolean)} メソッドのテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestToSerials {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link SerialDateCodec#toSerials(long[], ZoneId, boolean)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・配列の各要素が単一の変換結果と等価であること
+         * ・シリアル値の配列を再度変換した結果が元のエポックミリ秒の配列と等価であること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testRoundTrip() {
+            final ZoneId[] zones = { ZoneOffset.UTC, ZoneId.of("Asia/Tokyo"), ZoneId.of("America/New_York") };
+            final long[] epochMillis = new long[DATE_TIMES.length - 3];
+
+            for (int i = 0; i < epochMillis.length; i++) {
+                epochMillis[i] = DATE_TIMES[i + 3].toInstant(ZoneOffset.UTC).toEpochMilli();
+            }
+
+            for (ZoneId zone : zones) {
+                final double[] serials = SerialDateCodec.toSerials(epochMillis, zone, false);
+
+                for (int i = 0; i < epochMillis.length; i++) {
+                    assertEquals(SerialDateCodec.toSerial(epochMillis[i], zone, false), serials[i]);
+                }
+
+                assertArrayEquals(epochMillis, SerialDateCodec.toEpochMillis(serials, zone, false));
+            }
+        }
+    }
+
+    /**
+     * {@link SerialDateCodec#toTimeSerial(long, ZoneId)} メソッドのテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestToTimeSerial {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link SerialDateCodec#toTimeSerial(long, ZoneId)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・時刻部分のみのシリアル値が返却されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testTimeSerial() {
+            final long epochMillis = LocalDateTime.of(2020, 7, 4, 18, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+
+            assertEquals(0.75, SerialDateCodec.toTimeSerial(epochMillis, ZoneOffset.UTC));
+            assertEquals(0.125, SerialDateCodec.toTimeSerial(epochMillis, ZoneId.of("Asia/Tokyo")));
+        }
+    }
+}
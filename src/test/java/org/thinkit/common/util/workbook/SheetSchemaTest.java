@@ -0,0 +1,109 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.workbook;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.thinkit.common.util.workbook.SheetSchema.ColumnType;
+
+/**
+ * {@link SheetSchema} クラスのテストクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class SheetSchemaTest {
+
+    /**
+     * {@link SheetSchema.Builder} クラスのテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestBuilder {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link SheetSchema.Builder#build()} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・列定義が追加した順序で保持されること
+         * ・表示形式を指定しない列の表示形式が {@code null} となること
+         * ・生成後の列定義を変更できないこと
+         * ・同一の列定義を持つインスタンスが等価となること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testBuild() {
+            final SheetSchema schema = SheetSchema.builder().column("id", ColumnType.NUMERIC, "0")
+                    .column("name", ColumnType.STRING).build();
+
+            assertEquals(2, schema.getColumns().size());
+            assertEquals("id", schema.getColumns().get(0).getHeader());
+            assertEquals(ColumnType.NUMERIC, schema.getColumns().get(0).getType());
+            assertEquals("0", schema.getColumns().get(0).getFormat());
+            assertEquals("name", schema.getColumns().get(1).getHeader());
+            assertEquals(ColumnType.STRING, schema.getColumns().get(1).getType());
+            assertNull(schema.getColumns().get(1).getFormat());
+
+            assertThrows(UnsupportedOperationException.class, () -> schema.getColumns().clear());
+            assertEquals(schema, SheetSchema.builder().column("id", ColumnType.NUMERIC, "0")
+                    .column("name", ColumnType.STRING).build());
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 不正な引数を指定した場合の {@link SheetSchema.Builder} クラスの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・見出しが {@code null} の場合は {@link IllegalArgumentException} が発生すること
+         * ・値の型が {@code null} の場合は {@link IllegalArgumentException} が発生すること
+         * ・表示形式が空文字列の場合は {@link IllegalArgumentException} が発生すること
+         * ・列定義が1件も追加されていない場合は {@link IllegalArgumentException} が発生すること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testInvalidParameters() {
+            assertThrows(IllegalArgumentException.class, () -> SheetSchema.builder().column(null, ColumnType.STRING));
+            assertThrows(IllegalArgumentException.class, () -> SheetSchema.builder().column("id", null));
+            assertThrows(IllegalArgumentException.class,
+                    () -> SheetSchema.builder().column("id", ColumnType.NUMERIC, ""));
+            assertThrows(IllegalArgumentException.class, () -> SheetSchema.builder().build());
+        }
+    }
+}
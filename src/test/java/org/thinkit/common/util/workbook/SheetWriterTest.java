@@ -0,0 +1,246 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.workbook;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Date;
+
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.thinkit.common.util.workbook.SheetSchema.ColumnType;
+
+/**
+ * {@link SheetWriter} クラスのテストクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class SheetWriterTest {
+
+    /**
+     * テストで使用する列定義
+     */
+    private static final SheetSchema SCHEMA = SheetSchema.builder().column("id", ColumnType.NUMERIC, "0")
+            .column("name", ColumnType.STRING).column("active", ColumnType.BOOLEAN)
+            .column("created", ColumnType.DATE).build();
+
+    /**
+     * 引数として指定されたバイト列をワークブックとして読み込み、 先頭のシートを返却します。
+     *
+     * @param bytes ワークブックのバイト列
+     * @return 先頭のシート
+     * @throws IOException ワークブックを読み込めない場合
+     */
+    private static Sheet readSheet(final byte[] bytes) throws IOException {
+        try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(bytes))) {
+            return workbook.getSheetAt(0);
+        }
+    }
+
+    /**
+     * {@link SheetWriter#writeRow(Object...)} メソッドのテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestWriteRow {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link SheetWriter#writeRow(Object...)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・見出し行が出力されること
+         * ・数値が文字列化されずに数値として出力されること
+         * ・日付がシリアル値として出力され、 列の表示形式が設定されること
+         * ・{@code null} の値はセルが出力されないこと
+         * ・文字列の列には文字列化した値が出力されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         *
+         * @throws IOException ワークブックを読み込めない場合
+         */
+        @Test
+        void testWriteRow() throws IOException {
+            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+            try (SheetWriter writer = SheetWriter.builder().schema(SCHEMA).sheetName("report").output(outputStream)
+                    .zone(ZoneOffset.UTC).build()) {
+                writer.writeRow(1, "first", true, LocalDate.of(2020, 1, 1));
+                writer.writeRow(Long.MAX_VALUE / 1024, 2, null, new Date(0L));
+                writer.writeRow(
+                        Arrays.asList(new BigDecimal("1.25"), null, false, LocalDateTime.of(1900, 3, 1, 12, 0)));
+            }
+
+            final Sheet sheet = readSheet(outputStream.toByteArray());
+
+            assertEquals("report", sheet.getSheetName());
+            assertEquals("id", sheet.getRow(0).getCell(0).getStringCellValue());
+            assertEquals("created", sheet.getRow(0).getCell(3).getStringCellValue());
+
+            final Row first = sheet.getRow(1);
+            assertEquals(CellType.NUMERIC, first.getCell(0).getCellType());
+            assertEquals(1.0d, first.getCell(0).getNumericCellValue());
+            assertEquals("0", first.getCell(0).getCellStyle().getDataFormatString());
+            assertEquals("first", first.getCell(1).getStringCellValue());
+            assertEquals(true, first.getCell(2).getBooleanCellValue());
+            assertEquals(43831.0d, first.getCell(3).getNumericCellValue());
+            assertEquals("yyyy/m/d h:mm", first.getCell(3).getCellStyle().getDataFormatString());
+
+            final Row second = sheet.getRow(2);
+            assertEquals((double) (Long.MAX_VALUE / 1024), second.getCell(0).getNumericCellValue());
+            assertEquals("2", second.getCell(1).getStringCellValue());
+            assertNull(second.getCell(2));
+            assertEquals(25569.0d, second.getCell(3).getNumericCellValue());
+
+            final Row third = sheet.getRow(3);
+            assertEquals(1.25d, third.getCell(0).getNumericCellValue());
+            assertNull(third.getCell(1));
+            assertEquals(false, third.getCell(2).getBooleanCellValue());
+            assertEquals(61.5d, third.getCell(3).getNumericCellValue());
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 見出し行を出力しない場合の {@link SheetWriter#writeRow(Object...)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・最初の行が1行目に出力されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         *
+         * @throws IOException ワークブックを読み込めない場合
+         */
+        @Test
+        void testWithoutHeader() throws IOException {
+            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+            try (SheetWriter writer = SheetWriter.builder().schema(SCHEMA).header(false).windowSize(1)
+                    .compressTempFiles(true).output(outputStream).build()) {
+                writer.writeRow(1);
+                writer.writeRow(2);
+            }
+
+            final Sheet sheet = readSheet(outputStream.toByteArray());
+
+            assertEquals(1.0d, sheet.getRow(0).getCell(0).getNumericCellValue());
+            assertEquals(2.0d, sheet.getRow(1).getCell(0).getNumericCellValue());
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 不正な値を指定した場合の {@link SheetWriter#writeRow(Object...)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・値の数が列定義の数を超える場合は {@link IllegalArgumentException} が発生すること
+         * ・値が列の型に対応していない場合は {@link IllegalArgumentException} が発生すること
+         * ・シリアル値で表現できない1900年以前の日付の場合は {@link IllegalArgumentException} が発生すること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testInvalidValues() {
+            try (SheetWriter writer = SheetWriter.builder().schema(SCHEMA).output(new ByteArrayOutputStream())
+                    .build()) {
+                assertThrows(IllegalArgumentException.class, () -> writer.writeRow(1, "a", true, new Date(), "extra"));
+                assertThrows(IllegalArgumentException.class, () -> writer.writeRow("1"));
+                assertThrows(IllegalArgumentException.class, () -> writer.writeRow(1, "a", "true"));
+                assertThrows(IllegalArgumentException.class, () -> writer.writeRow(1, "a", true, "2020-01-01"));
+                assertThrows(IllegalArgumentException.class,
+                        () -> writer.writeRow(1, "a", true, LocalDate.of(1899, 12, 31)));
+            }
+        }
+    }
+
+    /**
+     * {@link SheetWriter.Builder} クラスのテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestBuilder {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 不正な引数を指定した場合の {@link SheetWriter.Builder} クラスの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・必須の設定が行われていない場合は {@link IllegalArgumentException} が発生すること
+         * ・不正な引数を指定した場合は {@link IllegalArgumentException} が発生すること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testInvalidParameters() {
+            assertThrows(IllegalArgumentException.class,
+                    () -> SheetWriter.builder().output(new ByteArrayOutputStream()).build());
+            assertThrows(IllegalArgumentException.class, () -> SheetWriter.builder().schema(SCHEMA).build());
+            assertThrows(IllegalArgumentException.class, () -> SheetWriter.builder().schema(null));
+            assertThrows(IllegalArgumentException.class, () -> SheetWriter.builder().sheetName(""));
+            assertThrows(IllegalArgumentException.class, () -> SheetWriter.builder().windowSize(0));
+            assertThrows(IllegalArgumentException.class, () -> SheetWriter.builder().zone(null));
+            assertThrows(IllegalArgumentException.class, () -> SheetWriter.builder().output((String) null));
+        }
+    }
+}
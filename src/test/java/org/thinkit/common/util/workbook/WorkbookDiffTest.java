@@ -0,0 +1,267 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.common.util.workbook;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link WorkbookDiff} クラスのテストクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+final class WorkbookDiffTest {
+
+    /**
+     * 比較元のワークブック
+     */
+    private Workbook base;
+
+    /**
+     * 比較先のワークブック
+     */
+    private Workbook target;
+
+    /**
+     * 各テストの前に比較元と比較先のワークブックを生成します。
+     */
+    @BeforeEach
+    void setUp() {
+        this.base = new XSSFWorkbook();
+        this.target = new XSSFWorkbook();
+    }
+
+    /**
+     * 各テストの後にワークブックを閉じます。
+     *
+     * @throws IOException ワークブックを閉じられない場合
+     */
+    @AfterEach
+    void tearDown() throws IOException {
+        this.base.close();
+        this.target.close();
+    }
+
+    /**
+     * 引数として指定されたシートのセルへ文字列を設定します。
+     *
+     * @param sheet       シート
+     * @param columnIndex 列インデックス
+     * @param rowIndex    行インデックス
+     * @param value       設定する文字列
+     */
+    private static void put(final Sheet sheet, final int columnIndex, final int rowIndex, final String value) {
+        final Row row = sheet.getRow(rowIndex) != null ? sheet.getRow(rowIndex) : sheet.createRow(rowIndex);
+        row.createCell(columnIndex).setCellValue(value);
+    }
+
+    /**
+     * 比較元と比較先のワークブックの差分をリストとして返却します。
+     *
+     * @return セルの差分のリスト
+     */
+    private List<CellChange> diff() {
+        return WorkbookDiff.diff(this.base, this.target).collect(Collectors.toList());
+    }
+
+    /**
+     * {@link WorkbookDiff#diff(Workbook, Workbook)} メソッドのテストメソッドを定義するテストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestDiff {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 同一の内容を持つワークブックに対する {@link WorkbookDiff#diff(Workbook, Workbook)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・差分が存在しないこと
+         * ・空文字列のセルは存在しないセルとして扱われること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testIdentical() {
+            final Sheet baseSheet = base.createSheet("sheet");
+            final Sheet targetSheet = target.createSheet("sheet");
+
+            put(baseSheet, 0, 0, "a");
+            put(baseSheet, 1, 0, "b");
+            put(targetSheet, 0, 0, "a");
+            put(targetSheet, 1, 0, "b");
+            put(targetSheet, 2, 0, "");
+            targetSheet.createRow(5).createCell(3);
+
+            assertTrue(diff().isEmpty());
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * セルの値が追加、削除、変更されたワークブックに対する {@link WorkbookDiff#diff(Workbook, Workbook)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・追加、削除、変更されたセルがそれぞれの変更種別で返却されること
+         * ・差分が行と列の昇順に返却されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testCellChanges() {
+            final Sheet baseSheet = base.createSheet("sheet");
+            final Sheet targetSheet = target.createSheet("sheet");
+
+            put(baseSheet, 0, 0, "same");
+            put(baseSheet, 1, 0, "old");
+            put(baseSheet, 0, 1, "removed");
+            put(targetSheet, 0, 0, "same");
+            put(targetSheet, 1, 0, "new");
+            put(targetSheet, 2, 0, "added");
+            put(targetSheet, 0, 3, "added row");
+
+            assertEquals(Arrays.asList(
+                    CellChange.of(CellChange.Type.CHANGED, "sheet", Matrix.of(1, 0), "old", "new"),
+                    CellChange.of(CellChange.Type.ADDED, "sheet", Matrix.of(2, 0), null, "added"),
+                    CellChange.of(CellChange.Type.REMOVED, "sheet", Matrix.of(0, 1), "removed", null),
+                    CellChange.of(CellChange.Type.ADDED, "sheet", Matrix.of(0, 3), null, "added row")), diff());
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 値の並びが入れ替わった行に対する {@link WorkbookDiff#diff(Workbook, Workbook)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・同一の値の集合を持つ行であってもセル単位の差分が返却されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testSwappedValues() {
+            final Sheet baseSheet = base.createSheet("sheet");
+            final Sheet targetSheet = target.createSheet("sheet");
+
+            put(baseSheet, 0, 0, "x");
+            put(baseSheet, 1, 0, "y");
+            put(targetSheet, 0, 0, "y");
+            put(targetSheet, 1, 0, "x");
+
+            assertEquals(Arrays.asList(CellChange.of(CellChange.Type.CHANGED, "sheet", Matrix.of(0, 0), "x", "y"),
+                    CellChange.of(CellChange.Type.CHANGED, "sheet", Matrix.of(1, 0), "y", "x")), diff());
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 一方にのみ存在するシートに対する {@link WorkbookDiff#diff(Workbook, Workbook)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・比較元にのみ存在するシートのセルが {@link CellChange.Type#REMOVED} として返却されること
+         * ・比較先にのみ存在するシートのセルが {@link CellChange.Type#ADDED} として返却されること
+         * ・比較元のシートの差分が比較先にのみ存在するシートの差分より先に返却されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testSheetChanges() {
+            put(base.createSheet("removed"), 0, 0, "old");
+            put(target.createSheet("added"), 1, 2, "new");
+
+            assertEquals(Arrays.asList(CellChange.of(CellChange.Type.REMOVED, "removed", Matrix.of(0, 0), "old", null),
+                    CellChange.of(CellChange.Type.ADDED, "added", Matrix.of(1, 2), null, "new")), diff());
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link FluentWorkbook#diff(FluentWorkbook)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・数値と数式のセルは {@link FluentSheet} と同一の形式で比較されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testFluentWorkbook() {
+            final Sheet baseSheet = base.createSheet("sheet");
+            final Sheet targetSheet = target.createSheet("sheet");
+
+            baseSheet.createRow(0).createCell(0).setCellValue(1.0d);
+            baseSheet.getRow(0).createCell(1).setCellFormula("A1+1");
+            targetSheet.createRow(0).createCell(0).setCellValue(2.0d);
+            targetSheet.getRow(0).createCell(1).setCellFormula("A1+1");
+
+            base.getCreationHelper().createFormulaEvaluator().evaluateAll();
+            target.getCreationHelper().createFormulaEvaluator().evaluateAll();
+
+            final List<CellChange> changes = FluentWorkbook.builder().fromBook(base).build()
+                    .diff(FluentWorkbook.builder().fromBook(target).build()).collect(Collectors.toList());
+
+            assertEquals(Arrays.asList(CellChange.of(CellChange.Type.CHANGED, "sheet", Matrix.of(0, 0), "1.0", "2.0"),
+                    CellChange.of(CellChange.Type.CHANGED, "sheet", Matrix.of(1, 0), "2.0", "3.0")), changes);
+        }
+    }
+}